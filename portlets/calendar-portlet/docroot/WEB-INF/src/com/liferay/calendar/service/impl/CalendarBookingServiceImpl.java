@@ -27,11 +27,13 @@ import com.liferay.portal.kernel.bean.BeanReference;
 import com.liferay.portal.kernel.dao.orm.QueryUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.ListUtil;
 import com.liferay.portal.kernel.util.OrderByComparator;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.TimeZoneUtil;
 import com.liferay.portal.security.ac.AccessControlled;
+import com.liferay.portal.security.permission.PermissionChecker;
 import com.liferay.portal.service.ServiceContext;
 import com.liferay.portal.theme.ThemeDisplay;
 import com.liferay.portal.util.PortalUtil;
@@ -359,40 +361,88 @@ public class CalendarBookingServiceImpl extends CalendarBookingServiceBaseImpl {
 	@AccessControlled(guestAccessEnabled = true)
 	@Override
 	public List<CalendarBooking> search(
-			long companyId, long[] groupIds, long[] calendarIds,
-			long[] calendarResourceIds, long parentCalendarBookingId,
-			String keywords, long startTime, long endTime, boolean recurring,
-			int[] statuses, int start, int end,
-			OrderByComparator orderByComparator)
+			final long companyId, final long[] groupIds, long[] calendarIds,
+			final long[] calendarResourceIds,
+			final long parentCalendarBookingId, final String keywords,
+			final long startTime, final long endTime, final boolean recurring,
+			final int[] statuses, int start, int end,
+			final OrderByComparator orderByComparator)
 		throws PortalException, SystemException {
 
-		List<CalendarBooking> calendarBookings =
-			calendarBookingLocalService.search(
-				companyId, groupIds, calendarIds, calendarResourceIds,
-				parentCalendarBookingId, keywords, startTime, endTime,
-				recurring, statuses, start, end, orderByComparator);
+		if (ArrayUtil.isNotEmpty(calendarIds)) {
+			calendarIds = getViewableCalendarIds(calendarIds, ActionKeys.VIEW);
+
+			if (calendarIds.length == 0) {
+				return new ArrayList<CalendarBooking>();
+			}
+		}
+
+		final long[] searchCalendarIds = calendarIds;
+
+		CalendarBookingSearcher calendarBookingSearcher =
+			new CalendarBookingSearcher() {
 
-		return filterCalendarBookings(calendarBookings, ActionKeys.VIEW);
+				@Override
+				public List<CalendarBooking> search(
+						int searchStart, int searchEnd)
+					throws SystemException {
+
+					return calendarBookingLocalService.search(
+						companyId, groupIds, searchCalendarIds,
+						calendarResourceIds, parentCalendarBookingId, keywords,
+						startTime, endTime, recurring, statuses, searchStart,
+						searchEnd, orderByComparator);
+				}
+
+			};
+
+		return search(
+			calendarBookingSearcher, calendarIds, recurring, ActionKeys.VIEW,
+			start, end);
 	}
 
 	@Override
 	public List<CalendarBooking> search(
-			long companyId, long[] groupIds, long[] calendarIds,
-			long[] calendarResourceIds, long parentCalendarBookingId,
-			String title, String description, String location, long startTime,
-			long endTime, boolean recurring, int[] statuses,
-			boolean andOperator, int start, int end,
-			OrderByComparator orderByComparator)
+			final long companyId, final long[] groupIds, long[] calendarIds,
+			final long[] calendarResourceIds,
+			final long parentCalendarBookingId, final String title,
+			final String description, final String location,
+			final long startTime, final long endTime, final boolean recurring,
+			final int[] statuses, final boolean andOperator, int start,
+			int end, final OrderByComparator orderByComparator)
 		throws PortalException, SystemException {
 
-		List<CalendarBooking> calendarBookings =
-			calendarBookingLocalService.search(
-				companyId, groupIds, calendarIds, calendarResourceIds,
-				parentCalendarBookingId, title, description, location,
-				startTime, endTime, recurring, statuses, andOperator, start,
-				end, orderByComparator);
+		if (ArrayUtil.isNotEmpty(calendarIds)) {
+			calendarIds = getViewableCalendarIds(calendarIds, ActionKeys.VIEW);
 
-		return filterCalendarBookings(calendarBookings, ActionKeys.VIEW);
+			if (calendarIds.length == 0) {
+				return new ArrayList<CalendarBooking>();
+			}
+		}
+
+		final long[] searchCalendarIds = calendarIds;
+
+		CalendarBookingSearcher calendarBookingSearcher =
+			new CalendarBookingSearcher() {
+
+				@Override
+				public List<CalendarBooking> search(
+						int searchStart, int searchEnd)
+					throws SystemException {
+
+					return calendarBookingLocalService.search(
+						companyId, groupIds, searchCalendarIds,
+						calendarResourceIds, parentCalendarBookingId, title,
+						description, location, startTime, endTime, recurring,
+						statuses, andOperator, searchStart, searchEnd,
+						orderByComparator);
+				}
+
+			};
+
+		return search(
+			calendarBookingSearcher, calendarIds, recurring, ActionKeys.VIEW,
+			start, end);
 	}
 
 	@AccessControlled(guestAccessEnabled = true)
@@ -404,6 +454,19 @@ public class CalendarBookingServiceImpl extends CalendarBookingServiceBaseImpl {
 			int[] statuses)
 		throws PortalException, SystemException {
 
+		if (!recurring && ArrayUtil.isNotEmpty(calendarIds)) {
+			calendarIds = getViewableCalendarIds(calendarIds, ActionKeys.VIEW);
+
+			if (calendarIds.length == 0) {
+				return 0;
+			}
+
+			return calendarBookingLocalService.searchCount(
+				companyId, groupIds, calendarIds, calendarResourceIds,
+				parentCalendarBookingId, keywords, startTime, endTime,
+				statuses);
+		}
+
 		List<CalendarBooking> calendarBookings = search(
 			companyId, groupIds, calendarIds, calendarResourceIds,
 			parentCalendarBookingId, keywords, startTime, endTime, recurring,
@@ -421,6 +484,19 @@ public class CalendarBookingServiceImpl extends CalendarBookingServiceBaseImpl {
 			boolean andOperator)
 		throws PortalException, SystemException {
 
+		if (!recurring && ArrayUtil.isNotEmpty(calendarIds)) {
+			calendarIds = getViewableCalendarIds(calendarIds, ActionKeys.VIEW);
+
+			if (calendarIds.length == 0) {
+				return 0;
+			}
+
+			return calendarBookingLocalService.searchCount(
+				companyId, groupIds, calendarIds, calendarResourceIds,
+				parentCalendarBookingId, title, description, location,
+				startTime, endTime, statuses, andOperator);
+		}
+
 		List<CalendarBooking> calendarBookings = search(
 			companyId, groupIds, calendarIds, calendarResourceIds,
 			parentCalendarBookingId, title, description, location, startTime,
@@ -711,7 +787,101 @@ public class CalendarBookingServiceImpl extends CalendarBookingServiceBaseImpl {
 		return calendarBookings;
 	}
 
+	protected long[] getViewableCalendarIds(
+			long[] calendarIds, String actionId)
+		throws PortalException, SystemException {
+
+		PermissionChecker permissionChecker = getPermissionChecker();
+
+		long[] viewableCalendarIds = new long[0];
+
+		for (long calendarId : calendarIds) {
+			Calendar calendar = calendarPersistence.fetchByPrimaryKey(
+				calendarId);
+
+			if (calendar == null) {
+				continue;
+			}
+
+			if (CalendarPermission.contains(
+					permissionChecker, calendar,
+					ActionKeys.VIEW_BOOKING_DETAILS) ||
+				CalendarPermission.contains(
+					permissionChecker, calendar, actionId)) {
+
+				viewableCalendarIds = ArrayUtil.append(
+					viewableCalendarIds, calendarId);
+			}
+		}
+
+		return viewableCalendarIds;
+	}
+
+	protected List<CalendarBooking> search(
+			CalendarBookingSearcher calendarBookingSearcher,
+			long[] viewableCalendarIds, boolean recurring, String actionId,
+			int start, int end)
+		throws PortalException, SystemException {
+
+		if (recurring) {
+
+			// Recurrences are expanded after the database pages the bookings,
+			// so page the expanded bookings to match searchCount
+
+			List<CalendarBooking> calendarBookings =
+				calendarBookingSearcher.search(
+					QueryUtil.ALL_POS, QueryUtil.ALL_POS);
+
+			calendarBookings = filterCalendarBookings(
+				calendarBookings, actionId);
+
+			return ListUtil.subList(calendarBookings, start, end);
+		}
+
+		if (ArrayUtil.isNotEmpty(viewableCalendarIds) ||
+			((start == QueryUtil.ALL_POS) && (end == QueryUtil.ALL_POS))) {
+
+			List<CalendarBooking> calendarBookings =
+				calendarBookingSearcher.search(start, end);
+
+			return filterCalendarBookings(calendarBookings, actionId);
+		}
+
+		List<CalendarBooking> calendarBookings =
+			new ArrayList<CalendarBooking>();
+
+		int batchStart = 0;
+		int batchSize = Math.max(end, _SEARCH_BATCH_SIZE);
+
+		while (calendarBookings.size() < end) {
+			List<CalendarBooking> batchCalendarBookings =
+				calendarBookingSearcher.search(
+					batchStart, batchStart + batchSize);
+
+			calendarBookings.addAll(
+				filterCalendarBookings(batchCalendarBookings, actionId));
+
+			if (batchCalendarBookings.size() < batchSize) {
+				break;
+			}
+
+			batchStart += batchSize;
+			batchSize *= 2;
+		}
+
+		return ListUtil.subList(calendarBookings, start, end);
+	}
+
 	@BeanReference(type = CalendarBookingApprovalWorkflow.class)
 	protected CalendarBookingApprovalWorkflow calendarBookingApprovalWorkflow;
 
+	private static final int _SEARCH_BATCH_SIZE = 100;
+
+	protected abstract static class CalendarBookingSearcher {
+
+		public abstract List<CalendarBooking> search(int start, int end)
+			throws SystemException;
+
+	}
+
 }
\ No newline at end of file
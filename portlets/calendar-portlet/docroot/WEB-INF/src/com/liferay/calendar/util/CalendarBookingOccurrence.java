@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.calendar.util;
+
+import com.liferay.calendar.model.CalendarBooking;
+import com.liferay.calendar.model.CalendarBookingWrapper;
+
+/**
+ * A single instance of a recurring calendar booking. It shares every field
+ * with the booking that defines the series except the start and end times, so
+ * expanding a series does not need to clone the booking for each instance.
+ */
+public class CalendarBookingOccurrence extends CalendarBookingWrapper {
+
+	public CalendarBookingOccurrence(
+		CalendarBooking calendarBooking, long startTime, long endTime) {
+
+		super(calendarBooking);
+
+		_startTime = startTime;
+		_endTime = endTime;
+	}
+
+	@Override
+	public Object clone() {
+		CalendarBooking calendarBooking = getWrappedModel();
+
+		return new CalendarBookingOccurrence(
+			(CalendarBooking)calendarBooking.clone(), _startTime, _endTime);
+	}
+
+	@Override
+	public long getDuration() {
+		return _endTime - _startTime;
+	}
+
+	@Override
+	public long getEndTime() {
+		return _endTime;
+	}
+
+	@Override
+	public long getStartTime() {
+		return _startTime;
+	}
+
+	@Override
+	public void setEndTime(long endTime) {
+		_endTime = endTime;
+	}
+
+	@Override
+	public void setStartTime(long startTime) {
+		_startTime = startTime;
+	}
+
+	@Override
+	public CalendarBooking toEscapedModel() {
+		CalendarBooking calendarBooking = getWrappedModel();
+
+		return new CalendarBookingOccurrence(
+			calendarBooking.toEscapedModel(), _startTime, _endTime);
+	}
+
+	@Override
+	public CalendarBooking toUnescapedModel() {
+		CalendarBooking calendarBooking = getWrappedModel();
+
+		return new CalendarBookingOccurrence(
+			calendarBooking.toUnescapedModel(), _startTime, _endTime);
+	}
+
+	private long _endTime;
+	private long _startTime;
+
+}
\ No newline at end of file
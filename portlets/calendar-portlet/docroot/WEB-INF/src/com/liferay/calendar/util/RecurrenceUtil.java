@@ -19,18 +19,24 @@ import com.google.ical.iter.RecurrenceIteratorFactory;
 import com.google.ical.util.TimeUtils;
 import com.google.ical.values.DateValue;
 import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.Frequency;
+import com.google.ical.values.RDateList;
+import com.google.ical.values.RRule;
 
 import com.liferay.calendar.model.CalendarBooking;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Time;
 import com.liferay.portal.kernel.util.TimeZoneUtil;
 
 import java.text.ParseException;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.TimeZone;
 
 /**
@@ -45,15 +51,15 @@ public class RecurrenceUtil {
 		List<CalendarBooking> expandedCalendarBookings =
 			new ArrayList<CalendarBooking>();
 
-		DateValue startDateValue = _toDateValue(startTime);
-		DateValue endDateValue = _toDateValue(endTime);
-
 		if (!calendarBooking.isRecurring()) {
 			expandedCalendarBookings.add(calendarBooking);
 
 			return expandedCalendarBookings;
 		}
 
+		DateValue startDateValue = _toDateValue(startTime);
+		DateValue endDateValue = _toDateValue(endTime);
+
 		try {
 			RecurrenceIterator recurrenceIterator =
 				RecurrenceIteratorFactory.createRecurrenceIterator(
@@ -61,21 +67,37 @@ public class RecurrenceUtil {
 					_toDateValue(calendarBooking.getStartTime()),
 					TimeUtils.utcTimezone());
 
+			recurrenceIterator.advanceTo(startDateValue);
+
+			if (!recurrenceIterator.hasNext()) {
+				return expandedCalendarBookings;
+			}
+
+			TimeZone timeZone = _getTimeZone(calendarBooking);
+
+			long timeOfDay = _getTimeOfDay(calendarBooking.getStartTime());
+			int offset = timeZone.getOffset(calendarBooking.getStartTime());
+
 			while (recurrenceIterator.hasNext()) {
 				DateValue dateValue = recurrenceIterator.next();
 
-				if (dateValue.compareTo(startDateValue) < 0) {
-					continue;
-				}
-
 				if (dateValue.compareTo(endDateValue) > 0) {
 					break;
 				}
 
-				CalendarBooking newCalendarBooking = _copyCalendarBooking(
-					calendarBooking, dateValue);
+				long instanceStartTime =
+					TimeUtils.daysBetween(dateValue, _EPOCH_DATE_VALUE) *
+						Time.DAY + timeOfDay;
+
+				instanceStartTime +=
+					offset - timeZone.getOffset(instanceStartTime);
+
+				CalendarBooking calendarBookingOccurrence =
+					new CalendarBookingOccurrence(
+						calendarBooking, instanceStartTime,
+						instanceStartTime + calendarBooking.getDuration());
 
-				expandedCalendarBookings.add(newCalendarBooking);
+				expandedCalendarBookings.add(calendarBookingOccurrence);
 
 				if ((maxSize > 0) &&
 					(expandedCalendarBookings.size() >= maxSize)) {
@@ -118,16 +140,24 @@ public class RecurrenceUtil {
 	public static int getIndexOfInstance(
 		String recurrence, long recurrenceStartTime, long instanceStartTime) {
 
-		int count = 0;
-
+		DateValue recurrenceStartDateValue = _toDateValue(recurrenceStartTime);
 		DateValue instanceDateValue = _toDateValue(instanceStartTime);
 
 		try {
+			int index = _getPeriodicIndexOfInstance(
+				recurrence, recurrenceStartDateValue, instanceDateValue);
+
+			if (index >= 0) {
+				return index;
+			}
+
 			RecurrenceIterator recurrenceIterator =
 				RecurrenceIteratorFactory.createRecurrenceIterator(
-					recurrence, _toDateValue(recurrenceStartTime),
+					recurrence, recurrenceStartDateValue,
 					TimeUtils.utcTimezone());
 
+			int count = 0;
+
 			while (recurrenceIterator.hasNext()) {
 				DateValue dateValue = recurrenceIterator.next();
 
@@ -137,51 +167,95 @@ public class RecurrenceUtil {
 
 				count++;
 			}
+
+			return count;
 		}
-		catch (ParseException e) {
-			_log.error("Unable to parse data ", e);
+		catch (ParseException pe) {
+			_log.error("Unable to parse data ", pe);
 		}
 
-		return count;
+		return 0;
 	}
 
-	private static CalendarBooking _copyCalendarBooking(
-		CalendarBooking calendarBooking, DateValue startDateValue) {
+	private static int _getPeriodicIndexOfInstance(
+			String recurrence, DateValue recurrenceStartDateValue,
+			DateValue instanceDateValue)
+		throws ParseException {
+
+		String exceptionDates = null;
 
-		CalendarBooking newCalendarBooking =
-			(CalendarBooking)calendarBooking.clone();
+		int pos = recurrence.indexOf(StringPool.NEW_LINE);
 
-		Calendar jCalendar = _getStartTimeJCalendar(
-			calendarBooking, startDateValue);
+		if (pos != -1) {
+			exceptionDates = recurrence.substring(pos + 1);
+			recurrence = recurrence.substring(0, pos);
+		}
 
-		newCalendarBooking.setEndTime(
-			jCalendar.getTimeInMillis() + calendarBooking.getDuration());
-		newCalendarBooking.setStartTime(jCalendar.getTimeInMillis());
+		RRule rRule = new RRule(recurrence);
 
-		return newCalendarBooking;
-	}
+		if (!_isPeriodic(rRule)) {
+			return -1;
+		}
+
+		int period = Math.max(rRule.getInterval(), 1);
+
+		if (rRule.getFreq() == Frequency.WEEKLY) {
+			period *= 7;
+		}
+
+		int days = TimeUtils.daysBetween(
+			instanceDateValue, recurrenceStartDateValue);
+
+		if (days <= 0) {
+			return 0;
+		}
 
-	private static Calendar _getStartTimeJCalendar(
-		CalendarBooking calendarBooking, DateValue startDateValue) {
+		int count = (days + period - 1) / period;
 
-		Calendar jCalendar = JCalendarUtil.getJCalendar(
-			calendarBooking.getStartTime());
+		if ((rRule.getCount() > 0) && (rRule.getCount() < count)) {
+			count = rRule.getCount();
+		}
+
+		DateValue untilDateValue = rRule.getUntil();
 
-		Calendar startTimeJCalendar = JCalendarUtil.getJCalendar(
-			startDateValue.year(), startDateValue.month() - 1,
-			startDateValue.day(), jCalendar.get(Calendar.HOUR_OF_DAY),
-			jCalendar.get(Calendar.MINUTE), jCalendar.get(Calendar.SECOND),
-			jCalendar.get(Calendar.MILLISECOND),
-			TimeZone.getTimeZone(StringPool.UTC));
+		if (untilDateValue != null) {
+			int untilDays = TimeUtils.daysBetween(
+				untilDateValue, recurrenceStartDateValue);
 
-		TimeZone timeZone = _getTimeZone(calendarBooking);
+			count = Math.min(count, Math.max(untilDays, 0) / period + 1);
+		}
 
-		int shift = JCalendarUtil.getDSTShift(
-			jCalendar, startTimeJCalendar, timeZone);
+		if (exceptionDates == null) {
+			return count;
+		}
 
-		startTimeJCalendar.add(Calendar.MILLISECOND, shift);
+		RDateList rDateList = new RDateList(
+			exceptionDates, TimeUtils.utcTimezone());
 
-		return startTimeJCalendar;
+		Set<Integer> exceptionIndexes = new HashSet<Integer>();
+
+		for (DateValue dateValue : rDateList.getDatesUtc()) {
+			int exceptionDays = TimeUtils.daysBetween(
+				dateValue, recurrenceStartDateValue);
+
+			if ((exceptionDays >= 0) && ((exceptionDays % period) == 0) &&
+				((exceptionDays / period) < count)) {
+
+				exceptionIndexes.add(exceptionDays / period);
+			}
+		}
+
+		return count - exceptionIndexes.size();
+	}
+
+	private static long _getTimeOfDay(long time) {
+		long timeOfDay = time % Time.DAY;
+
+		if (timeOfDay < 0) {
+			timeOfDay += Time.DAY;
+		}
+
+		return timeOfDay;
 	}
 
 	private static TimeZone _getTimeZone(CalendarBooking calendarBooking) {
@@ -197,6 +271,30 @@ public class RecurrenceUtil {
 		return TimeZoneUtil.getDefault();
 	}
 
+	private static boolean _isPeriodic(RRule rRule) {
+		Frequency frequency = rRule.getFreq();
+
+		if ((frequency != Frequency.DAILY) && (frequency != Frequency.WEEKLY)) {
+			return false;
+		}
+
+		List<?> byDay = rRule.getByDay();
+
+		if (!byDay.isEmpty() || (rRule.getByHour().length > 0) ||
+			(rRule.getByMinute().length > 0) ||
+			(rRule.getByMonth().length > 0) ||
+			(rRule.getByMonthDay().length > 0) ||
+			(rRule.getBySecond().length > 0) ||
+			(rRule.getBySetPos().length > 0) ||
+			(rRule.getByWeekNo().length > 0) ||
+			(rRule.getByYearDay().length > 0)) {
+
+			return false;
+		}
+
+		return true;
+	}
+
 	private static DateValue _toDateValue(long time) {
 		Calendar jCalendar = JCalendarUtil.getJCalendar(time);
 
@@ -205,6 +303,9 @@ public class RecurrenceUtil {
 			jCalendar.get(Calendar.DAY_OF_MONTH));
 	}
 
+	private static final DateValue _EPOCH_DATE_VALUE = new DateValueImpl(
+		1970, 1, 1);
+
 	private static Log _log = LogFactoryUtil.getLog(RecurrenceUtil.class);
 
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.calendar.service.impl;
+
+import com.liferay.calendar.model.CalendarBooking;
+import com.liferay.portal.kernel.dao.orm.QueryUtil;
+import com.liferay.portal.kernel.util.ListUtil;
+import com.liferay.portal.security.permission.ActionKeys;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class CalendarBookingServiceImplTest {
+
+	@Before
+	public void setUp() throws Exception {
+		for (int i = 0; i < 250; i++) {
+			CalendarBooking calendarBooking = Mockito.mock(
+				CalendarBooking.class);
+
+			Mockito.when(
+				calendarBooking.getCalendarId()
+			).thenReturn(
+				(long)i
+			);
+
+			_calendarBookings.add(calendarBooking);
+		}
+
+		Mockito.doAnswer(
+			new Answer<List<CalendarBooking>>() {
+
+				@Override
+				public List<CalendarBooking> answer(
+					InvocationOnMock invocationOnMock) {
+
+					Object[] arguments = invocationOnMock.getArguments();
+
+					List<CalendarBooking> calendarBookings = ListUtil.copy(
+						(List<CalendarBooking>)arguments[0]);
+
+					Iterator<CalendarBooking> itr =
+						calendarBookings.iterator();
+
+					while (itr.hasNext()) {
+						CalendarBooking calendarBooking = itr.next();
+
+						if ((calendarBooking.getCalendarId() % 2) != 0) {
+							itr.remove();
+						}
+					}
+
+					return calendarBookings;
+				}
+
+			}
+		).when(
+			_calendarBookingServiceImpl
+		).filterCalendarBookings(
+			Matchers.<List<CalendarBooking>>any(), Matchers.eq(ActionKeys.VIEW)
+		);
+	}
+
+	@Test
+	public void testSearchFillsPagesWithViewableCalendarBookings()
+		throws Exception {
+
+		List<CalendarBooking> calendarBookings =
+			_calendarBookingServiceImpl.search(
+				_calendarBookingSearcher, new long[0], false, ActionKeys.VIEW,
+				20, 120);
+
+		Assert.assertEquals(100, calendarBookings.size());
+
+		for (int i = 0; i < calendarBookings.size(); i++) {
+			CalendarBooking calendarBooking = calendarBookings.get(i);
+
+			Assert.assertEquals(40 + (i * 2), calendarBooking.getCalendarId());
+		}
+	}
+
+	@Test
+	public void testSearchLastPage() throws Exception {
+		List<CalendarBooking> calendarBookings =
+			_calendarBookingServiceImpl.search(
+				_calendarBookingSearcher, new long[0], false, ActionKeys.VIEW,
+				120, 140);
+
+		Assert.assertEquals(5, calendarBookings.size());
+	}
+
+	@Test
+	public void testSearchRecurringPagesExpandedCalendarBookings()
+		throws Exception {
+
+		List<CalendarBooking> calendarBookings =
+			_calendarBookingServiceImpl.search(
+				_calendarBookingSearcher, null, true, ActionKeys.VIEW, 10, 20);
+
+		Assert.assertEquals(10, calendarBookings.size());
+
+		CalendarBooking calendarBooking = calendarBookings.get(0);
+
+		Assert.assertEquals(20, calendarBooking.getCalendarId());
+
+		Assert.assertEquals(1, _calendarBookingSearcher.getCount());
+	}
+
+	@Test
+	public void testSearchWithViewableCalendarIds() throws Exception {
+		List<CalendarBooking> calendarBookings =
+			_calendarBookingServiceImpl.search(
+				_calendarBookingSearcher, new long[] {1, 2}, false,
+				ActionKeys.VIEW, QueryUtil.ALL_POS, QueryUtil.ALL_POS);
+
+		Assert.assertEquals(125, calendarBookings.size());
+
+		Assert.assertEquals(1, _calendarBookingSearcher.getCount());
+	}
+
+	private final List<CalendarBooking> _calendarBookings =
+		new ArrayList<CalendarBooking>();
+	private final MockCalendarBookingSearcher _calendarBookingSearcher =
+		new MockCalendarBookingSearcher();
+	private final CalendarBookingServiceImpl _calendarBookingServiceImpl =
+		Mockito.spy(new CalendarBookingServiceImpl());
+
+	private class MockCalendarBookingSearcher
+		extends CalendarBookingServiceImpl.CalendarBookingSearcher {
+
+		public int getCount() {
+			return _count;
+		}
+
+		@Override
+		public List<CalendarBooking> search(int start, int end) {
+			_count++;
+
+			return ListUtil.subList(_calendarBookings, start, end);
+		}
+
+		private int _count;
+
+	}
+
+}
\ No newline at end of file
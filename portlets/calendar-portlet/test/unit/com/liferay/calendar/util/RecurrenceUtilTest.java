@@ -0,0 +1,372 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.calendar.util;
+
+import com.google.ical.iter.RecurrenceIterator;
+import com.google.ical.iter.RecurrenceIteratorFactory;
+import com.google.ical.util.TimeUtils;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.Frequency;
+import com.google.ical.values.RDateList;
+import com.google.ical.values.RRule;
+import com.google.ical.values.Weekday;
+import com.google.ical.values.WeekdayNum;
+
+import com.liferay.calendar.model.CalendarBooking;
+import com.liferay.portal.kernel.util.CalendarFactoryUtil;
+import com.liferay.portal.kernel.util.Time;
+import com.liferay.portal.kernel.util.TimeZoneUtil;
+import com.liferay.portal.util.CalendarFactoryImpl;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+public class RecurrenceUtilTest {
+
+	@BeforeClass
+	public static void setUpClass() {
+		CalendarFactoryUtil calendarFactoryUtil = new CalendarFactoryUtil();
+
+		calendarFactoryUtil.setCalendarFactory(new CalendarFactoryImpl());
+	}
+
+	@Test
+	public void testExpandCalendarBookingKeepsLocalTimeAcrossDST()
+		throws Exception {
+
+		TimeZone timeZone = TimeZone.getTimeZone("America/Los_Angeles");
+
+		Calendar startJCalendar = JCalendarUtil.getJCalendar(
+			2013, Calendar.JANUARY, 7, 9, 30, 0, 0, timeZone);
+
+		CalendarBooking calendarBooking = mockCalendarBooking(
+			"RRULE:FREQ=WEEKLY", startJCalendar.getTimeInMillis(), timeZone);
+
+		List<CalendarBooking> calendarBookings =
+			RecurrenceUtil.expandCalendarBooking(
+				calendarBooking, startJCalendar.getTimeInMillis(),
+				startJCalendar.getTimeInMillis() + Time.YEAR, 0);
+
+		Assert.assertEquals(53, calendarBookings.size());
+
+		for (CalendarBooking expandedCalendarBooking : calendarBookings) {
+			Calendar jCalendar = JCalendarUtil.getJCalendar(
+				expandedCalendarBooking.getStartTime(), timeZone);
+
+			Assert.assertEquals(9, jCalendar.get(Calendar.HOUR_OF_DAY));
+			Assert.assertEquals(30, jCalendar.get(Calendar.MINUTE));
+			Assert.assertEquals(
+				Calendar.MONDAY, jCalendar.get(Calendar.DAY_OF_WEEK));
+			Assert.assertEquals(
+				_DURATION,
+				expandedCalendarBooking.getEndTime() -
+					expandedCalendarBooking.getStartTime());
+		}
+	}
+
+	@Test
+	public void testExpandCalendarBookingMatchesRecurrenceIterator()
+		throws Exception {
+
+		Random random = new Random(_SEED);
+
+		for (int i = 0; i < _RULES_COUNT; i++) {
+			long startTime = getRandomStartTime(random);
+			String recurrence = getRandomRecurrence(random, startTime);
+
+			CalendarBooking calendarBooking = mockCalendarBooking(
+				recurrence, startTime, TimeZoneUtil.GMT);
+
+			long windowStartTime =
+				startTime + (random.nextInt(400) - 30) * Time.DAY;
+			long windowEndTime =
+				windowStartTime + random.nextInt(120) * Time.DAY;
+
+			List<Long> expectedStartTimes = new ArrayList<Long>();
+
+			DateValue windowStartDateValue = toDateValue(windowStartTime);
+			DateValue windowEndDateValue = toDateValue(windowEndTime);
+
+			for (DateValue dateValue : getDateValues(recurrence, startTime)) {
+				if ((dateValue.compareTo(windowStartDateValue) >= 0) &&
+					(dateValue.compareTo(windowEndDateValue) <= 0)) {
+
+					expectedStartTimes.add(
+						toTime(dateValue) + (startTime % Time.DAY));
+				}
+			}
+
+			List<CalendarBooking> calendarBookings =
+				RecurrenceUtil.expandCalendarBooking(
+					calendarBooking, windowStartTime, windowEndTime, 0);
+
+			List<Long> startTimes = new ArrayList<Long>();
+
+			for (CalendarBooking expandedCalendarBooking : calendarBookings) {
+				startTimes.add(expandedCalendarBooking.getStartTime());
+
+				Assert.assertEquals(
+					_DURATION, expandedCalendarBooking.getDuration());
+			}
+
+			Assert.assertEquals(recurrence, expectedStartTimes, startTimes);
+
+			if (expectedStartTimes.size() > 1) {
+				int maxSize = random.nextInt(expectedStartTimes.size()) + 1;
+
+				calendarBookings = RecurrenceUtil.expandCalendarBooking(
+					calendarBooking, windowStartTime, windowEndTime, maxSize);
+
+				Assert.assertEquals(
+					recurrence, maxSize, calendarBookings.size());
+			}
+		}
+	}
+
+	@Test
+	public void testExpandCalendarBookingNotRecurring() {
+		CalendarBooking calendarBooking = mockCalendarBooking(
+			null, 0, TimeZoneUtil.GMT);
+
+		List<CalendarBooking> calendarBookings =
+			RecurrenceUtil.expandCalendarBooking(
+				calendarBooking, 0, Time.YEAR, 0);
+
+		Assert.assertEquals(1, calendarBookings.size());
+		Assert.assertSame(calendarBooking, calendarBookings.get(0));
+	}
+
+	@Test
+	public void testGetIndexOfInstanceMatchesRecurrenceIterator()
+		throws Exception {
+
+		Random random = new Random(_SEED);
+
+		for (int i = 0; i < _RULES_COUNT; i++) {
+			long startTime = getRandomStartTime(random);
+			String recurrence = getRandomRecurrence(random, startTime);
+
+			List<DateValue> dateValues = getDateValues(recurrence, startTime);
+
+			for (int j = 0; j < dateValues.size(); j++) {
+				long instanceStartTime =
+					toTime(dateValues.get(j)) + (startTime % Time.DAY);
+
+				Assert.assertEquals(
+					recurrence, j,
+					RecurrenceUtil.getIndexOfInstance(
+						recurrence, startTime, instanceStartTime));
+			}
+
+			for (int j = 0; j < 20; j++) {
+				long instanceStartTime =
+					startTime + (random.nextInt(800) - 30) * Time.DAY;
+
+				DateValue instanceDateValue = toDateValue(instanceStartTime);
+
+				int index = 0;
+
+				for (DateValue dateValue : dateValues) {
+					if (dateValue.compareTo(instanceDateValue) >= 0) {
+						break;
+					}
+
+					index++;
+				}
+
+				Assert.assertEquals(
+					recurrence, index,
+					RecurrenceUtil.getIndexOfInstance(
+						recurrence, startTime, instanceStartTime));
+			}
+		}
+	}
+
+	protected List<DateValue> getDateValues(String recurrence, long startTime)
+		throws Exception {
+
+		RecurrenceIterator recurrenceIterator =
+			RecurrenceIteratorFactory.createRecurrenceIterator(
+				recurrence, toDateValue(startTime), TimeUtils.utcTimezone());
+
+		DateValue endDateValue = toDateValue(startTime + 1000 * Time.DAY);
+
+		List<DateValue> dateValues = new ArrayList<DateValue>();
+
+		while (recurrenceIterator.hasNext()) {
+			DateValue dateValue = recurrenceIterator.next();
+
+			if (dateValue.compareTo(endDateValue) > 0) {
+				break;
+			}
+
+			dateValues.add(dateValue);
+		}
+
+		return dateValues;
+	}
+
+	protected String getRandomRecurrence(Random random, long startTime)
+		throws Exception {
+
+		RRule rRule = new RRule();
+
+		Frequency[] frequencies = {
+			Frequency.DAILY, Frequency.DAILY, Frequency.WEEKLY,
+			Frequency.WEEKLY, Frequency.MONTHLY
+		};
+
+		rRule.setFreq(frequencies[random.nextInt(frequencies.length)]);
+		rRule.setInterval(random.nextInt(4) + 1);
+
+		if ((rRule.getFreq() == Frequency.WEEKLY) && random.nextBoolean()) {
+			List<WeekdayNum> weekdayNums = new ArrayList<WeekdayNum>();
+
+			weekdayNums.add(new WeekdayNum(0, Weekday.MO));
+			weekdayNums.add(new WeekdayNum(0, Weekday.TH));
+
+			rRule.setByDay(weekdayNums);
+		}
+
+		int limit = random.nextInt(3);
+
+		if (limit == 1) {
+			rRule.setCount(random.nextInt(60) + 1);
+		}
+		else if (limit == 2) {
+			rRule.setUntil(
+				toDateValue(startTime + random.nextInt(300) * Time.DAY));
+		}
+
+		String recurrence = rRule.toIcal();
+
+		if (random.nextBoolean()) {
+			return recurrence;
+		}
+
+		List<DateValue> dateValues = getDateValues(recurrence, startTime);
+
+		DateValue[] exceptionDateValues = new DateValue[3];
+
+		for (int i = 0; i < exceptionDateValues.length; i++) {
+			if (!dateValues.isEmpty() && random.nextBoolean()) {
+				exceptionDateValues[i] = dateValues.get(
+					random.nextInt(dateValues.size()));
+			}
+			else {
+				exceptionDateValues[i] = toDateValue(
+					startTime + random.nextInt(300) * Time.DAY);
+			}
+		}
+
+		RDateList rDateList = new RDateList(TimeZone.getTimeZone("UTC"));
+
+		rDateList.setDatesUtc(exceptionDateValues);
+		rDateList.setName("EXDATE");
+
+		return recurrence.concat("\n").concat(rDateList.toIcal());
+	}
+
+	protected long getRandomStartTime(Random random) {
+		Calendar jCalendar = JCalendarUtil.getJCalendar(
+			2010 + random.nextInt(5), random.nextInt(12),
+			random.nextInt(28) + 1, random.nextInt(24), 0, 0, 0,
+			TimeZoneUtil.GMT);
+
+		return jCalendar.getTimeInMillis();
+	}
+
+	protected CalendarBooking mockCalendarBooking(
+		String recurrence, long startTime, TimeZone timeZone) {
+
+		CalendarBooking calendarBooking = Mockito.mock(CalendarBooking.class);
+
+		Mockito.when(
+			calendarBooking.getDuration()
+		).thenReturn(
+			_DURATION
+		);
+
+		Mockito.when(
+			calendarBooking.getEndTime()
+		).thenReturn(
+			startTime + _DURATION
+		);
+
+		Mockito.when(
+			calendarBooking.getRecurrence()
+		).thenReturn(
+			recurrence
+		);
+
+		Mockito.when(
+			calendarBooking.getStartTime()
+		).thenReturn(
+			startTime
+		);
+
+		try {
+			Mockito.when(
+				calendarBooking.getTimeZone()
+			).thenReturn(
+				timeZone
+			);
+		}
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+
+		Mockito.when(
+			calendarBooking.isRecurring()
+		).thenReturn(
+			recurrence != null
+		);
+
+		return calendarBooking;
+	}
+
+	protected DateValue toDateValue(long time) {
+		Calendar jCalendar = JCalendarUtil.getJCalendar(time);
+
+		return new DateValueImpl(
+			jCalendar.get(Calendar.YEAR), jCalendar.get(Calendar.MONTH) + 1,
+			jCalendar.get(Calendar.DAY_OF_MONTH));
+	}
+
+	protected long toTime(DateValue dateValue) {
+		Calendar jCalendar = JCalendarUtil.getJCalendar(
+			dateValue.year(), dateValue.month() - 1, dateValue.day(), 0, 0, 0,
+			0, TimeZoneUtil.GMT);
+
+		return jCalendar.getTimeInMillis();
+	}
+
+	private static final long _DURATION = Time.HOUR;
+
+	private static final int _RULES_COUNT = 200;
+
+	private static final long _SEED = 2445;
+
+}
\ No newline at end of file
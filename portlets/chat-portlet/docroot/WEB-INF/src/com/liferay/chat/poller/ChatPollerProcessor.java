@@ -18,7 +18,7 @@ import com.liferay.chat.model.Entry;
 import com.liferay.chat.model.Status;
 import com.liferay.chat.service.EntryLocalServiceUtil;
 import com.liferay.chat.service.StatusLocalServiceUtil;
-import com.liferay.chat.util.BuddyFinderUtil;
+import com.liferay.chat.util.ChatCacheUtil;
 import com.liferay.chat.util.ChatConstants;
 import com.liferay.chat.util.PortletPropsValues;
 import com.liferay.portal.NoSuchUserException;
@@ -73,7 +73,7 @@ public class ChatPollerProcessor extends BasePollerProcessor {
 			PollerRequest pollerRequest, PollerResponse pollerResponse)
 		throws Exception {
 
-		List<Object[]> buddies = BuddyFinderUtil.getBuddies(
+		List<Object[]> buddies = ChatCacheUtil.getBuddies(
 			pollerRequest.getCompanyId(), pollerRequest.getUserId());
 
 		JSONArray buddiesJSONArray = JSONFactoryUtil.createJSONArray();
@@ -125,15 +125,18 @@ public class ChatPollerProcessor extends BasePollerProcessor {
 		Status status = StatusLocalServiceUtil.getUserStatus(
 			pollerRequest.getUserId());
 
-		long createDate = 0;
+		List<Entry> entries = null;
 
 		if (pollerRequest.isInitialRequest()) {
-			createDate = status.getModifiedDate() - Time.DAY;
-		}
+			long createDate = status.getModifiedDate() - Time.DAY;
 
-		List<Entry> entries = EntryLocalServiceUtil.getNewEntries(
-			pollerRequest.getUserId(), createDate, 0,
-			PortletPropsValues.BUDDY_LIST_MAX_BUDDIES);
+			entries = EntryLocalServiceUtil.getNewEntries(
+				pollerRequest.getUserId(), createDate, 0,
+				PortletPropsValues.BUDDY_LIST_MAX_BUDDIES);
+		}
+		else {
+			entries = ChatCacheUtil.getNewEntries(pollerRequest.getUserId());
+		}
 
 		entries = ListUtil.copy(entries);
 
@@ -17,6 +17,7 @@ package com.liferay.chat.service.impl;
 import com.liferay.chat.jabber.JabberUtil;
 import com.liferay.chat.model.Entry;
 import com.liferay.chat.service.base.EntryLocalServiceBaseImpl;
+import com.liferay.chat.util.ChatCacheUtil;
 import com.liferay.portal.kernel.dao.db.DB;
 import com.liferay.portal.kernel.dao.db.DBFactoryUtil;
 import com.liferay.portal.kernel.exception.SystemException;
@@ -74,6 +75,8 @@ public class EntryLocalServiceImpl extends EntryLocalServiceBaseImpl {
 
 		entryPersistence.update(entry);
 
+		ChatCacheUtil.removeEntries(fromUserId, toUserId);
+
 		JabberUtil.sendMessage(fromUserId, toUserId, content);
 
 		return entry;
@@ -92,6 +95,8 @@ public class EntryLocalServiceImpl extends EntryLocalServiceBaseImpl {
 	public void deleteEntries(long userId) throws SystemException {
 		entryPersistence.removeByFromUserId(userId);
 		entryPersistence.removeByToUserId(userId);
+
+		ChatCacheUtil.clearEntriesCache();
 	}
 
 	@Override
@@ -19,6 +19,8 @@ import com.liferay.chat.model.Entry;
 import com.liferay.chat.model.EntryConstants;
 import com.liferay.chat.model.Status;
 import com.liferay.chat.service.base.StatusLocalServiceBaseImpl;
+import com.liferay.chat.util.ChatCacheUtil;
+import com.liferay.chat.util.ChatConstants;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.json.JSONException;
 import com.liferay.portal.kernel.json.JSONFactoryUtil;
@@ -101,20 +103,39 @@ public class StatusLocalServiceImpl extends StatusLocalServiceBaseImpl {
 
 		Status status = statusPersistence.fetchByUserId(userId);
 
+		boolean removeBuddies = false;
+
 		if (status == null) {
 			long statusId = counterLocalService.increment();
 
 			status = statusPersistence.create(statusId);
 
 			status.setUserId(userId);
+
+			removeBuddies = true;
 		}
 
 		if (modifiedDate != -1) {
+			long onlineTimestamp =
+				System.currentTimeMillis() - ChatConstants.ONLINE_DELTA;
+
+			if ((status.getModifiedDate() <= onlineTimestamp) &&
+				(modifiedDate > onlineTimestamp)) {
+
+				removeBuddies = true;
+			}
+
 			status.setModifiedDate(modifiedDate);
 		}
 
 		if (online != -1) {
-			status.setOnline((online == 1) ? true : false);
+			boolean curOnline = (online == 1) ? true : false;
+
+			if (status.isOnline() != curOnline) {
+				removeBuddies = true;
+			}
+
+			status.setOnline(curOnline);
 		}
 
 		if (awake != -1) {
@@ -136,6 +157,10 @@ public class StatusLocalServiceImpl extends StatusLocalServiceBaseImpl {
 
 					entryPersistence.update(entry);
 				}
+
+				if (!entries.isEmpty()) {
+					ChatCacheUtil.removeEntries(openPanelId, userId);
+				}
 			}
 			catch (JSONException jsone) {
 				_log.error(
@@ -168,6 +193,12 @@ public class StatusLocalServiceImpl extends StatusLocalServiceBaseImpl {
 			}
 		}
 
+		// Buddy lists of other users pick up the change when they expire
+
+		if (removeBuddies) {
+			ChatCacheUtil.removeBuddies(userId);
+		}
+
 		JabberUtil.updateStatus(userId, online);
 
 		return status;
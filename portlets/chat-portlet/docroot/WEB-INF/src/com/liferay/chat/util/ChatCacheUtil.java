@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.chat.util;
+
+import com.liferay.chat.model.Entry;
+import com.liferay.chat.service.EntryLocalServiceUtil;
+import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.transaction.TransactionCommitCallbackRegistryUtil;
+
+import java.io.Serializable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class ChatCacheUtil {
+
+	public static void clearEntriesCache() {
+		TransactionCommitCallbackRegistryUtil.registerCallback(
+			new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+					_entriesPortalCache.removeAll();
+
+					return null;
+				}
+
+			});
+	}
+
+	public static List<Object[]> getBuddies(long companyId, long userId)
+		throws SystemException {
+
+		Buddies buddies = _buddiesPortalCache.get(userId);
+
+		long now = System.currentTimeMillis();
+
+		if ((buddies == null) ||
+			((buddies.getCreateTime() + ChatConstants.MAX_POLL_LATENCY) <
+				now)) {
+
+			buddies = new Buddies(
+				BuddyFinderUtil.getBuddies(companyId, userId), now);
+
+			_buddiesPortalCache.put(userId, buddies);
+		}
+
+		return buddies.getBuddies();
+	}
+
+	public static List<Entry> getNewEntries(long userId)
+		throws SystemException {
+
+		ArrayList<Entry> entries = _entriesPortalCache.get(userId);
+
+		if (entries == null) {
+			entries = new ArrayList<Entry>(
+				EntryLocalServiceUtil.getNewEntries(
+					userId, 0, 0, PortletPropsValues.BUDDY_LIST_MAX_BUDDIES));
+
+			_entriesPortalCache.put(userId, entries);
+		}
+
+		return entries;
+	}
+
+	public static void removeBuddies(final long userId) {
+		TransactionCommitCallbackRegistryUtil.registerCallback(
+			new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+					_buddiesPortalCache.remove(userId);
+
+					return null;
+				}
+
+			});
+	}
+
+	public static void removeEntries(final long... userIds) {
+		TransactionCommitCallbackRegistryUtil.registerCallback(
+			new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+					for (long userId : userIds) {
+						_entriesPortalCache.remove(userId);
+					}
+
+					return null;
+				}
+
+			});
+	}
+
+	private static final String _BUDDIES_CACHE_NAME =
+		ChatCacheUtil.class.getName() + "_BUDDIES";
+
+	private static final String _ENTRIES_CACHE_NAME =
+		ChatCacheUtil.class.getName() + "_ENTRIES";
+
+	private static PortalCache<Long, Buddies> _buddiesPortalCache =
+		MultiVMPoolUtil.getCache(_BUDDIES_CACHE_NAME);
+	private static PortalCache<Long, ArrayList<Entry>> _entriesPortalCache =
+		MultiVMPoolUtil.getCache(_ENTRIES_CACHE_NAME);
+
+	private static class Buddies implements Serializable {
+
+		public Buddies(List<Object[]> buddies, long createTime) {
+			_buddies = new ArrayList<Object[]>(buddies);
+			_createTime = createTime;
+		}
+
+		public List<Object[]> getBuddies() {
+			return _buddies;
+		}
+
+		public long getCreateTime() {
+			return _createTime;
+		}
+
+		private final List<Object[]> _buddies;
+		private final long _createTime;
+
+	}
+
+}
\ No newline at end of file
@@ -25,6 +25,8 @@ import com.liferay.mail.util.AttachmentHandler;
 import com.liferay.mail.util.HtmlContentUtil;
 import com.liferay.mail.util.MailConstants;
 import com.liferay.mail.util.PortletPropsValues;
+import com.liferay.portal.kernel.dao.orm.DynamicQuery;
+import com.liferay.portal.kernel.dao.orm.RestrictionsFactoryUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.log.Log;
@@ -44,7 +46,9 @@ import java.io.UnsupportedEncodingException;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.activation.DataHandler;
 import javax.activation.DataSource;
@@ -315,6 +319,15 @@ public class IMAPAccessor {
 		}
 	}
 
+	public void idle(long folderId) throws PortalException, SystemException {
+		com.liferay.mail.model.Folder folder =
+			FolderLocalServiceUtil.getFolder(folderId);
+
+		_imapConnection.idle(
+			folder.getFullName(),
+			new IMAPMessageCountListener(_user, _account, _password));
+	}
+
 	public void moveMessages(
 			long sourceFolderId, long destinationFolderId, long[] messageIds,
 			boolean deleteMissingMessages)
@@ -439,6 +452,10 @@ public class IMAPAccessor {
 		}
 	}
 
+	public void stopIdle() {
+		_imapConnection.stopIdle();
+	}
+
 	public void storeContents(long folderId, long[] remoteMessageIds)
 		throws IOException, PortalException, SystemException {
 
@@ -569,6 +586,18 @@ public class IMAPAccessor {
 				int oldestMessageNumber = oldestJxMessage.getMessageNumber();
 				int newestMessageNumber = newestJxMessage.getMessageNumber();
 
+				// Resynchronize flags of the most recent messages only
+
+				int flagsMessageNumber = Math.max(
+					oldestMessageNumber,
+					newestMessageNumber -
+						PortletPropsValues.MESSAGES_SYNC_COUNT + 1);
+
+				storeFlags(
+					folderId, jxFolder,
+					jxFolder.getMessages(
+						flagsMessageNumber, newestMessageNumber));
+
 				if (newestMessageNumber != messageCount) {
 					if (_log.isDebugEnabled()) {
 						_log.debug(
@@ -626,7 +655,14 @@ public class IMAPAccessor {
 
 			jxFolder.fetch(jxMessages, fetchProfile);
 
-			for (Message jxMessage : jxMessages) {
+			long[] remoteMessageIds = getMessageUIDs(jxFolder, jxMessages);
+
+			Map<Long, com.liferay.mail.model.Message> messages = getMessages(
+				folderId, remoteMessageIds);
+
+			for (int i = 0; i < jxMessages.length; i++) {
+				Message jxMessage = jxMessages[i];
+
 				String sender = InternetAddressUtil.toString(
 					jxMessage.getFrom());
 				String to = InternetAddressUtil.toString(
@@ -638,18 +674,22 @@ public class IMAPAccessor {
 				Date sentDate = jxMessage.getSentDate();
 				String subject = jxMessage.getSubject();
 				String flags = getFlags(jxMessage);
-				long remoteMessageId = getUID(jxFolder, jxMessage);
+				long remoteMessageId = remoteMessageIds[i];
 
-				try {
-					MessageLocalServiceUtil.getMessage(
-						folderId, remoteMessageId);
-				}
-				catch (NoSuchMessageException nsme) {
-					MessageLocalServiceUtil.addMessage(
-						_user.getUserId(), folderId, sender, to, cc, bcc,
-						sentDate, subject, StringPool.BLANK, flags,
-						remoteMessageId);
+				com.liferay.mail.model.Message message = messages.get(
+					remoteMessageId);
+
+				if (message != null) {
+					updateFlags(message, flags);
+
+					continue;
 				}
+
+				message = MessageLocalServiceUtil.addMessage(
+					_user.getUserId(), folderId, sender, to, cc, bcc, sentDate,
+					subject, StringPool.BLANK, flags, remoteMessageId);
+
+				messages.put(remoteMessageId, message);
 			}
 
 			com.liferay.mail.model.Folder folder =
@@ -693,6 +733,53 @@ public class IMAPAccessor {
 		}
 	}
 
+	public void storeFlags(long folderId, Folder jxFolder, Message[] jxMessages)
+		throws PortalException, SystemException {
+
+		StopWatch stopWatch = new StopWatch();
+
+		stopWatch.start();
+
+		try {
+			FetchProfile fetchProfile = new FetchProfile();
+
+			fetchProfile.add(UIDFolder.FetchProfileItem.FLAGS);
+			fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+
+			jxFolder.fetch(jxMessages, fetchProfile);
+
+			long[] remoteMessageIds = getMessageUIDs(jxFolder, jxMessages);
+
+			Map<Long, String> remoteFlags = new HashMap<Long, String>();
+
+			for (int i = 0; i < jxMessages.length; i++) {
+				remoteFlags.put(remoteMessageIds[i], getFlags(jxMessages[i]));
+			}
+
+			Map<Long, com.liferay.mail.model.Message> messages = getMessages(
+				folderId, remoteMessageIds);
+
+			Map<Long, String> changedFlags = IMAPSyncUtil.getChangedFlags(
+				messages, remoteFlags);
+
+			for (Map.Entry<Long, String> entry : changedFlags.entrySet()) {
+				updateFlags(messages.get(entry.getKey()), entry.getValue());
+			}
+		}
+		catch (MessagingException me) {
+			throw new MailException(me);
+		}
+
+		if (_log.isDebugEnabled()) {
+			stopWatch.stop();
+
+			_log.debug(
+				"Synchronizing flags of " + jxMessages.length +
+					" messages from folder " + jxFolder.getFullName() +
+						" completed in " + stopWatch.getTime() + " ms");
+		}
+	}
+
 	public void updateFlags(
 			long folderId, long[] messageIds, int flag, boolean value,
 			boolean deleteMissingMessages)
@@ -891,6 +978,31 @@ public class IMAPAccessor {
 		return new int[] {startIndex, endIndex};
 	}
 
+	protected Map<Long, com.liferay.mail.model.Message> getMessages(
+			long folderId, long[] remoteMessageIds)
+		throws SystemException {
+
+		long[] remoteMessageIdRange = IMAPSyncUtil.getRemoteMessageIdRange(
+			remoteMessageIds);
+
+		if (remoteMessageIdRange == null) {
+			return new HashMap<Long, com.liferay.mail.model.Message>();
+		}
+
+		DynamicQuery dynamicQuery = MessageLocalServiceUtil.dynamicQuery();
+
+		dynamicQuery.add(RestrictionsFactoryUtil.eq("folderId", folderId));
+		dynamicQuery.add(
+			RestrictionsFactoryUtil.between(
+				"remoteMessageId", remoteMessageIdRange[0],
+				remoteMessageIdRange[1]));
+
+		List<com.liferay.mail.model.Message> messages =
+			MessageLocalServiceUtil.dynamicQuery(dynamicQuery);
+
+		return IMAPSyncUtil.getMessages(messages);
+	}
+
 	protected List<Message> getMessages(
 			Folder jxFolder, long[] messageIds, boolean deleteMissingMessages)
 		throws MessagingException, PortalException, SystemException {
@@ -1067,6 +1179,19 @@ public class IMAPAccessor {
 		return openFolder(getFolder(folderId));
 	}
 
+	protected void updateFlags(
+			com.liferay.mail.model.Message message, String flags)
+		throws SystemException {
+
+		if (flags.equals(message.getFlags())) {
+			return;
+		}
+
+		message.setFlags(flags);
+
+		MessageLocalServiceUtil.updateMessage(message);
+	}
+
 	private static Log _log = LogFactoryUtil.getLog(IMAPAccessor.class);
 
 	private Account _account;
@@ -19,14 +19,20 @@ import com.liferay.mail.model.Account;
 import com.liferay.mail.util.PortletPropsValues;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Time;
+
+import com.sun.mail.imap.IMAPFolder;
 
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.mail.Folder;
 import javax.mail.MessagingException;
 import javax.mail.Session;
 import javax.mail.Store;
 import javax.mail.Transport;
+import javax.mail.event.MessageCountListener;
 
 import javax.net.ssl.SSLSocketFactory;
 
@@ -37,6 +43,12 @@ import org.apache.commons.lang.time.StopWatch;
  */
 public class IMAPConnection {
 
+	public static void stopIdleThreads() {
+		for (IdleThread idleThread : _idleThreads.values()) {
+			idleThread.stopIdle();
+		}
+	}
+
 	public IMAPConnection(Account account, String password) {
 		this(
 			account.getIncomingHostName(), account.getIncomingPort(),
@@ -99,8 +111,7 @@ public class IMAPConnection {
 		Store store = null;
 
 		try {
-			String storeKey = _incomingHostName.concat(
-				_outgoingHostName).concat(_login);
+			String storeKey = getStoreKey();
 
 			if (useOldStores) {
 				store = _allStores.get(storeKey);
@@ -162,6 +173,63 @@ public class IMAPConnection {
 		}
 	}
 
+	public void idle(
+		String fullName, MessageCountListener messageCountListener) {
+
+		if (!PortletPropsValues.MESSAGES_IDLE_ENABLED) {
+			return;
+		}
+
+		String idleKey = getStoreKey().concat(fullName);
+
+		synchronized (_idleThreads) {
+			stopExpiredIdleThreads();
+
+			IdleThread oldIdleThread = _idleThreads.get(idleKey);
+
+			if (oldIdleThread != null) {
+				if (_password.equals(oldIdleThread.getPassword())) {
+					oldIdleThread.updateLastAccessTime();
+
+					return;
+				}
+
+				// Replace a thread that still logs in with an old password
+
+				oldIdleThread.stopIdle();
+			}
+
+			if (_idleThreads.size() >=
+					PortletPropsValues.MESSAGES_IDLE_MAX_THREADS) {
+
+				if (_log.isWarnEnabled()) {
+					_log.warn(
+						"Unable to idle on folder " + fullName + " because " +
+							_idleThreads.size() + " folders are idled");
+				}
+
+				return;
+			}
+
+			IdleThread idleThread = new IdleThread(
+				idleKey, fullName, messageCountListener);
+
+			_idleThreads.put(idleKey, idleThread);
+
+			idleThread.start();
+		}
+	}
+
+	public void stopIdle() {
+		String storeKey = getStoreKey();
+
+		for (IdleThread idleThread : _idleThreads.values()) {
+			if (storeKey.equals(idleThread.getStoreKey())) {
+				idleThread.stopIdle();
+			}
+		}
+	}
+
 	public void testConnection() throws MailException {
 		MailException mailException = null;
 
@@ -203,6 +271,18 @@ public class IMAPConnection {
 		}
 	}
 
+	protected String getStoreKey() {
+		return _incomingHostName.concat(_outgoingHostName).concat(_login);
+	}
+
+	protected void stopExpiredIdleThreads() {
+		for (IdleThread idleThread : _idleThreads.values()) {
+			if (idleThread.isExpired()) {
+				idleThread.stopIdle();
+			}
+		}
+	}
+
 	protected void testIncomingConnection() throws MailException {
 		StopWatch stopWatch = new StopWatch();
 
@@ -255,6 +335,10 @@ public class IMAPConnection {
 		}
 	}
 
+	private static final int _IDLE_MAX_FAILURES = 5;
+
+	private static final long _IDLE_RETRY_DELAY = Time.MINUTE;
+
 	private static final String _TRANSPORT = "_TRANSPORT_";
 
 	private static Log _log = LogFactoryUtil.getLog(IMAPConnection.class);
@@ -262,6 +346,9 @@ public class IMAPConnection {
 	private static ConcurrentHashMap<String, Store> _allStores =
 		new ConcurrentHashMap<String, Store>();
 
+	private static ConcurrentHashMap<String, IdleThread> _idleThreads =
+		new ConcurrentHashMap<String, IdleThread>();
+
 	private String _incomingHostName;
 	private int _incomingPort;
 	private boolean _incomingSecure;
@@ -272,4 +359,151 @@ public class IMAPConnection {
 	private String _password;
 	private Session _session;
 
+	private class IdleThread extends Thread {
+
+		public IdleThread(
+			String idleKey, String fullName,
+			MessageCountListener messageCountListener) {
+
+			super(IdleThread.class.getName() + StringPool.SPACE + idleKey);
+
+			_idleKey = idleKey;
+			_fullName = fullName;
+			_messageCountListener = messageCountListener;
+
+			setDaemon(true);
+
+			updateLastAccessTime();
+		}
+
+		public String getPassword() {
+			return _password;
+		}
+
+		public String getStoreKey() {
+			return IMAPConnection.this.getStoreKey();
+		}
+
+		public boolean isExpired() {
+			if (PortletPropsValues.MESSAGES_IDLE_TIMEOUT <= 0) {
+				return false;
+			}
+
+			long idleTime = System.currentTimeMillis() - _lastAccessTime;
+
+			if (idleTime >
+					(PortletPropsValues.MESSAGES_IDLE_TIMEOUT * Time.MINUTE)) {
+
+				return true;
+			}
+
+			return false;
+		}
+
+		@Override
+		public void run() {
+			int failures = 0;
+
+			try {
+				while (!_stopped && !isExpired() &&
+					   (failures < _IDLE_MAX_FAILURES)) {
+
+					try {
+						idle();
+
+						failures = 0;
+					}
+					catch (Exception e) {
+						if (_stopped) {
+							break;
+						}
+
+						failures++;
+
+						if (_log.isWarnEnabled()) {
+							_log.warn(
+								"Unable to idle on folder " + _fullName, e);
+						}
+
+						Thread.sleep(_IDLE_RETRY_DELAY);
+					}
+				}
+			}
+			catch (InterruptedException ie) {
+			}
+			finally {
+				_idleThreads.remove(_idleKey, this);
+			}
+		}
+
+		public void stopIdle() {
+			_stopped = true;
+
+			_idleThreads.remove(_idleKey, this);
+
+			// Closing the store ends a blocking IDLE command
+
+			Store store = _store;
+
+			if (store != null) {
+				try {
+					store.close();
+				}
+				catch (MessagingException me) {
+					if (_log.isDebugEnabled()) {
+						_log.debug(me, me);
+					}
+				}
+			}
+
+			interrupt();
+		}
+
+		public void updateLastAccessTime() {
+			_lastAccessTime = System.currentTimeMillis();
+		}
+
+		protected void idle() throws MailException, MessagingException {
+			Store store = getStore(false);
+
+			_store = store;
+
+			try {
+				if (_stopped) {
+					return;
+				}
+
+				Folder jxFolder = store.getFolder(_fullName);
+
+				if (!(jxFolder instanceof IMAPFolder)) {
+					throw new MessagingException(
+						"IDLE is not supported for folder " + _fullName);
+				}
+
+				IMAPFolder imapFolder = (IMAPFolder)jxFolder;
+
+				imapFolder.open(Folder.READ_ONLY);
+
+				imapFolder.addMessageCountListener(_messageCountListener);
+
+				while (!_stopped && !isExpired() && imapFolder.isOpen()) {
+					imapFolder.idle();
+				}
+			}
+			finally {
+				_store = null;
+
+				store.close();
+			}
+		}
+
+		private String _fullName;
+		private String _idleKey;
+		private volatile long _lastAccessTime;
+		private MessageCountListener _messageCountListener;
+		private volatile boolean _stopped;
+		private volatile Store _store;
+
+	}
+
 }
\ No newline at end of file
@@ -15,6 +15,8 @@
 package com.liferay.mail.imap;
 
 import com.liferay.mail.MailException;
+import com.liferay.mail.mailbox.Mailbox;
+import com.liferay.mail.mailbox.MailboxFactoryUtil;
 import com.liferay.mail.model.Account;
 import com.liferay.mail.service.FolderLocalServiceUtil;
 import com.liferay.mail.service.MessageLocalServiceUtil;
@@ -35,7 +37,10 @@ public class IMAPMessageCountListener implements MessageCountListener {
 	public IMAPMessageCountListener(
 		User user, Account account, String password) {
 
+		_user = user;
 		_account = account;
+		_password = password;
+
 		_imapAccessor = new IMAPAccessor(user, account, password);
 	}
 
@@ -43,39 +48,35 @@ public class IMAPMessageCountListener implements MessageCountListener {
 	public void messagesAdded(MessageCountEvent messageCountEvent) {
 		Message[] jxMessages = messageCountEvent.getMessages();
 
-		Folder jxFolder = null;
+		Folder jxFolder = jxMessages[0].getFolder();
 
 		try {
-			jxFolder = _imapAccessor.openFolder(jxMessages[0].getFolder());
-
 			com.liferay.mail.model.Folder folder =
 				FolderLocalServiceUtil.getFolder(
 					_account.getAccountId(), jxFolder.getFullName());
 
-			_imapAccessor.storeEnvelopes(
-				folder.getFolderId(), jxFolder, jxMessages);
+			// Synchronize under the account lock held by full synchronizations
+
+			Mailbox mailbox = MailboxFactoryUtil.getMailbox(
+				_user.getUserId(), _account.getAccountId(), _password);
+
+			mailbox.synchronizeFolder(folder.getFolderId());
 		}
 		catch (Exception e) {
 			_log.error("Unable to add messages", e);
 		}
-		finally {
-			try {
-				_imapAccessor.closeFolder(jxFolder, false);
-			}
-			catch (MailException me) {
-				_log.error(me, me);
-			}
-		}
 	}
 
 	@Override
 	public void messagesRemoved(MessageCountEvent messageCountEvent) {
 		Message[] jxMessages = messageCountEvent.getMessages();
 
-		Folder jxFolder = null;
+		Folder jxFolder = jxMessages[0].getFolder();
+
+		boolean open = jxFolder.isOpen();
 
 		try {
-			jxFolder = _imapAccessor.openFolder(jxMessages[0].getFolder());
+			jxFolder = _imapAccessor.openFolder(jxFolder);
 
 			com.liferay.mail.model.Folder folder =
 				FolderLocalServiceUtil.getFolder(
@@ -97,7 +98,9 @@ public class IMAPMessageCountListener implements MessageCountListener {
 		}
 		finally {
 			try {
-				_imapAccessor.closeFolder(jxFolder, false);
+				if (!open) {
+					_imapAccessor.closeFolder(jxFolder, false);
+				}
 			}
 			catch (MailException me) {
 				_log.error(me);
@@ -110,5 +113,7 @@ public class IMAPMessageCountListener implements MessageCountListener {
 
 	private Account _account;
 	private IMAPAccessor _imapAccessor;
+	private String _password;
+	private User _user;
 
 }
\ No newline at end of file
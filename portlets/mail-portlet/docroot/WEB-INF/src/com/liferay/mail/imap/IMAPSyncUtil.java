@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.mail.imap;
+
+import com.liferay.mail.model.Message;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class IMAPSyncUtil {
+
+	public static Map<Long, String> getChangedFlags(
+		Map<Long, Message> messages, Map<Long, String> remoteFlags) {
+
+		Map<Long, String> changedFlags = new HashMap<Long, String>();
+
+		for (Map.Entry<Long, String> entry : remoteFlags.entrySet()) {
+			Message message = messages.get(entry.getKey());
+
+			if (message == null) {
+				continue;
+			}
+
+			String flags = entry.getValue();
+
+			if (!flags.equals(message.getFlags())) {
+				changedFlags.put(entry.getKey(), flags);
+			}
+		}
+
+		return changedFlags;
+	}
+
+	public static Map<Long, Message> getMessages(List<Message> messages) {
+		Map<Long, Message> messagesMap = new HashMap<Long, Message>();
+
+		for (Message message : messages) {
+			long remoteMessageId = message.getRemoteMessageId();
+
+			// Drafts that were never sent to the server have no UID
+
+			if (remoteMessageId <= 0) {
+				continue;
+			}
+
+			messagesMap.put(remoteMessageId, message);
+		}
+
+		return messagesMap;
+	}
+
+	public static long[] getRemoteMessageIdRange(long[] remoteMessageIds) {
+		if (remoteMessageIds.length == 0) {
+			return null;
+		}
+
+		long startRemoteMessageId = Long.MAX_VALUE;
+		long endRemoteMessageId = Long.MIN_VALUE;
+
+		for (long remoteMessageId : remoteMessageIds) {
+			startRemoteMessageId = Math.min(
+				startRemoteMessageId, remoteMessageId);
+			endRemoteMessageId = Math.max(endRemoteMessageId, remoteMessageId);
+		}
+
+		return new long[] {startRemoteMessageId, endRemoteMessageId};
+	}
+
+}
\ No newline at end of file
@@ -81,6 +81,12 @@ public class IMAPMailbox extends BaseMailbox {
 			user.getUserId(), account.getAccountId(), names[0], names[1], 0);
 	}
 
+	public void deleteAccount() throws PortalException, SystemException {
+		_imapAccessor.stopIdle();
+
+		super.deleteAccount();
+	}
+
 	public void deleteAttachment(long attachmentId)
 		throws PortalException, SystemException {
 
@@ -383,6 +389,10 @@ public class IMAPMailbox extends BaseMailbox {
 				AccountLock.releaseLock(key);
 			}
 		}
+
+		if (account.getInboxFolderId() > 0) {
+			_imapAccessor.idle(account.getInboxFolderId());
+		}
 	}
 
 	public void synchronizeFolder(long folderId)
@@ -455,6 +465,23 @@ public class IMAPMailbox extends BaseMailbox {
 		}
 	}
 
+	public Account updateAccount(
+			long accountId, String personalName, String password,
+			boolean savePassword, String signature, boolean useSignature,
+			String folderPrefix, boolean defaultSender)
+		throws PortalException, SystemException {
+
+		Account updatedAccount = super.updateAccount(
+			accountId, personalName, password, savePassword, signature,
+			useSignature, folderPrefix, defaultSender);
+
+		// The next synchronization restarts IDLE with the new password
+
+		_imapAccessor.stopIdle();
+
+		return updatedAccount;
+	}
+
 	public void updateFlags(
 			long folderId, long[] messageIds, int flag, boolean value)
 		throws PortalException, SystemException {
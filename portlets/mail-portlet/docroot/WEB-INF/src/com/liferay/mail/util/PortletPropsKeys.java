@@ -25,6 +25,14 @@ public interface PortletPropsKeys {
 
 	public static final String JAVAMAIL_DEBUG = "javamail.debug";
 
+	public static final String MESSAGES_IDLE_ENABLED =
+		"messages.idle.enabled";
+
+	public static final String MESSAGES_IDLE_MAX_THREADS =
+		"messages.idle.max.threads";
+
+	public static final String MESSAGES_IDLE_TIMEOUT = "messages.idle.timeout";
+
 	public static final String MESSAGES_SYNC_COUNT = "messages.sync.count";
 
 	public static final String OUTGOING_PORTS = "outgoing.ports";
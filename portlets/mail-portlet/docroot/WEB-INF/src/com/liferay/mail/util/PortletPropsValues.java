@@ -32,6 +32,15 @@ public class PortletPropsValues {
 	public static final boolean JAVAMAIL_DEBUG = GetterUtil.getBoolean(
 		PortletProps.get(PortletPropsKeys.JAVAMAIL_DEBUG));
 
+	public static final boolean MESSAGES_IDLE_ENABLED = GetterUtil.getBoolean(
+		PortletProps.get(PortletPropsKeys.MESSAGES_IDLE_ENABLED));
+
+	public static final int MESSAGES_IDLE_MAX_THREADS = GetterUtil.getInteger(
+		PortletProps.get(PortletPropsKeys.MESSAGES_IDLE_MAX_THREADS));
+
+	public static final int MESSAGES_IDLE_TIMEOUT = GetterUtil.getInteger(
+		PortletProps.get(PortletPropsKeys.MESSAGES_IDLE_TIMEOUT));
+
 	public static final int MESSAGES_SYNC_COUNT = GetterUtil.getInteger(
 		PortletProps.get(PortletPropsKeys.MESSAGES_SYNC_COUNT));
 
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.mail.imap;
+
+import com.liferay.mail.util.PortletPropsKeys;
+import com.liferay.util.portlet.PortletProps;
+
+import java.lang.reflect.Field;
+
+import java.util.Map;
+
+import javax.mail.event.MessageCountListener;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mockito;
+
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@PowerMockIgnore("javax.net.ssl.*")
+@PrepareForTest(PortletProps.class)
+@RunWith(PowerMockRunner.class)
+public class IMAPConnectionTest extends PowerMockito {
+
+	@Before
+	public void setUp() {
+		mockStatic(PortletProps.class);
+
+		when(
+			PortletProps.get(PortletPropsKeys.MESSAGES_IDLE_ENABLED)
+		).thenReturn(
+			"true"
+		);
+
+		when(
+			PortletProps.get(PortletPropsKeys.MESSAGES_IDLE_MAX_THREADS)
+		).thenReturn(
+			"1"
+		);
+
+		when(
+			PortletProps.get(PortletPropsKeys.MESSAGES_IDLE_TIMEOUT)
+		).thenReturn(
+			"30"
+		);
+	}
+
+	@After
+	public void tearDown() {
+		IMAPConnection.stopIdleThreads();
+	}
+
+	@Test
+	public void testIdleWithExpiredIdleThread() throws Exception {
+		IMAPConnection imapConnection1 = createIMAPConnection("test1");
+
+		imapConnection1.idle(_FULL_NAME, _messageCountListener);
+
+		Map<String, ?> idleThreads = getIdleThreads();
+
+		Object idleThread = idleThreads.get(getIdleKey(imapConnection1));
+
+		Assert.assertNotNull(idleThread);
+
+		Field field = idleThread.getClass().getDeclaredField(
+			"_lastAccessTime");
+
+		field.setAccessible(true);
+
+		field.setLong(idleThread, 0);
+
+		IMAPConnection imapConnection2 = createIMAPConnection("test2");
+
+		imapConnection2.idle(_FULL_NAME, _messageCountListener);
+
+		Assert.assertEquals(1, idleThreads.size());
+		Assert.assertTrue(
+			idleThreads.containsKey(getIdleKey(imapConnection2)));
+	}
+
+	@Test
+	public void testIdleWithMaxThreads() throws Exception {
+		IMAPConnection imapConnection1 = createIMAPConnection("test1");
+
+		imapConnection1.idle(_FULL_NAME, _messageCountListener);
+
+		IMAPConnection imapConnection2 = createIMAPConnection("test2");
+
+		imapConnection2.idle(_FULL_NAME, _messageCountListener);
+
+		Map<String, ?> idleThreads = getIdleThreads();
+
+		Assert.assertEquals(1, idleThreads.size());
+		Assert.assertTrue(
+			idleThreads.containsKey(getIdleKey(imapConnection1)));
+	}
+
+	@Test
+	public void testStopIdle() throws Exception {
+		IMAPConnection imapConnection = createIMAPConnection("test");
+
+		imapConnection.idle(_FULL_NAME, _messageCountListener);
+
+		imapConnection.stopIdle();
+
+		Map<String, ?> idleThreads = getIdleThreads();
+
+		Assert.assertTrue(idleThreads.isEmpty());
+	}
+
+	protected IMAPConnection createIMAPConnection(String login) {
+		return new IMAPConnection(
+			"localhost", 1, false, "localhost", 1, false, login, "password");
+	}
+
+	protected String getIdleKey(IMAPConnection imapConnection) {
+		String storeKey = imapConnection.getStoreKey();
+
+		return storeKey.concat(_FULL_NAME);
+	}
+
+	protected Map<String, ?> getIdleThreads() throws Exception {
+		Field field = IMAPConnection.class.getDeclaredField("_idleThreads");
+
+		field.setAccessible(true);
+
+		return (Map<String, ?>)field.get(null);
+	}
+
+	private static final String _FULL_NAME = "INBOX";
+
+	private MessageCountListener _messageCountListener = Mockito.mock(
+		MessageCountListener.class);
+
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.mail.imap;
+
+import com.liferay.mail.model.Message;
+import com.liferay.mail.util.MailConstants;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+public class IMAPSyncUtilTest {
+
+	@Test
+	public void testGetChangedFlags() {
+		Map<Long, Message> messages = new HashMap<Long, Message>();
+
+		messages.put(1L, mockMessage(1, _FLAGS_SEEN));
+		messages.put(2L, mockMessage(2, _FLAGS_NONE));
+		messages.put(3L, mockMessage(3, _FLAGS_FLAGGED_SEEN));
+
+		Map<Long, String> remoteFlags = new HashMap<Long, String>();
+
+		remoteFlags.put(1L, _FLAGS_SEEN);
+		remoteFlags.put(2L, _FLAGS_SEEN);
+		remoteFlags.put(3L, _FLAGS_NONE);
+		remoteFlags.put(4L, _FLAGS_SEEN);
+
+		Map<Long, String> changedFlags = IMAPSyncUtil.getChangedFlags(
+			messages, remoteFlags);
+
+		Assert.assertEquals(2, changedFlags.size());
+		Assert.assertEquals(_FLAGS_SEEN, changedFlags.get(2L));
+		Assert.assertEquals(_FLAGS_NONE, changedFlags.get(3L));
+	}
+
+	@Test
+	public void testGetChangedFlagsWithoutChanges() {
+		Map<Long, Message> messages = new HashMap<Long, Message>();
+
+		messages.put(1L, mockMessage(1, _FLAGS_SEEN));
+
+		Map<Long, String> remoteFlags = new HashMap<Long, String>();
+
+		remoteFlags.put(1L, _FLAGS_SEEN);
+
+		Map<Long, String> changedFlags = IMAPSyncUtil.getChangedFlags(
+			messages, remoteFlags);
+
+		Assert.assertTrue(changedFlags.isEmpty());
+	}
+
+	@Test
+	public void testGetMessages() {
+		Message draftMessage = mockMessage(0, _FLAGS_NONE);
+		Message message1 = mockMessage(7, _FLAGS_NONE);
+		Message message2 = mockMessage(3, _FLAGS_SEEN);
+
+		List<Message> messages = new ArrayList<Message>();
+
+		messages.add(draftMessage);
+		messages.add(message1);
+		messages.add(message2);
+
+		Map<Long, Message> messagesMap = IMAPSyncUtil.getMessages(messages);
+
+		Assert.assertEquals(2, messagesMap.size());
+		Assert.assertSame(message1, messagesMap.get(7L));
+		Assert.assertSame(message2, messagesMap.get(3L));
+		Assert.assertFalse(messagesMap.containsKey(0L));
+	}
+
+	@Test
+	public void testGetRemoteMessageIdRange() {
+		long[] remoteMessageIdRange = IMAPSyncUtil.getRemoteMessageIdRange(
+			new long[] {42, 17, 99, 58});
+
+		Assert.assertArrayEquals(new long[] {17, 99}, remoteMessageIdRange);
+
+		remoteMessageIdRange = IMAPSyncUtil.getRemoteMessageIdRange(
+			new long[] {5});
+
+		Assert.assertArrayEquals(new long[] {5, 5}, remoteMessageIdRange);
+	}
+
+	@Test
+	public void testGetRemoteMessageIdRangeWithoutMessages() {
+		Assert.assertNull(IMAPSyncUtil.getRemoteMessageIdRange(new long[0]));
+	}
+
+	protected Message mockMessage(long remoteMessageId, String flags) {
+		Message message = Mockito.mock(Message.class);
+
+		Mockito.when(
+			message.getFlags()
+		).thenReturn(
+			flags
+		);
+
+		Mockito.when(
+			message.getRemoteMessageId()
+		).thenReturn(
+			remoteMessageId
+		);
+
+		return message;
+	}
+
+	private static final String _FLAGS_FLAGGED_SEEN =
+		MailConstants.FLAG_FLAGGED + StringPool.COMMA +
+			MailConstants.FLAG_SEEN + StringPool.COMMA;
+
+	private static final String _FLAGS_NONE = StringPool.BLANK;
+
+	private static final String _FLAGS_SEEN =
+		MailConstants.FLAG_SEEN + StringPool.COMMA;
+
+}
\ No newline at end of file
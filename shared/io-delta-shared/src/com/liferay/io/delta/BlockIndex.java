@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.io.delta;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Maps weak checksums to block numbers using open addressing over flat
+ * arrays. Blocks that share a weak checksum are chained together so that every
+ * one of them can still be matched by its strong checksum.
+ */
+public class BlockIndex {
+
+	public static final int MAX_CHAIN_LENGTH = 64;
+
+	public BlockIndex(int blocksCount, int strongChecksumLength) {
+		int capacity = 2;
+
+		while (capacity < (blocksCount * 2L)) {
+			capacity <<= 1;
+		}
+
+		_heads = new int[capacity];
+		_keys = new int[capacity];
+		_mask = capacity - 1;
+		_nextBlockNumbers = new int[blocksCount];
+		_strongChecksumLength = strongChecksumLength;
+		_strongChecksums = new byte[blocksCount * strongChecksumLength];
+		_weakChecksums = new int[blocksCount];
+	}
+
+	/**
+	 * Adds a block, reading its strong checksum from the current position of
+	 * the byte buffer.
+	 */
+	public void add(int weakChecksum, int blockNumber, ByteBuffer byteBuffer) {
+		byteBuffer.get(
+			_strongChecksums, blockNumber * _strongChecksumLength,
+			_strongChecksumLength);
+
+		_weakChecksums[blockNumber] = weakChecksum;
+
+		int slot = getSlot(weakChecksum);
+
+		// Prepend so that the last block with a given weak checksum is found
+		// first, which matches the behavior of the old map based index
+
+		_nextBlockNumbers[blockNumber] = _heads[slot] - 1;
+
+		_heads[slot] = blockNumber + 1;
+		_keys[slot] = weakChecksum;
+	}
+
+	/**
+	 * Returns the number of a block with the weak checksum of the first block
+	 * and the strong checksum, or -1 if there is none. The preferred block is
+	 * checked first so that runs of sequential blocks are matched without
+	 * walking the chain. Otherwise the first match in the chain is returned,
+	 * and at most {@link #MAX_CHAIN_LENGTH} blocks are compared so repetitive
+	 * files do not make the lookup quadratic.
+	 */
+	public int findBlockNumber(
+		int firstBlockNumber, byte[] strongChecksum,
+		int preferredBlockNumber) {
+
+		if ((preferredBlockNumber >= 0) &&
+			(preferredBlockNumber < _weakChecksums.length) &&
+			(_weakChecksums[preferredBlockNumber] ==
+				_weakChecksums[firstBlockNumber]) &&
+			isStrongChecksumEqual(preferredBlockNumber, strongChecksum)) {
+
+			return preferredBlockNumber;
+		}
+
+		int blockNumber = firstBlockNumber;
+
+		for (int i = 0; (blockNumber != -1) && (i < MAX_CHAIN_LENGTH); i++) {
+			if (isStrongChecksumEqual(blockNumber, strongChecksum)) {
+				return blockNumber;
+			}
+
+			blockNumber = _nextBlockNumbers[blockNumber];
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the number of the first block with the weak checksum, or -1 if
+	 * there is none.
+	 */
+	public int getFirstBlockNumber(int weakChecksum) {
+		int slot = hash(weakChecksum) & _mask;
+
+		while (true) {
+			int head = _heads[slot];
+
+			if (head == 0) {
+				return -1;
+			}
+
+			if (_keys[slot] == weakChecksum) {
+				return head - 1;
+			}
+
+			slot = (slot + 1) & _mask;
+		}
+	}
+
+	/**
+	 * Returns the number of the next block that shares a weak checksum with
+	 * the given block, or -1 if there is none.
+	 */
+	public int getNextBlockNumber(int blockNumber) {
+		return _nextBlockNumbers[blockNumber];
+	}
+
+	public boolean isStrongChecksumEqual(
+		int blockNumber, byte[] strongChecksum) {
+
+		int offset = blockNumber * _strongChecksumLength;
+
+		for (int i = 0; i < _strongChecksumLength; i++) {
+			if (_strongChecksums[offset + i] != strongChecksum[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	protected int getSlot(int weakChecksum) {
+		int slot = hash(weakChecksum) & _mask;
+
+		while ((_heads[slot] != 0) && (_keys[slot] != weakChecksum)) {
+			slot = (slot + 1) & _mask;
+		}
+
+		return slot;
+	}
+
+	protected int hash(int weakChecksum) {
+
+		// The low half of a weak checksum is a plain byte sum and clusters
+		// badly, so spread the bits before masking
+
+		int hash = weakChecksum * 0x9e3779b9;
+
+		return hash ^ (hash >>> 16);
+	}
+
+	private final int[] _heads;
+	private final int[] _keys;
+	private final int _mask;
+	private final int[] _nextBlockNumbers;
+	private final int _strongChecksumLength;
+	private final byte[] _strongChecksums;
+	private final int[] _weakChecksums;
+
+}
\ No newline at end of file
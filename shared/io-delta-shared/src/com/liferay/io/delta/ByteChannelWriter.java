@@ -17,6 +17,7 @@ package com.liferay.io.delta;
 import java.io.IOException;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 
 /**
@@ -66,6 +67,19 @@ public class ByteChannelWriter {
 		_byteBuffer = newBuffer;
 	}
 
+	/**
+	 * Flushes the buffer and copies the given region of the file channel
+	 * straight to the underlying channel without passing it through the heap.
+	 */
+	public void transferFrom(
+			FileChannel fileChannel, long position, long length)
+		throws IOException {
+
+		write();
+
+		DeltaUtil.transfer(fileChannel, _writableByteChannel, position, length);
+	}
+
 	protected void write() throws IOException {
 		_byteBuffer.flip();
 
@@ -21,6 +21,8 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * @author Connor McKay
  */
@@ -34,6 +36,8 @@ public class DeltaUtil {
 
 	public static final byte PROTOCOL_VERSION = 1;
 
+	public static final byte PROTOCOL_VERSION_MURMUR3 = 2;
+
 	public static final byte REFERENCE_KEY = 2;
 
 	public static final byte REFERENCE_RANGE_KEY = 3;
@@ -51,10 +55,25 @@ public class DeltaUtil {
 			ByteChannelWriter checksumsByteChannelWriter, int blockLength)
 		throws IOException {
 
+		checksums(
+			originalFileChannel, checksumsByteChannelWriter, blockLength,
+			PROTOCOL_VERSION);
+	}
+
+	public static void checksums(
+			FileChannel originalFileChannel,
+			ByteChannelWriter checksumsByteChannelWriter, int blockLength,
+			byte protocolVersion)
+		throws IOException {
+
+		StrongChecksum strongChecksum = getStrongChecksum(protocolVersion);
+
 		RollingChecksum rollingChecksum = new RollingChecksum(
-			originalFileChannel, blockLength);
+			originalFileChannel, blockLength, strongChecksum);
 
-		checksumsByteChannelWriter.resizeBuffer(BUFFER_FACTOR * 20);
+		int checksumLength = 4 + strongChecksum.getLength();
+
+		checksumsByteChannelWriter.resizeBuffer(BUFFER_FACTOR * checksumLength);
 
 		ByteBuffer byteBuffer = checksumsByteChannelWriter.getBuffer();
 
@@ -63,18 +82,58 @@ public class DeltaUtil {
 
 		checksumsByteChannelWriter.ensureSpace(9);
 
-		byteBuffer.put(PROTOCOL_VERSION);
+		byteBuffer.put(protocolVersion);
 		byteBuffer.putInt(blockLength);
 		byteBuffer.putInt(blocksCount);
 
 		for (; rollingChecksum.hasNext(); rollingChecksum.nextBlock()) {
-			checksumsByteChannelWriter.ensureSpace(20);
+			checksumsByteChannelWriter.ensureSpace(checksumLength);
 
 			byteBuffer.putInt(rollingChecksum.weakChecksum());
-			byteBuffer.put(rollingChecksum.strongChecksum());
+
+			rollingChecksum.strongChecksum(
+				byteBuffer.array(),
+				byteBuffer.arrayOffset() + byteBuffer.position());
+
+			byteBuffer.position(
+				byteBuffer.position() + strongChecksum.getLength());
 		}
 	}
 
+	/**
+	 * Generates a delta of a file. Unlike the stream based variant, data blocks
+	 * are transferred from the file channel to the delta channel directly.
+	 */
+	public static void delta(
+			FileChannel modifiedFileChannel,
+			ByteChannelReader checksumsByteChannelReader,
+			ByteChannelWriter deltaByteChannelWriter)
+		throws IOException {
+
+		Differ differ = new Differ();
+
+		differ.delta(
+			modifiedFileChannel, checksumsByteChannelReader,
+			deltaByteChannelWriter);
+	}
+
+	/**
+	 * Generates a delta of a file by scanning segments of it concurrently on
+	 * the fork join pool. The delta can be applied like any other.
+	 */
+	public static void delta(
+			FileChannel modifiedFileChannel,
+			ByteChannelReader checksumsByteChannelReader,
+			ByteChannelWriter deltaByteChannelWriter, ForkJoinPool forkJoinPool)
+		throws IOException {
+
+		ParallelDiffer parallelDiffer = new ParallelDiffer(forkJoinPool);
+
+		parallelDiffer.delta(
+			modifiedFileChannel, checksumsByteChannelReader,
+			deltaByteChannelWriter);
+	}
+
 	public static void delta(
 			ReadableByteChannel modifiedReadableByteChannel,
 			ByteChannelReader checksumsByteChannelReader,
@@ -88,6 +147,40 @@ public class DeltaUtil {
 			deltaByteChannelWriter);
 	}
 
+	/**
+	 * Returns a new strong checksum for the algorithm identified by the
+	 * protocol version byte of a checksums header. Version 1 is MD5, which all
+	 * existing clients understand.
+	 */
+	public static StrongChecksum getStrongChecksum(byte protocolVersion)
+		throws IOException {
+
+		if (protocolVersion == PROTOCOL_VERSION) {
+			return new MD5StrongChecksum();
+		}
+		else if (protocolVersion == PROTOCOL_VERSION_MURMUR3) {
+			return new Murmur3StrongChecksum();
+		}
+
+		throw new IOException("Unknown protocol version");
+	}
+
+	/**
+	 * Applies a delta stored in a file. Reference and data blocks are both
+	 * transferred between the file channels without being copied into the
+	 * heap.
+	 */
+	public static void patch(
+			FileChannel originalFileChannel, FileChannel patchedFileChannel,
+			FileChannel deltaFileChannel)
+		throws IOException {
+
+		Patcher patcher = new Patcher();
+
+		patcher.patch(
+			originalFileChannel, patchedFileChannel, deltaFileChannel);
+	}
+
 	public static void patch(
 			FileChannel originalFileChannel,
 			WritableByteChannel patchedWritableByteChannel,
@@ -101,4 +194,29 @@ public class DeltaUtil {
 			deltaByteChannelReader);
 	}
 
+	/**
+	 * Transfers the given region of the file channel, looping until it is
+	 * fully written or the end of the file is reached, since a single {@link
+	 * FileChannel#transferTo} call may transfer fewer bytes than requested.
+	 */
+	public static void transfer(
+			FileChannel fileChannel, WritableByteChannel writableByteChannel,
+			long position, long length)
+		throws IOException {
+
+		length = Math.min(length, fileChannel.size() - position);
+
+		while (length > 0) {
+			long count = fileChannel.transferTo(
+				position, length, writableByteChannel);
+
+			if (count <= 0) {
+				throw new IOException("Unable to transfer data");
+			}
+
+			position += count;
+			length -= count;
+		}
+	}
+
 }
\ No newline at end of file
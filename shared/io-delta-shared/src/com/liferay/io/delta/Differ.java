@@ -17,24 +17,51 @@ package com.liferay.io.delta;
 import java.io.IOException;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 
-import java.security.MessageDigest;
-
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * @author Connor McKay
  */
 public class Differ {
 
+	/**
+	 * Generates a delta of a file. Data blocks are transferred from the file
+	 * channel to the delta channel instead of being copied byte by byte into
+	 * an intermediate buffer.
+	 */
+	public void delta(
+			FileChannel modifiedFileChannel,
+			ByteChannelReader checksumsByteChannelReader,
+			ByteChannelWriter deltaByteChannelWriter)
+		throws IOException {
+
+		_modifiedFileChannel = modifiedFileChannel;
+
+		doDelta(
+			modifiedFileChannel, checksumsByteChannelReader,
+			deltaByteChannelWriter);
+	}
+
 	public void delta(
 			ReadableByteChannel modifiedReadableByteChannel,
 			ByteChannelReader checksumsByteChannelReader,
 			ByteChannelWriter deltaByteChannelWriter)
 		throws IOException {
 
+		_modifiedFileChannel = null;
+
+		doDelta(
+			modifiedReadableByteChannel, checksumsByteChannelReader,
+			deltaByteChannelWriter);
+	}
+
+	protected void doDelta(
+			ReadableByteChannel modifiedReadableByteChannel,
+			ByteChannelReader checksumsByteChannelReader,
+			ByteChannelWriter deltaByteChannelWriter)
+		throws IOException {
+
 		_modifiedReadableByteChannel = modifiedReadableByteChannel;
 		_checksumsByteChannelReader = checksumsByteChannelReader;
 		_deltaByteChannelWriter = deltaByteChannelWriter;
@@ -44,22 +71,32 @@ public class Differ {
 		_checksumsByteBuffer = _checksumsByteChannelReader.getBuffer();
 
 		readChecksumsHeader();
+
+		_checksumsByteChannelReader.resizeBuffer(
+			DeltaUtil.BUFFER_FACTOR * (4 + _strongChecksum.getLength()));
+
+		_checksumsByteBuffer = _checksumsByteChannelReader.getBuffer();
+
 		readChecksums();
 
 		_rollingChecksum = new RollingChecksum(
-			_modifiedReadableByteChannel, _blockLength);
+			_modifiedReadableByteChannel, _blockLength, _strongChecksum);
+
+		_strongChecksumBytes = new byte[_strongChecksum.getLength()];
 
 		_deltaByteChannelWriter.resizeBuffer(
 			_blockLength * DeltaUtil.BUFFER_FACTOR + 5);
 
 		_deltaByteBuffer = _deltaByteChannelWriter.getBuffer();
 
-		if ((_dataByteBuffer == null) ||
-			(_dataByteBuffer.capacity() <
-				(_blockLength * DeltaUtil.BUFFER_FACTOR))) {
+		_dataLength = 0;
+		_maxDataLength = _blockLength * DeltaUtil.BUFFER_FACTOR;
 
-			_dataByteBuffer = ByteBuffer.allocate(
-				_blockLength * DeltaUtil.BUFFER_FACTOR);
+		if ((_modifiedFileChannel == null) &&
+			((_dataByteBuffer == null) ||
+				(_dataByteBuffer.capacity() < _maxDataLength))) {
+
+			_dataByteBuffer = ByteBuffer.allocate(_maxDataLength);
 		}
 
 		writeDeltaHeader();
@@ -67,57 +104,60 @@ public class Differ {
 	}
 
 	protected void readChecksums() throws IOException {
-		_blockDatas = new HashMap<Integer, BlockData>(_blocksCount);
-
-		for (int blockNumber = 0; blockNumber < _blocksCount; blockNumber++) {
-			_checksumsByteChannelReader.ensureData(20);
-
-			int weakChecksum = _checksumsByteBuffer.getInt();
-
-			byte[] strongChecksum = new byte[16];
+		int strongChecksumLength = _strongChecksum.getLength();
 
-			_checksumsByteBuffer.get(strongChecksum);
+		_blockIndex = new BlockIndex(_blocksCount, strongChecksumLength);
 
-			// It is possible that there are two or more blocks with the same
-			// weak checksum, in which case the map will only contain the strong
-			// checksum of the last one. In some cases, this may cause a data
-			// block to be sent when a reference block could have been sent, but
-			// it doesn't really matter.
+		for (int blockNumber = 0; blockNumber < _blocksCount; blockNumber++) {
+			_checksumsByteChannelReader.ensureData(4 + strongChecksumLength);
 
-			_blockDatas.put(
-				weakChecksum, new BlockData(blockNumber, strongChecksum));
+			_blockIndex.add(
+				_checksumsByteBuffer.getInt(), blockNumber,
+				_checksumsByteBuffer);
 		}
 	}
 
 	protected void readChecksumsHeader() throws IOException {
 		_checksumsByteChannelReader.ensureData(9);
 
-		if (DeltaUtil.PROTOCOL_VERSION != _checksumsByteBuffer.get()) {
-			throw new IOException("Unknown protocol version");
-		}
+		_strongChecksum = DeltaUtil.getStrongChecksum(
+			_checksumsByteBuffer.get());
 
 		_blockLength = _checksumsByteBuffer.getInt();
 		_blocksCount = _checksumsByteBuffer.getInt();
 	}
 
 	protected void writeDataBlock() throws IOException {
-		if (_dataByteBuffer.position() == 0) {
+		if (_dataLength == 0) {
 
-			// There's nothing in the data buffer
+			// There's no pending data
 
 			return;
 		}
 
-		_deltaByteChannelWriter.ensureSpace(_dataByteBuffer.position() + 5);
+		if (_modifiedFileChannel != null) {
+			_deltaByteChannelWriter.ensureSpace(5);
+
+			_deltaByteBuffer.put(DeltaUtil.DATA_KEY);
+			_deltaByteBuffer.putInt(_dataLength);
+
+			_deltaByteChannelWriter.transferFrom(
+				_modifiedFileChannel, _dataPosition, _dataLength);
+		}
+		else {
+			_deltaByteChannelWriter.ensureSpace(_dataLength + 5);
+
+			_deltaByteBuffer.put(DeltaUtil.DATA_KEY);
+			_deltaByteBuffer.putInt(_dataLength);
 
-		_deltaByteBuffer.put(DeltaUtil.DATA_KEY);
-		_deltaByteBuffer.putInt(_dataByteBuffer.position());
+			_dataByteBuffer.flip();
 
-		_dataByteBuffer.flip();
+			_deltaByteBuffer.put(_dataByteBuffer);
 
-		_deltaByteBuffer.put(_dataByteBuffer);
+			_dataByteBuffer.clear();
+		}
 
-		_dataByteBuffer.clear();
+		_dataLength = 0;
 	}
 
 	protected void writeDeltaBlocks() throws IOException {
@@ -125,16 +165,23 @@ public class Differ {
 		_lastBlockNumber = -1;
 
 		while (_rollingChecksum.hasNext()) {
-			BlockData blockData = _blockDatas.get(
+			int blockNumber = _blockIndex.getFirstBlockNumber(
 				_rollingChecksum.weakChecksum());
 
-			if ((blockData != null) &&
-				MessageDigest.isEqual(
-					blockData.getStrongChecksum(),
-					_rollingChecksum.strongChecksum())) {
+			if (blockNumber != -1) {
+				_rollingChecksum.strongChecksum(_strongChecksumBytes, 0);
 
-				int blockNumber = blockData.getBlockNumber();
+				int preferredBlockNumber = -1;
+
+				if (_lastBlockNumber != -1) {
+					preferredBlockNumber = _lastBlockNumber + 1;
+				}
 
+				blockNumber = _blockIndex.findBlockNumber(
+					blockNumber, _strongChecksumBytes, preferredBlockNumber);
+			}
+
+			if (blockNumber != -1) {
 				if (_firstBlockNumber == -1) {
 					writeDataBlock();
 
@@ -159,11 +206,20 @@ public class Differ {
 			else {
 				writeReferenceBlock();
 
-				if (!_dataByteBuffer.hasRemaining()) {
+				if (_dataLength == _maxDataLength) {
 					writeDataBlock();
 				}
 
-				_dataByteBuffer.put(_rollingChecksum.getFirstByte());
+				if (_modifiedFileChannel != null) {
+					if (_dataLength == 0) {
+						_dataPosition = _rollingChecksum.getPosition();
+					}
+				}
+				else {
+					_dataByteBuffer.put(_rollingChecksum.getFirstByte());
+				}
+
+				_dataLength++;
 
 				_rollingChecksum.nextByte();
 			}
@@ -210,37 +266,23 @@ public class Differ {
 		_lastBlockNumber = -1;
 	}
 
-	private Map<Integer, BlockData> _blockDatas;
+	private BlockIndex _blockIndex;
 	private int _blockLength;
 	private int _blocksCount;
 	private ByteBuffer _checksumsByteBuffer;
 	private ByteChannelReader _checksumsByteChannelReader;
 	private ByteBuffer _dataByteBuffer;
+	private int _dataLength;
+	private long _dataPosition;
 	private ByteBuffer _deltaByteBuffer;
 	private ByteChannelWriter _deltaByteChannelWriter;
 	private int _firstBlockNumber;
 	private int _lastBlockNumber;
+	private int _maxDataLength;
+	private FileChannel _modifiedFileChannel;
 	private ReadableByteChannel _modifiedReadableByteChannel;
 	private RollingChecksum _rollingChecksum;
-
-	private class BlockData {
-
-		public BlockData(int blockNumber, byte[] strongChecksum) {
-			_blockNumber = blockNumber;
-			_strongChecksum = strongChecksum;
-		}
-
-		public int getBlockNumber() {
-			return _blockNumber;
-		}
-
-		public byte[] getStrongChecksum() {
-			return _strongChecksum;
-		}
-
-		private int _blockNumber;
-		private byte[] _strongChecksum;
-
-	}
+	private StrongChecksum _strongChecksum;
+	private byte[] _strongChecksumBytes;
 
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.io.delta;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class MD5StrongChecksum implements StrongChecksum {
+
+	public MD5StrongChecksum() {
+		try {
+			_messageDigest = MessageDigest.getInstance("MD5");
+		}
+		catch (NoSuchAlgorithmException nsae) {
+			throw new IllegalStateException(nsae);
+		}
+	}
+
+	@Override
+	public void digest(
+		byte[] bytes, int offset, int length, byte[] checksumBytes,
+		int checksumOffset) {
+
+		_messageDigest.update(bytes, offset, length);
+
+		try {
+			_messageDigest.digest(checksumBytes, checksumOffset, _LENGTH);
+		}
+		catch (DigestException de) {
+			throw new IllegalArgumentException(de);
+		}
+	}
+
+	@Override
+	public int getLength() {
+		return _LENGTH;
+	}
+
+	@Override
+	public byte getProtocolVersion() {
+		return DeltaUtil.PROTOCOL_VERSION;
+	}
+
+	private static final int _LENGTH = 16;
+
+	private final MessageDigest _messageDigest;
+
+}
\ No newline at end of file
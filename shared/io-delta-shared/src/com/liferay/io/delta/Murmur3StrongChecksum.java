@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.io.delta;
+
+/**
+ * Computes the 128-bit x64 variant of MurmurHash3. It is not a cryptographic
+ * hash, but it is several times faster than MD5 and collisions between blocks
+ * that also share a weak checksum are vanishingly unlikely.
+ */
+public class Murmur3StrongChecksum implements StrongChecksum {
+
+	@Override
+	public void digest(
+		byte[] bytes, int offset, int length, byte[] checksumBytes,
+		int checksumOffset) {
+
+		long h1 = 0;
+		long h2 = 0;
+
+		int end = offset + (length & ~15);
+
+		for (int i = offset; i < end; i += 16) {
+			long k1 = getLong(bytes, i);
+			long k2 = getLong(bytes, i + 8);
+
+			h1 ^= mixK1(k1);
+
+			h1 = Long.rotateLeft(h1, 27);
+			h1 += h2;
+			h1 = h1 * 5 + 0x52dce729;
+
+			h2 ^= mixK2(k2);
+
+			h2 = Long.rotateLeft(h2, 31);
+			h2 += h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		long k1 = 0;
+		long k2 = 0;
+
+		int tail = length & 15;
+
+		for (int i = tail - 1; i >= 8; i--) {
+			k2 ^= (bytes[end + i] & 0xffL) << ((i - 8) * 8);
+		}
+
+		for (int i = Math.min(tail, 8) - 1; i >= 0; i--) {
+			k1 ^= (bytes[end + i] & 0xffL) << (i * 8);
+		}
+
+		if (tail > 8) {
+			h2 ^= mixK2(k2);
+		}
+
+		if (tail > 0) {
+			h1 ^= mixK1(k1);
+		}
+
+		h1 ^= length;
+		h2 ^= length;
+
+		h1 += h2;
+		h2 += h1;
+
+		h1 = fmix(h1);
+		h2 = fmix(h2);
+
+		h1 += h2;
+		h2 += h1;
+
+		putLong(checksumBytes, checksumOffset, h1);
+		putLong(checksumBytes, checksumOffset + 8, h2);
+	}
+
+	@Override
+	public int getLength() {
+		return _LENGTH;
+	}
+
+	@Override
+	public byte getProtocolVersion() {
+		return DeltaUtil.PROTOCOL_VERSION_MURMUR3;
+	}
+
+	protected long fmix(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+
+		return k;
+	}
+
+	protected long getLong(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xffL) | ((bytes[offset + 1] & 0xffL) << 8) |
+			((bytes[offset + 2] & 0xffL) << 16) |
+			((bytes[offset + 3] & 0xffL) << 24) |
+			((bytes[offset + 4] & 0xffL) << 32) |
+			((bytes[offset + 5] & 0xffL) << 40) |
+			((bytes[offset + 6] & 0xffL) << 48) |
+			((bytes[offset + 7] & 0xffL) << 56);
+	}
+
+	protected long mixK1(long k1) {
+		k1 *= _C1;
+		k1 = Long.rotateLeft(k1, 31);
+		k1 *= _C2;
+
+		return k1;
+	}
+
+	protected long mixK2(long k2) {
+		k2 *= _C2;
+		k2 = Long.rotateLeft(k2, 33);
+		k2 *= _C1;
+
+		return k2;
+	}
+
+	protected void putLong(byte[] bytes, int offset, long value) {
+		for (int i = 0; i < 8; i++) {
+			bytes[offset + i] = (byte)(value >>> (i * 8));
+		}
+	}
+
+	private static final long _C1 = 0x87c37b91114253d5L;
+
+	private static final long _C2 = 0x4cf5ad432745937fL;
+
+	private static final int _LENGTH = 16;
+
+}
\ No newline at end of file
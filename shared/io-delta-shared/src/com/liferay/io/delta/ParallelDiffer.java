@@ -0,0 +1,491 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.io.delta;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the same kind of delta as {@link Differ}, but splits the modified
+ * file into segments that are scanned concurrently. A segment's scan may run
+ * past its end by up to one block, so overlapping output is trimmed and
+ * adjacent blocks are merged when the segments are stitched together. The
+ * resulting delta can be applied by {@link Patcher} unchanged.
+ */
+public class ParallelDiffer {
+
+	public ParallelDiffer(ForkJoinPool forkJoinPool) {
+		this(forkJoinPool, _DEFAULT_SEGMENT_LENGTH);
+	}
+
+	public ParallelDiffer(ForkJoinPool forkJoinPool, long segmentLength) {
+		_forkJoinPool = forkJoinPool;
+		_segmentLength = segmentLength;
+	}
+
+	public void delta(
+			FileChannel modifiedFileChannel,
+			ByteChannelReader checksumsByteChannelReader,
+			ByteChannelWriter deltaByteChannelWriter)
+		throws IOException {
+
+		_modifiedFileChannel = modifiedFileChannel;
+		_deltaByteChannelWriter = deltaByteChannelWriter;
+
+		readChecksums(checksumsByteChannelReader);
+
+		_deltaByteChannelWriter.resizeBuffer(9);
+
+		_deltaByteBuffer = _deltaByteChannelWriter.getBuffer();
+
+		_maxDataLength = _blockLength * DeltaUtil.BUFFER_FACTOR;
+
+		_deltaByteChannelWriter.ensureSpace(5);
+
+		_deltaByteBuffer.put(DeltaUtil.PROTOCOL_VERSION);
+		_deltaByteBuffer.putInt(_blockLength);
+
+		_dataLength = 0;
+		_firstBlockNumber = -1;
+		_lastBlockNumber = -1;
+		_position = 0;
+
+		for (Segment segment : scanSegments()) {
+			stitchSegment(segment);
+		}
+
+		writeReferenceBlock();
+		writeDataBlock();
+
+		_deltaByteChannelWriter.ensureSpace(1);
+
+		_deltaByteBuffer.put(DeltaUtil.EOF_KEY);
+	}
+
+	protected void addData(long position, long length) throws IOException {
+		if (length <= 0) {
+			return;
+		}
+
+		writeReferenceBlock();
+
+		if ((_dataLength > 0) && ((_dataPosition + _dataLength) != position)) {
+			writeDataBlock();
+		}
+
+		if (_dataLength == 0) {
+			_dataPosition = position;
+		}
+
+		_dataLength += length;
+	}
+
+	protected void addReference(int firstBlockNumber, int lastBlockNumber)
+		throws IOException {
+
+		writeDataBlock();
+
+		if ((_firstBlockNumber != -1) &&
+			((_lastBlockNumber + 1) != firstBlockNumber)) {
+
+			writeReferenceBlock();
+		}
+
+		if (_firstBlockNumber == -1) {
+			_firstBlockNumber = firstBlockNumber;
+		}
+
+		_lastBlockNumber = lastBlockNumber;
+	}
+
+	protected void readChecksums(ByteChannelReader checksumsByteChannelReader)
+		throws IOException {
+
+		checksumsByteChannelReader.resizeBuffer(DeltaUtil.BUFFER_FACTOR * 20);
+
+		ByteBuffer checksumsByteBuffer = checksumsByteChannelReader.getBuffer();
+
+		checksumsByteChannelReader.ensureData(9);
+
+		_protocolVersion = checksumsByteBuffer.get();
+
+		int strongChecksumLength = DeltaUtil.getStrongChecksum(
+			_protocolVersion).getLength();
+
+		_blockLength = checksumsByteBuffer.getInt();
+
+		int blocksCount = checksumsByteBuffer.getInt();
+
+		checksumsByteChannelReader.resizeBuffer(
+			DeltaUtil.BUFFER_FACTOR * (4 + strongChecksumLength));
+
+		checksumsByteBuffer = checksumsByteChannelReader.getBuffer();
+
+		_blockIndex = new BlockIndex(blocksCount, strongChecksumLength);
+
+		for (int blockNumber = 0; blockNumber < blocksCount; blockNumber++) {
+			checksumsByteChannelReader.ensureData(4 + strongChecksumLength);
+
+			_blockIndex.add(
+				checksumsByteBuffer.getInt(), blockNumber, checksumsByteBuffer);
+		}
+	}
+
+	protected List<Segment> scanSegments() throws IOException {
+		long size = _modifiedFileChannel.size();
+
+		long segmentLength = Math.max(
+			_segmentLength, _blockLength * (long)DeltaUtil.BUFFER_FACTOR);
+
+		List<Callable<Segment>> callables = new ArrayList<Callable<Segment>>();
+
+		for (long start = 0; start < size; start += segmentLength) {
+			final long segmentStart = start;
+			final long segmentEnd = Math.min(start + segmentLength, size);
+
+			callables.add(
+				new Callable<Segment>() {
+
+					@Override
+					public Segment call() throws IOException {
+						return scanSegment(segmentStart, segmentEnd);
+					}
+
+				});
+		}
+
+		List<Segment> segments = new ArrayList<Segment>(callables.size());
+
+		try {
+			for (Future<Segment> future : _forkJoinPool.invokeAll(callables)) {
+				segments.add(future.get());
+			}
+		}
+		catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+
+			if (cause instanceof IOException) {
+				throw (IOException)cause;
+			}
+
+			throw new IOException(cause);
+		}
+		catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+
+			throw new IOException(ie);
+		}
+
+		return segments;
+	}
+
+	/**
+	 * Scans all block positions in [start, end). The last block matched may
+	 * extend past the end of the segment.
+	 */
+	protected Segment scanSegment(long start, long end) throws IOException {
+		long limit = Math.min(
+			end + _blockLength - 1, _modifiedFileChannel.size());
+
+		StrongChecksum strongChecksum = DeltaUtil.getStrongChecksum(
+			_protocolVersion);
+
+		RollingChecksum rollingChecksum = new RollingChecksum(
+			new FileChannelRegion(_modifiedFileChannel, start, limit),
+			_blockLength, strongChecksum);
+
+		byte[] strongChecksumBytes = new byte[strongChecksum.getLength()];
+
+		Segment segment = new Segment();
+
+		while (rollingChecksum.hasNext()) {
+			long position = start + rollingChecksum.getPosition();
+
+			if (position >= end) {
+				break;
+			}
+
+			int blockNumber = _blockIndex.getFirstBlockNumber(
+				rollingChecksum.weakChecksum());
+
+			if (blockNumber != -1) {
+				rollingChecksum.strongChecksum(strongChecksumBytes, 0);
+
+				int preferredBlockNumber = segment.getLastBlockNumber();
+
+				if (preferredBlockNumber != -1) {
+					preferredBlockNumber++;
+				}
+
+				blockNumber = _blockIndex.findBlockNumber(
+					blockNumber, strongChecksumBytes, preferredBlockNumber);
+			}
+
+			if (blockNumber != -1) {
+				rollingChecksum.nextBlock();
+
+				segment.addReference(
+					position, start + rollingChecksum.getPosition(),
+					blockNumber);
+			}
+			else {
+				segment.addData(position);
+
+				rollingChecksum.nextByte();
+			}
+		}
+
+		return segment;
+	}
+
+	protected void stitchSegment(Segment segment) throws IOException {
+		for (int i = 0; i < segment._size; i++) {
+			long opStart = segment._starts[i];
+			long opEnd = segment._ends[i];
+
+			if (opEnd <= _position) {
+
+				// Already covered by the scan of the previous segment
+
+				continue;
+			}
+
+			if (segment._lastBlockNumbers[i] == -1) {
+				long start = Math.max(opStart, _position);
+
+				addData(start, opEnd - start);
+			}
+			else {
+				int firstBlockNumber = segment._firstBlockNumbers[i];
+
+				if (opStart < _position) {
+
+					// Blocks that start before the covered position cannot be
+					// referenced partially, so send the rest of them as data
+
+					int skippedBlocksCount = (int)Math.min(
+						(_position - opStart + _blockLength - 1) / _blockLength,
+						segment._lastBlockNumbers[i] - firstBlockNumber + 1);
+
+					long blocksEnd =
+						opStart + (long)skippedBlocksCount * _blockLength;
+
+					addData(_position, Math.min(blocksEnd, opEnd) - _position);
+
+					firstBlockNumber += skippedBlocksCount;
+				}
+
+				if (firstBlockNumber <= segment._lastBlockNumbers[i]) {
+					addReference(
+						firstBlockNumber, segment._lastBlockNumbers[i]);
+				}
+			}
+
+			_position = opEnd;
+		}
+	}
+
+	protected void writeDataBlock() throws IOException {
+		while (_dataLength > 0) {
+			int length = (int)Math.min(_dataLength, _maxDataLength);
+
+			_deltaByteChannelWriter.ensureSpace(5);
+
+			_deltaByteBuffer.put(DeltaUtil.DATA_KEY);
+			_deltaByteBuffer.putInt(length);
+
+			_deltaByteChannelWriter.transferFrom(
+				_modifiedFileChannel, _dataPosition, length);
+
+			_dataLength -= length;
+			_dataPosition += length;
+		}
+	}
+
+	protected void writeReferenceBlock() throws IOException {
+		if (_firstBlockNumber == -1) {
+			return;
+		}
+
+		if (_lastBlockNumber == _firstBlockNumber) {
+			_deltaByteChannelWriter.ensureSpace(5);
+
+			_deltaByteBuffer.put(DeltaUtil.REFERENCE_KEY);
+			_deltaByteBuffer.putInt(_firstBlockNumber);
+		}
+		else {
+			_deltaByteChannelWriter.ensureSpace(9);
+
+			_deltaByteBuffer.put(DeltaUtil.REFERENCE_RANGE_KEY);
+			_deltaByteBuffer.putInt(_firstBlockNumber);
+			_deltaByteBuffer.putInt(_lastBlockNumber);
+		}
+
+		_firstBlockNumber = -1;
+		_lastBlockNumber = -1;
+	}
+
+	private static final long _DEFAULT_SEGMENT_LENGTH = 16 * 1024 * 1024;
+
+	private BlockIndex _blockIndex;
+	private int _blockLength;
+	private long _dataLength;
+	private long _dataPosition;
+	private ByteBuffer _deltaByteBuffer;
+	private ByteChannelWriter _deltaByteChannelWriter;
+	private int _firstBlockNumber;
+	private final ForkJoinPool _forkJoinPool;
+	private int _lastBlockNumber;
+	private int _maxDataLength;
+	private FileChannel _modifiedFileChannel;
+	private long _position;
+	private byte _protocolVersion;
+	private final long _segmentLength;
+
+	/**
+	 * Reads a region of a file channel with positional reads, so several
+	 * regions of the same channel can be read concurrently.
+	 */
+	private static class FileChannelRegion implements ReadableByteChannel {
+
+		public FileChannelRegion(
+			FileChannel fileChannel, long start, long end) {
+
+			_fileChannel = fileChannel;
+			_position = start;
+			_end = end;
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public boolean isOpen() {
+			return _fileChannel.isOpen();
+		}
+
+		@Override
+		public int read(ByteBuffer byteBuffer) throws IOException {
+			if (_position >= _end) {
+				return -1;
+			}
+
+			int limit = byteBuffer.limit();
+			long remaining = _end - _position;
+
+			if (byteBuffer.remaining() > remaining) {
+				byteBuffer.limit(byteBuffer.position() + (int)remaining);
+			}
+
+			int count = _fileChannel.read(byteBuffer, _position);
+
+			byteBuffer.limit(limit);
+
+			if (count > 0) {
+				_position += count;
+			}
+
+			return count;
+		}
+
+		private final long _end;
+		private final FileChannel _fileChannel;
+		private long _position;
+
+	}
+
+	/**
+	 * Holds the blocks found by the scan of one segment. Data is recorded as
+	 * ranges of the modified file, with a last block number of -1.
+	 */
+	private static class Segment {
+
+		public void addData(long position) {
+			if ((_size > 0) && (_lastBlockNumbers[_size - 1] == -1) &&
+				(_ends[_size - 1] == position)) {
+
+				_ends[_size - 1]++;
+
+				return;
+			}
+
+			add(position, position + 1, -1, -1);
+		}
+
+		public void addReference(long start, long end, int blockNumber) {
+			if ((_size > 0) &&
+				((_lastBlockNumbers[_size - 1] + 1) == blockNumber) &&
+				(_lastBlockNumbers[_size - 1] != -1) &&
+				(_ends[_size - 1] == start)) {
+
+				_ends[_size - 1] = end;
+				_lastBlockNumbers[_size - 1] = blockNumber;
+
+				return;
+			}
+
+			add(start, end, blockNumber, blockNumber);
+		}
+
+		public int getLastBlockNumber() {
+			if (_size == 0) {
+				return -1;
+			}
+
+			return _lastBlockNumbers[_size - 1];
+		}
+
+		protected void add(
+			long start, long end, int firstBlockNumber, int lastBlockNumber) {
+
+			if (_size == _starts.length) {
+				int capacity = _size * 2;
+
+				_ends = Arrays.copyOf(_ends, capacity);
+				_firstBlockNumbers = Arrays.copyOf(
+					_firstBlockNumbers, capacity);
+				_lastBlockNumbers = Arrays.copyOf(_lastBlockNumbers, capacity);
+				_starts = Arrays.copyOf(_starts, capacity);
+			}
+
+			_ends[_size] = end;
+			_firstBlockNumbers[_size] = firstBlockNumber;
+			_lastBlockNumbers[_size] = lastBlockNumber;
+			_starts[_size] = start;
+
+			_size++;
+		}
+
+		private long[] _ends = new long[16];
+		private int[] _firstBlockNumbers = new int[16];
+		private int[] _lastBlockNumbers = new int[16];
+		private int _size;
+		private long[] _starts = new long[16];
+
+	}
+
+}
\ No newline at end of file
@@ -25,6 +25,85 @@ import java.nio.channels.WritableByteChannel;
  */
 public class Patcher {
 
+	/**
+	 * Applies a delta stored in a file. Only the block keys and headers are
+	 * read into the heap. Reference blocks are transferred from the original
+	 * file and data blocks from the delta file straight into the patched file,
+	 * which lets the JDK use memory mapping or in-kernel copies.
+	 */
+	public void patch(
+			FileChannel originalFileChannel, FileChannel patchedFileChannel,
+			FileChannel deltaFileChannel)
+		throws IOException {
+
+		ByteBuffer keyByteBuffer = ByteBuffer.allocate(9);
+
+		long deltaPosition = deltaFileChannel.position();
+
+		deltaPosition += read(
+			deltaFileChannel, keyByteBuffer, deltaPosition, 5);
+
+		if (DeltaUtil.PROTOCOL_VERSION != keyByteBuffer.get()) {
+			throw new IOException("Unknown protocol version");
+		}
+
+		long blockLength = keyByteBuffer.getInt();
+
+		while (true) {
+			deltaPosition += read(
+				deltaFileChannel, keyByteBuffer, deltaPosition, 1);
+
+			byte key = keyByteBuffer.get();
+
+			if (key == DeltaUtil.REFERENCE_RANGE_KEY) {
+				deltaPosition += read(
+					deltaFileChannel, keyByteBuffer, deltaPosition, 8);
+
+				int firstBlockNumber = keyByteBuffer.getInt();
+				int lastBlockNumber = keyByteBuffer.getInt();
+
+				DeltaUtil.transfer(
+					originalFileChannel, patchedFileChannel,
+					firstBlockNumber * blockLength,
+					(lastBlockNumber - firstBlockNumber + 1) * blockLength);
+			}
+			else if (key == DeltaUtil.REFERENCE_KEY) {
+				deltaPosition += read(
+					deltaFileChannel, keyByteBuffer, deltaPosition, 4);
+
+				int blockNumber = keyByteBuffer.getInt();
+
+				DeltaUtil.transfer(
+					originalFileChannel, patchedFileChannel,
+					blockNumber * blockLength, blockLength);
+			}
+			else if (key == DeltaUtil.DATA_KEY) {
+				deltaPosition += read(
+					deltaFileChannel, keyByteBuffer, deltaPosition, 4);
+
+				int length = keyByteBuffer.getInt();
+
+				if ((deltaPosition + length) > deltaFileChannel.size()) {
+					throw new IOException("Unexpected EOF");
+				}
+
+				DeltaUtil.transfer(
+					deltaFileChannel, patchedFileChannel, deltaPosition,
+					length);
+
+				deltaPosition += length;
+			}
+			else if (key == DeltaUtil.EOF_KEY) {
+				deltaFileChannel.position(deltaPosition);
+
+				return;
+			}
+			else {
+				throw new IOException("Invalid key");
+			}
+		}
+	}
+
 	public void patch(
 			FileChannel originalFileChannel,
 			WritableByteChannel patchedWritableByteChannel,
@@ -103,13 +182,35 @@ public class Patcher {
 		}
 	}
 
+	protected int read(
+			FileChannel fileChannel, ByteBuffer byteBuffer, long position,
+			int length)
+		throws IOException {
+
+		byteBuffer.clear();
+		byteBuffer.limit(length);
+
+		while (byteBuffer.hasRemaining()) {
+			int count = fileChannel.read(
+				byteBuffer, position + byteBuffer.position());
+
+			if (count == -1) {
+				throw new IOException("Unexpected EOF");
+			}
+		}
+
+		byteBuffer.flip();
+
+		return length;
+	}
+
 	protected void transfer(
 			FileChannel source, WritableByteChannel destination, long position,
 			long length)
 		throws IOException {
 
 		if (length > _NATIVE_TRANSFER_THRESHOLD) {
-			source.transferTo(position, length, destination);
+			DeltaUtil.transfer(source, destination, position, length);
 		}
 		else {
 			_transferByteBuffer.clear();
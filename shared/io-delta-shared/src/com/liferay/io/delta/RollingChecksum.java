@@ -19,9 +19,6 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-
 /**
  * @author Connor McKay
  */
@@ -31,35 +28,56 @@ public class RollingChecksum {
 			ReadableByteChannel readableByteChannel, int blockLength)
 		throws IOException {
 
+		this(readableByteChannel, blockLength, new MD5StrongChecksum());
+	}
+
+	public RollingChecksum(
+			ReadableByteChannel readableByteChannel, int blockLength,
+			StrongChecksum strongChecksum)
+		throws IOException {
+
 		_blockLength = blockLength;
 		_byteChannelReader = new ByteChannelReader(
 			readableByteChannel, _blockLength * DeltaUtil.BUFFER_FACTOR);
+		_strongChecksum = strongChecksum;
+
+		// The reader owns a heap buffer that is never resized, so its backing
+		// array stays valid across reads and compactions
+
+		_byteBuffer = _byteChannelReader.getBuffer();
+
+		_bytes = _byteBuffer.array();
+		_bytesOffset = _byteBuffer.arrayOffset();
 
 		generateWeakChecksum();
 	}
 
 	public int currentBlockLength() {
-		return Math.min(_byteChannelReader.remaining(), _blockLength);
+		return Math.min(_byteBuffer.remaining(), _blockLength);
 	}
 
 	/**
 	 * Returns the first byte of data in the current block.
 	 */
 	public byte getFirstByte() {
-		return _byteChannelReader.get(0);
+		return _bytes[_bytesOffset + _byteBuffer.position()];
 	}
 
 	/**
 	 * Returns the position of the start of the current block in the file.
 	 */
-	public int getPosition() {
+	public long getPosition() {
 		return _filePosition;
 	}
 
+	public StrongChecksum getStrongChecksum() {
+		return _strongChecksum;
+	}
+
 	public boolean hasNext() throws IOException {
 		_byteChannelReader.maybeRead(1);
 
-		if (_byteChannelReader.remaining() >= 1) {
+		if (_byteBuffer.remaining() >= 1) {
 			return true;
 		}
 		else {
@@ -74,18 +92,30 @@ public class RollingChecksum {
 	}
 
 	public void nextByte() throws IOException {
-		int blockLength = currentBlockLength();
-		int x = _byteChannelReader.get();
+		int position = _byteBuffer.position();
+		int remaining = _byteBuffer.limit() - position;
 
-		_filePosition++;
+		int x = _bytes[_bytesOffset + position];
 
 		_a -= x;
-		_b -= blockLength * x;
+		_b -= Math.min(remaining, _blockLength) * x;
 
-		_byteChannelReader.maybeRead(_blockLength);
+		_byteBuffer.position(++position);
 
-		if (_byteChannelReader.remaining() >= _blockLength) {
-			x = _byteChannelReader.get(_blockLength - 1);
+		_filePosition++;
+
+		if ((remaining - 1) < _blockLength) {
+			_byteChannelReader.maybeRead(_blockLength);
+
+			position = _byteBuffer.position();
+			remaining = _byteBuffer.limit() - position;
+		}
+		else {
+			remaining--;
+		}
+
+		if (remaining >= _blockLength) {
+			x = _bytes[_bytesOffset + position + _blockLength - 1];
 
 			_a += x;
 			_b += _a;
@@ -96,19 +126,21 @@ public class RollingChecksum {
 	 * Returns the strong checksum of the current block.
 	 */
 	public byte[] strongChecksum() {
-		ByteBuffer buffer = _byteChannelReader.getBuffer();
-
-		int oldPosition = buffer.position();
-		int oldLimit = buffer.limit();
+		byte[] checksumBytes = new byte[_strongChecksum.getLength()];
 
-		buffer.limit(buffer.position() + currentBlockLength());
+		strongChecksum(checksumBytes, 0);
 
-		_messageDigest.update(buffer);
-
-		buffer.limit(oldLimit);
-		buffer.position(oldPosition);
+		return checksumBytes;
+	}
 
-		return _messageDigest.digest();
+	/**
+	 * Writes the strong checksum of the current block into the given array
+	 * without allocating.
+	 */
+	public void strongChecksum(byte[] checksumBytes, int checksumOffset) {
+		_strongChecksum.digest(
+			_bytes, _bytesOffset + _byteBuffer.position(),
+			currentBlockLength(), checksumBytes, checksumOffset);
 	}
 
 	/**
@@ -121,30 +153,29 @@ public class RollingChecksum {
 	protected void generateWeakChecksum() throws IOException {
 		_byteChannelReader.maybeRead(_blockLength);
 
-		_a = 0;
-		_b = 0;
+		int a = 0;
+		int b = 0;
 
-		for (int i = 0; i < currentBlockLength(); i++) {
-			_a += _byteChannelReader.get(i);
-			_b += _a;
+		int start = _bytesOffset + _byteBuffer.position();
+		int end = start + currentBlockLength();
+
+		for (int i = start; i < end; i++) {
+			a += _bytes[i];
+			b += a;
 		}
-	}
 
-	private static MessageDigest _messageDigest;
+		_a = a;
+		_b = b;
+	}
 
 	private int _a;
 	private int _b;
-	private int _blockLength;
-	private ByteChannelReader _byteChannelReader;
-	private int _filePosition;
-
-	static {
-		try {
-			_messageDigest = MessageDigest.getInstance("MD5");
-		}
-		catch (NoSuchAlgorithmException nsae) {
-			throw new ExceptionInInitializerError(nsae);
-		}
-	}
+	private final int _blockLength;
+	private final ByteBuffer _byteBuffer;
+	private final ByteChannelReader _byteChannelReader;
+	private final byte[] _bytes;
+	private final int _bytesOffset;
+	private long _filePosition;
+	private final StrongChecksum _strongChecksum;
 
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.io.delta;
+
+/**
+ * Computes the strong checksum of a block. Implementations are stateful and
+ * must not be shared between threads.
+ */
+public interface StrongChecksum {
+
+	/**
+	 * Writes the strong checksum of the given bytes into the checksum array at
+	 * the given offset. Exactly {@link #getLength()} bytes are written.
+	 */
+	public void digest(
+		byte[] bytes, int offset, int length, byte[] checksumBytes,
+		int checksumOffset);
+
+	public int getLength();
+
+	/**
+	 * Returns the protocol version byte that identifies this algorithm in a
+	 * checksums header.
+	 */
+	public byte getProtocolVersion();
+
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.io.delta;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DifferTest {
+
+	@Before
+	public void setUp() throws IOException {
+		_checksumsFile = File.createTempFile("checksums", null);
+		_deltaFile = File.createTempFile("delta", null);
+		_modifiedFile = File.createTempFile("modified", null);
+		_originalFile = File.createTempFile("original", null);
+		_patchedFile = File.createTempFile("patched", null);
+	}
+
+	@After
+	public void tearDown() {
+		_checksumsFile.delete();
+		_deltaFile.delete();
+		_modifiedFile.delete();
+		_originalFile.delete();
+		_patchedFile.delete();
+	}
+
+	@Test
+	public void testDeltaModifiedFile() throws Exception {
+		byte[] bytes = new byte[1024 * 1024];
+
+		Random random = new Random(42);
+
+		random.nextBytes(bytes);
+
+		write(_originalFile, bytes);
+
+		byte[] modifiedBytes = Arrays.copyOf(bytes, bytes.length + 100);
+
+		System.arraycopy(
+			modifiedBytes, 1000, modifiedBytes, 1100, bytes.length - 1000);
+
+		for (int i = 1000; i < 1100; i++) {
+			modifiedBytes[i] = (byte)i;
+		}
+
+		modifiedBytes[500000] ^= 1;
+
+		write(_modifiedFile, modifiedBytes);
+
+		checksums();
+
+		delta(null);
+
+		Assert.assertTrue(_deltaFile.length() < 4096);
+
+		assertPatched(modifiedBytes);
+	}
+
+	@Test(timeout = 10000)
+	public void testDeltaRepetitiveFile() throws Exception {
+
+		// Every block of a file of zeros has the same checksums, which used to
+		// make each lookup walk all of the blocks
+
+		byte[] bytes = new byte[16 * 1024 * 1024];
+
+		write(_originalFile, bytes);
+
+		bytes[1024 * 1024] = 1;
+		bytes[8 * 1024 * 1024 + 3] = 1;
+
+		write(_modifiedFile, bytes);
+
+		checksums();
+
+		delta(null);
+
+		assertPatched(bytes);
+	}
+
+	@Test(timeout = 10000)
+	public void testParallelDeltaRepetitiveFile() throws Exception {
+		byte[] bytes = new byte[16 * 1024 * 1024];
+
+		write(_originalFile, bytes);
+
+		bytes[1024 * 1024] = 1;
+		bytes[8 * 1024 * 1024 + 3] = 1;
+
+		write(_modifiedFile, bytes);
+
+		checksums();
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool();
+
+		try {
+			delta(forkJoinPool);
+		}
+		finally {
+			forkJoinPool.shutdown();
+		}
+
+		assertPatched(bytes);
+	}
+
+	protected void assertPatched(byte[] expectedBytes) throws IOException {
+		RandomAccessFile originalRandomAccessFile = new RandomAccessFile(
+			_originalFile, "r");
+		RandomAccessFile patchedRandomAccessFile = new RandomAccessFile(
+			_patchedFile, "rw");
+		RandomAccessFile deltaRandomAccessFile = new RandomAccessFile(
+			_deltaFile, "r");
+
+		try {
+			DeltaUtil.patch(
+				originalRandomAccessFile.getChannel(),
+				patchedRandomAccessFile.getChannel(),
+				deltaRandomAccessFile.getChannel());
+		}
+		finally {
+			originalRandomAccessFile.close();
+			patchedRandomAccessFile.close();
+			deltaRandomAccessFile.close();
+		}
+
+		Assert.assertArrayEquals(expectedBytes, read(_patchedFile));
+	}
+
+	protected void checksums() throws IOException {
+		RandomAccessFile originalRandomAccessFile = new RandomAccessFile(
+			_originalFile, "r");
+		RandomAccessFile checksumsRandomAccessFile = new RandomAccessFile(
+			_checksumsFile, "rw");
+
+		try {
+			ByteChannelWriter checksumsByteChannelWriter =
+				new ByteChannelWriter(checksumsRandomAccessFile.getChannel());
+
+			DeltaUtil.checksums(
+				originalRandomAccessFile.getChannel(),
+				checksumsByteChannelWriter);
+
+			checksumsByteChannelWriter.finish();
+		}
+		finally {
+			originalRandomAccessFile.close();
+			checksumsRandomAccessFile.close();
+		}
+	}
+
+	protected void delta(ForkJoinPool forkJoinPool) throws IOException {
+		RandomAccessFile modifiedRandomAccessFile = new RandomAccessFile(
+			_modifiedFile, "r");
+		RandomAccessFile checksumsRandomAccessFile = new RandomAccessFile(
+			_checksumsFile, "r");
+		RandomAccessFile deltaRandomAccessFile = new RandomAccessFile(
+			_deltaFile, "rw");
+
+		try {
+			ByteChannelReader checksumsByteChannelReader =
+				new ByteChannelReader(checksumsRandomAccessFile.getChannel());
+			ByteChannelWriter deltaByteChannelWriter = new ByteChannelWriter(
+				deltaRandomAccessFile.getChannel());
+
+			if (forkJoinPool == null) {
+				DeltaUtil.delta(
+					modifiedRandomAccessFile.getChannel(),
+					checksumsByteChannelReader, deltaByteChannelWriter);
+			}
+			else {
+				DeltaUtil.delta(
+					modifiedRandomAccessFile.getChannel(),
+					checksumsByteChannelReader, deltaByteChannelWriter,
+					forkJoinPool);
+			}
+
+			deltaByteChannelWriter.finish();
+		}
+		finally {
+			modifiedRandomAccessFile.close();
+			checksumsRandomAccessFile.close();
+			deltaRandomAccessFile.close();
+		}
+	}
+
+	protected byte[] read(File file) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+
+		try {
+			byte[] bytes = new byte[(int)randomAccessFile.length()];
+
+			randomAccessFile.readFully(bytes);
+
+			return bytes;
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	protected void write(File file, byte[] bytes) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+
+		try {
+			randomAccessFile.setLength(0);
+
+			FileChannel fileChannel = randomAccessFile.getChannel();
+
+			fileChannel.write(ByteBuffer.wrap(bytes));
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	private File _checksumsFile;
+	private File _deltaFile;
+	private File _modifiedFile;
+	private File _originalFile;
+	private File _patchedFile;
+
+}
\ No newline at end of file
@@ -47,6 +47,7 @@ import com.liferay.portal.search.solr.facet.SolrFacetFieldCollector;
 import com.liferay.portal.search.solr.facet.SolrFacetQueryCollector;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -91,6 +92,27 @@ public class SolrIndexSearcher extends BaseIndexSearcher {
 		}
 	}
 
+	public SolrSearchCursor searchCursor(
+			SearchContext searchContext, Query query, String cursor, int rows)
+		throws SearchException {
+
+		try {
+			SolrQuery solrQuery = translateQuery(
+				searchContext.getCompanyId(), query, null, 0, rows);
+
+			return createSearchCursor(solrQuery, cursor);
+		}
+		catch (Exception e) {
+			_log.error(e, e);
+
+			throw new SearchException(e.getMessage());
+		}
+	}
+
+	public void setCursorRows(int cursorRows) {
+		_cursorRows = cursorRows;
+	}
+
 	public void setSolrServer(SolrServer solrServer) {
 		_solrServer = solrServer;
 	}
@@ -99,6 +121,16 @@ public class SolrIndexSearcher extends BaseIndexSearcher {
 		_swallowException = swallowException;
 	}
 
+	protected SolrSearchCursor createSearchCursor(
+		SolrQuery solrQuery, String cursor) {
+
+		solrQuery.setFacet(false);
+		solrQuery.setHighlight(false);
+		solrQuery.addSort(new SortClause(Field.UID, ORDER.asc));
+
+		return new SolrSearchCursor(this, _solrServer, solrQuery, cursor);
+	}
+
 	protected Hits doSearch(SearchContext searchContext, Query query)
 		throws Exception {
 
@@ -194,6 +226,25 @@ public class SolrIndexSearcher extends BaseIndexSearcher {
 			allResults);
 	}
 
+	protected Document getDocument(SolrDocument solrDocument) {
+		Document document = new DocumentImpl();
+
+		Collection<String> names = solrDocument.getFieldNames();
+
+		for (String name : names) {
+			Collection<Object> fieldValues = solrDocument.getFieldValues(name);
+
+			Field field = new Field(
+				name,
+				ArrayUtil.toStringArray(
+					fieldValues.toArray(new Object[fieldValues.size()])));
+
+			document.add(field);
+		}
+
+		return document;
+	}
+
 	protected String getSnippet(
 		SolrDocument solrDocument, QueryConfig queryConfig,
 		Set<String> queryTerms,
@@ -250,6 +301,40 @@ public class SolrIndexSearcher extends BaseIndexSearcher {
 		return snippet;
 	}
 
+	protected Hits processSearchCursor(
+		SolrSearchCursor solrSearchCursor, Query query, long total) {
+
+		long startTime = System.currentTimeMillis();
+
+		Hits hits = new HitsImpl();
+
+		List<Document> documents = new ArrayList<Document>();
+
+		while (solrSearchCursor.hasNext()) {
+			documents.add(solrSearchCursor.next());
+		}
+
+		hits.setDocs(documents.toArray(new Document[documents.size()]));
+		hits.setLength((int)total);
+		hits.setQuery(query);
+		hits.setQueryTerms(StringPool.EMPTY_ARRAY);
+
+		Float[] scoresArray = new Float[documents.size()];
+
+		Arrays.fill(scoresArray, -1F);
+
+		hits.setScores(scoresArray);
+
+		float searchTime =
+			(float)(System.currentTimeMillis() - startTime) / Time.SECOND;
+
+		hits.setSearchTime(searchTime);
+		hits.setSnippets(new String[documents.size()]);
+		hits.setStart(startTime);
+
+		return hits;
+	}
+
 	protected Hits subset(
 			SolrQuery solrQuery, Query query, QueryConfig queryConfig,
 			QueryResponse queryResponse, boolean allResults)
@@ -264,6 +349,23 @@ public class SolrIndexSearcher extends BaseIndexSearcher {
 		long total = solrDocumentList.getNumFound();
 
 		if (allResults && (total > 0)) {
+			List<SortClause> sortClauses = solrQuery.getSorts();
+
+			// Page large unsorted results by uid instead of fetching every
+			// row in one response
+
+			if ((total > _cursorRows) && sortClauses.isEmpty() &&
+				!queryConfig.isHighlightEnabled() &&
+				!queryConfig.isScoreEnabled()) {
+
+				solrQuery.setRows(_cursorRows);
+
+				SolrSearchCursor solrSearchCursor = createSearchCursor(
+					solrQuery, null);
+
+				return processSearchCursor(solrSearchCursor, query, total);
+			}
+
 			solrQuery.setRows((int)total);
 
 			queryResponse = _solrServer.query(solrQuery);
@@ -280,21 +382,7 @@ public class SolrIndexSearcher extends BaseIndexSearcher {
 		int subsetTotal = 0;
 
 		for (SolrDocument solrDocument : solrDocumentList) {
-			Document document = new DocumentImpl();
-
-			Collection<String> names = solrDocument.getFieldNames();
-
-			for (String name : names) {
-				Collection<Object> fieldValues = solrDocument.getFieldValues(
-					name);
-
-				Field field = new Field(
-					name,
-					ArrayUtil.toStringArray(
-						fieldValues.toArray(new Object[fieldValues.size()])));
-
-				document.add(field);
-			}
+			Document document = getDocument(solrDocument);
 
 			documents.add(document);
 
@@ -447,6 +535,7 @@ public class SolrIndexSearcher extends BaseIndexSearcher {
 
 	private static Log _log = LogFactoryUtil.getLog(SolrIndexSearcher.class);
 
+	private int _cursorRows = 1000;
 	private Pattern _pattern = Pattern.compile("<em>(.*?)</em>");
 	private SolrServer _solrServer;
 	private boolean _swallowException;
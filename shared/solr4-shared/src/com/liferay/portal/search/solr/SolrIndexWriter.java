@@ -30,9 +30,15 @@ import com.liferay.portal.kernel.util.Validator;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.solr.client.solrj.SolrServer;
 import org.apache.solr.common.SolrInputDocument;
@@ -47,11 +53,17 @@ public class SolrIndexWriter extends BaseIndexWriter {
 		throws SearchException {
 
 		try {
-			_solrServer.add(getSolrInputDocument(document));
+			SolrInputDocument solrInputDocument = getSolrInputDocument(
+				document);
 
-			if (_commit) {
-				_solrServer.commit();
+			if (_commitWithin > 0) {
+				_solrServer.add(solrInputDocument, _commitWithin);
+			}
+			else {
+				_solrServer.add(solrInputDocument);
 			}
+
+			commit();
 		}
 		catch (Exception e) {
 			_log.error(e, e);
@@ -66,18 +78,21 @@ public class SolrIndexWriter extends BaseIndexWriter {
 		throws SearchException {
 
 		try {
-			Collection<SolrInputDocument> solrInputDocuments =
-				getSolrInputDocuments(documents);
+			List<SolrInputDocument> solrInputDocuments = getSolrInputDocuments(
+				documents);
 
 			if (solrInputDocuments.isEmpty()) {
 				return;
 			}
 
-			_solrServer.add(solrInputDocuments);
-
-			if (_commit) {
-				_solrServer.commit();
+			if (solrInputDocuments.size() <= _batchSize) {
+				addSolrInputDocuments(solrInputDocuments);
+			}
+			else {
+				addSolrInputDocumentBatches(solrInputDocuments);
 			}
+
+			commit();
 		}
 		catch (Exception e) {
 			_log.error(e, e);
@@ -86,16 +101,36 @@ public class SolrIndexWriter extends BaseIndexWriter {
 		}
 	}
 
+	public void afterPropertiesSet() {
+		_executorService = Executors.newFixedThreadPool(
+			_maxInFlightBatches,
+			new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable);
+
+					thread.setDaemon(true);
+
+					return thread;
+				}
+
+			});
+	}
+
 	@Override
 	public void deleteDocument(SearchContext searchContext, String uid)
 		throws SearchException {
 
 		try {
-			_solrServer.deleteById(uid);
-
-			if (_commit) {
-				_solrServer.commit();
+			if (_commitWithin > 0) {
+				_solrServer.deleteById(uid, _commitWithin);
 			}
+			else {
+				_solrServer.deleteById(uid);
+			}
+
+			commit();
 		}
 		catch (Exception e) {
 			_log.error(e, e);
@@ -109,8 +144,26 @@ public class SolrIndexWriter extends BaseIndexWriter {
 			SearchContext searchContext, Collection<String> uids)
 		throws SearchException {
 
-		for (String uid : uids) {
-			deleteDocument(searchContext, uid);
+		if (uids.isEmpty()) {
+			return;
+		}
+
+		try {
+			List<String> uidsList = new ArrayList<String>(uids);
+
+			if (_commitWithin > 0) {
+				_solrServer.deleteById(uidsList, _commitWithin);
+			}
+			else {
+				_solrServer.deleteById(uidsList);
+			}
+
+			commit();
+		}
+		catch (Exception e) {
+			_log.error(e, e);
+
+			throw new SearchException(e.getMessage());
 		}
 	}
 
@@ -143,11 +196,14 @@ public class SolrIndexWriter extends BaseIndexWriter {
 			sb.append(StringPool.COLON);
 			sb.append(portletId);
 
-			_solrServer.deleteByQuery(sb.toString());
-
-			if (_commit) {
-				_solrServer.commit();
+			if (_commitWithin > 0) {
+				_solrServer.deleteByQuery(sb.toString(), _commitWithin);
+			}
+			else {
+				_solrServer.deleteByQuery(sb.toString());
 			}
+
+			commit();
 		}
 		catch (Exception e) {
 			_log.error(e, e);
@@ -156,10 +212,26 @@ public class SolrIndexWriter extends BaseIndexWriter {
 		}
 	}
 
+	public void destroy() {
+		_executorService.shutdown();
+	}
+
+	public void setBatchSize(int batchSize) {
+		_batchSize = batchSize;
+	}
+
 	public void setCommit(boolean commit) {
 		_commit = commit;
 	}
 
+	public void setCommitWithin(int commitWithin) {
+		_commitWithin = commitWithin;
+	}
+
+	public void setMaxInFlightBatches(int maxInFlightBatches) {
+		_maxInFlightBatches = maxInFlightBatches;
+	}
+
 	public void setSolrServer(SolrServer solrServer) {
 		_solrServer = solrServer;
 	}
@@ -168,8 +240,6 @@ public class SolrIndexWriter extends BaseIndexWriter {
 	public void updateDocument(SearchContext searchContext, Document document)
 		throws SearchException {
 
-		deleteDocument(searchContext, document.getUID());
-
 		addDocument(searchContext, document);
 	}
 
@@ -178,11 +248,82 @@ public class SolrIndexWriter extends BaseIndexWriter {
 			SearchContext searchContext, Collection<Document> documents)
 		throws SearchException {
 
-		for (Document document : documents) {
-			deleteDocument(searchContext, document.getUID());
+		addDocuments(searchContext, documents);
+	}
+
+	protected void addSolrInputDocumentBatches(
+			List<SolrInputDocument> solrInputDocuments)
+		throws Exception {
+
+		LinkedList<Future<Void>> futures = new LinkedList<Future<Void>>();
+
+		try {
+			for (int i = 0; i < solrInputDocuments.size(); i += _batchSize) {
+				final List<SolrInputDocument> batchSolrInputDocuments =
+					solrInputDocuments.subList(
+						i, Math.min(i + _batchSize, solrInputDocuments.size()));
+
+				if (futures.size() >= _maxInFlightBatches) {
+					Future<Void> future = futures.removeFirst();
+
+					future.get();
+				}
+
+				Future<Void> future = _executorService.submit(
+					new Callable<Void>() {
+
+						@Override
+						public Void call() throws Exception {
+							addSolrInputDocuments(batchSolrInputDocuments);
+
+							return null;
+						}
+
+					});
+
+				futures.add(future);
+			}
+
+			while (!futures.isEmpty()) {
+				Future<Void> future = futures.removeFirst();
+
+				future.get();
+			}
 		}
+		finally {
 
-		addDocuments(searchContext, documents);
+			// Wait for the batches still in flight so that none of them
+			// outlives a failed call
+
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				}
+				catch (Exception e) {
+					if (_log.isDebugEnabled()) {
+						_log.debug(e, e);
+					}
+				}
+			}
+		}
+	}
+
+	protected void addSolrInputDocuments(
+			Collection<SolrInputDocument> solrInputDocuments)
+		throws Exception {
+
+		if (_commitWithin > 0) {
+			_solrServer.add(solrInputDocuments, _commitWithin);
+		}
+		else {
+			_solrServer.add(solrInputDocuments);
+		}
+	}
+
+	protected void commit() throws Exception {
+		if (_commit && (_commitWithin <= 0)) {
+			_solrServer.commit();
+		}
 	}
 
 	protected SolrInputDocument getSolrInputDocument(Document document) {
@@ -243,7 +384,7 @@ public class SolrIndexWriter extends BaseIndexWriter {
 		return solrInputDocument;
 	}
 
-	protected Collection<SolrInputDocument> getSolrInputDocuments(
+	protected List<SolrInputDocument> getSolrInputDocuments(
 		Collection<Document> documents) {
 
 		List<SolrInputDocument> solrInputDocuments =
@@ -263,7 +404,11 @@ public class SolrIndexWriter extends BaseIndexWriter {
 
 	private static Log _log = LogFactoryUtil.getLog(SolrIndexWriter.class);
 
+	private int _batchSize = 500;
 	private boolean _commit;
+	private int _commitWithin;
+	private ExecutorService _executorService;
+	private int _maxInFlightBatches = 4;
 	private SolrServer _solrServer;
 
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.solr;
+
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.Field;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest.METHOD;
+import org.apache.solr.client.solrj.SolrServer;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+
+public class SolrSearchCursor implements Iterator<Document> {
+
+	public SolrSearchCursor(
+		SolrIndexSearcher solrIndexSearcher, SolrServer solrServer,
+		SolrQuery solrQuery, String cursor) {
+
+		_solrIndexSearcher = solrIndexSearcher;
+		_solrServer = solrServer;
+		_solrQuery = solrQuery;
+		_cursor = cursor;
+	}
+
+	public String getCursor() {
+		return _cursor;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (_solrDocumentList != null) {
+			if (_index < _solrDocumentList.size()) {
+				return true;
+			}
+
+			if (_solrDocumentList.size() < _solrQuery.getRows()) {
+				return false;
+			}
+		}
+
+		try {
+			fetch();
+		}
+		catch (SolrServerException sse) {
+			throw new IllegalStateException(sse);
+		}
+
+		if (_index < _solrDocumentList.size()) {
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public Document next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		SolrDocument solrDocument = _solrDocumentList.get(_index++);
+
+		_cursor = (String)solrDocument.getFieldValue(Field.UID);
+
+		return _solrIndexSearcher.getDocument(solrDocument);
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	protected void fetch() throws SolrServerException {
+		if (_filterQuery != null) {
+			_solrQuery.removeFilterQuery(_filterQuery);
+
+			_filterQuery = null;
+		}
+
+		if (_cursor != null) {
+			_filterQuery =
+				Field.UID + ":{" + ClientUtils.escapeQueryChars(_cursor) +
+					" TO *]";
+
+			_solrQuery.addFilterQuery(_filterQuery);
+		}
+
+		QueryResponse queryResponse = _solrServer.query(
+			_solrQuery, METHOD.POST);
+
+		_index = 0;
+		_solrDocumentList = queryResponse.getResults();
+	}
+
+	private String _cursor;
+	private String _filterQuery;
+	private int _index;
+	private SolrDocumentList _solrDocumentList;
+	private SolrIndexSearcher _solrIndexSearcher;
+	private SolrQuery _solrQuery;
+	private SolrServer _solrServer;
+
+}
\ No newline at end of file
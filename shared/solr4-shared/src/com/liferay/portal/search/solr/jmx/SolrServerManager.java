@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.solr.jmx;
+
+import com.liferay.portal.search.solr.server.SolrServerFactory;
+import com.liferay.portal.search.solr.server.SolrServerStatistics;
+import com.liferay.portal.search.solr.server.SolrServerWrapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class SolrServerManager implements SolrServerManagerMBean {
+
+	@Override
+	public long getAverageLatency(String id) {
+		SolrServerStatistics solrServerStatistics = getSolrServerStatistics(
+			id);
+
+		return TimeUnit.NANOSECONDS.toMillis(
+			solrServerStatistics.getAverageLatency());
+	}
+
+	@Override
+	public long getErrorCount(String id) {
+		SolrServerStatistics solrServerStatistics = getSolrServerStatistics(
+			id);
+
+		return solrServerStatistics.getErrorCount();
+	}
+
+	@Override
+	public long[] getLatencyHistogram(String id) {
+		SolrServerStatistics solrServerStatistics = getSolrServerStatistics(
+			id);
+
+		return solrServerStatistics.getLatencyHistogram();
+	}
+
+	@Override
+	public long[] getLatencyHistogramBounds() {
+		return SolrServerStatistics.getLatencyHistogramBounds();
+	}
+
+	@Override
+	public String[] getLiveServerIds() {
+		return getIds(_solrServerFactory.getLiveServers());
+	}
+
+	@Override
+	public int getOutstandingRequestCount(String id) {
+		SolrServerStatistics solrServerStatistics = getSolrServerStatistics(
+			id);
+
+		return solrServerStatistics.getOutstandingRequestCount();
+	}
+
+	@Override
+	public long getRequestCount(String id) {
+		SolrServerStatistics solrServerStatistics = getSolrServerStatistics(
+			id);
+
+		return solrServerStatistics.getRequestCount();
+	}
+
+	@Override
+	public String[] getServerIds() {
+		List<SolrServerWrapper> solrServerWrappers =
+			_solrServerFactory.getDeadServers();
+
+		solrServerWrappers.addAll(_solrServerFactory.getLiveServers());
+
+		return getIds(solrServerWrappers);
+	}
+
+	public void setSolrServerFactory(SolrServerFactory solrServerFactory) {
+		_solrServerFactory = solrServerFactory;
+	}
+
+	protected String[] getIds(List<SolrServerWrapper> solrServerWrappers) {
+		String[] ids = new String[solrServerWrappers.size()];
+
+		for (int i = 0; i < ids.length; i++) {
+			SolrServerWrapper solrServerWrapper = solrServerWrappers.get(i);
+
+			ids[i] = solrServerWrapper.getId();
+		}
+
+		return ids;
+	}
+
+	protected SolrServerStatistics getSolrServerStatistics(String id) {
+		List<SolrServerWrapper> solrServerWrappers =
+			_solrServerFactory.getDeadServers();
+
+		solrServerWrappers.addAll(_solrServerFactory.getLiveServers());
+
+		for (SolrServerWrapper solrServerWrapper : solrServerWrappers) {
+			if (id.equals(solrServerWrapper.getId())) {
+				return solrServerWrapper.getSolrServerStatistics();
+			}
+		}
+
+		throw new IllegalArgumentException("No server with ID " + id);
+	}
+
+	private SolrServerFactory _solrServerFactory;
+
+}
\ No newline at end of file
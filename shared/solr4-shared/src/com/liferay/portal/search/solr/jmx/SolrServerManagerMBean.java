@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.solr.jmx;
+
+public interface SolrServerManagerMBean {
+
+	public long getAverageLatency(String id);
+
+	public long getErrorCount(String id);
+
+	public long[] getLatencyHistogram(String id);
+
+	public long[] getLatencyHistogramBounds();
+
+	public String[] getLiveServerIds();
+
+	public int getOutstandingRequestCount(String id);
+
+	public long getRequestCount(String id);
+
+	public String[] getServerIds();
+
+}
\ No newline at end of file
@@ -17,7 +17,17 @@ package com.liferay.portal.search.solr.server;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -29,8 +39,36 @@ import org.apache.solr.common.util.NamedList;
  */
 public class BroadcastWriterSolrServer extends BaseDelegatedSolrServer {
 
+	public void afterPropertiesSet() {
+		ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+			_maxThreads, _maxThreads, 60, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<Runnable>(),
+			new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable);
+
+					thread.setDaemon(true);
+
+					return thread;
+				}
+
+			});
+
+		threadPoolExecutor.allowCoreThreadTimeOut(true);
+
+		_executorService = threadPoolExecutor;
+	}
+
+	public void destroy() {
+		if (_executorService != null) {
+			_executorService.shutdownNow();
+		}
+	}
+
 	@Override
-	public NamedList<Object> request(SolrRequest solrRequest)
+	public NamedList<Object> request(final SolrRequest solrRequest)
 		throws SolrServerException {
 
 		NamedList<Object> response = null;
@@ -43,15 +81,60 @@ public class BroadcastWriterSolrServer extends BaseDelegatedSolrServer {
 		List<SolrServerWrapper> solrServerWrappers =
 			solrServerFactory.getLiveServers();
 
-		for (SolrServerWrapper solrServerWrapper : solrServerWrappers) {
+		List<Future<NamedList<Object>>> futures =
+			new ArrayList<Future<NamedList<Object>>>(
+				solrServerWrappers.size());
+
+		for (final SolrServerWrapper solrServerWrapper : solrServerWrappers) {
+			Future<NamedList<Object>> future = _executorService.submit(
+				new Callable<NamedList<Object>>() {
+
+					@Override
+					public NamedList<Object> call() throws Exception {
+						return solrServerWrapper.request(solrRequest);
+					}
+
+				});
+
+			futures.add(future);
+		}
+
+		long deadline = System.currentTimeMillis() + _timeout;
+
+		for (int i = 0; i < futures.size(); i++) {
+			Future<NamedList<Object>> future = futures.get(i);
+			SolrServerWrapper solrServerWrapper = solrServerWrappers.get(i);
+
 			try {
-				response = solrServerWrapper.request(solrRequest);
+				long timeout = Math.max(
+					deadline - System.currentTimeMillis(), 0);
+
+				NamedList<Object> curResponse = future.get(
+					timeout, TimeUnit.MILLISECONDS);
+
+				if (response == null) {
+					response = curResponse;
+				}
 			}
-			catch (Exception e) {
+			catch (ExecutionException ee) {
 				_log.error(
 					"Could not send request to server " +
 						solrServerWrapper.getId(),
-					e);
+					ee.getCause());
+			}
+			catch (InterruptedException ie) {
+				future.cancel(true);
+
+				Thread.currentThread().interrupt();
+
+				throw new SolrServerException(ie);
+			}
+			catch (TimeoutException te) {
+				future.cancel(true);
+
+				_log.error(
+					"Request to server " + solrServerWrapper.getId() +
+						" timed out after " + _timeout + " ms");
 			}
 		}
 
@@ -62,7 +145,26 @@ public class BroadcastWriterSolrServer extends BaseDelegatedSolrServer {
 		return response;
 	}
 
+	public void setMaxThreads(int maxThreads) {
+		_maxThreads = maxThreads;
+	}
+
+	public void setTimeout(long timeout) {
+		_timeout = timeout;
+	}
+
+	@Override
+	public void shutdown() {
+		super.shutdown();
+
+		destroy();
+	}
+
 	private static Log _log = LogFactoryUtil.getLog(
 		BroadcastWriterSolrServer.class);
 
+	private ExecutorService _executorService;
+	private int _maxThreads = 10;
+	private long _timeout = 30000;
+
 }
\ No newline at end of file
@@ -15,7 +15,6 @@
 package com.liferay.portal.search.solr.server;
 
 import java.util.List;
-import java.util.TreeSet;
 
 /**
  * @author Michael C. Han
@@ -26,12 +25,23 @@ public class LoadBalancedSolrServerSelector implements SolrServerSelector {
 	public SolrServerWrapper select(
 		List<SolrServerWrapper> solrServerWrappers) {
 
-		TreeSet<SolrServerWrapper> sortedSolrServerWrappers =
-			new TreeSet<SolrServerWrapper>(new SolrServerWrapperComparator());
+		SolrServerWrapper selectedSolrServerWrapper = null;
 
-		sortedSolrServerWrappers.addAll(solrServerWrappers);
+		for (int i = 0; i < solrServerWrappers.size(); i++) {
+			SolrServerWrapper solrServerWrapper = solrServerWrappers.get(i);
 
-		return sortedSolrServerWrappers.first();
+			if ((selectedSolrServerWrapper == null) ||
+				(_solrServerWrapperComparator.compare(
+					solrServerWrapper, selectedSolrServerWrapper) < 0)) {
+
+				selectedSolrServerWrapper = solrServerWrapper;
+			}
+		}
+
+		return selectedSolrServerWrapper;
 	}
 
+	private static SolrServerWrapperComparator _solrServerWrapperComparator =
+		new SolrServerWrapperComparator();
+
 }
\ No newline at end of file
@@ -15,6 +15,7 @@
 package com.liferay.portal.search.solr.server;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,10 +35,8 @@ public class SolrServerFactory {
 	}
 
 	public SolrServerWrapper getLiveServer() throws SolrServerException {
-		List<SolrServerWrapper> liveServers = getLiveServers();
-
 		SolrServerWrapper solrServerWrapper = _solrServerSelector.select(
-			liveServers);
+			_liveServersList);
 
 		if (solrServerWrapper != null) {
 			return solrServerWrapper;
@@ -60,6 +59,8 @@ public class SolrServerFactory {
 
 			_deadServers.put(solrServerWrapper.getId(), solrServerWrapper);
 			_liveServers.remove(solrServerWrapper.getId());
+
+			updateLiveServersList();
 		}
 	}
 
@@ -73,7 +74,11 @@ public class SolrServerFactory {
 
 			solrServerWrapper.setSolrServerFactory(this);
 
-			_liveServers.put(id, solrServerWrapper);
+			synchronized (this) {
+				_liveServers.put(id, solrServerWrapper);
+
+				updateLiveServersList();
+			}
 		}
 	}
 
@@ -91,13 +96,22 @@ public class SolrServerFactory {
 			_liveServers.put(solrServerWrapper.getId(), solrServerWrapper);
 
 			solrServerWrapper.resetInvocationCount();
+
+			updateLiveServersList();
 		}
 	}
 
+	protected void updateLiveServersList() {
+		_liveServersList = Collections.unmodifiableList(
+			new ArrayList<SolrServerWrapper>(_liveServers.values()));
+	}
+
 	private Map<String, SolrServerWrapper> _deadServers =
 		new HashMap<String, SolrServerWrapper>();
 	private Map<String, SolrServerWrapper> _liveServers =
 		new HashMap<String, SolrServerWrapper>();
+	private volatile List<SolrServerWrapper> _liveServersList =
+		Collections.emptyList();
 	private SolrServerSelector _solrServerSelector;
 
 }
\ No newline at end of file
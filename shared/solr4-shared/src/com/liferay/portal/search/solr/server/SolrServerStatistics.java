@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.solr.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class SolrServerStatistics {
+
+	public static long[] getLatencyHistogramBounds() {
+		return _LATENCY_HISTOGRAM_BOUNDS.clone();
+	}
+
+	public long getAverageLatency() {
+		return _averageLatency.get();
+	}
+
+	public long getErrorCount() {
+		return _errorCount.get();
+	}
+
+	public long[] getLatencyHistogram() {
+		long[] latencyHistogram = new long[_latencyHistogram.length()];
+
+		for (int i = 0; i < latencyHistogram.length; i++) {
+			latencyHistogram[i] = _latencyHistogram.get(i);
+		}
+
+		return latencyHistogram;
+	}
+
+	public int getOutstandingRequestCount() {
+		return _outstandingRequestCount.get();
+	}
+
+	public long getRequestCount() {
+		return _requestCount.get();
+	}
+
+	public void recordError() {
+		_errorCount.incrementAndGet();
+	}
+
+	public void recordLatency(long latency) {
+		long averageLatency = _averageLatency.get();
+
+		while (true) {
+			long newAverageLatency = latency;
+
+			if (averageLatency > 0) {
+				newAverageLatency =
+					averageLatency + ((latency - averageLatency) >> 3);
+			}
+
+			if (_averageLatency.compareAndSet(
+					averageLatency, newAverageLatency)) {
+
+				break;
+			}
+
+			averageLatency = _averageLatency.get();
+		}
+
+		long latencyMillis = TimeUnit.NANOSECONDS.toMillis(latency);
+
+		int i = 0;
+
+		while ((i < _LATENCY_HISTOGRAM_BOUNDS.length) &&
+			   (latencyMillis > _LATENCY_HISTOGRAM_BOUNDS[i])) {
+
+			i++;
+		}
+
+		_latencyHistogram.incrementAndGet(i);
+	}
+
+	public void requestFinished() {
+		_outstandingRequestCount.decrementAndGet();
+	}
+
+	public void requestStarted() {
+		_outstandingRequestCount.incrementAndGet();
+		_requestCount.incrementAndGet();
+	}
+
+	private static final long[] _LATENCY_HISTOGRAM_BOUNDS = {
+		1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000
+	};
+
+	private AtomicLong _averageLatency = new AtomicLong();
+	private AtomicLong _errorCount = new AtomicLong();
+	private AtomicLongArray _latencyHistogram = new AtomicLongArray(
+		_LATENCY_HISTOGRAM_BOUNDS.length + 1);
+	private AtomicInteger _outstandingRequestCount = new AtomicInteger();
+	private AtomicLong _requestCount = new AtomicLong();
+
+}
\ No newline at end of file
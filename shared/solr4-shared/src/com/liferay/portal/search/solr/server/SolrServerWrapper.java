@@ -46,6 +46,10 @@ public class SolrServerWrapper {
 		return _solrServer;
 	}
 
+	public SolrServerStatistics getSolrServerStatistics() {
+		return _solrServerStatistics;
+	}
+
 	public int incrementInvocationCount() {
 		return _invocationCount.getAndIncrement();
 	}
@@ -66,18 +70,44 @@ public class SolrServerWrapper {
 	public NamedList<Object> request(SolrRequest solrRequest)
 		throws IOException, SolrServerException {
 
+		incrementInvocationCount();
+
+		_solrServerStatistics.requestStarted();
+
+		long startTime = System.nanoTime();
+
 		try {
-			incrementInvocationCount();
+			NamedList<Object> response = _solrServer.request(solrRequest);
+
+			_solrServerStatistics.recordLatency(
+				System.nanoTime() - startTime);
 
-			return _solrServer.request(solrRequest);
+			return response;
+		}
+		catch (IOException ioe) {
+			_solrServerStatistics.recordError();
+
+			_solrServerFactory.killServer(this);
+
+			throw ioe;
 		}
 		catch (SolrServerException sse) {
+			_solrServerStatistics.recordError();
+
 			if (sse.getRootCause() instanceof IOException) {
 				_solrServerFactory.killServer(this);
 			}
 
 			throw sse;
 		}
+		catch (RuntimeException re) {
+			_solrServerStatistics.recordError();
+
+			throw re;
+		}
+		finally {
+			_solrServerStatistics.requestFinished();
+		}
 	}
 
 	public void resetInvocationCount() {
@@ -92,5 +122,7 @@ public class SolrServerWrapper {
 	private AtomicInteger _invocationCount = new AtomicInteger(0);
 	private SolrServer _solrServer;
 	private SolrServerFactory _solrServerFactory;
+	private SolrServerStatistics _solrServerStatistics =
+		new SolrServerStatistics();
 
 }
\ No newline at end of file
@@ -27,6 +27,33 @@ public class SolrServerWrapperComparator
 		SolrServerWrapper solrServerWrapper1,
 		SolrServerWrapper solrServerWrapper2) {
 
+		SolrServerStatistics solrServerStatistics1 =
+			solrServerWrapper1.getSolrServerStatistics();
+		SolrServerStatistics solrServerStatistics2 =
+			solrServerWrapper2.getSolrServerStatistics();
+
+		int outstandingRequestCount1 =
+			solrServerStatistics1.getOutstandingRequestCount();
+		int outstandingRequestCount2 =
+			solrServerStatistics2.getOutstandingRequestCount();
+
+		if (outstandingRequestCount1 > outstandingRequestCount2) {
+			return 1;
+		}
+		else if (outstandingRequestCount1 < outstandingRequestCount2) {
+			return -1;
+		}
+
+		long averageLatency1 = solrServerStatistics1.getAverageLatency();
+		long averageLatency2 = solrServerStatistics2.getAverageLatency();
+
+		if (averageLatency1 > averageLatency2) {
+			return 1;
+		}
+		else if (averageLatency1 < averageLatency2) {
+			return -1;
+		}
+
 		if (solrServerWrapper1.getInvocationCount() >
 				solrServerWrapper2.getInvocationCount()) {
 
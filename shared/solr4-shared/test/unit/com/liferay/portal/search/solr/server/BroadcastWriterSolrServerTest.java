@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.solr.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServer;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.util.NamedList;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+public class BroadcastWriterSolrServerTest {
+
+	@Before
+	public void setUp() {
+		Map<String, SolrServer> solrServers =
+			new LinkedHashMap<String, SolrServer>();
+
+		solrServers.put("node1", _solrServer1);
+		solrServers.put("node2", _solrServer2);
+
+		SolrServerFactory solrServerFactory = new SolrServerFactory();
+
+		solrServerFactory.setSolrServers(solrServers);
+
+		_broadcastWriterSolrServer.setMaxThreads(1);
+		_broadcastWriterSolrServer.setSolrServerFactory(solrServerFactory);
+
+		_broadcastWriterSolrServer.afterPropertiesSet();
+	}
+
+	@After
+	public void tearDown() {
+		_broadcastWriterSolrServer.destroy();
+	}
+
+	@Test
+	public void testRequest() throws Exception {
+		NamedList<Object> response = new NamedList<Object>();
+
+		Mockito.when(
+			_solrServer1.request(Matchers.any(SolrRequest.class))
+		).thenThrow(
+			new SolrServerException("Server refused the request")
+		);
+
+		Mockito.when(
+			_solrServer2.request(Matchers.any(SolrRequest.class))
+		).thenReturn(
+			response
+		);
+
+		UpdateRequest updateRequest = new UpdateRequest();
+
+		Assert.assertSame(
+			response, _broadcastWriterSolrServer.request(updateRequest));
+
+		Mockito.verify(_solrServer1).request(updateRequest);
+		Mockito.verify(_solrServer2).request(updateRequest);
+	}
+
+	@Test(expected = SolrServerException.class)
+	public void testRequestWithoutResponse() throws Exception {
+		Mockito.when(
+			_solrServer1.request(Matchers.any(SolrRequest.class))
+		).thenThrow(
+			new SolrServerException("Server refused the request")
+		);
+
+		Mockito.when(
+			_solrServer2.request(Matchers.any(SolrRequest.class))
+		).thenThrow(
+			new SolrServerException("Server refused the request")
+		);
+
+		_broadcastWriterSolrServer.request(new UpdateRequest());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testRequestWithQuery() throws Exception {
+		_broadcastWriterSolrServer.request(Mockito.mock(SolrRequest.class));
+	}
+
+	private final BroadcastWriterSolrServer _broadcastWriterSolrServer =
+		new BroadcastWriterSolrServer();
+	private final SolrServer _solrServer1 = Mockito.mock(SolrServer.class);
+	private final SolrServer _solrServer2 = Mockito.mock(SolrServer.class);
+
+}
\ No newline at end of file
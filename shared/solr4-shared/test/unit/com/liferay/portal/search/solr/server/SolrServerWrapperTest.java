@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.solr.server;
+
+import java.io.IOException;
+
+import java.util.Collections;
+
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServer;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+public class SolrServerWrapperTest {
+
+	@Before
+	public void setUp() {
+		_solrServerFactory.setSolrServers(
+			Collections.singletonMap("node1", _solrServer));
+
+		_solrServerWrapper = _solrServerFactory.getLiveServers().get(0);
+	}
+
+	@Test
+	public void testRequestWithConnectionFailure() throws Exception {
+		Mockito.when(
+			_solrServer.request(Matchers.any(SolrRequest.class))
+		).thenThrow(
+			new SolrServerException(new IOException())
+		);
+
+		try {
+			_solrServerWrapper.request(_solrRequest);
+
+			Assert.fail();
+		}
+		catch (SolrServerException sse) {
+		}
+
+		assertDead();
+	}
+
+	@Test
+	public void testRequestWithIOException() throws Exception {
+		Mockito.when(
+			_solrServer.request(Matchers.any(SolrRequest.class))
+		).thenThrow(
+			new IOException()
+		);
+
+		try {
+			_solrServerWrapper.request(_solrRequest);
+
+			Assert.fail();
+		}
+		catch (IOException ioe) {
+		}
+
+		assertDead();
+	}
+
+	@Test
+	public void testRequestWithServerError() throws Exception {
+		Mockito.when(
+			_solrServer.request(Matchers.any(SolrRequest.class))
+		).thenThrow(
+			new SolrServerException("Server refused the request")
+		);
+
+		try {
+			_solrServerWrapper.request(_solrRequest);
+
+			Assert.fail();
+		}
+		catch (SolrServerException sse) {
+		}
+
+		assertLive();
+	}
+
+	@Test
+	public void testRequestWithSolrException() throws Exception {
+		Mockito.when(
+			_solrServer.request(Matchers.any(SolrRequest.class))
+		).thenThrow(
+			new SolrException(SolrException.ErrorCode.BAD_REQUEST, "")
+		);
+
+		try {
+			_solrServerWrapper.request(_solrRequest);
+
+			Assert.fail();
+		}
+		catch (SolrException se) {
+		}
+
+		assertLive();
+
+		SolrServerStatistics solrServerStatistics =
+			_solrServerWrapper.getSolrServerStatistics();
+
+		Assert.assertEquals(1, solrServerStatistics.getErrorCount());
+	}
+
+	protected void assertDead() {
+		Assert.assertEquals(1, _solrServerFactory.getDeadServers().size());
+		Assert.assertTrue(_solrServerFactory.getLiveServers().isEmpty());
+	}
+
+	protected void assertLive() {
+		Assert.assertTrue(_solrServerFactory.getDeadServers().isEmpty());
+		Assert.assertEquals(1, _solrServerFactory.getLiveServers().size());
+	}
+
+	private final SolrRequest _solrRequest = Mockito.mock(SolrRequest.class);
+	private final SolrServer _solrServer = Mockito.mock(SolrServer.class);
+	private final SolrServerFactory _solrServerFactory =
+		new SolrServerFactory();
+	private SolrServerWrapper _solrServerWrapper;
+
+}
\ No newline at end of file
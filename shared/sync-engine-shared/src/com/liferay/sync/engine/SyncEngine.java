@@ -14,6 +14,7 @@
 
 package com.liferay.sync.engine;
 
+import com.liferay.sync.engine.documentlibrary.event.BatchEventManager;
 import com.liferay.sync.engine.documentlibrary.event.GetSyncDLObjectUpdateEvent;
 import com.liferay.sync.engine.filesystem.SyncSiteWatchEventListener;
 import com.liferay.sync.engine.filesystem.SyncWatchEventProcessor;
@@ -27,6 +28,7 @@ import com.liferay.sync.engine.model.SyncSiteModelListener;
 import com.liferay.sync.engine.service.SyncAccountService;
 import com.liferay.sync.engine.service.SyncFileService;
 import com.liferay.sync.engine.service.SyncSiteService;
+import com.liferay.sync.engine.service.SyncWatchEventService;
 import com.liferay.sync.engine.upgrade.util.UpgradeUtil;
 import com.liferay.sync.engine.util.LoggerUtil;
 import com.liferay.sync.engine.util.PropsValues;
@@ -39,10 +41,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -74,6 +78,11 @@ public class SyncEngine {
 		Watcher watcher = (Watcher)syncAccountTasks[1];
 
 		watcher.close();
+
+		ScheduledFuture<?> syncWatchEventProcessorScheduledFuture =
+			(ScheduledFuture<?>)syncAccountTasks[2];
+
+		syncWatchEventProcessorScheduledFuture.cancel(false);
 	}
 
 	public static void scheduleSyncAccountTasks(long syncAccountId)
@@ -137,10 +146,29 @@ public class SyncEngine {
 
 		Watcher watcher = new Watcher(filePath, true, watchEventListener);
 
+		if (_watcherExecutorService.getActiveCount() >=
+				_watcherExecutorService.getMaximumPoolSize()) {
+
+			_logger.warn(
+				"Watcher for sync account {} is waiting for one of {} " +
+					"threads. Increase sync.engine.watcher.max.threads.",
+				syncAccountId, _watcherExecutorService.getMaximumPoolSize());
+		}
+
 		_watcherExecutorService.execute(watcher);
 
+		SyncWatchEventProcessor syncWatchEventProcessor =
+			new SyncWatchEventProcessor(syncAccountId);
+
+		ScheduledFuture<?> syncWatchEventProcessorScheduledFuture =
+			_syncWatchEventProcessorExecutorService.scheduleWithFixedDelay(
+				syncWatchEventProcessor, 0, 3, TimeUnit.SECONDS);
+
 		_syncAccountTasks.put(
-			syncAccountId, new Object[] {scheduledFuture, watcher});
+			syncAccountId,
+			new Object[] {
+				scheduledFuture, watcher, syncWatchEventProcessorScheduledFuture
+			});
 	}
 
 	public static void start() {
@@ -183,19 +211,30 @@ public class SyncEngine {
 
 		UpgradeUtil.upgrade();
 
+		SyncWatchEventService.restoreSyncWatchEvents();
+
 		SyncAccountService.registerModelListener(
 			new SyncAccountModelListener());
 		SyncFileService.registerModelListener(new SyncFileModelListener());
 		SyncSiteService.registerModelListener(new SyncSiteModelListener());
 
-		SyncWatchEventProcessor syncWatchEventProcessor =
-			new SyncWatchEventProcessor();
-
 		_syncWatchEventProcessorExecutorService =
-			Executors.newSingleThreadScheduledExecutor();
+			new ScheduledThreadPoolExecutor(
+				PropsValues.SYNC_ENGINE_UPLOAD_MAX_THREADS);
+
+		_syncWatchEventProcessorExecutorService.setRemoveOnCancelPolicy(true);
+
+		_syncWatchEventProcessorExecutorService.scheduleWithFixedDelay(
+			new Runnable() {
+
+				@Override
+				public void run() {
+					logBacklogs();
+				}
 
-		_syncWatchEventProcessorExecutorService.scheduleAtFixedRate(
-			syncWatchEventProcessor, 0, 3, TimeUnit.SECONDS);
+			},
+			PropsValues.SYNC_ENGINE_BACKLOG_LOG_INTERVAL,
+			PropsValues.SYNC_ENGINE_BACKLOG_LOG_INTERVAL, TimeUnit.SECONDS);
 
 		List<SyncAccount> syncAccounts = SyncAccountService.findAll();
 
@@ -226,6 +265,8 @@ public class SyncEngine {
 
 		_syncWatchEventProcessorExecutorService.shutdown();
 
+		BatchEventManager.fireBatchEvents();
+
 		SyncAccountService.unregisterModelListener(
 			new SyncAccountModelListener());
 		SyncFileService.unregisterModelListener(new SyncFileModelListener());
@@ -235,16 +276,63 @@ public class SyncEngine {
 			SyncEngineUtil.SYNC_ENGINE_STATE_STOPPED);
 	}
 
+	protected static int getBacklog(
+		ScheduledThreadPoolExecutor scheduledThreadPoolExecutor) {
+
+		int backlog = 0;
+
+		for (Runnable runnable : scheduledThreadPoolExecutor.getQueue()) {
+			Delayed delayed = (Delayed)runnable;
+
+			if (delayed.getDelay(TimeUnit.MILLISECONDS) <= 0) {
+				backlog++;
+			}
+		}
+
+		return backlog;
+	}
+
+	protected static void logBacklogs() {
+		if (!_logger.isDebugEnabled()) {
+			return;
+		}
+
+		_logger.debug(
+			"Download lane active {} backlog {}",
+			_eventScheduledExecutorService.getActiveCount(),
+			getBacklog(_eventScheduledExecutorService));
+		_logger.debug(
+			"Upload lane active {} backlog {}",
+			_syncWatchEventProcessorExecutorService.getActiveCount(),
+			getBacklog(_syncWatchEventProcessorExecutorService));
+
+		BlockingQueue<Runnable> watcherQueue =
+			_watcherExecutorService.getQueue();
+
+		_logger.debug(
+			"Watchers active {} backlog {}",
+			_watcherExecutorService.getActiveCount(), watcherQueue.size());
+	}
+
 	private static Logger _logger = LoggerFactory.getLogger(SyncEngine.class);
 
-	private static ScheduledExecutorService _eventScheduledExecutorService =
-		Executors.newScheduledThreadPool(5);
+	private static ScheduledThreadPoolExecutor _eventScheduledExecutorService =
+		new ScheduledThreadPoolExecutor(
+			PropsValues.SYNC_ENGINE_DOWNLOAD_MAX_THREADS);
 	private static boolean _running;
 	private static Map<Long, Object[]> _syncAccountTasks =
 		new HashMap<Long, Object[]>();
-	private static ScheduledExecutorService
+	private static ScheduledThreadPoolExecutor
 		_syncWatchEventProcessorExecutorService;
-	private static ExecutorService _watcherExecutorService =
-		Executors.newCachedThreadPool();
+	private static ThreadPoolExecutor _watcherExecutorService =
+		new ThreadPoolExecutor(
+			PropsValues.SYNC_ENGINE_WATCHER_MAX_THREADS,
+			PropsValues.SYNC_ENGINE_WATCHER_MAX_THREADS, 60, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<Runnable>());
+
+	static {
+		_eventScheduledExecutorService.setRemoveOnCancelPolicy(true);
+		_watcherExecutorService.allowCoreThreadTimeOut(true);
+	}
 
 }
\ No newline at end of file
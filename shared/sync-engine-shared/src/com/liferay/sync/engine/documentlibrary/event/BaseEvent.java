@@ -18,6 +18,7 @@ import com.liferay.sync.engine.documentlibrary.handler.Handler;
 import com.liferay.sync.engine.session.Session;
 import com.liferay.sync.engine.session.SessionManager;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -34,14 +35,25 @@ public abstract class BaseEvent implements Event {
 	}
 
 	public <T> T executeGet(String urlPath) throws Exception {
+		return executeGet(urlPath, Collections.<String, String>emptyMap());
+	}
+
+	public <T> T executeGet(String urlPath, Map<String, String> headers)
+		throws Exception {
+
 		Session session = SessionManager.getSession(_syncAccountId);
 
-		return session.executeGet(urlPath, (Handler<? extends T>)_handler);
+		return session.executeGet(
+			urlPath, headers, (Handler<? extends T>)_handler);
 	}
 
 	public <T> T executePost(String urlPath, Map<String, Object> parameters)
 		throws Exception {
 
+		if (BatchEventManager.addEvent(this, urlPath, parameters)) {
+			return null;
+		}
+
 		Session session = SessionManager.getSession(_syncAccountId);
 
 		return session.executePost(
@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.sync.engine.documentlibrary.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.liferay.sync.engine.documentlibrary.handler.BatchHandler;
+import com.liferay.sync.engine.documentlibrary.handler.Handler;
+import com.liferay.sync.engine.util.PropsValues;
+import com.liferay.sync.engine.util.StreamUtil;
+
+import java.io.OutputStream;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class BatchEvent extends BaseEvent {
+
+	public BatchEvent(long syncAccountId) {
+		super(syncAccountId, _URL_PATH, new HashMap<String, Object>());
+	}
+
+	public static boolean isBatchable(String urlPath) {
+		return _batchableURLPaths.contains(urlPath);
+	}
+
+	public synchronized boolean addEvent(
+			BaseEvent event, String urlPath, Map<String, Object> parameters)
+		throws Exception {
+
+		long fileSize = 0;
+
+		Path filePath = getFilePath(parameters);
+
+		if (filePath != null) {
+			fileSize = Files.size(filePath);
+
+			if (fileSize > PropsValues.SYNC_BATCH_EVENTS_MAX_FILE_SIZE) {
+				return false;
+			}
+		}
+
+		if (!_events.isEmpty() &&
+			((_totalFileSize + fileSize) >
+				PropsValues.SYNC_BATCH_EVENTS_MAX_TOTAL_FILE_SIZE)) {
+
+			return false;
+		}
+
+		_events.add(event);
+		_handlers.add(event.getHandler());
+		_parametersList.add(parameters);
+		_urlPaths.add(urlPath);
+
+		_totalFileSize += fileSize;
+
+		return true;
+	}
+
+	public synchronized Handler<?> getHandler(int index) {
+		return _handlers.get(index);
+	}
+
+	public synchronized List<Handler<?>> getHandlers() {
+		return new ArrayList<Handler<?>>(_handlers);
+	}
+
+	public synchronized int getSize() {
+		return _events.size();
+	}
+
+	public synchronized boolean isFull() {
+		if ((_events.size() >= PropsValues.SYNC_BATCH_EVENTS_MAX_COUNT) ||
+			(_totalFileSize >=
+				PropsValues.SYNC_BATCH_EVENTS_MAX_TOTAL_FILE_SIZE)) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	protected Handler<?> getHandler() {
+		return new BatchHandler(this);
+	}
+
+	protected Path getFilePath(Map<String, Object> parameters) {
+		Path filePath = (Path)parameters.get("deltaFilePath");
+
+		if (filePath == null) {
+			filePath = (Path)parameters.get("filePath");
+		}
+
+		return filePath;
+	}
+
+	@Override
+	protected synchronized void processRequest() throws Exception {
+		if (_events.isEmpty()) {
+			return;
+		}
+
+		Path zipFilePath = Files.createTempFile("batch", ".zip");
+
+		try {
+			writeZipFile(zipFilePath);
+
+			Map<String, Object> parameters = new HashMap<String, Object>();
+
+			parameters.put("zipFilePath", zipFilePath);
+
+			executePost(_URL_PATH, parameters);
+		}
+		finally {
+			Files.deleteIfExists(zipFilePath);
+		}
+	}
+
+	protected void writeZipFile(Path zipFilePath) throws Exception {
+		List<Map<String, Object>> manifest =
+			new ArrayList<Map<String, Object>>();
+
+		OutputStream outputStream = null;
+		ZipOutputStream zipOutputStream = null;
+
+		try {
+			outputStream = Files.newOutputStream(zipFilePath);
+
+			zipOutputStream = new ZipOutputStream(outputStream);
+
+			for (int i = 0; i < _events.size(); i++) {
+				BaseEvent event = _events.get(i);
+
+				Map<String, Object> parameters = _parametersList.get(i);
+
+				Map<String, Object> operation =
+					new LinkedHashMap<String, Object>();
+
+				operation.put("key", String.valueOf(i));
+				operation.put("urlPath", _urlPaths.get(i));
+
+				Map<String, Object> operationParameters =
+					new HashMap<String, Object>();
+
+				for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+					String key = entry.getKey();
+
+					if (_ignoredParameterKeys.contains(key) ||
+						key.startsWith("-")) {
+
+						continue;
+					}
+
+					operationParameters.put(key, entry.getValue());
+				}
+
+				operation.put("parameters", operationParameters);
+
+				Path filePath = getFilePath(parameters);
+
+				if (filePath != null) {
+					String zipFileId = "file" + i;
+
+					zipOutputStream.putNextEntry(new ZipEntry(zipFileId));
+
+					Files.copy(filePath, zipOutputStream);
+
+					zipOutputStream.closeEntry();
+
+					operation.put("zipFileId", zipFileId);
+				}
+
+				manifest.add(operation);
+			}
+
+			zipOutputStream.putNextEntry(new ZipEntry("manifest.json"));
+
+			ObjectMapper objectMapper = new ObjectMapper();
+
+			zipOutputStream.write(objectMapper.writeValueAsBytes(manifest));
+
+			zipOutputStream.closeEntry();
+		}
+		finally {
+			StreamUtil.cleanUp(zipOutputStream);
+			StreamUtil.cleanUp(outputStream);
+		}
+	}
+
+	private static final String _URL_PATH =
+		"/sync-web.syncdlobject/update-file-entries";
+
+	private static Set<String> _batchableURLPaths = new HashSet<String>(
+		Arrays.asList(
+			"/sync-web.syncdlobject/add-file-entry",
+			"/sync-web.syncdlobject/move-file-entry",
+			"/sync-web.syncdlobject/move-file-entry-to-trash",
+			"/sync-web.syncdlobject/move-folder",
+			"/sync-web.syncdlobject/move-folder-to-trash",
+			"/sync-web.syncdlobject/patch-file-entry",
+			"/sync-web.syncdlobject/update-file-entry",
+			"/sync-web.syncdlobject/update-folder"));
+	private static Set<String> _ignoredParameterKeys = new HashSet<String>(
+		Arrays.asList("deltaFilePath", "filePath", "syncFile", "syncSite"));
+
+	private List<BaseEvent> _events = new ArrayList<BaseEvent>();
+	private List<Handler<?>> _handlers = new ArrayList<Handler<?>>();
+	private List<Map<String, Object>> _parametersList =
+		new ArrayList<Map<String, Object>>();
+	private long _totalFileSize;
+	private List<String> _urlPaths = new ArrayList<String>();
+
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.sync.engine.documentlibrary.event;
+
+import com.liferay.sync.engine.util.PropsValues;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+public class BatchEventManager {
+
+	public static boolean addEvent(
+			BaseEvent event, String urlPath, Map<String, Object> parameters)
+		throws Exception {
+
+		if (!PropsValues.SYNC_BATCH_EVENTS_ENABLED ||
+			(event instanceof BatchEvent)) {
+
+			return false;
+		}
+
+		long syncAccountId = event.getSyncAccountId();
+
+		if (!BatchEvent.isBatchable(urlPath)) {
+			fireBatchEvent(syncAccountId);
+
+			return false;
+		}
+
+		while (true) {
+			BatchEvent batchEvent = null;
+
+			boolean added = false;
+
+			synchronized (_batchEvents) {
+				batchEvent = getBatchEvent(syncAccountId);
+
+				added = batchEvent.addEvent(event, urlPath, parameters);
+
+				if (added && !batchEvent.isFull()) {
+					return true;
+				}
+
+				_batchEvents.remove(syncAccountId);
+
+				if (!added && (batchEvent.getSize() == 0)) {
+					return false;
+				}
+			}
+
+			batchEvent.run();
+
+			if (added) {
+				return true;
+			}
+		}
+	}
+
+	public static void fireBatchEvent(long syncAccountId) {
+		BatchEvent batchEvent = null;
+
+		synchronized (_batchEvents) {
+			batchEvent = _batchEvents.remove(syncAccountId);
+		}
+
+		if (batchEvent != null) {
+			batchEvent.run();
+		}
+	}
+
+	public static void fireBatchEvents() {
+		List<BatchEvent> batchEvents = null;
+
+		synchronized (_batchEvents) {
+			batchEvents = new ArrayList<BatchEvent>(_batchEvents.values());
+
+			_batchEvents.clear();
+		}
+
+		for (BatchEvent batchEvent : batchEvents) {
+			batchEvent.run();
+		}
+	}
+
+	protected static BatchEvent getBatchEvent(final long syncAccountId) {
+		BatchEvent batchEvent = _batchEvents.get(syncAccountId);
+
+		if (batchEvent != null) {
+			return batchEvent;
+		}
+
+		batchEvent = new BatchEvent(syncAccountId);
+
+		_batchEvents.put(syncAccountId, batchEvent);
+
+		_scheduledExecutorService.schedule(
+			new Runnable() {
+
+				@Override
+				public void run() {
+					fireBatchEvent(syncAccountId);
+				}
+
+			},
+			PropsValues.SYNC_BATCH_EVENTS_WINDOW, TimeUnit.MILLISECONDS);
+
+		return batchEvent;
+	}
+
+	private static Map<Long, BatchEvent> _batchEvents =
+		new HashMap<Long, BatchEvent>();
+	private static ScheduledExecutorService _scheduledExecutorService =
+		Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable);
+
+					thread.setDaemon(true);
+
+					return thread;
+				}
+
+			});
+
+}
\ No newline at end of file
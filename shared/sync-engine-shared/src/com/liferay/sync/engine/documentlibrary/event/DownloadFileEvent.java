@@ -20,11 +20,18 @@ import com.liferay.sync.engine.model.SyncAccount;
 import com.liferay.sync.engine.model.SyncFile;
 import com.liferay.sync.engine.service.SyncAccountService;
 import com.liferay.sync.engine.service.SyncFileService;
+import com.liferay.sync.engine.util.FileUtil;
 
 import java.net.URL;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.http.HttpHeaders;
+
 /**
  * @author Shinn Lok
  */
@@ -69,7 +76,27 @@ public class DownloadFileEvent extends BaseEvent {
 			sb.append(syncFile.getVersion());
 		}
 
-		executeGet(sb.toString());
+		Map<String, String> headers = new HashMap<String, String>();
+
+		// Resume a previously interrupted download if the server still has the
+		// same content, otherwise the server responds with the whole content
+
+		Path downloadFilePath = FileUtil.getDownloadFilePath(syncFile);
+		Path eTagFilePath = FileUtil.getDownloadETagFilePath(syncFile);
+
+		if (Files.exists(downloadFilePath) && Files.exists(eTagFilePath)) {
+			long size = Files.size(downloadFilePath);
+
+			if (size > 0) {
+				byte[] eTagBytes = Files.readAllBytes(eTagFilePath);
+
+				headers.put(
+					HttpHeaders.IF_RANGE, new String(eTagBytes, "UTF-8"));
+				headers.put(HttpHeaders.RANGE, "bytes=" + size + "-");
+			}
+		}
+
+		executeGet(sb.toString(), headers);
 	}
 
 	protected String replaceURLPath(long syncAccountId) throws Exception {
@@ -21,12 +21,16 @@ import com.liferay.sync.engine.model.SyncSite;
 import com.liferay.sync.engine.service.SyncFileService;
 import com.liferay.sync.engine.service.SyncSiteService;
 import com.liferay.sync.engine.util.FileUtil;
+import com.liferay.sync.engine.util.PropsValues;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Shinn Lok
@@ -69,16 +73,61 @@ public class GetSyncDLObjectUpdateEvent extends BaseEvent {
 			}
 		}
 
-		Map<String, Object> parameters = new HashMap<String, Object>();
+		long lastAccessTime = syncSite.getRemoteSyncTime();
+		long lastSyncDLObjectId = 0;
 
-		parameters.put("companyId", syncSite.getCompanyId());
-		parameters.put("lastAccessTime", syncSite.getRemoteSyncTime());
-		parameters.put("repositoryId", syncSite.getGroupId());
+		boolean paged = !_unpagedSyncAccountIds.contains(getSyncAccountId());
 
-		executePost(_URL_PATH, parameters);
+		while (true) {
+			Map<String, Object> parameters = new HashMap<String, Object>();
+
+			parameters.put("companyId", syncSite.getCompanyId());
+			parameters.put("lastAccessTime", lastAccessTime);
+
+			if (paged) {
+				parameters.put("lastSyncDLObjectId", lastSyncDLObjectId);
+				parameters.put(
+					"max", PropsValues.SYNC_DL_OBJECT_UPDATE_MAX_SIZE);
+			}
+
+			parameters.put("repositoryId", syncSite.getGroupId());
+
+			Map<String, Object> eventParameters = getParameters();
+
+			eventParameters.put("paged", paged);
+			eventParameters.remove("hasMore");
+			eventParameters.remove("pagingUnsupported");
+
+			executePost(_URL_PATH, parameters);
+
+			if (paged &&
+				Boolean.TRUE.equals(getParameterValue("pagingUnsupported"))) {
+
+				// Servers older than the paged update only understand the
+				// three argument signature
+
+				_unpagedSyncAccountIds.add(getSyncAccountId());
+
+				paged = false;
+
+				continue;
+			}
+
+			Boolean hasMore = (Boolean)getParameterValue("hasMore");
+
+			if ((hasMore == null) || !hasMore) {
+				break;
+			}
+
+			lastAccessTime = (Long)getParameterValue("lastAccessTime");
+			lastSyncDLObjectId = (Long)getParameterValue("lastSyncDLObjectId");
+		}
 	}
 
 	private static final String _URL_PATH =
 		"/sync-web.syncdlobject/get-sync-dl-object-update";
 
+	private static final Set<Long> _unpagedSyncAccountIds =
+		Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
 }
\ No newline at end of file
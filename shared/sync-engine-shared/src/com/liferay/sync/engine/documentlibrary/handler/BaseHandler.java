@@ -22,6 +22,8 @@ import com.liferay.sync.engine.service.SyncFileService;
 
 import java.io.FileNotFoundException;
 
+import java.util.Map;
+
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.http.HttpResponse;
@@ -94,11 +96,15 @@ public class BaseHandler implements Handler<Void> {
 		try {
 			StatusLine statusLine = httpResponse.getStatusLine();
 
-			if (statusLine.getStatusCode() != HttpServletResponse.SC_OK) {
-				_logger.error("Status code {}", statusLine.getStatusCode());
+			int statusCode = statusLine.getStatusCode();
+
+			if ((statusCode != HttpServletResponse.SC_OK) &&
+				(statusCode != HttpServletResponse.SC_PARTIAL_CONTENT)) {
+
+				_logger.error("Status code {}", statusCode);
 
 				throw new HttpResponseException(
-					statusLine.getStatusCode(), statusLine.getReasonPhrase());
+					statusCode, statusLine.getReasonPhrase());
 			}
 
 			doHandleResponse(httpResponse);
@@ -169,6 +175,12 @@ public class BaseHandler implements Handler<Void> {
 		}
 	}
 
+	protected void setParameterValue(String key, Object value) {
+		Map<String, Object> parameters = _event.getParameters();
+
+		parameters.put(key, value);
+	}
+
 	private static Logger _logger = LoggerFactory.getLogger(BaseHandler.class);
 
 	private Event _event;
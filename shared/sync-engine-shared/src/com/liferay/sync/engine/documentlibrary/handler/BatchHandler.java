@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.sync.engine.documentlibrary.handler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.liferay.sync.engine.documentlibrary.event.BatchEvent;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.conn.HttpHostConnectException;
+
+public class BatchHandler extends BaseJSONHandler {
+
+	public BatchHandler(BatchEvent batchEvent) {
+		super(batchEvent);
+
+		_batchEvent = batchEvent;
+	}
+
+	@Override
+	public void handleException(Exception e) {
+		// Connection failures are account wide and are handled once, any
+		// other failure is reported to each batched event's own handler
+
+		if ((e instanceof HttpHostConnectException) ||
+			(e instanceof HttpResponseException)) {
+
+			super.handleException(e);
+
+			return;
+		}
+
+		for (Handler<?> handler : _batchEvent.getHandlers()) {
+			handler.handleException(e);
+		}
+	}
+
+	@Override
+	protected void processResponse(String response) throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+
+		JsonNode responseJsonNode = objectMapper.readTree(response);
+
+		Iterator<Map.Entry<String, JsonNode>> iterator =
+			responseJsonNode.fields();
+
+		while (iterator.hasNext()) {
+			Map.Entry<String, JsonNode> entry = iterator.next();
+
+			Handler<?> handler = _batchEvent.getHandler(
+				Integer.parseInt(entry.getKey()));
+
+			if (!(handler instanceof BaseJSONHandler)) {
+				continue;
+			}
+
+			BaseJSONHandler baseJSONHandler = (BaseJSONHandler)handler;
+
+			JsonNode valueJsonNode = entry.getValue();
+
+			String value = valueJsonNode.toString();
+
+			try {
+				if (!baseJSONHandler.handlePortalException(value)) {
+					baseJSONHandler.processResponse(value);
+				}
+			}
+			catch (Exception e) {
+				baseJSONHandler.handleException(e);
+			}
+		}
+	}
+
+	private BatchEvent _batchEvent;
+
+}
\ No newline at end of file
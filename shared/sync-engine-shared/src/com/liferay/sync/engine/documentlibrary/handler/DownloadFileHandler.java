@@ -21,15 +21,24 @@ import com.liferay.sync.engine.util.FileUtil;
 import com.liferay.sync.engine.util.IODeltaUtil;
 import com.liferay.sync.engine.util.StreamUtil;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
 
 /**
  * @author Shinn Lok
@@ -41,33 +50,213 @@ public class DownloadFileHandler extends BaseHandler {
 	}
 
 	@Override
-	protected void doHandleResponse(HttpResponse httpResponse)
-		throws Exception {
+	public Void handleResponse(HttpResponse httpResponse) {
+		StatusLine statusLine = httpResponse.getStatusLine();
 
-		InputStream inputStream = null;
+		if (statusLine.getStatusCode() !=
+				HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+
+			return super.handleResponse(httpResponse);
+		}
+
+		// The partial file is already complete if its size matches the
+		// content length reported in "Content-Range: bytes */length",
+		// otherwise it is discarded so the next attempt starts over
+
+		SyncFile syncFile = (SyncFile)getParameterValue("syncFile");
 
 		try {
-			SyncFile syncFile = (SyncFile)getParameterValue("syncFile");
+			Path downloadFilePath = FileUtil.getDownloadFilePath(syncFile);
 
-			Path filePath = Paths.get(syncFile.getFilePathName());
+			if (Files.exists(downloadFilePath) &&
+				(Files.size(downloadFilePath) ==
+					getContentRangeLength(httpResponse))) {
+
+				processDownloadFile(syncFile);
+			}
+			else {
+				deleteDownloadFiles(syncFile);
+
+				throw new IOException(
+					"Unable to resume download of " +
+						syncFile.getFilePathName());
+			}
+		}
+		catch (Exception e) {
+			handleException(e);
+		}
+
+		return null;
+	}
+
+	protected void deleteDownloadFiles(SyncFile syncFile) throws IOException {
+		Files.deleteIfExists(FileUtil.getDownloadFilePath(syncFile));
+		Files.deleteIfExists(FileUtil.getDownloadETagFilePath(syncFile));
+	}
+
+	protected void download(HttpResponse httpResponse, SyncFile syncFile)
+		throws Exception {
+
+		Path downloadFilePath = FileUtil.getDownloadFilePath(syncFile);
+
+		OpenOption[] openOptions = null;
+
+		StatusLine statusLine = httpResponse.getStatusLine();
 
+		if (statusLine.getStatusCode() ==
+				HttpServletResponse.SC_PARTIAL_CONTENT) {
+
+			// The partial file may have been removed or changed since the
+			// range was requested
+
+			long size = -1;
+
+			if (Files.exists(downloadFilePath)) {
+				size = Files.size(downloadFilePath);
+			}
+
+			if (size != getContentRangeStart(httpResponse)) {
+				deleteDownloadFiles(syncFile);
+
+				throw new IOException(
+					"Unable to resume download of " +
+						syncFile.getFilePathName());
+			}
+
+			openOptions = new OpenOption[] {
+				StandardOpenOption.APPEND, StandardOpenOption.CREATE
+			};
+		}
+		else {
+			Path eTagFilePath = FileUtil.getDownloadETagFilePath(syncFile);
+
+			Header eTagHeader = httpResponse.getFirstHeader(HttpHeaders.ETAG);
+
+			if (eTagHeader != null) {
+				String eTag = eTagHeader.getValue();
+
+				Files.write(eTagFilePath, eTag.getBytes("UTF-8"));
+			}
+			else {
+				Files.deleteIfExists(eTagFilePath);
+			}
+
+			openOptions = new OpenOption[] {
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE
+			};
+		}
+
+		InputStream inputStream = null;
+		OutputStream outputStream = null;
+
+		try {
 			HttpEntity httpEntity = httpResponse.getEntity();
 
 			inputStream = httpEntity.getContent();
 
+			outputStream = Files.newOutputStream(
+				downloadFilePath, openOptions);
+
+			byte[] bytes = new byte[_BUFFER_SIZE];
+
+			int length = 0;
+
+			while ((length = inputStream.read(bytes)) != -1) {
+				outputStream.write(bytes, 0, length);
+			}
+		}
+		finally {
+			StreamUtil.cleanUp(inputStream);
+			StreamUtil.cleanUp(outputStream);
+		}
+	}
+
+	@Override
+	protected void doHandleResponse(HttpResponse httpResponse)
+		throws Exception {
+
+		SyncFile syncFile = (SyncFile)getParameterValue("syncFile");
+
+		// Keep the received bytes outside of the temporary file so an
+		// interrupted download can be resumed with a range request
+
+		download(httpResponse, syncFile);
+
+		processDownloadFile(syncFile);
+	}
+
+	protected long getContentRangeLength(HttpResponse httpResponse) {
+		Header contentRangeHeader = httpResponse.getFirstHeader(
+			HttpHeaders.CONTENT_RANGE);
+
+		if (contentRangeHeader == null) {
+			return -1;
+		}
+
+		String contentRange = contentRangeHeader.getValue();
+
+		int index = contentRange.lastIndexOf("/");
+
+		try {
+			return Long.parseLong(contentRange.substring(index + 1).trim());
+		}
+		catch (NumberFormatException nfe) {
+			return -1;
+		}
+	}
+
+	protected long getContentRangeStart(HttpResponse httpResponse) {
+		Header contentRangeHeader = httpResponse.getFirstHeader(
+			HttpHeaders.CONTENT_RANGE);
+
+		if (contentRangeHeader == null) {
+			return -1;
+		}
+
+		String contentRange = contentRangeHeader.getValue();
+
+		int beginIndex = contentRange.indexOf(" ");
+		int endIndex = contentRange.indexOf("-");
+
+		if ((beginIndex == -1) || (endIndex <= beginIndex)) {
+			return -1;
+		}
+
+		try {
+			return Long.parseLong(
+				contentRange.substring(beginIndex + 1, endIndex).trim());
+		}
+		catch (NumberFormatException nfe) {
+			return -1;
+		}
+	}
+
+	protected void processDownloadFile(SyncFile syncFile) throws Exception {
+		Path downloadFilePath = FileUtil.getDownloadFilePath(syncFile);
+
+		InputStream inputStream = null;
+
+		try {
+			Path filePath = Paths.get(syncFile.getFilePathName());
+
 			Path tempFilePath = Files.createTempFile(
 				String.valueOf(filePath.getFileName()), ".tmp");
 
 			if (Files.exists(filePath)) {
-				Files.copy(filePath, tempFilePath);
+				Files.copy(
+					filePath, tempFilePath,
+					StandardCopyOption.REPLACE_EXISTING);
 			}
 
 			if ((Boolean)getParameterValue("patch")) {
+				inputStream = Files.newInputStream(downloadFilePath);
+
 				IODeltaUtil.patch(tempFilePath, inputStream);
 			}
 			else {
-				Files.copy(
-					inputStream, tempFilePath,
+				Files.move(
+					downloadFilePath, tempFilePath,
 					StandardCopyOption.REPLACE_EXISTING);
 			}
 
@@ -83,7 +272,11 @@ public class DownloadFileHandler extends BaseHandler {
 		}
 		finally {
 			StreamUtil.cleanUp(inputStream);
+
+			deleteDownloadFiles(syncFile);
 		}
 	}
 
+	private static final int _BUFFER_SIZE = 8192;
+
 }
\ No newline at end of file
@@ -182,6 +182,29 @@ public class GetSyncDLObjectUpdateHandler extends BaseJSONHandler {
 		SyncFileService.update(sourceSyncFile);
 	}
 
+	@Override
+	protected boolean handlePortalException(String response) throws Exception {
+		Boolean paged = (Boolean)getParameterValue("paged");
+
+		if ((paged == null) || !paged) {
+			return super.handlePortalException(response);
+		}
+
+		// Depending on the version, a server without the paged signature
+		// reports either a missing action or a bare runtime exception. Retry
+		// with the old signature, which reports a missing sync-web as usual.
+
+		if (response.contains(_NO_JSON_WEB_SERVICE_ACTION) ||
+			response.contains(_RUNTIME_EXCEPTION)) {
+
+			setParameterValue("pagingUnsupported", true);
+
+			return true;
+		}
+
+		return super.handlePortalException(response);
+	}
+
 	@Override
 	protected void processResponse(String response) throws Exception {
 		ObjectMapper objectMapper = new ObjectMapper();
@@ -226,9 +249,25 @@ public class GetSyncDLObjectUpdateHandler extends BaseJSONHandler {
 		SyncSite syncSite = SyncSiteService.fetchSyncSite(
 			(Long)getParameterValue("repositoryId"), getSyncAccountId());
 
-		syncSite.setRemoteSyncTime(syncDLObjectUpdate.getLastAccessTime());
+		long lastAccessTime = syncDLObjectUpdate.getLastAccessTime();
+
+		if (syncDLObjectUpdate.isHasMore()) {
+
+			// Objects sharing the last modified time may still be pending, so
+			// an interrupted update resumes just before it
+
+			syncSite.setRemoteSyncTime(lastAccessTime - 1);
+		}
+		else {
+			syncSite.setRemoteSyncTime(lastAccessTime);
+		}
 
 		SyncSiteService.update(syncSite);
+
+		setParameterValue("hasMore", syncDLObjectUpdate.isHasMore());
+		setParameterValue("lastAccessTime", lastAccessTime);
+		setParameterValue(
+			"lastSyncDLObjectId", syncDLObjectUpdate.getLastSyncDLObjectId());
 	}
 
 	protected void updateFile(SyncFile targetSyncFile, String filePathName)
@@ -290,4 +329,10 @@ public class GetSyncDLObjectUpdateHandler extends BaseJSONHandler {
 		}
 	}
 
+	private static final String _NO_JSON_WEB_SERVICE_ACTION =
+		"No JSON web service action";
+
+	private static final String _RUNTIME_EXCEPTION =
+		"\"java.lang.RuntimeException\"";
+
 }
\ No newline at end of file
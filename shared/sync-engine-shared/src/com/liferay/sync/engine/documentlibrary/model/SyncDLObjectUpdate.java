@@ -27,11 +27,21 @@ public class SyncDLObjectUpdate {
 		return lastAccessTime;
 	}
 
+	public long getLastSyncDLObjectId() {
+		return lastSyncDLObjectId;
+	}
+
 	public List<SyncFile> getSyncDLObjects() {
 		return syncDLObjects;
 	}
 
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	protected boolean hasMore;
 	protected long lastAccessTime;
+	protected long lastSyncDLObjectId;
 	protected List<SyncFile> syncDLObjects;
 
 }
\ No newline at end of file
@@ -14,6 +14,7 @@
 
 package com.liferay.sync.engine.filesystem;
 
+import com.liferay.sync.engine.documentlibrary.event.BatchEventManager;
 import com.liferay.sync.engine.model.SyncAccount;
 import com.liferay.sync.engine.model.SyncFile;
 import com.liferay.sync.engine.model.SyncWatchEvent;
@@ -27,6 +28,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -39,14 +42,26 @@ import org.slf4j.LoggerFactory;
  */
 public class SyncWatchEventProcessor implements Runnable {
 
+	public SyncWatchEventProcessor(long syncAccountId) {
+		_syncAccountId = syncAccountId;
+	}
+
 	@Override
 	public void run() {
 		if (_logger.isTraceEnabled()) {
-			_logger.trace("Processing sync watch events");
+			_logger.trace(
+				"Processing sync watch events for sync account {}",
+				_syncAccountId);
 		}
 
-		List<SyncWatchEvent> syncWatchEvents = SyncWatchEventService.findAll(
-			"eventType", true);
+		long startTime = System.currentTimeMillis();
+
+		List<SyncWatchEvent> syncWatchEvents =
+			SyncWatchEventService.findBySyncAccountId(_syncAccountId);
+
+		Collections.sort(syncWatchEvents, _syncWatchEventComparator);
+
+		long maxLatency = 0;
 
 		for (SyncWatchEvent syncWatchEvent : syncWatchEvents) {
 			SyncAccount syncAccount = SyncAccountService.fetchSyncAccount(
@@ -74,6 +89,10 @@ public class SyncWatchEventProcessor implements Runnable {
 					syncWatchEvent.getTimestamp());
 			}
 
+			maxLatency = Math.max(
+				maxLatency,
+				System.currentTimeMillis() - syncWatchEvent.getTimestamp());
+
 			String fileType = syncWatchEvent.getFileType();
 
 			String eventType = syncWatchEvent.getEventType();
@@ -115,6 +134,17 @@ public class SyncWatchEventProcessor implements Runnable {
 		}
 
 		_processedSyncWatchEventIds.clear();
+
+		SyncWatchEventService.flushSyncWatchEvents();
+
+		if (_logger.isDebugEnabled() && !syncWatchEvents.isEmpty()) {
+			_logger.debug(
+				"Processed {} sync watch events in {} ms max latency {} ms " +
+					"queue depth {} coalesced {}",
+				syncWatchEvents.size(), System.currentTimeMillis() - startTime,
+				maxLatency, SyncWatchEventService.getSyncWatchEventsCount(),
+				SyncWatchEventService.getCoalescedSyncWatchEventsCount());
+		}
 	}
 
 	protected void addFile(SyncWatchEvent syncWatchEvent) throws Exception {
@@ -134,6 +164,8 @@ public class SyncWatchEventProcessor implements Runnable {
 			FileUtil.getFileKey(targetFilePath),
 			syncWatchEvent.getSyncAccountId());
 
+		syncFile = refreshSyncFile(syncFile);
+
 		if (syncFile == null) {
 			SyncFileService.addFileSyncFile(
 				targetFilePath, parentSyncFile.getTypePK(),
@@ -234,6 +266,8 @@ public class SyncWatchEventProcessor implements Runnable {
 			FilePathNameUtil.getFilePathName(filePath),
 			syncWatchEvent.getSyncAccountId());
 
+		syncFile = refreshSyncFile(syncFile);
+
 		if (syncFile == null) {
 			return;
 		}
@@ -265,6 +299,8 @@ public class SyncWatchEventProcessor implements Runnable {
 		SyncFile syncFile = SyncFileService.fetchSyncFileByFileKey(
 			FileUtil.getFileKey(filePath), syncWatchEvent.getSyncAccountId());
 
+		syncFile = refreshSyncFile(syncFile);
+
 		if (syncFile == null) {
 			return;
 		}
@@ -279,9 +315,39 @@ public class SyncWatchEventProcessor implements Runnable {
 			filePath, syncWatchEvent.getSyncAccountId(), syncFile);
 	}
 
+	protected SyncFile refreshSyncFile(SyncFile syncFile) {
+		if ((syncFile == null) || (syncFile.getTypePK() > 0)) {
+			return syncFile;
+		}
+
+		// The add may still be queued in a batch, so send it before reusing
+		// the remote file entry ID
+
+		BatchEventManager.fireBatchEvent(syncFile.getSyncAccountId());
+
+		return SyncFileService.fetchSyncFile(
+			syncFile.getFilePathName(), syncFile.getSyncAccountId());
+	}
+
 	private static Logger _logger = LoggerFactory.getLogger(
 		SyncWatchEventProcessor.class);
 
+	private static Comparator<SyncWatchEvent> _syncWatchEventComparator =
+		new Comparator<SyncWatchEvent>() {
+
+			@Override
+			public int compare(
+				SyncWatchEvent syncWatchEvent1,
+				SyncWatchEvent syncWatchEvent2) {
+
+				String eventType = syncWatchEvent1.getEventType();
+
+				return eventType.compareTo(syncWatchEvent2.getEventType());
+			}
+
+		};
+
 	private Set<Long> _processedSyncWatchEventIds = new HashSet<Long>();
+	private long _syncAccountId;
 
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ package com.liferay.sync.engine.filesystem;
 import com.liferay.sync.engine.model.SyncFile;
 import com.liferay.sync.engine.model.SyncWatchEvent;
 import com.liferay.sync.engine.service.SyncFileService;
+import com.liferay.sync.engine.service.SyncWatchEventService;
 import com.liferay.sync.engine.util.FilePathNameUtil;
 
 import java.io.IOException;
@@ -29,8 +30,10 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import name.pachler.nio.file.FileSystem;
 import name.pachler.nio.file.FileSystems;
@@ -129,6 +132,8 @@ public class Watcher implements Runnable {
 				}
 			}
 
+			flush();
+
 			if (!watchKey.reset()) {
 				Path filePath = _filePaths.remove(watchKey);
 
@@ -139,6 +144,8 @@ public class Watcher implements Runnable {
 				fireWatchEventListener(
 					SyncWatchEvent.EVENT_TYPE_DELETE, filePath);
 
+				flush();
+
 				if (_filePaths.isEmpty()) {
 					break;
 				}
@@ -209,17 +216,20 @@ public class Watcher implements Runnable {
 	}
 
 	protected void fireWatchEventListener(String eventType, Path filePath) {
-		SyncFile syncFile = SyncFileService.fetchSyncFile(
-			FilePathNameUtil.getFilePathName(filePath),
-			_watchEventListener.getSyncAccountId());
+		_localSyncTimeFilePathNames.add(
+			FilePathNameUtil.getFilePathName(filePath));
+
+		_watchEventListener.watchEvent(eventType, filePath);
+	}
 
-		if (syncFile != null) {
-			syncFile.setLocalSyncTime(System.currentTimeMillis());
+	protected void flush() {
+		SyncFileService.updateLocalSyncTime(
+			_localSyncTimeFilePathNames, System.currentTimeMillis(),
+			_watchEventListener.getSyncAccountId());
 
-			SyncFileService.update(syncFile);
-		}
+		_localSyncTimeFilePathNames.clear();
 
-		_watchEventListener.watchEvent(eventType, filePath);
+		SyncWatchEventService.flushSyncWatchEvents();
 	}
 
 	protected void register(Path filePath, boolean recursive)
@@ -229,6 +239,8 @@ public class Watcher implements Runnable {
 
 		doRegister(filePath, recursive);
 
+		flush();
+
 		String filePathName = FilePathNameUtil.getFilePathName(filePath);
 
 		List<SyncFile> syncFiles = SyncFileService.findSyncFiles(
@@ -244,6 +256,8 @@ public class Watcher implements Runnable {
 	private static Logger _logger = LoggerFactory.getLogger(Watcher.class);
 
 	private Map<WatchKey, Path> _filePaths = new HashMap<WatchKey, Path>();
+	private Set<String> _localSyncTimeFilePathNames =
+		new LinkedHashSet<String>();
 	private boolean _recursive;
 	private WatchEventListener _watchEventListener;
 	private WatchService _watchService;
@@ -100,7 +100,8 @@ public class SyncWatchEvent extends BaseModel {
 	@DatabaseField(useGetSet = true)
 	protected long syncAccountId;
 
-	@DatabaseField(generatedId = true, useGetSet = true)
+	@DatabaseField(
+		allowGeneratedIdInsert = true, generatedId = true, useGetSet = true)
 	protected long syncWatchEventId;
 
 	@DatabaseField(useGetSet = true)
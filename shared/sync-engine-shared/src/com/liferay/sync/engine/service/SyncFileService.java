@@ -43,10 +43,12 @@ import java.nio.file.Paths;
 
 import java.sql.SQLException;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -640,6 +642,45 @@ public class SyncFileService {
 		return syncFile;
 	}
 
+	public static void updateLocalSyncTime(
+		final Collection<String> filePathNames, final long localSyncTime,
+		final long syncAccountId) {
+
+		if (filePathNames.isEmpty()) {
+			return;
+		}
+
+		try {
+			_syncFilePersistence.callBatchTasks(
+				new Callable<Void>() {
+
+					@Override
+					public Void call() {
+						for (String filePathName : filePathNames) {
+							SyncFile syncFile = fetchSyncFile(
+								filePathName, syncAccountId);
+
+							if (syncFile == null) {
+								continue;
+							}
+
+							syncFile.setLocalSyncTime(localSyncTime);
+
+							update(syncFile);
+						}
+
+						return null;
+					}
+
+				});
+		}
+		catch (Exception e) {
+			if (_logger.isDebugEnabled()) {
+				_logger.debug(e.getMessage(), e);
+			}
+		}
+	}
+
 	public static SyncFile updateSyncFile(
 		Path filePath, long parentFolderId, SyncFile syncFile) {
 
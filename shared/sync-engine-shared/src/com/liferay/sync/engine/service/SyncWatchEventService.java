@@ -19,8 +19,16 @@ import com.liferay.sync.engine.service.persistence.SyncWatchEventPersistence;
 
 import java.sql.SQLException;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,45 +51,95 @@ public class SyncWatchEventService {
 		syncWatchEvent.setSyncAccountId(syncAccountId);
 		syncWatchEvent.setTimestamp(System.currentTimeMillis());
 
-		_syncWatchEventPersistence.create(syncWatchEvent);
+		synchronized (_syncWatchEvents) {
+			String key = getKey(filePathName, syncAccountId);
+
+			SyncWatchEvent pendingSyncWatchEvent = _pendingSyncWatchEvents.get(
+				key);
+
+			if (pendingSyncWatchEvent != null) {
+				String pendingEventType = pendingSyncWatchEvent.getEventType();
+
+				if (pendingEventType.equals(eventType) ||
+					(eventType.equals(SyncWatchEvent.EVENT_TYPE_MODIFY) &&
+					 pendingEventType.equals(
+						 SyncWatchEvent.EVENT_TYPE_CREATE))) {
+
+					_coalescedSyncWatchEventsCount++;
+
+					return pendingSyncWatchEvent;
+				}
+
+				if (eventType.equals(SyncWatchEvent.EVENT_TYPE_DELETE)) {
+
+					// A file that is created or modified and then deleted only
+					// needs the delete
+
+					removeSyncWatchEvent(pendingSyncWatchEvent);
+
+					_coalescedSyncWatchEventsCount++;
+				}
+			}
+
+			syncWatchEvent.setSyncWatchEventId(++_syncWatchEventId);
+
+			_createdSyncWatchEvents.add(syncWatchEvent);
+			_pendingSyncWatchEvents.put(key, syncWatchEvent);
+			_syncWatchEvents.put(
+				syncWatchEvent.getSyncWatchEventId(), syncWatchEvent);
+
+			List<SyncWatchEvent> syncWatchEvents =
+				_filePathNameSyncWatchEvents.get(filePathName);
+
+			if (syncWatchEvents == null) {
+				syncWatchEvents = new ArrayList<SyncWatchEvent>();
+
+				_filePathNameSyncWatchEvents.put(filePathName, syncWatchEvents);
+			}
+
+			syncWatchEvents.add(syncWatchEvent);
+		}
 
 		return syncWatchEvent;
 	}
 
 	public static void deleteSyncWatchEvent(long syncWatchEventId) {
-		try {
-			_syncWatchEventPersistence.deleteById(syncWatchEventId);
-		}
-		catch (SQLException sqle) {
-			if (_logger.isDebugEnabled()) {
-				_logger.debug(sqle.getMessage(), sqle);
+		synchronized (_syncWatchEvents) {
+			SyncWatchEvent syncWatchEvent = _syncWatchEvents.get(
+				syncWatchEventId);
+
+			if (syncWatchEvent != null) {
+				removeSyncWatchEvent(syncWatchEvent);
 			}
 		}
 	}
 
 	public static SyncWatchEvent fetchSyncWatchEvent(long syncWatchEventId) {
-		try {
-			return _syncWatchEventPersistence.queryForId(syncWatchEventId);
-		}
-		catch (SQLException sqle) {
-			if (_logger.isDebugEnabled()) {
-				_logger.debug(sqle.getMessage(), sqle);
-			}
-
-			return null;
+		synchronized (_syncWatchEvents) {
+			return _syncWatchEvents.get(syncWatchEventId);
 		}
 	}
 
 	public static SyncWatchEvent fetchSyncWatchEvent(
 		String eventType, String filePathName, long timestamp) {
 
-		try {
-			return _syncWatchEventPersistence.fetchByE_F_T(
-				eventType, filePathName, timestamp);
-		}
-		catch (SQLException sqle) {
-			if (_logger.isDebugEnabled()) {
-				_logger.debug(sqle.getMessage(), sqle);
+		synchronized (_syncWatchEvents) {
+			List<SyncWatchEvent> syncWatchEvents =
+				_filePathNameSyncWatchEvents.get(filePathName);
+
+			if (syncWatchEvents == null) {
+				return null;
+			}
+
+			for (SyncWatchEvent syncWatchEvent : syncWatchEvents) {
+				String syncWatchEventType = syncWatchEvent.getEventType();
+
+				if (syncWatchEventType.equals(eventType) &&
+					(Math.abs(syncWatchEvent.getTimestamp() - timestamp) <=
+						1000)) {
+
+					return syncWatchEvent;
+				}
 			}
 
 			return null;
@@ -89,30 +147,108 @@ public class SyncWatchEventService {
 	}
 
 	public static List<SyncWatchEvent> findAll() {
-		try {
-			return _syncWatchEventPersistence.queryForAll();
+		synchronized (_syncWatchEvents) {
+
+			// Events handed out for processing are no longer coalesced so
+			// that later events are not folded into one already processed
+
+			_pendingSyncWatchEvents.clear();
+
+			return new ArrayList<SyncWatchEvent>(_syncWatchEvents.values());
 		}
-		catch (SQLException sqle) {
-			if (_logger.isDebugEnabled()) {
-				_logger.debug(sqle.getMessage(), sqle);
+	}
+
+	public static List<SyncWatchEvent> findBySyncAccountId(
+		long syncAccountId) {
+
+		synchronized (_syncWatchEvents) {
+			Iterator<SyncWatchEvent> iterator =
+				_pendingSyncWatchEvents.values().iterator();
+
+			while (iterator.hasNext()) {
+				SyncWatchEvent syncWatchEvent = iterator.next();
+
+				if (syncWatchEvent.getSyncAccountId() == syncAccountId) {
+					iterator.remove();
+				}
+			}
+
+			List<SyncWatchEvent> syncWatchEvents =
+				new ArrayList<SyncWatchEvent>();
+
+			for (SyncWatchEvent syncWatchEvent : _syncWatchEvents.values()) {
+				if (syncWatchEvent.getSyncAccountId() == syncAccountId) {
+					syncWatchEvents.add(syncWatchEvent);
+				}
 			}
 
-			return Collections.emptyList();
+			return syncWatchEvents;
 		}
 	}
 
-	public static List<SyncWatchEvent> findAll(
-		String orderByColumn, boolean ascending) {
+	/**
+	 * Writes the events added and removed since the last flush to the
+	 * database in a single transaction, so pending events survive a restart.
+	 */
+	public static void flushSyncWatchEvents() {
+		synchronized (_flushLock) {
+			final List<SyncWatchEvent> createdSyncWatchEvents;
+			final List<Long> deletedSyncWatchEventIds;
 
-		try {
-			return _syncWatchEventPersistence.findAll(orderByColumn, ascending);
-		}
-		catch (SQLException sqle) {
-			if (_logger.isDebugEnabled()) {
-				_logger.debug(sqle.getMessage(), sqle);
+			synchronized (_syncWatchEvents) {
+				if (_createdSyncWatchEvents.isEmpty() &&
+					_deletedSyncWatchEventIds.isEmpty()) {
+
+					return;
+				}
+
+				createdSyncWatchEvents = new ArrayList<SyncWatchEvent>(
+					_createdSyncWatchEvents);
+				deletedSyncWatchEventIds = new ArrayList<Long>(
+					_deletedSyncWatchEventIds);
+
+				_createdSyncWatchEvents.clear();
+				_deletedSyncWatchEventIds.clear();
+			}
+
+			try {
+				_syncWatchEventPersistence.callBatchTasks(
+					new Callable<Void>() {
+
+						@Override
+						public Void call() throws Exception {
+							for (SyncWatchEvent syncWatchEvent :
+									createdSyncWatchEvents) {
+
+								_syncWatchEventPersistence.create(
+									syncWatchEvent);
+							}
+
+							if (!deletedSyncWatchEventIds.isEmpty()) {
+								_syncWatchEventPersistence.deleteIds(
+									deletedSyncWatchEventIds);
+							}
+
+							return null;
+						}
+
+					});
+			}
+			catch (Exception e) {
+				_logger.error(e.getMessage(), e);
 			}
+		}
+	}
+
+	public static long getCoalescedSyncWatchEventsCount() {
+		synchronized (_syncWatchEvents) {
+			return _coalescedSyncWatchEventsCount;
+		}
+	}
 
-			return Collections.emptyList();
+	public static int getSyncWatchEventsCount() {
+		synchronized (_syncWatchEvents) {
+			return _syncWatchEvents.size();
 		}
 	}
 
@@ -133,10 +269,106 @@ public class SyncWatchEventService {
 		return _syncWatchEventPersistence;
 	}
 
+	/**
+	 * Loads the events that were still pending when the engine stopped.
+	 */
+	public static void restoreSyncWatchEvents() {
+		List<SyncWatchEvent> syncWatchEvents = null;
+
+		try {
+			syncWatchEvents = _syncWatchEventPersistence.findAll(
+				"syncWatchEventId", true);
+		}
+		catch (SQLException sqle) {
+			_logger.error(sqle.getMessage(), sqle);
+
+			return;
+		}
+
+		synchronized (_syncWatchEvents) {
+			for (SyncWatchEvent syncWatchEvent : syncWatchEvents) {
+				long syncWatchEventId = syncWatchEvent.getSyncWatchEventId();
+
+				_syncWatchEvents.put(syncWatchEventId, syncWatchEvent);
+
+				List<SyncWatchEvent> filePathNameSyncWatchEvents =
+					_filePathNameSyncWatchEvents.get(
+						syncWatchEvent.getFilePathName());
+
+				if (filePathNameSyncWatchEvents == null) {
+					filePathNameSyncWatchEvents =
+						new ArrayList<SyncWatchEvent>();
+
+					_filePathNameSyncWatchEvents.put(
+						syncWatchEvent.getFilePathName(),
+						filePathNameSyncWatchEvents);
+				}
+
+				filePathNameSyncWatchEvents.add(syncWatchEvent);
+
+				_syncWatchEventId = Math.max(
+					_syncWatchEventId, syncWatchEventId);
+			}
+		}
+	}
+
+	protected static String getKey(String filePathName, long syncAccountId) {
+		return syncAccountId + "#" + filePathName;
+	}
+
+	protected static void removeSyncWatchEvent(SyncWatchEvent syncWatchEvent) {
+		_syncWatchEvents.remove(syncWatchEvent.getSyncWatchEventId());
+
+		if (!_createdSyncWatchEvents.remove(syncWatchEvent)) {
+			_deletedSyncWatchEventIds.add(syncWatchEvent.getSyncWatchEventId());
+		}
+
+		String key = getKey(
+			syncWatchEvent.getFilePathName(),
+			syncWatchEvent.getSyncAccountId());
+
+		if (_pendingSyncWatchEvents.get(key) == syncWatchEvent) {
+			_pendingSyncWatchEvents.remove(key);
+		}
+
+		List<SyncWatchEvent> syncWatchEvents =
+			_filePathNameSyncWatchEvents.get(syncWatchEvent.getFilePathName());
+
+		if (syncWatchEvents == null) {
+			return;
+		}
+
+		Iterator<SyncWatchEvent> iterator = syncWatchEvents.iterator();
+
+		while (iterator.hasNext()) {
+			if (iterator.next() == syncWatchEvent) {
+				iterator.remove();
+			}
+		}
+
+		if (syncWatchEvents.isEmpty()) {
+			_filePathNameSyncWatchEvents.remove(
+				syncWatchEvent.getFilePathName());
+		}
+	}
+
 	private static Logger _logger = LoggerFactory.getLogger(
 		SyncWatchEventService.class);
 
+	private static long _coalescedSyncWatchEventsCount;
+	private static Set<SyncWatchEvent> _createdSyncWatchEvents =
+		new LinkedHashSet<SyncWatchEvent>();
+	private static Set<Long> _deletedSyncWatchEventIds = new HashSet<Long>();
+	private static Object _flushLock = new Object();
+	private static Map<String, List<SyncWatchEvent>>
+		_filePathNameSyncWatchEvents =
+			new HashMap<String, List<SyncWatchEvent>>();
+	private static Map<String, SyncWatchEvent> _pendingSyncWatchEvents =
+		new HashMap<String, SyncWatchEvent>();
+	private static long _syncWatchEventId;
 	private static SyncWatchEventPersistence _syncWatchEventPersistence =
 		getSyncWatchEventPersistence();
+	private static Map<Long, SyncWatchEvent> _syncWatchEvents =
+		new LinkedHashMap<Long, SyncWatchEvent>();
 
 }
\ No newline at end of file
@@ -125,6 +125,21 @@ public class Session {
 			_httpHost, httpGet, handler, _getBasicHttpContext());
 	}
 
+	public <T> T executeGet(
+			String urlPath, Map<String, String> headers,
+			Handler<? extends T> handler)
+		throws Exception {
+
+		HttpGet httpGet = new HttpGet(urlPath);
+
+		for (Map.Entry<String, String> entry : headers.entrySet()) {
+			httpGet.setHeader(entry.getKey(), entry.getValue());
+		}
+
+		return _httpClient.execute(
+			_httpHost, httpGet, handler, _getBasicHttpContext());
+	}
+
 	public HttpResponse executePost(
 			String urlPath, Map<String, Object> parameters)
 		throws Exception {
@@ -155,6 +170,7 @@ public class Session {
 
 		Path deltaFilePath = (Path)parameters.get("deltaFilePath");
 		Path filePath = (Path)parameters.get("filePath");
+		Path zipFilePath = (Path)parameters.get("zipFilePath");
 
 		MultipartEntityBuilder multipartEntityBuilder =
 			_getMultipartEntityBuilder(parameters);
@@ -173,6 +189,13 @@ public class Session {
 					filePath, (String)parameters.get("mimeType"),
 					(String)parameters.get("title")));
 		}
+		else if (zipFilePath != null) {
+			multipartEntityBuilder.addPart(
+				"zipFile",
+				_getFileBody(
+					zipFilePath, "application/zip",
+					String.valueOf(zipFilePath.getFileName())));
+		}
 
 		httpPost.setEntity(multipartEntityBuilder.build());
 	}
@@ -254,7 +277,7 @@ public class Session {
 	private HttpClient _httpClient;
 	private HttpHost _httpHost;
 	private Set<String> _ignoredParameterKeys = new HashSet<String>(
-		Arrays.asList("filePath", "syncFile", "syncSite"));
+		Arrays.asList("filePath", "syncFile", "syncSite", "zipFilePath"));
 	private URL _url;
 
 }
\ No newline at end of file
@@ -14,6 +14,8 @@
 
 package com.liferay.sync.engine.util;
 
+import com.liferay.sync.engine.model.SyncFile;
+
 import java.io.InputStream;
 
 import java.nio.file.Files;
@@ -56,6 +58,18 @@ public class FileUtil {
 		}
 	}
 
+	public static Path getDownloadETagFilePath(SyncFile syncFile) {
+		return Paths.get(
+			PropsValues.SYNC_CONFIGURATION_DIRECTORY + "/files/" +
+				syncFile.getSyncFileId() + ".etag");
+	}
+
+	public static Path getDownloadFilePath(SyncFile syncFile) {
+		return Paths.get(
+			PropsValues.SYNC_CONFIGURATION_DIRECTORY + "/files/" +
+				syncFile.getSyncFileId() + ".download");
+	}
+
 	public static String getFileKey(Path filePath) {
 		try {
 			BasicFileAttributes basicFileAttributes = Files.readAttributes(
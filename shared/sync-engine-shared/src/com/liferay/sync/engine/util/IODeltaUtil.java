@@ -32,10 +32,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -108,17 +110,13 @@ public class IODeltaUtil {
 			return null;
 		}
 
-		InputStream targetInputStream = null;
-		ReadableByteChannel targetReadableByteChannel = null;
+		FileChannel targetFileChannel = null;
 		InputStream checksumsInputStream = null;
 		ReadableByteChannel checksumsReadableByteChannel = null;
-		OutputStream deltaOutputStream = null;
-		WritableByteChannel deltaWritableByteChannel = null;
+		FileChannel deltaFileChannel = null;
 
 		try {
-			targetInputStream = Files.newInputStream(targetFilePath);
-
-			targetReadableByteChannel = Channels.newChannel(targetInputStream);
+			targetFileChannel = FileChannel.open(targetFilePath);
 
 			checksumsInputStream = Files.newInputStream(checksumsFilePath);
 
@@ -128,16 +126,25 @@ public class IODeltaUtil {
 			ByteChannelReader checksumsByteChannelReader =
 				new ByteChannelReader(checksumsReadableByteChannel);
 
-			deltaOutputStream = Files.newOutputStream(deltaFilePath);
-
-			deltaWritableByteChannel = Channels.newChannel(deltaOutputStream);
+			deltaFileChannel = FileChannel.open(
+				deltaFilePath, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
 
 			ByteChannelWriter deltaByteChannelWriter = new ByteChannelWriter(
-				deltaWritableByteChannel);
+				deltaFileChannel);
 
-			DeltaUtil.delta(
-				targetReadableByteChannel, checksumsByteChannelReader,
-				deltaByteChannelWriter);
+			if (targetFileChannel.size() >=
+					PropsValues.SYNC_FILE_PATCHING_PARALLEL_SIZE_THRESHOLD) {
+
+				DeltaUtil.delta(
+					targetFileChannel, checksumsByteChannelReader,
+					deltaByteChannelWriter, _forkJoinPool);
+			}
+			else {
+				DeltaUtil.delta(
+					targetFileChannel, checksumsByteChannelReader,
+					deltaByteChannelWriter);
+			}
 
 			deltaByteChannelWriter.finish();
 
@@ -149,12 +156,10 @@ public class IODeltaUtil {
 			return null;
 		}
 		finally {
-			StreamUtil.cleanUp(targetInputStream);
-			StreamUtil.cleanUp(targetReadableByteChannel);
+			StreamUtil.cleanUp(targetFileChannel);
 			StreamUtil.cleanUp(checksumsInputStream);
 			StreamUtil.cleanUp(checksumsReadableByteChannel);
-			StreamUtil.cleanUp(deltaOutputStream);
-			StreamUtil.cleanUp(deltaWritableByteChannel);
+			StreamUtil.cleanUp(deltaFileChannel);
 		}
 	}
 
@@ -178,8 +183,7 @@ public class IODeltaUtil {
 
 		FileInputStream targetInputStream = null;
 		FileChannel targetFileChannel = null;
-		OutputStream patchedFileOutputStream = null;
-		WritableByteChannel patchedWritableByteChannel = null;
+		FileChannel patchedFileChannel = null;
 		ReadableByteChannel deltaReadableByteChannel = null;
 
 		try {
@@ -191,10 +195,8 @@ public class IODeltaUtil {
 			Path patchedFilePath = Files.createTempFile(
 				String.valueOf(targetFilePath.getFileName()), ".tmp");
 
-			patchedFileOutputStream = Files.newOutputStream(patchedFilePath);
-
-			patchedWritableByteChannel = Channels.newChannel(
-				patchedFileOutputStream);
+			patchedFileChannel = FileChannel.open(
+				patchedFilePath, StandardOpenOption.WRITE);
 
 			deltaReadableByteChannel = Channels.newChannel(deltaInputStream);
 
@@ -202,8 +204,7 @@ public class IODeltaUtil {
 				deltaReadableByteChannel);
 
 			DeltaUtil.patch(
-				targetFileChannel, patchedWritableByteChannel,
-				deltaByteChannelReader);
+				targetFileChannel, patchedFileChannel, deltaByteChannelReader);
 
 			Files.move(
 				patchedFilePath, targetFilePath,
@@ -219,12 +220,12 @@ public class IODeltaUtil {
 		finally {
 			StreamUtil.cleanUp(targetInputStream);
 			StreamUtil.cleanUp(targetFileChannel);
-			StreamUtil.cleanUp(patchedFileOutputStream);
-			StreamUtil.cleanUp(patchedWritableByteChannel);
+			StreamUtil.cleanUp(patchedFileChannel);
 			StreamUtil.cleanUp(deltaReadableByteChannel);
 		}
 	}
 
+	private static ForkJoinPool _forkJoinPool = new ForkJoinPool();
 	private static Logger _logger = LoggerFactory.getLogger(IODeltaUtil.class);
 
 	private static Set<String> _syncFilePatchingIgnoreFileExtensions =
@@ -19,14 +19,47 @@ package com.liferay.sync.engine.util;
  */
 public interface PropsKeys {
 
+	public static final String SYNC_BATCH_EVENTS_ENABLED =
+		"sync.batch.events.enabled";
+
+	public static final String SYNC_BATCH_EVENTS_MAX_COUNT =
+		"sync.batch.events.max.count";
+
+	public static final String SYNC_BATCH_EVENTS_MAX_FILE_SIZE =
+		"sync.batch.events.max.file.size";
+
+	public static final String SYNC_BATCH_EVENTS_MAX_TOTAL_FILE_SIZE =
+		"sync.batch.events.max.total.file.size";
+
+	public static final String SYNC_BATCH_EVENTS_WINDOW =
+		"sync.batch.events.window";
+
 	public static final String SYNC_CONFIGURATION_DIRECTORY =
 		"sync.configuration.directory";
 
 	public static final String SYNC_DATABASE_NAME = "sync.database.name";
 
+	public static final String SYNC_DL_OBJECT_UPDATE_MAX_SIZE =
+		"sync.dl.object.update.max.size";
+
+	public static final String SYNC_ENGINE_BACKLOG_LOG_INTERVAL =
+		"sync.engine.backlog.log.interval";
+
+	public static final String SYNC_ENGINE_DOWNLOAD_MAX_THREADS =
+		"sync.engine.download.max.threads";
+
+	public static final String SYNC_ENGINE_UPLOAD_MAX_THREADS =
+		"sync.engine.upload.max.threads";
+
+	public static final String SYNC_ENGINE_WATCHER_MAX_THREADS =
+		"sync.engine.watcher.max.threads";
+
 	public static final String SYNC_FILE_PATCHING_IGNORE_FILE_EXTENSIONS =
 		"sync.file.patching.ignore.file.extensions";
 
+	public static final String SYNC_FILE_PATCHING_PARALLEL_SIZE_THRESHOLD =
+		"sync.file.patching.parallel.size.threshold";
+
 	public static final String SYNC_FILE_PATCHING_SIZE_RATIO_THRESHOLD =
 		"sync.file.patching.size.ratio.threshold";
 
@@ -19,15 +19,50 @@ package com.liferay.sync.engine.util;
  */
 public class PropsValues {
 
+	public static boolean SYNC_BATCH_EVENTS_ENABLED = Boolean.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_BATCH_EVENTS_ENABLED));
+
+	public static int SYNC_BATCH_EVENTS_MAX_COUNT = Integer.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_BATCH_EVENTS_MAX_COUNT));
+
+	public static long SYNC_BATCH_EVENTS_MAX_FILE_SIZE = Long.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_BATCH_EVENTS_MAX_FILE_SIZE));
+
+	public static long SYNC_BATCH_EVENTS_MAX_TOTAL_FILE_SIZE = Long.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_BATCH_EVENTS_MAX_TOTAL_FILE_SIZE));
+
+	public static long SYNC_BATCH_EVENTS_WINDOW = Long.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_BATCH_EVENTS_WINDOW));
+
 	public static String SYNC_CONFIGURATION_DIRECTORY = PropsUtil.get(
 		PropsKeys.SYNC_CONFIGURATION_DIRECTORY);
 
 	public static String SYNC_DATABASE_NAME = PropsUtil.get(
 		PropsKeys.SYNC_DATABASE_NAME);
 
+	public static int SYNC_DL_OBJECT_UPDATE_MAX_SIZE = Integer.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_DL_OBJECT_UPDATE_MAX_SIZE));
+
+	public static long SYNC_ENGINE_BACKLOG_LOG_INTERVAL = Long.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_ENGINE_BACKLOG_LOG_INTERVAL));
+
+	public static int SYNC_ENGINE_DOWNLOAD_MAX_THREADS = Integer.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_ENGINE_DOWNLOAD_MAX_THREADS));
+
+	public static int SYNC_ENGINE_UPLOAD_MAX_THREADS = Integer.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_ENGINE_UPLOAD_MAX_THREADS));
+
+	public static int SYNC_ENGINE_WATCHER_MAX_THREADS = Integer.valueOf(
+		PropsUtil.get(PropsKeys.SYNC_ENGINE_WATCHER_MAX_THREADS));
+
 	public static String[] SYNC_FILE_PATCHING_IGNORE_FILE_EXTENSIONS =
 		PropsUtil.getArray(PropsKeys.SYNC_FILE_PATCHING_IGNORE_FILE_EXTENSIONS);
 
+	public static long SYNC_FILE_PATCHING_PARALLEL_SIZE_THRESHOLD =
+		Long.valueOf(
+			PropsUtil.get(
+				PropsKeys.SYNC_FILE_PATCHING_PARALLEL_SIZE_THRESHOLD));
+
 	public static long SYNC_FILE_PATCHING_SIZE_RATIO_THRESHOLD =
 		Long.valueOf(
 			PropsUtil.get(PropsKeys.SYNC_FILE_PATCHING_SIZE_RATIO_THRESHOLD));
@@ -56,6 +56,7 @@ import org.elasticsearch.action.ActionFuture;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequestBuilder;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.common.text.Text;
 import org.elasticsearch.common.unit.TimeValue;
@@ -77,6 +78,51 @@ import org.elasticsearch.search.sort.SortOrder;
  */
 public class ElasticsearchIndexSearcher extends BaseIndexSearcher {
 
+	public ElasticsearchSearchCursor scroll(
+		SearchContext searchContext, Query query, int size) {
+
+		ElasticsearchConnectionManager elasticsearchConnectionManager =
+			ElasticsearchConnectionManager.getInstance();
+
+		Client client = elasticsearchConnectionManager.getClient();
+
+		QueryBuilder queryBuilder = QueryBuilders.queryString(query.toString());
+
+		SearchRequestBuilder searchRequestBuilder = getSearchRequestBuilder(
+			client, searchContext, query.getQueryConfig(), queryBuilder);
+
+		TimeValue keepAlive = TimeValue.timeValueMillis(_scrollKeepAlive);
+
+		searchRequestBuilder.setScroll(keepAlive);
+		searchRequestBuilder.setSize(size);
+
+		SearchResponse searchResponse = searchRequestBuilder.get();
+
+		return new ElasticsearchSearchCursor(
+			this, client, searchResponse, query.getQueryConfig(), keepAlive);
+	}
+
+	public ElasticsearchSearchCursor scroll(
+		String scrollId, QueryConfig queryConfig) {
+
+		ElasticsearchConnectionManager elasticsearchConnectionManager =
+			ElasticsearchConnectionManager.getInstance();
+
+		Client client = elasticsearchConnectionManager.getClient();
+
+		TimeValue keepAlive = TimeValue.timeValueMillis(_scrollKeepAlive);
+
+		SearchScrollRequestBuilder searchScrollRequestBuilder =
+			client.prepareSearchScroll(scrollId);
+
+		searchScrollRequestBuilder.setScroll(keepAlive);
+
+		SearchResponse searchResponse = searchScrollRequestBuilder.get();
+
+		return new ElasticsearchSearchCursor(
+			this, client, searchResponse, queryConfig, keepAlive);
+	}
+
 	@Override
 	public Hits search(SearchContext searchContext, Query query) {
 		StopWatch stopWatch = new StopWatch();
@@ -88,22 +134,14 @@ public class ElasticsearchIndexSearcher extends BaseIndexSearcher {
 
 		Client client = elasticsearchConnectionManager.getClient();
 
-		SearchRequestBuilder searchRequestBuilder = client.prepareSearch(
-			String.valueOf(searchContext.getCompanyId()));
+		QueryBuilder queryBuilder = QueryBuilders.queryString(query.toString());
+
+		SearchRequestBuilder searchRequestBuilder = getSearchRequestBuilder(
+			client, searchContext, query.getQueryConfig(), queryBuilder);
 
-		addFacets(searchRequestBuilder, searchContext);
-		addHighlights(searchRequestBuilder, query.getQueryConfig());
 		addPagination(
 			searchRequestBuilder, searchContext.getStart(),
 			searchContext.getEnd());
-		addSelectedFields(searchRequestBuilder, query.getQueryConfig());
-		addSort(searchRequestBuilder, searchContext.getSorts());
-
-		QueryBuilder queryBuilder = QueryBuilders.queryString(query.toString());
-
-		searchRequestBuilder.setQuery(queryBuilder);
-
-		searchRequestBuilder.setTypes(DocumentTypes.LIFERAY);
 
 		SearchRequest searchRequest = searchRequestBuilder.request();
 
@@ -113,8 +151,20 @@ public class ElasticsearchIndexSearcher extends BaseIndexSearcher {
 
 		updateFacetCollectors(searchContext, searchResponse);
 
-		Hits hits = processSearchHits(
-			searchResponse.getHits(), query.getQueryConfig());
+		Hits hits = null;
+
+		if (searchResponse.getScrollId() != null) {
+			ElasticsearchSearchCursor elasticsearchSearchCursor =
+				new ElasticsearchSearchCursor(
+					this, client, searchResponse, query.getQueryConfig(),
+					TimeValue.timeValueMillis(_scrollKeepAlive));
+
+			hits = processSearchCursor(elasticsearchSearchCursor);
+		}
+		else {
+			hits = processSearchHits(
+				searchResponse.getHits(), query.getQueryConfig());
+		}
 
 		hits.setQuery(query);
 
@@ -136,6 +186,18 @@ public class ElasticsearchIndexSearcher extends BaseIndexSearcher {
 		return hits;
 	}
 
+	public void setScrollKeepAlive(long scrollKeepAlive) {
+		_scrollKeepAlive = scrollKeepAlive;
+	}
+
+	public void setScrollMaxHits(int scrollMaxHits) {
+		_scrollMaxHits = scrollMaxHits;
+	}
+
+	public void setScrollSize(int scrollSize) {
+		_scrollSize = scrollSize;
+	}
+
 	protected void addFacets(
 		SearchRequestBuilder searchRequestBuilder,
 		SearchContext searchContext) {
@@ -184,7 +246,15 @@ public class ElasticsearchIndexSearcher extends BaseIndexSearcher {
 		SearchRequestBuilder searchRequestBuilder, int start, int end) {
 
 		if ((start == QueryUtil.ALL_POS) && (end == QueryUtil.ALL_POS)) {
-			searchRequestBuilder.setSize(0);
+			int size = _scrollSize;
+
+			if ((_scrollMaxHits > 0) && (_scrollMaxHits < size)) {
+				size = _scrollMaxHits;
+			}
+
+			searchRequestBuilder.setScroll(
+				TimeValue.timeValueMillis(_scrollKeepAlive));
+			searchRequestBuilder.setSize(size);
 		}
 		else {
 			searchRequestBuilder.setFrom(start);
@@ -331,6 +401,25 @@ public class ElasticsearchIndexSearcher extends BaseIndexSearcher {
 		}
 	}
 
+	protected SearchRequestBuilder getSearchRequestBuilder(
+		Client client, SearchContext searchContext, QueryConfig queryConfig,
+		QueryBuilder queryBuilder) {
+
+		SearchRequestBuilder searchRequestBuilder = client.prepareSearch(
+			String.valueOf(searchContext.getCompanyId()));
+
+		addFacets(searchRequestBuilder, searchContext);
+		addHighlights(searchRequestBuilder, queryConfig);
+		addSelectedFields(searchRequestBuilder, queryConfig);
+		addSort(searchRequestBuilder, searchContext.getSorts());
+
+		searchRequestBuilder.setQuery(queryBuilder);
+
+		searchRequestBuilder.setTypes(DocumentTypes.LIFERAY);
+
+		return searchRequestBuilder;
+	}
+
 	protected Document processSearchHit(SearchHit hit) {
 		Document document = new DocumentImpl();
 
@@ -354,6 +443,48 @@ public class ElasticsearchIndexSearcher extends BaseIndexSearcher {
 		return document;
 	}
 
+	protected Hits processSearchCursor(
+		ElasticsearchSearchCursor elasticsearchSearchCursor) {
+
+		Hits hits = new HitsImpl();
+
+		List<Document> documents = new ArrayList<Document>();
+		List<Float> scores = new ArrayList<Float>();
+
+		try {
+			while ((_scrollMaxHits <= 0) ||
+				   (documents.size() < _scrollMaxHits)) {
+
+				if (!elasticsearchSearchCursor.hasNext()) {
+					break;
+				}
+
+				documents.add(elasticsearchSearchCursor.next());
+
+				scores.add(elasticsearchSearchCursor.getScore());
+			}
+		}
+		finally {
+			elasticsearchSearchCursor.close();
+		}
+
+		if (_log.isWarnEnabled() &&
+			(documents.size() < elasticsearchSearchCursor.getTotalHits())) {
+
+			_log.warn(
+				"Returning " + documents.size() + " of " +
+					elasticsearchSearchCursor.getTotalHits() +
+						" hits because scroll max hits is " + _scrollMaxHits);
+		}
+
+		hits.setDocs(documents.toArray(new Document[documents.size()]));
+		hits.setLength((int)elasticsearchSearchCursor.getTotalHits());
+		hits.setQueryTerms(elasticsearchSearchCursor.getQueryTerms());
+		hits.setScores(scores.toArray(new Float[scores.size()]));
+
+		return hits;
+	}
+
 	protected Hits processSearchHits(
 		SearchHits searchHits, QueryConfig queryConfig) {
 
@@ -411,5 +542,8 @@ public class ElasticsearchIndexSearcher extends BaseIndexSearcher {
 		ElasticsearchIndexSearcher.class);
 
 	private Pattern _pattern = Pattern.compile("<em>(.*?)</em>");
+	private long _scrollKeepAlive = 60000;
+	private int _scrollMaxHits = 10000;
+	private int _scrollSize = 1000;
 
 }
\ No newline at end of file
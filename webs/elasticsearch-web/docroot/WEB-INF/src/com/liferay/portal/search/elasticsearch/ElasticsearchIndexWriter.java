@@ -28,10 +28,6 @@ import com.liferay.portal.search.elasticsearch.util.LogUtil;
 import java.util.Collection;
 import java.util.concurrent.Future;
 
-import org.elasticsearch.action.bulk.BulkRequestBuilder;
-import org.elasticsearch.action.bulk.BulkResponse;
-import org.elasticsearch.action.delete.DeleteRequestBuilder;
-import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryRequestBuilder;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryResponse;
 import org.elasticsearch.client.Client;
@@ -65,22 +61,8 @@ public class ElasticsearchIndexWriter extends BaseIndexWriter {
 	public void deleteDocument(SearchContext searchContext, String uid)
 		throws SearchException {
 
-		try {
-			Client client = getClient();
-
-			DeleteRequestBuilder deleteRequestBuilder = client.prepareDelete(
-				String.valueOf(searchContext.getCompanyId()),
-				DocumentTypes.LIFERAY, uid);
-
-			Future<DeleteResponse> future = deleteRequestBuilder.execute();
-
-			DeleteResponse deleteResponse = future.get();
-
-			LogUtil.logActionResponse(_log, deleteResponse);
-		}
-		catch (Exception e) {
-			throw new SearchException("Unable to delete document " + uid, e);
-		}
+		_elasticsearchUpdateDocumentCommand.deleteDocument(
+			DocumentTypes.LIFERAY, searchContext, uid);
 	}
 
 	@Override
@@ -88,29 +70,8 @@ public class ElasticsearchIndexWriter extends BaseIndexWriter {
 			SearchContext searchContext, Collection<String> uids)
 		throws SearchException {
 
-		try {
-			Client client = getClient();
-
-			BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
-
-			for (String uid : uids) {
-				DeleteRequestBuilder deleteRequestBuilder =
-					client.prepareDelete(
-						String.valueOf(searchContext.getCompanyId()),
-						DocumentTypes.LIFERAY, uid);
-
-				bulkRequestBuilder.add(deleteRequestBuilder);
-			}
-
-			Future<BulkResponse> future = bulkRequestBuilder.execute();
-
-			BulkResponse bulkResponse = future.get();
-
-			LogUtil.logActionResponse(_log, bulkResponse);
-		}
-		catch (Exception e) {
-			throw new SearchException("Unable to delete documents " + uids, e);
-		}
+		_elasticsearchUpdateDocumentCommand.deleteDocuments(
+			DocumentTypes.LIFERAY, searchContext, uids);
 	}
 
 	@Override
@@ -118,6 +79,11 @@ public class ElasticsearchIndexWriter extends BaseIndexWriter {
 			SearchContext searchContext, String portletId)
 		throws SearchException {
 
+		// Queued writes sent after the delete by query would bring back the
+		// documents it removes
+
+		_elasticsearchUpdateDocumentCommand.flush();
+
 		try {
 			Client client = getClient();
 
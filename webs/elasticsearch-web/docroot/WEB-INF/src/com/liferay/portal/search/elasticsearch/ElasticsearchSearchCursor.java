@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.elasticsearch;
+
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.QueryConfig;
+
+import java.io.Closeable;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.elasticsearch.action.search.ClearScrollRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequestBuilder;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+
+public class ElasticsearchSearchCursor
+	implements Closeable, Iterator<Document> {
+
+	public ElasticsearchSearchCursor(
+		ElasticsearchIndexSearcher elasticsearchIndexSearcher, Client client,
+		SearchResponse searchResponse, QueryConfig queryConfig,
+		TimeValue keepAlive) {
+
+		_elasticsearchIndexSearcher = elasticsearchIndexSearcher;
+		_client = client;
+		_queryConfig = queryConfig;
+		_keepAlive = keepAlive;
+
+		setSearchResponse(searchResponse);
+	}
+
+	@Override
+	public void close() {
+		if (_scrollId == null) {
+			return;
+		}
+
+		ClearScrollRequestBuilder clearScrollRequestBuilder =
+			_client.prepareClearScroll();
+
+		clearScrollRequestBuilder.addScrollId(_scrollId);
+
+		clearScrollRequestBuilder.get();
+
+		_scrollId = null;
+	}
+
+	public String[] getQueryTerms() {
+		return _queryTerms.toArray(new String[_queryTerms.size()]);
+	}
+
+	public float getScore() {
+		return _score;
+	}
+
+	public String getScrollId() {
+		return _scrollId;
+	}
+
+	public long getTotalHits() {
+		return _totalHits;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (_index < _searchHitsArray.length) {
+			return true;
+		}
+
+		if (_scrollId == null) {
+			return false;
+		}
+
+		if (_searchHitsArray.length == 0) {
+			close();
+
+			return false;
+		}
+
+		SearchScrollRequestBuilder searchScrollRequestBuilder =
+			_client.prepareSearchScroll(_scrollId);
+
+		searchScrollRequestBuilder.setScroll(_keepAlive);
+
+		setSearchResponse(searchScrollRequestBuilder.get());
+
+		if (_searchHitsArray.length > 0) {
+			return true;
+		}
+
+		close();
+
+		return false;
+	}
+
+	@Override
+	public Document next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		SearchHit searchHit = _searchHitsArray[_index++];
+
+		_score = searchHit.getScore();
+
+		Document document = _elasticsearchIndexSearcher.processSearchHit(
+			searchHit);
+
+		_elasticsearchIndexSearcher.addSnippets(
+			searchHit, document, _queryConfig, _queryTerms);
+
+		return document;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	protected void setSearchResponse(SearchResponse searchResponse) {
+		SearchHits searchHits = searchResponse.getHits();
+
+		_index = 0;
+		_scrollId = searchResponse.getScrollId();
+		_searchHitsArray = searchHits.getHits();
+		_totalHits = searchHits.getTotalHits();
+	}
+
+	private Client _client;
+	private ElasticsearchIndexSearcher _elasticsearchIndexSearcher;
+	private int _index;
+	private TimeValue _keepAlive;
+	private QueryConfig _queryConfig;
+	private Set<String> _queryTerms = new HashSet<String>();
+	private float _score;
+	private String _scrollId;
+	private SearchHit[] _searchHitsArray;
+	private long _totalHits;
+
+}
\ No newline at end of file
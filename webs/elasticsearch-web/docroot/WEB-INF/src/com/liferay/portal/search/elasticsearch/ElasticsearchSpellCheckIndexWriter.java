@@ -118,6 +118,8 @@ public class ElasticsearchSpellCheckIndexWriter
 	protected void deleteIndices(SearchContext searchContext, String indexType)
 		throws Exception {
 
+		_elasticsearchUpdateDocumentCommand.flush();
+
 		ElasticsearchConnectionManager elasticsearchConnectionManager =
 			ElasticsearchConnectionManager.getInstance();
 
@@ -25,6 +25,17 @@ import java.util.Collection;
  */
 public interface ElasticsearchUpdateDocumentCommand {
 
+	public void deleteDocument(
+			String documentType, SearchContext searchContext, String uid)
+		throws SearchException;
+
+	public void deleteDocuments(
+			String documentType, SearchContext searchContext,
+			Collection<String> uids)
+		throws SearchException;
+
+	public void flush() throws SearchException;
+
 	public void updateDocument(
 			String documentType, SearchContext searchContext, Document document)
 		throws SearchException;
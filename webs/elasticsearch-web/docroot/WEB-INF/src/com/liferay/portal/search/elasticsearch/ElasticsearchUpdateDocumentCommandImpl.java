@@ -19,20 +19,45 @@ import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.search.Document;
 import com.liferay.portal.kernel.search.SearchContext;
 import com.liferay.portal.kernel.search.SearchException;
+import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.search.elasticsearch.connection.ElasticsearchConnectionManager;
 import com.liferay.portal.search.elasticsearch.document.ElasticsearchDocumentFactory;
 import com.liferay.portal.search.elasticsearch.util.LogUtil;
 
 import java.io.IOException;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.ActionResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.delete.DeleteRequestBuilder;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateRequestBuilder;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.rest.RestStatus;
 
 /**
  * @author Michael C. Han
@@ -40,12 +65,160 @@ import org.elasticsearch.client.Client;
 public class ElasticsearchUpdateDocumentCommandImpl
 	implements ElasticsearchUpdateDocumentCommand {
 
+	@Override
+	public void deleteDocument(
+			String documentType, SearchContext searchContext, String uid)
+		throws SearchException {
+
+		try {
+			Client client = getClient();
+
+			DeleteRequestBuilder deleteRequestBuilder = client.prepareDelete(
+				String.valueOf(searchContext.getCompanyId()), documentType,
+				uid);
+
+			if (_bulkActions > 0) {
+				addActionRequest(deleteRequestBuilder.request());
+
+				return;
+			}
+
+			Future<DeleteResponse> future = deleteRequestBuilder.execute();
+
+			DeleteResponse deleteResponse = future.get();
+
+			LogUtil.logActionResponse(_log, deleteResponse);
+		}
+		catch (Exception e) {
+			throw new SearchException("Unable to delete document " + uid, e);
+		}
+	}
+
+	@Override
+	public void deleteDocuments(
+			String documentType, SearchContext searchContext,
+			Collection<String> uids)
+		throws SearchException {
+
+		flush();
+
+		try {
+			Client client = getClient();
+
+			BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
+
+			for (String uid : uids) {
+				DeleteRequestBuilder deleteRequestBuilder =
+					client.prepareDelete(
+						String.valueOf(searchContext.getCompanyId()),
+						documentType, uid);
+
+				bulkRequestBuilder.add(deleteRequestBuilder);
+			}
+
+			if (bulkRequestBuilder.numberOfActions() == 0) {
+				return;
+			}
+
+			executeBulkRequest(bulkRequestBuilder);
+		}
+		catch (Exception e) {
+			throw new SearchException("Unable to delete documents " + uids, e);
+		}
+	}
+
+	public void destroy() {
+		synchronized (this) {
+			if (_bulkProcessor != null) {
+				_bulkProcessor.close();
+
+				_bulkProcessor = null;
+			}
+
+			if (_scheduledExecutorService != null) {
+				_scheduledExecutorService.shutdownNow();
+
+				_scheduledExecutorService = null;
+			}
+
+			_actionRequests.clear();
+			_retries.clear();
+		}
+
+		// Retries cancelled above never finish, so release any flush that is
+		// still waiting on them
+
+		synchronized (_pendingBulkRequestsLock) {
+			_pendingBulkRequests = 0;
+
+			_pendingBulkRequestsLock.notifyAll();
+		}
+	}
+
+	@Override
+	public void flush() throws SearchException {
+		while (true) {
+			synchronized (this) {
+				if (_bulkProcessor != null) {
+
+					// BulkProcessor cannot be flushed in this version of
+					// Elasticsearch, so close it to send what it holds. The
+					// next queued write creates a new one.
+
+					_bulkProcessor.close();
+
+					_bulkProcessor = null;
+				}
+			}
+
+			try {
+				awaitBulkRequests();
+			}
+			catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+
+				throw new SearchException(
+					"Interrupted while waiting for queued writes", ie);
+			}
+
+			synchronized (this) {
+
+				// Rejected writes that were retried while waiting are queued
+				// again in a new BulkProcessor
+
+				if ((_bulkProcessor == null) || _retries.isEmpty()) {
+					return;
+				}
+			}
+		}
+	}
+
+	public void setBulkActions(int bulkActions) {
+		_bulkActions = bulkActions;
+	}
+
+	public void setBulkSize(int bulkSize) {
+		_bulkSize = bulkSize;
+	}
+
 	public void setElasticsearchDocumentFactory(
 		ElasticsearchDocumentFactory elasticsearchDocumentFactory) {
 
 		_elasticsearchDocumentFactory = elasticsearchDocumentFactory;
 	}
 
+	public void setFlushInterval(long flushInterval) {
+		_flushInterval = flushInterval;
+	}
+
+	public void setMaxRetries(int maxRetries) {
+		_maxRetries = maxRetries;
+	}
+
+	public void setRetryDelay(long retryDelay) {
+		_retryDelay = retryDelay;
+	}
+
 	@Override
 	public void updateDocument(
 			String documentType, SearchContext searchContext, Document document)
@@ -56,6 +229,12 @@ public class ElasticsearchUpdateDocumentCommandImpl
 				buildUpdateRequestBuilder(
 					documentType, searchContext, document);
 
+			if (_bulkActions > 0) {
+				addActionRequest(updateRequestBuilder.request());
+
+				return;
+			}
+
 			Future<UpdateResponse> future = updateRequestBuilder.execute();
 
 			UpdateResponse updateResponse = future.get();
@@ -74,6 +253,8 @@ public class ElasticsearchUpdateDocumentCommandImpl
 			Collection<Document> documents)
 		throws SearchException {
 
+		flush();
+
 		try {
 			Client client = getClient();
 
@@ -87,11 +268,11 @@ public class ElasticsearchUpdateDocumentCommandImpl
 				bulkRequestBuilder.add(updateRequestBuilder);
 			}
 
-			Future<BulkResponse> future = bulkRequestBuilder.execute();
-
-			BulkResponse bulkResponse = future.get();
+			if (bulkRequestBuilder.numberOfActions() == 0) {
+				return;
+			}
 
-			LogUtil.logActionResponse(_log, bulkResponse);
+			executeBulkRequest(bulkRequestBuilder);
 		}
 		catch (Exception e) {
 			throw new SearchException(
@@ -99,6 +280,24 @@ public class ElasticsearchUpdateDocumentCommandImpl
 		}
 	}
 
+	protected void addActionRequest(ActionRequest actionRequest) {
+		synchronized (this) {
+			BulkProcessor bulkProcessor = getBulkProcessor();
+
+			_actionRequests.put(getKey(actionRequest), actionRequest);
+
+			bulkProcessor.add(actionRequest);
+		}
+	}
+
+	protected void awaitBulkRequests() throws InterruptedException {
+		synchronized (_pendingBulkRequestsLock) {
+			while (_pendingBulkRequests > 0) {
+				_pendingBulkRequestsLock.wait();
+			}
+		}
+	}
+
 	protected UpdateRequestBuilder buildUpdateRequestBuilder(
 			String documentType, SearchContext searchContext, Document document)
 		throws IOException {
@@ -109,15 +308,72 @@ public class ElasticsearchUpdateDocumentCommandImpl
 			String.valueOf(searchContext.getCompanyId()), documentType,
 			document.getUID());
 
-		String elasticSearchDocument =
+		XContentBuilder xContentBuilder =
 			_elasticsearchDocumentFactory.getElasticsearchDocument(document);
 
-		updateRequestBuilder.setDoc(elasticSearchDocument);
+		updateRequestBuilder.setDoc(xContentBuilder);
 		updateRequestBuilder.setDocAsUpsert(true);
 
 		return updateRequestBuilder;
 	}
 
+	protected void decrementPendingBulkRequests() {
+		synchronized (_pendingBulkRequestsLock) {
+			_pendingBulkRequests--;
+
+			_pendingBulkRequestsLock.notifyAll();
+		}
+	}
+
+	protected void executeBulkRequest(BulkRequestBuilder bulkRequestBuilder)
+		throws Exception {
+
+		Future<BulkResponse> future = bulkRequestBuilder.execute();
+
+		BulkResponse bulkResponse = future.get();
+
+		LogUtil.logActionResponse(_log, bulkResponse);
+
+		if (bulkResponse.hasFailures()) {
+			throw new SearchException(bulkResponse.buildFailureMessage());
+		}
+	}
+
+	protected BulkProcessor getBulkProcessor() {
+		synchronized (this) {
+			if (_bulkProcessor != null) {
+				return _bulkProcessor;
+			}
+
+			if (_scheduledExecutorService == null) {
+				_scheduledExecutorService =
+					Executors.newSingleThreadScheduledExecutor();
+			}
+
+			BulkProcessor.Builder builder = BulkProcessor.builder(
+				getClient(), new RetryBulkProcessorListener());
+
+			builder.setBulkActions(_bulkActions);
+			builder.setBulkSize(new ByteSizeValue(_bulkSize, ByteSizeUnit.MB));
+
+			// Send one bulk at a time so writes to a document stay in order
+
+			builder.setConcurrentRequests(1);
+
+			if (_flushInterval > 0) {
+				builder.setFlushInterval(
+					TimeValue.timeValueMillis(_flushInterval));
+			}
+
+			builder.setName(
+				ElasticsearchUpdateDocumentCommandImpl.class.getName());
+
+			_bulkProcessor = builder.build();
+
+			return _bulkProcessor;
+		}
+	}
+
 	protected Client getClient() {
 		ElasticsearchConnectionManager elasticsearchConnectionManager =
 			ElasticsearchConnectionManager.getInstance();
@@ -125,9 +381,241 @@ public class ElasticsearchUpdateDocumentCommandImpl
 		return elasticsearchConnectionManager.getClient();
 	}
 
+	protected String getKey(ActionRequest actionRequest) {
+		if (actionRequest instanceof DeleteRequest) {
+			DeleteRequest deleteRequest = (DeleteRequest)actionRequest;
+
+			return deleteRequest.index() + StringPool.SLASH +
+				deleteRequest.type() + StringPool.SLASH + deleteRequest.id();
+		}
+
+		UpdateRequest updateRequest = (UpdateRequest)actionRequest;
+
+		return updateRequest.index() + StringPool.SLASH + updateRequest.type() +
+			StringPool.SLASH + updateRequest.id();
+	}
+
+	protected void incrementPendingBulkRequests() {
+		synchronized (_pendingBulkRequestsLock) {
+			_pendingBulkRequests++;
+		}
+	}
+
+	protected boolean isRejected(BulkItemResponse.Failure failure) {
+		if (failure.getStatus() == RestStatus.TOO_MANY_REQUESTS) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isRejected(Throwable throwable) {
+		Throwable cause = ExceptionsHelper.unwrapCause(throwable);
+
+		if (cause instanceof EsRejectedExecutionException) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isStale(ActionRequest actionRequest) {
+		if (_actionRequests.get(getKey(actionRequest)) != actionRequest) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected void removeActionRequest(ActionRequest actionRequest) {
+		_actionRequests.remove(getKey(actionRequest), actionRequest);
+		_retries.remove(actionRequest);
+	}
+
+	protected void retry(List<ActionRequest> actionRequests) {
+		final List<ActionRequest> retryActionRequests =
+			new ArrayList<ActionRequest>(actionRequests.size());
+
+		for (ActionRequest actionRequest : actionRequests) {
+
+			// A later write to the same document replaces this one
+
+			if (isStale(actionRequest)) {
+				_retries.remove(actionRequest);
+
+				continue;
+			}
+
+			Integer retries = _retries.get(actionRequest);
+
+			if (retries == null) {
+				retries = 0;
+			}
+
+			if (retries >= _maxRetries) {
+				removeActionRequest(actionRequest);
+
+				_log.error(
+					"Unable to execute " + actionRequest + " after " +
+						retries + " retries");
+
+				continue;
+			}
+
+			_retries.put(actionRequest, retries + 1);
+
+			retryActionRequests.add(actionRequest);
+		}
+
+		if (retryActionRequests.isEmpty()) {
+			return;
+		}
+
+		ScheduledExecutorService scheduledExecutorService =
+			_scheduledExecutorService;
+
+		if (scheduledExecutorService == null) {
+			return;
+		}
+
+		incrementPendingBulkRequests();
+
+		scheduledExecutorService.schedule(
+			new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						for (ActionRequest actionRequest :
+								retryActionRequests) {
+
+							if (isStale(actionRequest)) {
+								_retries.remove(actionRequest);
+
+								continue;
+							}
+
+							addActionRequest(actionRequest);
+						}
+					}
+					finally {
+						decrementPendingBulkRequests();
+					}
+				}
+
+			},
+			_retryDelay, TimeUnit.MILLISECONDS);
+	}
+
 	private static Log _log = LogFactoryUtil.getLog(
 		ElasticsearchUpdateDocumentCommandImpl.class);
 
+	private ConcurrentMap<String, ActionRequest> _actionRequests =
+		new ConcurrentHashMap<String, ActionRequest>();
+	private int _bulkActions = 1000;
+	private BulkProcessor _bulkProcessor;
+	private int _bulkSize = 5;
 	private ElasticsearchDocumentFactory _elasticsearchDocumentFactory;
+	private long _flushInterval = 1000;
+	private int _maxRetries = 3;
+	private int _pendingBulkRequests;
+	private final Object _pendingBulkRequestsLock = new Object();
+	private Map<ActionRequest, Integer> _retries =
+		new ConcurrentHashMap<ActionRequest, Integer>();
+	private long _retryDelay = 500;
+	private volatile ScheduledExecutorService _scheduledExecutorService;
+
+	private class RetryBulkProcessorListener
+		implements BulkProcessor.Listener {
+
+		@Override
+		public void afterBulk(
+			long executionId, BulkRequest bulkRequest,
+			BulkResponse bulkResponse) {
+
+			try {
+				afterBulk(bulkRequest, bulkResponse);
+			}
+			finally {
+				decrementPendingBulkRequests();
+			}
+		}
+
+		@Override
+		public void afterBulk(
+			long executionId, BulkRequest bulkRequest, Throwable throwable) {
+
+			try {
+				afterBulk(executionId, bulkRequest.requests(), throwable);
+			}
+			finally {
+				decrementPendingBulkRequests();
+			}
+		}
+
+		@Override
+		public void beforeBulk(long executionId, BulkRequest bulkRequest) {
+			incrementPendingBulkRequests();
+		}
+
+		protected void afterBulk(
+			BulkRequest bulkRequest, BulkResponse bulkResponse) {
+
+			List<ActionRequest> actionRequests = bulkRequest.requests();
+
+			List<ActionRequest> rejectedActionRequests =
+				new ArrayList<ActionRequest>();
+
+			for (BulkItemResponse bulkItemResponse : bulkResponse) {
+				ActionRequest actionRequest = actionRequests.get(
+					bulkItemResponse.getItemId());
+
+				if (!bulkItemResponse.isFailed()) {
+					removeActionRequest(actionRequest);
+
+					continue;
+				}
+
+				if (isRejected(bulkItemResponse.getFailure())) {
+					rejectedActionRequests.add(actionRequest);
+				}
+				else {
+					removeActionRequest(actionRequest);
+
+					_log.error(
+						"Unable to execute " + bulkItemResponse.getId() + ": " +
+							bulkItemResponse.getFailureMessage());
+				}
+			}
+
+			retry(rejectedActionRequests);
+
+			try {
+				LogUtil.logActionResponse(_log, (ActionResponse)bulkResponse);
+			}
+			catch (IOException ioe) {
+				_log.error(ioe, ioe);
+			}
+		}
+
+		protected void afterBulk(
+			long executionId, List<ActionRequest> actionRequests,
+			Throwable throwable) {
+
+			if (isRejected(throwable)) {
+				retry(actionRequests);
+
+				return;
+			}
+
+			for (ActionRequest actionRequest : actionRequests) {
+				removeActionRequest(actionRequest);
+			}
+
+			_log.error(
+				"Unable to execute bulk request " + executionId, throwable);
+		}
+
+	}
 
 }
\ No newline at end of file
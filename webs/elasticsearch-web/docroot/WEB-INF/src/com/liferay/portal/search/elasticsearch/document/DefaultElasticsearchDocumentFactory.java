@@ -22,6 +22,8 @@ import com.liferay.portal.kernel.util.Validator;
 
 import java.io.IOException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -36,7 +38,7 @@ public class DefaultElasticsearchDocumentFactory
 	implements ElasticsearchDocumentFactory {
 
 	@Override
-	public String getElasticsearchDocument(Document document)
+	public XContentBuilder getElasticsearchDocument(Document document)
 		throws IOException {
 
 		XContentBuilder xContentBuilder = XContentFactory.jsonBuilder();
@@ -49,13 +51,7 @@ public class DefaultElasticsearchDocumentFactory
 			String name = field.getName();
 
 			if (!field.isLocalized()) {
-				for (String value : field.getValues()) {
-					if (Validator.isNull(value)) {
-						continue;
-					}
-
-					xContentBuilder.field(name, value.trim());
-				}
+				addField(xContentBuilder, name, field.getValues());
 			}
 			else {
 				Map<Locale, String> localizedValues =
@@ -91,7 +87,40 @@ public class DefaultElasticsearchDocumentFactory
 
 		xContentBuilder.endObject();
 
-		return xContentBuilder.string();
+		return xContentBuilder;
+	}
+
+	protected void addField(
+			XContentBuilder xContentBuilder, String name, String[] values)
+		throws IOException {
+
+		List<String> trimmedValues = new ArrayList<String>(values.length);
+
+		for (String value : values) {
+			if (Validator.isNull(value)) {
+				continue;
+			}
+
+			trimmedValues.add(value.trim());
+		}
+
+		if (trimmedValues.isEmpty()) {
+			return;
+		}
+
+		if (trimmedValues.size() == 1) {
+			xContentBuilder.field(name, trimmedValues.get(0));
+
+			return;
+		}
+
+		xContentBuilder.startArray(name);
+
+		for (String trimmedValue : trimmedValues) {
+			xContentBuilder.value(trimmedValue);
+		}
+
+		xContentBuilder.endArray();
 	}
 
 }
\ No newline at end of file
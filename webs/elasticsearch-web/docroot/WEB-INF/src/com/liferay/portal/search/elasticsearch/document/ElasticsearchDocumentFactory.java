@@ -18,12 +18,14 @@ import com.liferay.portal.kernel.search.Document;
 
 import java.io.IOException;
 
+import org.elasticsearch.common.xcontent.XContentBuilder;
+
 /**
  * @author Michael C. Han
  */
 public interface ElasticsearchDocumentFactory {
 
-	public String getElasticsearchDocument(Document document)
+	public XContentBuilder getElasticsearchDocument(Document document)
 		throws IOException;
 
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.elasticsearch;
+
+import com.liferay.portal.kernel.dao.orm.QueryUtil;
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.Hits;
+
+import org.elasticsearch.action.search.SearchRequestBuilder;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+public class ElasticsearchIndexSearcherTest {
+
+	@Before
+	public void setUp() {
+		_elasticsearchIndexSearcher = new ElasticsearchIndexSearcher();
+
+		_elasticsearchSearchCursor = Mockito.mock(
+			ElasticsearchSearchCursor.class);
+
+		Mockito.when(
+			_elasticsearchSearchCursor.getTotalHits()
+		).thenReturn(
+			100L
+		);
+
+		Mockito.when(
+			_elasticsearchSearchCursor.hasNext()
+		).thenReturn(
+			true
+		);
+
+		Mockito.when(
+			_elasticsearchSearchCursor.next()
+		).thenReturn(
+			Mockito.mock(Document.class)
+		);
+	}
+
+	@Test
+	public void testAddPaginationWithScrollMaxHits() {
+		_elasticsearchIndexSearcher.setScrollMaxHits(10);
+		_elasticsearchIndexSearcher.setScrollSize(1000);
+
+		SearchRequestBuilder searchRequestBuilder = Mockito.mock(
+			SearchRequestBuilder.class);
+
+		_elasticsearchIndexSearcher.addPagination(
+			searchRequestBuilder, QueryUtil.ALL_POS, QueryUtil.ALL_POS);
+
+		Mockito.verify(searchRequestBuilder).setSize(10);
+	}
+
+	@Test
+	public void testProcessSearchCursorWithoutScrollMaxHits() {
+		_elasticsearchIndexSearcher.setScrollMaxHits(0);
+
+		Mockito.when(
+			_elasticsearchSearchCursor.hasNext()
+		).thenReturn(
+			true, true, true, false
+		);
+
+		Hits hits = _elasticsearchIndexSearcher.processSearchCursor(
+			_elasticsearchSearchCursor);
+
+		Assert.assertEquals(3, hits.getDocs().length);
+		Assert.assertEquals(100, hits.getLength());
+
+		Mockito.verify(_elasticsearchSearchCursor).close();
+	}
+
+	@Test
+	public void testProcessSearchCursorWithScrollMaxHits() {
+		_elasticsearchIndexSearcher.setScrollMaxHits(10);
+
+		Hits hits = _elasticsearchIndexSearcher.processSearchCursor(
+			_elasticsearchSearchCursor);
+
+		Assert.assertEquals(10, hits.getDocs().length);
+		Assert.assertEquals(10, hits.getScores().length);
+		Assert.assertEquals(100, hits.getLength());
+
+		Mockito.verify(
+			_elasticsearchSearchCursor, Mockito.times(10)
+		).hasNext();
+		Mockito.verify(_elasticsearchSearchCursor).close();
+	}
+
+	private ElasticsearchIndexSearcher _elasticsearchIndexSearcher;
+	private ElasticsearchSearchCursor _elasticsearchSearchCursor;
+
+}
\ No newline at end of file
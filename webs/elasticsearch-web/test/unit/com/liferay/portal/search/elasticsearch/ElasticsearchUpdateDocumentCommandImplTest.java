@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.elasticsearch;
+
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.Field;
+import com.liferay.portal.kernel.search.SearchContext;
+import com.liferay.portal.kernel.search.SearchException;
+import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.search.elasticsearch.document.DefaultElasticsearchDocumentFactory;
+import com.liferay.portal.search.elasticsearch.util.DocumentTypes;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.time.StopWatch;
+
+import org.elasticsearch.action.count.CountResponse;
+import org.elasticsearch.client.AdminClient;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.client.IndicesAdminClient;
+import org.elasticsearch.common.settings.ImmutableSettings;
+import org.elasticsearch.node.Node;
+import org.elasticsearch.node.NodeBuilder;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+public class ElasticsearchUpdateDocumentCommandImplTest {
+
+	@Before
+	public void setUp() throws Exception {
+		_dataDir = File.createTempFile("elasticsearch", null);
+
+		_dataDir.delete();
+
+		ImmutableSettings.Builder builder = ImmutableSettings.settingsBuilder();
+
+		builder.put("http.enabled", false);
+		builder.put("index.number_of_replicas", 0);
+		builder.put("index.number_of_shards", 1);
+		builder.put("path.data", _dataDir.getAbsolutePath());
+
+		NodeBuilder nodeBuilder = NodeBuilder.nodeBuilder();
+
+		nodeBuilder.clusterName(
+			ElasticsearchUpdateDocumentCommandImplTest.class.getName());
+		nodeBuilder.local(true);
+		nodeBuilder.settings(builder);
+
+		_node = nodeBuilder.node();
+
+		_client = _node.client();
+
+		IndicesAdminClient indicesAdminClient = getIndicesAdminClient();
+
+		indicesAdminClient.prepareCreate(
+			String.valueOf(_COMPANY_ID)
+		).addMapping(
+			DocumentTypes.LIFERAY,
+			"{\"" + DocumentTypes.LIFERAY + "\": {\"properties\": " +
+				"{\"priority\": {\"type\": \"long\"}}}}"
+		).get();
+
+		AdminClient adminClient = _client.admin();
+
+		adminClient.cluster().prepareHealth().setWaitForYellowStatus().get();
+
+		_searchContext = new SearchContext();
+
+		_searchContext.setCompanyId(_COMPANY_ID);
+
+		_elasticsearchUpdateDocumentCommandImpl =
+			new ElasticsearchUpdateDocumentCommandImpl() {
+
+				@Override
+				protected Client getClient() {
+					return _client;
+				}
+
+			};
+
+		_elasticsearchUpdateDocumentCommandImpl.setElasticsearchDocumentFactory(
+			new DefaultElasticsearchDocumentFactory());
+
+		// Queued writes are only sent once a bulk fills up or is flushed
+
+		_elasticsearchUpdateDocumentCommandImpl.setFlushInterval(0);
+	}
+
+	@After
+	public void tearDown() {
+		_elasticsearchUpdateDocumentCommandImpl.destroy();
+
+		_node.close();
+
+		FileUtil.deltree(_dataDir);
+	}
+
+	@Test
+	public void testDeletePortletDocumentsAfterQueuedUpdates()
+		throws Exception {
+
+		for (int i = 0; i < 100; i++) {
+			_elasticsearchUpdateDocumentCommandImpl.updateDocument(
+				DocumentTypes.LIFERAY, _searchContext,
+				createDocument(String.valueOf(i), "1"));
+		}
+
+		ElasticsearchIndexWriter elasticsearchIndexWriter =
+			new ElasticsearchIndexWriter() {
+
+				@Override
+				protected Client getClient() {
+					return _client;
+				}
+
+			};
+
+		elasticsearchIndexWriter.setElasticsearchUpdateDocumentCommand(
+			_elasticsearchUpdateDocumentCommandImpl);
+
+		elasticsearchIndexWriter.deletePortletDocuments(
+			_searchContext, _PORTLET_ID);
+
+		_elasticsearchUpdateDocumentCommandImpl.flush();
+
+		Assert.assertEquals(0, getCount());
+	}
+
+	@Test
+	public void testReindex() throws Exception {
+		StopWatch stopWatch = new StopWatch();
+
+		stopWatch.start();
+
+		List<Document> documents = new ArrayList<Document>(_BATCH_SIZE);
+
+		for (int i = 0; i < _DOCUMENTS_COUNT; i++) {
+			documents.add(createDocument(String.valueOf(i), "1"));
+
+			if (documents.size() == _BATCH_SIZE) {
+				_elasticsearchUpdateDocumentCommandImpl.updateDocuments(
+					DocumentTypes.LIFERAY, _searchContext, documents);
+
+				documents.clear();
+			}
+		}
+
+		stopWatch.stop();
+
+		Assert.assertEquals(_DOCUMENTS_COUNT, getCount());
+
+		System.out.println(
+			"Reindexed " + _DOCUMENTS_COUNT + " documents in batches of " +
+				_BATCH_SIZE + " in " + stopWatch.getTime() + " ms");
+
+		stopWatch.reset();
+
+		stopWatch.start();
+
+		for (int i = 0; i < _DOCUMENTS_COUNT; i++) {
+			_elasticsearchUpdateDocumentCommandImpl.updateDocument(
+				DocumentTypes.LIFERAY, _searchContext,
+				createDocument(String.valueOf(i), "2"));
+		}
+
+		_elasticsearchUpdateDocumentCommandImpl.flush();
+
+		stopWatch.stop();
+
+		Assert.assertEquals(_DOCUMENTS_COUNT, getCount());
+
+		System.out.println(
+			"Reindexed " + _DOCUMENTS_COUNT + " documents one at a time in " +
+				stopWatch.getTime() + " ms");
+	}
+
+	@Test(expected = SearchException.class)
+	public void testUpdateDocumentsWithFailure() throws Exception {
+		List<Document> documents = new ArrayList<Document>();
+
+		documents.add(createDocument("1", "1"));
+		documents.add(createDocument("2", "invalid"));
+
+		_elasticsearchUpdateDocumentCommandImpl.updateDocuments(
+			DocumentTypes.LIFERAY, _searchContext, documents);
+	}
+
+	protected Document createDocument(String uid, String priority) {
+		Map<String, Field> fields = new HashMap<String, Field>();
+
+		fields.put(
+			Field.PORTLET_ID, new Field(Field.PORTLET_ID, _PORTLET_ID));
+		fields.put(Field.PRIORITY, new Field(Field.PRIORITY, priority));
+
+		Document document = Mockito.mock(Document.class);
+
+		Mockito.when(
+			document.getFields()
+		).thenReturn(
+			fields
+		);
+
+		Mockito.when(
+			document.getUID()
+		).thenReturn(
+			uid
+		);
+
+		return document;
+	}
+
+	protected long getCount() {
+		IndicesAdminClient indicesAdminClient = getIndicesAdminClient();
+
+		indicesAdminClient.prepareRefresh(String.valueOf(_COMPANY_ID)).get();
+
+		CountResponse countResponse = _client.prepareCount(
+			String.valueOf(_COMPANY_ID)
+		).setTypes(
+			DocumentTypes.LIFERAY
+		).get();
+
+		return countResponse.getCount();
+	}
+
+	protected IndicesAdminClient getIndicesAdminClient() {
+		AdminClient adminClient = _client.admin();
+
+		return adminClient.indices();
+	}
+
+	private static final int _BATCH_SIZE = 500;
+
+	private static final long _COMPANY_ID = 1;
+
+	private static final int _DOCUMENTS_COUNT = 10000;
+
+	private static final String _PORTLET_ID = "test";
+
+	private Client _client;
+	private File _dataDir;
+	private ElasticsearchUpdateDocumentCommandImpl
+		_elasticsearchUpdateDocumentCommandImpl;
+	private Node _node;
+	private SearchContext _searchContext;
+
+}
\ No newline at end of file
@@ -95,6 +95,7 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 		attributes.put("completionUserId", getCompletionUserId());
 		attributes.put("completed", getCompleted());
 		attributes.put("completionDate", getCompletionDate());
+		attributes.put("dueDate", getDueDate());
 		attributes.put("workflowContext", getWorkflowContext());
 
 		attributes.put("entityCacheEnabled", isEntityCacheEnabled());
@@ -221,6 +222,12 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 			setCompletionDate(completionDate);
 		}
 
+		Date dueDate = (Date)attributes.get("dueDate");
+
+		if (dueDate != null) {
+			setDueDate(dueDate);
+		}
+
 		String workflowContext = (String)attributes.get("workflowContext");
 
 		if (workflowContext != null) {
@@ -715,6 +722,29 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 		}
 	}
 
+	@Override
+	public Date getDueDate() {
+		return _dueDate;
+	}
+
+	@Override
+	public void setDueDate(Date dueDate) {
+		_dueDate = dueDate;
+
+		if (_kaleoTimerInstanceTokenRemoteModel != null) {
+			try {
+				Class<?> clazz = _kaleoTimerInstanceTokenRemoteModel.getClass();
+
+				Method method = clazz.getMethod("setDueDate", Date.class);
+
+				method.invoke(_kaleoTimerInstanceTokenRemoteModel, dueDate);
+			}
+			catch (Exception e) {
+				throw new UnsupportedOperationException(e);
+			}
+		}
+	}
+
 	@Override
 	public String getWorkflowContext() {
 		return _workflowContext;
@@ -889,6 +919,7 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 		clone.setCompletionUserId(getCompletionUserId());
 		clone.setCompleted(getCompleted());
 		clone.setCompletionDate(getCompletionDate());
+		clone.setDueDate(getDueDate());
 		clone.setWorkflowContext(getWorkflowContext());
 
 		return clone;
@@ -954,7 +985,7 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 
 	@Override
 	public String toString() {
-		StringBundler sb = new StringBundler(41);
+		StringBundler sb = new StringBundler(43);
 
 		sb.append("{kaleoTimerInstanceTokenId=");
 		sb.append(getKaleoTimerInstanceTokenId());
@@ -994,6 +1025,8 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 		sb.append(getCompleted());
 		sb.append(", completionDate=");
 		sb.append(getCompletionDate());
+		sb.append(", dueDate=");
+		sb.append(getDueDate());
 		sb.append(", workflowContext=");
 		sb.append(getWorkflowContext());
 		sb.append("}");
@@ -1003,7 +1036,7 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 
 	@Override
 	public String toXmlString() {
-		StringBundler sb = new StringBundler(64);
+		StringBundler sb = new StringBundler(67);
 
 		sb.append("<model><model-name>");
 		sb.append(
@@ -1086,6 +1119,10 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 			"<column><column-name>completionDate</column-name><column-value><![CDATA[");
 		sb.append(getCompletionDate());
 		sb.append("]]></column-value></column>");
+		sb.append(
+			"<column><column-name>dueDate</column-name><column-value><![CDATA[");
+		sb.append(getDueDate());
+		sb.append("]]></column-value></column>");
 		sb.append(
 			"<column><column-name>workflowContext</column-name><column-value><![CDATA[");
 		sb.append(getWorkflowContext());
@@ -1117,6 +1154,7 @@ public class KaleoTimerInstanceTokenClp extends BaseModelImpl<KaleoTimerInstance
 	private String _completionUserUuid;
 	private boolean _completed;
 	private Date _completionDate;
+	private Date _dueDate;
 	private String _workflowContext;
 	private BaseModel<?> _kaleoTimerInstanceTokenRemoteModel;
 	private boolean _entityCacheEnabled;
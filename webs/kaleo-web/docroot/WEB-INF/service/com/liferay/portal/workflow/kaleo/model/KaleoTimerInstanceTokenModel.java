@@ -389,6 +389,20 @@ public interface KaleoTimerInstanceTokenModel extends BaseModel<KaleoTimerInstan
 	 */
 	public void setCompletionDate(Date completionDate);
 
+	/**
+	 * Returns the due date of this kaleo timer instance token.
+	 *
+	 * @return the due date of this kaleo timer instance token
+	 */
+	public Date getDueDate();
+
+	/**
+	 * Sets the due date of this kaleo timer instance token.
+	 *
+	 * @param dueDate the due date of this kaleo timer instance token
+	 */
+	public void setDueDate(Date dueDate);
+
 	/**
 	 * Returns the workflow context of this kaleo timer instance token.
 	 *
@@ -50,6 +50,7 @@ public class KaleoTimerInstanceTokenSoap implements Serializable {
 		soapModel.setCompletionUserId(model.getCompletionUserId());
 		soapModel.setCompleted(model.getCompleted());
 		soapModel.setCompletionDate(model.getCompletionDate());
+		soapModel.setDueDate(model.getDueDate());
 		soapModel.setWorkflowContext(model.getWorkflowContext());
 
 		return soapModel;
@@ -266,6 +267,14 @@ public class KaleoTimerInstanceTokenSoap implements Serializable {
 		_completionDate = completionDate;
 	}
 
+	public Date getDueDate() {
+		return _dueDate;
+	}
+
+	public void setDueDate(Date dueDate) {
+		_dueDate = dueDate;
+	}
+
 	public String getWorkflowContext() {
 		return _workflowContext;
 	}
@@ -293,5 +302,6 @@ public class KaleoTimerInstanceTokenSoap implements Serializable {
 	private long _completionUserId;
 	private boolean _completed;
 	private Date _completionDate;
+	private Date _dueDate;
 	private String _workflowContext;
 }
\ No newline at end of file
@@ -71,6 +71,7 @@ public class KaleoTimerInstanceTokenWrapper implements KaleoTimerInstanceToken,
 		attributes.put("completionUserId", getCompletionUserId());
 		attributes.put("completed", getCompleted());
 		attributes.put("completionDate", getCompletionDate());
+		attributes.put("dueDate", getDueDate());
 		attributes.put("workflowContext", getWorkflowContext());
 
 		return attributes;
@@ -194,6 +195,12 @@ public class KaleoTimerInstanceTokenWrapper implements KaleoTimerInstanceToken,
 			setCompletionDate(completionDate);
 		}
 
+		Date dueDate = (Date)attributes.get("dueDate");
+
+		if (dueDate != null) {
+			setDueDate(dueDate);
+		}
+
 		String workflowContext = (String)attributes.get("workflowContext");
 
 		if (workflowContext != null) {
@@ -665,6 +672,26 @@ public class KaleoTimerInstanceTokenWrapper implements KaleoTimerInstanceToken,
 		_kaleoTimerInstanceToken.setCompletionDate(completionDate);
 	}
 
+	/**
+	* Returns the due date of this kaleo timer instance token.
+	*
+	* @return the due date of this kaleo timer instance token
+	*/
+	@Override
+	public java.util.Date getDueDate() {
+		return _kaleoTimerInstanceToken.getDueDate();
+	}
+
+	/**
+	* Sets the due date of this kaleo timer instance token.
+	*
+	* @param dueDate the due date of this kaleo timer instance token
+	*/
+	@Override
+	public void setDueDate(java.util.Date dueDate) {
+		_kaleoTimerInstanceToken.setDueDate(dueDate);
+	}
+
 	/**
 	* Returns the workflow context of this kaleo timer instance token.
 	*
@@ -54,6 +54,7 @@ create index IX_B857A115 on KaleoTaskInstanceToken (kaleoInstanceId, kaleoTaskId
 
 create index IX_1A479F32 on KaleoTimer (kaleoClassName, kaleoClassPK, blocking);
 
+create index IX_671B513C on KaleoTimerInstanceToken (completed, dueDate);
 create index IX_DB96C55B on KaleoTimerInstanceToken (kaleoInstanceId);
 create index IX_9932524C on KaleoTimerInstanceToken (kaleoInstanceTokenId, completed, blocking);
 create index IX_13A5BA2C on KaleoTimerInstanceToken (kaleoInstanceTokenId, kaleoTimerId);
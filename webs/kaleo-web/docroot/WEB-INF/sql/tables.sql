@@ -291,6 +291,7 @@ create table KaleoTimerInstanceToken (
 	completionUserId LONG,
 	completed BOOLEAN,
 	completionDate DATE null,
+	dueDate DATE null,
 	workflowContext TEXT null
 );
 
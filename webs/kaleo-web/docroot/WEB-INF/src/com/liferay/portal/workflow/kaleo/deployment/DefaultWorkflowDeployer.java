@@ -16,6 +16,7 @@ package com.liferay.portal.workflow.kaleo.deployment;
 
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.workflow.WorkflowDefinition;
 import com.liferay.portal.kernel.workflow.WorkflowException;
 import com.liferay.portal.service.ServiceContext;
@@ -24,20 +25,31 @@ import com.liferay.portal.workflow.kaleo.definition.Condition;
 import com.liferay.portal.workflow.kaleo.definition.Definition;
 import com.liferay.portal.workflow.kaleo.definition.Node;
 import com.liferay.portal.workflow.kaleo.definition.NodeType;
+import com.liferay.portal.workflow.kaleo.definition.ScriptLanguage;
 import com.liferay.portal.workflow.kaleo.definition.State;
 import com.liferay.portal.workflow.kaleo.definition.Task;
 import com.liferay.portal.workflow.kaleo.definition.Transition;
+import com.liferay.portal.workflow.kaleo.model.KaleoAction;
+import com.liferay.portal.workflow.kaleo.model.KaleoCondition;
 import com.liferay.portal.workflow.kaleo.model.KaleoDefinition;
 import com.liferay.portal.workflow.kaleo.model.KaleoNode;
+import com.liferay.portal.workflow.kaleo.model.KaleoTask;
+import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignment;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
+import com.liferay.portal.workflow.kaleo.runtime.util.ClassLoaderUtil;
+import com.liferay.portal.workflow.kaleo.runtime.util.RulesCacheUtil;
+import com.liferay.portal.workflow.kaleo.service.KaleoActionLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoConditionLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoDefinitionLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoNodeLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.service.KaleoTaskAssignmentLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoTaskLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoTransitionLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.util.WorkflowModelUtil;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -137,7 +149,87 @@ public class DefaultWorkflowDeployer implements WorkflowDeployer {
 		KaleoDefinitionLocalServiceUtil.activateKaleoDefinition(
 			kaleoDefinitionId, kaleoNode.getKaleoNodeId(), serviceContext);
 
+		KaleoDefinitionGraphUtil.remove(kaleoDefinitionId);
+
+		compileRules(kaleoNodesMap.values());
+
 		return WorkflowModelUtil.toWorkflowDefinition(kaleoDefinition);
 	}
 
+	protected void compileRules(Collection<KaleoNode> kaleoNodes)
+		throws PortalException, SystemException {
+
+		for (KaleoNode kaleoNode : kaleoNodes) {
+			List<KaleoAction> kaleoActions =
+				KaleoActionLocalServiceUtil.getKaleoActions(
+					KaleoNode.class.getName(), kaleoNode.getKaleoNodeId());
+
+			for (KaleoAction kaleoAction : kaleoActions) {
+				if (!isDRL(kaleoAction.getScriptLanguage())) {
+					continue;
+				}
+
+				RulesCacheUtil.compile(
+					KaleoAction.class.getName(), kaleoAction.getKaleoActionId(),
+					kaleoAction.getKaleoDefinitionId(), kaleoAction.getScript(),
+					ClassLoaderUtil.getClassLoaders(
+						StringUtil.split(
+							kaleoAction.getScriptRequiredContexts())));
+			}
+
+			String type = kaleoNode.getType();
+
+			if (type.equals(NodeType.CONDITION.name())) {
+				KaleoCondition kaleoCondition =
+					KaleoConditionLocalServiceUtil.getKaleoNodeKaleoCondition(
+						kaleoNode.getKaleoNodeId());
+
+				if (isDRL(kaleoCondition.getScriptLanguage())) {
+					RulesCacheUtil.compile(
+						KaleoCondition.class.getName(),
+						kaleoCondition.getKaleoConditionId(),
+						kaleoCondition.getKaleoDefinitionId(),
+						kaleoCondition.getScript(),
+						ClassLoaderUtil.getClassLoaders(
+							StringUtil.split(
+								kaleoCondition.getScriptRequiredContexts())));
+				}
+			}
+			else if (type.equals(NodeType.TASK.name())) {
+				KaleoTask kaleoTask =
+					KaleoTaskLocalServiceUtil.getKaleoNodeKaleoTask(
+						kaleoNode.getKaleoNodeId());
+
+				List<KaleoTaskAssignment> kaleoTaskAssignments =
+					KaleoTaskAssignmentLocalServiceUtil.getKaleoTaskAssignments(
+						KaleoTask.class.getName(), kaleoTask.getKaleoTaskId());
+
+				for (KaleoTaskAssignment kaleoTaskAssignment :
+						kaleoTaskAssignments) {
+
+					if (!isDRL(
+							kaleoTaskAssignment.getAssigneeScriptLanguage())) {
+
+						continue;
+					}
+
+					String assigneeScriptRequiredContexts =
+						kaleoTaskAssignment.getAssigneeScriptRequiredContexts();
+
+					RulesCacheUtil.compile(
+						KaleoTaskAssignment.class.getName(),
+						kaleoTaskAssignment.getKaleoTaskAssignmentId(),
+						kaleoTaskAssignment.getKaleoDefinitionId(),
+						kaleoTaskAssignment.getAssigneeScript(),
+						ClassLoaderUtil.getClassLoaders(
+							StringUtil.split(assigneeScriptRequiredContexts)));
+				}
+			}
+		}
+	}
+
+	protected boolean isDRL(String scriptLanguage) {
+		return ScriptLanguage.DRL.getValue().equals(scriptLanguage);
+	}
+
 }
\ No newline at end of file
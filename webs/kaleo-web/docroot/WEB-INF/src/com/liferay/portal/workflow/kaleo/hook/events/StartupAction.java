@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.hook.events;
+
+import com.liferay.portal.kernel.events.ActionException;
+import com.liferay.portal.kernel.events.SimpleAction;
+import com.liferay.portal.kernel.search.Indexer;
+import com.liferay.portal.kernel.search.IndexerRegistryUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
+import com.liferay.portal.workflow.kaleo.util.KaleoTaskInstanceTokenIndexer;
+
+public class StartupAction extends SimpleAction {
+
+	@Override
+	public void run(String[] ids) throws ActionException {
+		try {
+			doRun(GetterUtil.getLong(ids[0]));
+		}
+		catch (Exception e) {
+			throw new ActionException(e);
+		}
+	}
+
+	protected void doRun(long companyId) throws Exception {
+		Indexer indexer = IndexerRegistryUtil.getIndexer(
+			KaleoTaskInstanceToken.class);
+
+		if (!(indexer instanceof KaleoTaskInstanceTokenIndexer)) {
+			return;
+		}
+
+		KaleoTaskInstanceTokenIndexer kaleoTaskInstanceTokenIndexer =
+			(KaleoTaskInstanceTokenIndexer)indexer;
+
+		kaleoTaskInstanceTokenIndexer.verifyKaleoTaskInstanceTokens(companyId);
+	}
+
+}
\ No newline at end of file
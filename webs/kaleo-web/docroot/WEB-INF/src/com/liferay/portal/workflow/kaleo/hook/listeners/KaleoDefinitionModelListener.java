@@ -20,6 +20,8 @@ import com.liferay.portal.kernel.messaging.MessageBusUtil;
 import com.liferay.portal.model.BaseModelListener;
 import com.liferay.portal.service.ServiceContextThreadLocal;
 import com.liferay.portal.workflow.kaleo.model.KaleoDefinition;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
+import com.liferay.portal.workflow.kaleo.runtime.util.RulesCacheUtil;
 
 /**
  * @author Kenneth Chang
@@ -32,6 +34,10 @@ public class KaleoDefinitionModelListener
 		throws ModelListenerException {
 
 		try {
+			KaleoDefinitionGraphUtil.remove(
+				kaleoDefinition.getKaleoDefinitionId());
+			RulesCacheUtil.remove(kaleoDefinition.getKaleoDefinitionId());
+
 			Message message = new Message();
 
 			message.put("command", "delete");
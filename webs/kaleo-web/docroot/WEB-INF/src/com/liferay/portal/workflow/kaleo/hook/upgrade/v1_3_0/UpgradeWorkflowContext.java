@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.hook.upgrade.v1_3_0;
+
+import com.liferay.portal.kernel.dao.jdbc.DataAccess;
+import com.liferay.portal.kernel.upgrade.UpgradeProcess;
+import com.liferay.portal.workflow.kaleo.util.WorkflowContextUtil;
+
+import java.io.Serializable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import java.util.Map;
+
+public class UpgradeWorkflowContext extends UpgradeProcess {
+
+	@Override
+	protected void doUpgrade() throws Exception {
+		updateTable("KaleoInstance", "kaleoInstanceId");
+		updateTable("KaleoLog", "kaleoLogId");
+		updateTable("KaleoTaskInstanceToken", "kaleoTaskInstanceTokenId");
+		updateTable("KaleoTimerInstanceToken", "kaleoTimerInstanceTokenId");
+	}
+
+	protected void updateTable(String tableName, String fieldName)
+		throws Exception {
+
+		Connection con = null;
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		Connection updateCon = null;
+		PreparedStatement updatePS = null;
+
+		try {
+			con = DataAccess.getConnection();
+
+			ps = con.prepareStatement(
+				"select " + fieldName + ", workflowContext from " + tableName +
+					" where workflowContext like '{%'");
+
+			rs = ps.executeQuery();
+
+			updateCon = DataAccess.getUpgradeOptimizedConnection();
+
+			updatePS = updateCon.prepareStatement(
+				"update " + tableName + " set workflowContext = ? where " +
+					fieldName + " = ?");
+
+			int count = 0;
+
+			while (rs.next()) {
+				long fieldValue = rs.getLong(fieldName);
+				String workflowContext = rs.getString("workflowContext");
+
+				Map<String, Serializable> workflowContextMap =
+					WorkflowContextUtil.convert(workflowContext);
+
+				updatePS.setString(
+					1, WorkflowContextUtil.convert(workflowContextMap));
+				updatePS.setLong(2, fieldValue);
+
+				updatePS.addBatch();
+
+				count++;
+
+				if ((count % _BATCH_SIZE) == 0) {
+					updatePS.executeBatch();
+				}
+			}
+
+			if ((count % _BATCH_SIZE) != 0) {
+				updatePS.executeBatch();
+			}
+		}
+		finally {
+			DataAccess.cleanUp(updateCon, updatePS);
+			DataAccess.cleanUp(con, ps, rs);
+		}
+	}
+
+	private static final int _BATCH_SIZE = 100;
+
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.hook.upgrade.v1_4_0;
+
+import com.liferay.portal.kernel.dao.jdbc.DataAccess;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.scheduler.SchedulerEngineHelperUtil;
+import com.liferay.portal.kernel.scheduler.StorageType;
+import com.liferay.portal.kernel.upgrade.UpgradeProcess;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.workflow.kaleo.definition.DelayDuration;
+import com.liferay.portal.workflow.kaleo.definition.DurationScale;
+import com.liferay.portal.workflow.kaleo.runtime.calendar.DefaultDueDateCalculator;
+import com.liferay.portal.workflow.kaleo.runtime.calendar.DueDateCalculator;
+import com.liferay.portal.workflow.kaleo.util.SchedulerUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import java.util.Date;
+
+public class UpgradeKaleoTimerInstanceToken extends UpgradeProcess {
+
+	protected void deleteScheduledTimer(long kaleoTimerInstanceTokenId) {
+		try {
+			SchedulerEngineHelperUtil.delete(
+				SchedulerUtil.getGroupName(kaleoTimerInstanceTokenId),
+				StorageType.PERSISTED);
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to unschedule Kaleo timer instance token " +
+						kaleoTimerInstanceTokenId,
+					e);
+			}
+		}
+	}
+
+	@Override
+	protected void doUpgrade() throws Exception {
+		try {
+			runSQL("alter table KaleoTimerInstanceToken add dueDate DATE null");
+		}
+		catch (SQLException sqle) {
+			if (_log.isDebugEnabled()) {
+				_log.debug(sqle, sqle);
+			}
+		}
+
+		try {
+			runSQL(
+				"create index IX_671B513C on KaleoTimerInstanceToken " +
+					"(completed, dueDate)");
+		}
+		catch (SQLException sqle) {
+			if (_log.isDebugEnabled()) {
+				_log.debug(sqle, sqle);
+			}
+		}
+
+		updateKaleoTimerInstanceTokens();
+	}
+
+	protected Date getRecurrenceDueDate(
+		Date dueDate, double recurrenceDuration, String recurrenceScale,
+		Date now) {
+
+		// Quartz kept firing recurring timers after their first due date, so
+		// the next due date is the first firing after the last one
+
+		long duration = Math.round(recurrenceDuration);
+		DurationScale durationScale = DurationScale.parse(recurrenceScale);
+
+		Date nextDueDate = _dueDateCalculator.getDueDate(
+			dueDate, new DelayDuration(duration, durationScale));
+
+		long interval = nextDueDate.getTime() - dueDate.getTime();
+
+		if (interval <= 0) {
+			return dueDate;
+		}
+
+		long periods = Math.max(
+			1, (now.getTime() - dueDate.getTime()) / interval);
+
+		while (true) {
+			nextDueDate = _dueDateCalculator.getDueDate(
+				dueDate, new DelayDuration(duration * periods, durationScale));
+
+			if (!nextDueDate.after(now)) {
+				periods++;
+
+				continue;
+			}
+
+			if (periods == 1) {
+				return nextDueDate;
+			}
+
+			Date previousDueDate = _dueDateCalculator.getDueDate(
+				dueDate,
+				new DelayDuration(duration * (periods - 1), durationScale));
+
+			if (!previousDueDate.after(now)) {
+				return nextDueDate;
+			}
+
+			periods--;
+		}
+	}
+
+	protected void updateDueDate(long kaleoTimerInstanceTokenId, Date dueDate)
+		throws Exception {
+
+		Connection con = null;
+		PreparedStatement ps = null;
+
+		try {
+			con = DataAccess.getUpgradeOptimizedConnection();
+
+			ps = con.prepareStatement(
+				"update KaleoTimerInstanceToken set dueDate = ? where " +
+					"kaleoTimerInstanceTokenId = ?");
+
+			ps.setTimestamp(1, new Timestamp(dueDate.getTime()));
+			ps.setLong(2, kaleoTimerInstanceTokenId);
+
+			ps.executeUpdate();
+		}
+		finally {
+			DataAccess.cleanUp(con, ps);
+		}
+	}
+
+	protected void updateKaleoTimerInstanceTokens() throws Exception {
+		Connection con = null;
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		try {
+			con = DataAccess.getUpgradeOptimizedConnection();
+
+			StringBundler sb = new StringBundler(10);
+
+			sb.append("select KaleoTimerInstanceToken.");
+			sb.append("kaleoTimerInstanceTokenId, ");
+			sb.append("KaleoTimerInstanceToken.createDate, ");
+			sb.append("KaleoTimer.duration, KaleoTimer.scale, ");
+			sb.append("KaleoTimer.recurrenceDuration, ");
+			sb.append("KaleoTimer.recurrenceScale from ");
+			sb.append("KaleoTimerInstanceToken inner join KaleoTimer on ");
+			sb.append("(KaleoTimer.kaleoTimerId = ");
+			sb.append("KaleoTimerInstanceToken.kaleoTimerId) where ");
+			sb.append("KaleoTimerInstanceToken.completed = ?");
+
+			String sql = sb.toString();
+
+			ps = con.prepareStatement(sql);
+
+			ps.setBoolean(1, false);
+
+			rs = ps.executeQuery();
+
+			Date now = new Date();
+
+			while (rs.next()) {
+				long kaleoTimerInstanceTokenId = rs.getLong(
+					"kaleoTimerInstanceTokenId");
+				Timestamp createDate = rs.getTimestamp("createDate");
+				double duration = rs.getDouble("duration");
+				String scale = rs.getString("scale");
+
+				DelayDuration delayDuration = new DelayDuration(
+					duration, DurationScale.parse(scale));
+
+				Date dueDate = _dueDateCalculator.getDueDate(
+					createDate, delayDuration);
+
+				double recurrenceDuration = rs.getDouble(
+					"recurrenceDuration");
+				String recurrenceScale = rs.getString("recurrenceScale");
+
+				if (Validator.isNotNull(recurrenceScale) &&
+					!dueDate.after(now)) {
+
+					dueDate = getRecurrenceDueDate(
+						dueDate, recurrenceDuration, recurrenceScale, now);
+				}
+
+				updateDueDate(kaleoTimerInstanceTokenId, dueDate);
+
+				deleteScheduledTimer(kaleoTimerInstanceTokenId);
+			}
+		}
+		finally {
+			DataAccess.cleanUp(con, ps, rs);
+		}
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(
+		UpgradeKaleoTimerInstanceToken.class);
+
+	private DueDateCalculator _dueDateCalculator =
+		new DefaultDueDateCalculator();
+
+}
\ No newline at end of file
@@ -17,8 +17,9 @@ package com.liferay.portal.workflow.kaleo.model.impl;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.workflow.kaleo.model.KaleoNode;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoInstanceLocalServiceUtil;
-import com.liferay.portal.workflow.kaleo.service.KaleoNodeLocalServiceUtil;
 
 /**
  * @author Brian Wing Shun Chan
@@ -32,7 +33,11 @@ public class KaleoDefinitionImpl extends KaleoDefinitionBaseImpl {
 	public KaleoNode getKaleoStartNode()
 		throws PortalException, SystemException {
 
-		return KaleoNodeLocalServiceUtil.getKaleoNode(getStartKaleoNodeId());
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				getKaleoDefinitionId());
+
+		return kaleoDefinitionGraph.getKaleoNode(getStartKaleoNodeId());
 	}
 
 	@Override
@@ -20,9 +20,10 @@ import com.liferay.portal.service.ServiceContext;
 import com.liferay.portal.workflow.kaleo.model.KaleoInstance;
 import com.liferay.portal.workflow.kaleo.model.KaleoInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoNode;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoInstanceLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoInstanceTokenLocalServiceUtil;
-import com.liferay.portal.workflow.kaleo.service.KaleoNodeLocalServiceUtil;
 
 import java.util.List;
 
@@ -52,7 +53,11 @@ public class KaleoInstanceTokenImpl extends KaleoInstanceTokenBaseImpl {
 	public KaleoNode getCurrentKaleoNode()
 		throws PortalException, SystemException {
 
-		return KaleoNodeLocalServiceUtil.getKaleoNode(getCurrentKaleoNodeId());
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				getKaleoDefinitionId());
+
+		return kaleoDefinitionGraph.getKaleoNode(getCurrentKaleoNodeId());
 	}
 
 	@Override
@@ -17,7 +17,8 @@ package com.liferay.portal.workflow.kaleo.model.impl;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.workflow.kaleo.model.KaleoTransition;
-import com.liferay.portal.workflow.kaleo.service.KaleoTransitionLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 
 import java.util.List;
 
@@ -33,30 +34,32 @@ public class KaleoNodeImpl extends KaleoNodeBaseImpl {
 	public KaleoTransition getDefaultKaleoTransition()
 		throws PortalException, SystemException {
 
-		return KaleoTransitionLocalServiceUtil.getDefaultKaleoTransition(
-			getKaleoNodeId());
+		KaleoDefinitionGraph kaleoDefinitionGraph = getKaleoDefinitionGraph();
+
+		return kaleoDefinitionGraph.getDefaultKaleoTransition(getKaleoNodeId());
 	}
 
 	@Override
 	public KaleoTransition getKaleoTransition(String name)
 		throws PortalException, SystemException {
 
-		return KaleoTransitionLocalServiceUtil.getKaleoTransition(
-			getKaleoNodeId(), name);
+		KaleoDefinitionGraph kaleoDefinitionGraph = getKaleoDefinitionGraph();
+
+		return kaleoDefinitionGraph.getKaleoTransition(getKaleoNodeId(), name);
 	}
 
 	@Override
 	public List<KaleoTransition> getKaleoTransitions() throws SystemException {
-		return KaleoTransitionLocalServiceUtil.getKaleoTransitions(
-			getKaleoNodeId());
+		KaleoDefinitionGraph kaleoDefinitionGraph = getKaleoDefinitionGraph();
+
+		return kaleoDefinitionGraph.getKaleoTransitions(getKaleoNodeId());
 	}
 
 	@Override
 	public boolean hasKaleoTransition() throws SystemException {
-		int count = KaleoTransitionLocalServiceUtil.getKaleoTransitionsCount(
-			getKaleoNodeId());
+		List<KaleoTransition> kaleoTransitions = getKaleoTransitions();
 
-		if (count > 0) {
+		if (!kaleoTransitions.isEmpty()) {
 			return true;
 		}
 		else {
@@ -64,4 +67,16 @@ public class KaleoNodeImpl extends KaleoNodeBaseImpl {
 		}
 	}
 
+	protected KaleoDefinitionGraph getKaleoDefinitionGraph()
+		throws SystemException {
+
+		try {
+			return KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				getKaleoDefinitionId());
+		}
+		catch (PortalException pe) {
+			throw new SystemException(pe);
+		}
+	}
+
 }
\ No newline at end of file
@@ -19,8 +19,8 @@ import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.workflow.kaleo.model.KaleoNode;
 import com.liferay.portal.workflow.kaleo.model.KaleoTask;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignment;
-import com.liferay.portal.workflow.kaleo.service.KaleoNodeLocalServiceUtil;
-import com.liferay.portal.workflow.kaleo.service.KaleoTaskAssignmentLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 
 import java.util.List;
 
@@ -34,15 +34,28 @@ public class KaleoTaskImpl extends KaleoTaskBaseImpl {
 
 	@Override
 	public KaleoNode getKaleoNode() throws PortalException, SystemException {
-		return KaleoNodeLocalServiceUtil.getKaleoNode(getKaleoNodeId());
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				getKaleoDefinitionId());
+
+		return kaleoDefinitionGraph.getKaleoNode(getKaleoNodeId());
 	}
 
 	@Override
 	public List<KaleoTaskAssignment> getKaleoTaskAssignments()
 		throws SystemException {
 
-		return KaleoTaskAssignmentLocalServiceUtil.getKaleoTaskAssignments(
-			KaleoTask.class.getName(), getKaleoTaskId());
+		try {
+			KaleoDefinitionGraph kaleoDefinitionGraph =
+				KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+					getKaleoDefinitionId());
+
+			return kaleoDefinitionGraph.getKaleoTaskAssignments(
+				KaleoTask.class.getName(), getKaleoTaskId());
+		}
+		catch (PortalException pe) {
+			throw new SystemException(pe);
+		}
 	}
 
 }
\ No newline at end of file
@@ -19,9 +19,10 @@ import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.workflow.kaleo.model.KaleoInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoTask;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignmentInstance;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoInstanceTokenLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoTaskAssignmentInstanceLocalServiceUtil;
-import com.liferay.portal.workflow.kaleo.service.KaleoTaskLocalServiceUtil;
 
 import java.util.List;
 
@@ -43,7 +44,11 @@ public class KaleoTaskInstanceTokenImpl extends KaleoTaskInstanceTokenBaseImpl {
 
 	@Override
 	public KaleoTask getKaleoTask() throws PortalException, SystemException {
-		return KaleoTaskLocalServiceUtil.getKaleoTask(getKaleoTaskId());
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				getKaleoDefinitionId());
+
+		return kaleoDefinitionGraph.getKaleoTask(getKaleoTaskId());
 	}
 
 	@Override
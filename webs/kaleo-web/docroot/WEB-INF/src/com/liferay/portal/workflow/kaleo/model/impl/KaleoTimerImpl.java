@@ -14,11 +14,13 @@
 
 package com.liferay.portal.workflow.kaleo.model.impl;
 
+import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignment;
 import com.liferay.portal.workflow.kaleo.model.KaleoTimer;
-import com.liferay.portal.workflow.kaleo.service.KaleoTaskAssignmentLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 
 import java.util.List;
 
@@ -34,8 +36,17 @@ public class KaleoTimerImpl extends KaleoTimerBaseImpl {
 	public List<KaleoTaskAssignment> getKaleoTaskReassignments()
 		throws SystemException {
 
-		return KaleoTaskAssignmentLocalServiceUtil.getKaleoTaskAssignments(
-			KaleoTimer.class.getName(), getKaleoTimerId());
+		try {
+			KaleoDefinitionGraph kaleoDefinitionGraph =
+				KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+					getKaleoDefinitionId());
+
+			return kaleoDefinitionGraph.getKaleoTaskAssignments(
+				KaleoTimer.class.getName(), getKaleoTimerId());
+		}
+		catch (PortalException pe) {
+			throw new SystemException(pe);
+		}
 	}
 
 	@Override
@@ -37,7 +37,7 @@ public class KaleoTimerInstanceTokenCacheModel implements CacheModel<KaleoTimerI
 	Externalizable {
 	@Override
 	public String toString() {
-		StringBundler sb = new StringBundler(41);
+		StringBundler sb = new StringBundler(43);
 
 		sb.append("{kaleoTimerInstanceTokenId=");
 		sb.append(kaleoTimerInstanceTokenId);
@@ -77,6 +77,8 @@ public class KaleoTimerInstanceTokenCacheModel implements CacheModel<KaleoTimerI
 		sb.append(completed);
 		sb.append(", completionDate=");
 		sb.append(completionDate);
+		sb.append(", dueDate=");
+		sb.append(dueDate);
 		sb.append(", workflowContext=");
 		sb.append(workflowContext);
 		sb.append("}");
@@ -147,6 +149,13 @@ public class KaleoTimerInstanceTokenCacheModel implements CacheModel<KaleoTimerI
 					completionDate));
 		}
 
+		if (dueDate == Long.MIN_VALUE) {
+			kaleoTimerInstanceTokenImpl.setDueDate(null);
+		}
+		else {
+			kaleoTimerInstanceTokenImpl.setDueDate(new Date(dueDate));
+		}
+
 		if (workflowContext == null) {
 			kaleoTimerInstanceTokenImpl.setWorkflowContext(StringPool.BLANK);
 		}
@@ -180,6 +189,7 @@ public class KaleoTimerInstanceTokenCacheModel implements CacheModel<KaleoTimerI
 		completionUserId = objectInput.readLong();
 		completed = objectInput.readBoolean();
 		completionDate = objectInput.readLong();
+		dueDate = objectInput.readLong();
 		workflowContext = objectInput.readUTF();
 	}
 
@@ -226,6 +236,7 @@ public class KaleoTimerInstanceTokenCacheModel implements CacheModel<KaleoTimerI
 		objectOutput.writeLong(completionUserId);
 		objectOutput.writeBoolean(completed);
 		objectOutput.writeLong(completionDate);
+		objectOutput.writeLong(dueDate);
 
 		if (workflowContext == null) {
 			objectOutput.writeUTF(StringPool.BLANK);
@@ -254,5 +265,6 @@ public class KaleoTimerInstanceTokenCacheModel implements CacheModel<KaleoTimerI
 	public long completionUserId;
 	public boolean completed;
 	public long completionDate;
+	public long dueDate;
 	public String workflowContext;
 }
\ No newline at end of file
@@ -19,9 +19,10 @@ import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.workflow.kaleo.model.KaleoInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoTimer;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoInstanceTokenLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoTaskInstanceTokenLocalServiceUtil;
-import com.liferay.portal.workflow.kaleo.service.KaleoTimerLocalServiceUtil;
 
 /**
  * @author Marcellus Tavares
@@ -50,7 +51,11 @@ public class KaleoTimerInstanceTokenImpl
 
 	@Override
 	public KaleoTimer getKaleoTimer() throws PortalException, SystemException {
-		return KaleoTimerLocalServiceUtil.getKaleoTimer(getKaleoTimerId());
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				getKaleoDefinitionId());
+
+		return kaleoDefinitionGraph.getKaleoTimer(getKaleoTimerId());
 	}
 
 }
\ No newline at end of file
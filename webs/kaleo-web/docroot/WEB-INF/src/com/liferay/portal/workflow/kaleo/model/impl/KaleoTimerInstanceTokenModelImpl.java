@@ -81,9 +81,10 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 			{ "completionUserId", Types.BIGINT },
 			{ "completed", Types.BOOLEAN },
 			{ "completionDate", Types.TIMESTAMP },
+			{ "dueDate", Types.TIMESTAMP },
 			{ "workflowContext", Types.CLOB }
 		};
-	public static final String TABLE_SQL_CREATE = "create table KaleoTimerInstanceToken (kaleoTimerInstanceTokenId LONG not null primary key,groupId LONG,companyId LONG,userId LONG,userName VARCHAR(200) null,createDate DATE null,modifiedDate DATE null,kaleoClassName VARCHAR(200) null,kaleoClassPK LONG,kaleoDefinitionId LONG,kaleoInstanceId LONG,kaleoInstanceTokenId LONG,kaleoTaskInstanceTokenId LONG,kaleoTimerId LONG,kaleoTimerName VARCHAR(200) null,blocking BOOLEAN,completionUserId LONG,completed BOOLEAN,completionDate DATE null,workflowContext TEXT null)";
+	public static final String TABLE_SQL_CREATE = "create table KaleoTimerInstanceToken (kaleoTimerInstanceTokenId LONG not null primary key,groupId LONG,companyId LONG,userId LONG,userName VARCHAR(200) null,createDate DATE null,modifiedDate DATE null,kaleoClassName VARCHAR(200) null,kaleoClassPK LONG,kaleoDefinitionId LONG,kaleoInstanceId LONG,kaleoInstanceTokenId LONG,kaleoTaskInstanceTokenId LONG,kaleoTimerId LONG,kaleoTimerName VARCHAR(200) null,blocking BOOLEAN,completionUserId LONG,completed BOOLEAN,completionDate DATE null,dueDate DATE null,workflowContext TEXT null)";
 	public static final String TABLE_SQL_DROP = "drop table KaleoTimerInstanceToken";
 	public static final String ORDER_BY_JPQL = " ORDER BY kaleoTimerInstanceToken.kaleoTimerInstanceTokenId ASC";
 	public static final String ORDER_BY_SQL = " ORDER BY KaleoTimerInstanceToken.kaleoTimerInstanceTokenId ASC";
@@ -165,6 +166,7 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 		attributes.put("completionUserId", getCompletionUserId());
 		attributes.put("completed", getCompleted());
 		attributes.put("completionDate", getCompletionDate());
+		attributes.put("dueDate", getDueDate());
 		attributes.put("workflowContext", getWorkflowContext());
 
 		attributes.put("entityCacheEnabled", isEntityCacheEnabled());
@@ -291,6 +293,12 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 			setCompletionDate(completionDate);
 		}
 
+		Date dueDate = (Date)attributes.get("dueDate");
+
+		if (dueDate != null) {
+			setDueDate(dueDate);
+		}
+
 		String workflowContext = (String)attributes.get("workflowContext");
 
 		if (workflowContext != null) {
@@ -607,6 +615,16 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 		_completionDate = completionDate;
 	}
 
+	@Override
+	public Date getDueDate() {
+		return _dueDate;
+	}
+
+	@Override
+	public void setDueDate(Date dueDate) {
+		_dueDate = dueDate;
+	}
+
 	@Override
 	public String getWorkflowContext() {
 		if (_workflowContext == null) {
@@ -672,6 +690,7 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 		kaleoTimerInstanceTokenImpl.setCompletionUserId(getCompletionUserId());
 		kaleoTimerInstanceTokenImpl.setCompleted(getCompleted());
 		kaleoTimerInstanceTokenImpl.setCompletionDate(getCompletionDate());
+		kaleoTimerInstanceTokenImpl.setDueDate(getDueDate());
 		kaleoTimerInstanceTokenImpl.setWorkflowContext(getWorkflowContext());
 
 		kaleoTimerInstanceTokenImpl.resetOriginalValues();
@@ -845,6 +864,15 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 			kaleoTimerInstanceTokenCacheModel.completionDate = Long.MIN_VALUE;
 		}
 
+		Date dueDate = getDueDate();
+
+		if (dueDate != null) {
+			kaleoTimerInstanceTokenCacheModel.dueDate = dueDate.getTime();
+		}
+		else {
+			kaleoTimerInstanceTokenCacheModel.dueDate = Long.MIN_VALUE;
+		}
+
 		kaleoTimerInstanceTokenCacheModel.workflowContext = getWorkflowContext();
 
 		String workflowContext = kaleoTimerInstanceTokenCacheModel.workflowContext;
@@ -858,7 +886,7 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 
 	@Override
 	public String toString() {
-		StringBundler sb = new StringBundler(41);
+		StringBundler sb = new StringBundler(43);
 
 		sb.append("{kaleoTimerInstanceTokenId=");
 		sb.append(getKaleoTimerInstanceTokenId());
@@ -898,6 +926,8 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 		sb.append(getCompleted());
 		sb.append(", completionDate=");
 		sb.append(getCompletionDate());
+		sb.append(", dueDate=");
+		sb.append(getDueDate());
 		sb.append(", workflowContext=");
 		sb.append(getWorkflowContext());
 		sb.append("}");
@@ -907,7 +937,7 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 
 	@Override
 	public String toXmlString() {
-		StringBundler sb = new StringBundler(64);
+		StringBundler sb = new StringBundler(67);
 
 		sb.append("<model><model-name>");
 		sb.append(
@@ -990,6 +1020,10 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 			"<column><column-name>completionDate</column-name><column-value><![CDATA[");
 		sb.append(getCompletionDate());
 		sb.append("]]></column-value></column>");
+		sb.append(
+			"<column><column-name>dueDate</column-name><column-value><![CDATA[");
+		sb.append(getDueDate());
+		sb.append("]]></column-value></column>");
 		sb.append(
 			"<column><column-name>workflowContext</column-name><column-value><![CDATA[");
 		sb.append(getWorkflowContext());
@@ -1033,6 +1067,7 @@ public class KaleoTimerInstanceTokenModelImpl extends BaseModelImpl<KaleoTimerIn
 	private boolean _originalCompleted;
 	private boolean _setOriginalCompleted;
 	private Date _completionDate;
+	private Date _dueDate;
 	private String _workflowContext;
 	private long _columnBitmask;
 	private KaleoTimerInstanceToken _escapedModel;
@@ -17,7 +17,8 @@ package com.liferay.portal.workflow.kaleo.model.impl;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.workflow.kaleo.model.KaleoNode;
-import com.liferay.portal.workflow.kaleo.service.KaleoNodeLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 
 /**
  * @author Brian Wing Shun Chan
@@ -31,14 +32,22 @@ public class KaleoTransitionImpl extends KaleoTransitionBaseImpl {
 	public KaleoNode getSourceKaleoNode()
 		throws PortalException, SystemException {
 
-		return KaleoNodeLocalServiceUtil.getKaleoNode(getSourceKaleoNodeId());
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				getKaleoDefinitionId());
+
+		return kaleoDefinitionGraph.getKaleoNode(getSourceKaleoNodeId());
 	}
 
 	@Override
 	public KaleoNode getTargetKaleoNode()
 		throws PortalException, SystemException {
 
-		return KaleoNodeLocalServiceUtil.getKaleoNode(getTargetKaleoNodeId());
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				getKaleoDefinitionId());
+
+		return kaleoDefinitionGraph.getKaleoNode(getTargetKaleoNodeId());
 	}
 
 }
\ No newline at end of file
@@ -18,10 +18,10 @@ import com.liferay.portal.service.ServiceContext;
 import com.liferay.portal.workflow.kaleo.model.KaleoInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoTimerInstanceToken;
+import com.liferay.portal.workflow.kaleo.util.WorkflowContextMap;
 
 import java.io.Serializable;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -57,7 +57,7 @@ public class ExecutionContext implements Serializable {
 		ServiceContext serviceContext) {
 
 		_kaleoInstanceToken = kaleoInstanceToken;
-		_workflowContext = new HashMap<String, Serializable>(workflowContext);
+		_workflowContext = new WorkflowContextMap(workflowContext);
 		_serviceContext = serviceContext;
 	}
 
@@ -23,8 +23,9 @@ import com.liferay.portal.workflow.kaleo.definition.ExecutionType;
 import com.liferay.portal.workflow.kaleo.model.KaleoAction;
 import com.liferay.portal.workflow.kaleo.model.KaleoInstanceToken;
 import com.liferay.portal.workflow.kaleo.runtime.ExecutionContext;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 import com.liferay.portal.workflow.kaleo.runtime.util.ClassLoaderUtil;
-import com.liferay.portal.workflow.kaleo.service.KaleoActionLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoInstanceLocalServiceUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoLogLocalServiceUtil;
 
@@ -40,9 +41,15 @@ public class ActionExecutorUtil {
 			ExecutionType executionType, ExecutionContext executionContext)
 		throws PortalException, SystemException {
 
-		List<KaleoAction> kaleoActions =
-			KaleoActionLocalServiceUtil.getKaleoActions(
-				kaleoClassName, kaleoClassPK, executionType.getValue());
+		KaleoInstanceToken kaleoInstanceToken =
+			executionContext.getKaleoInstanceToken();
+
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				kaleoInstanceToken.getKaleoDefinitionId());
+
+		List<KaleoAction> kaleoActions = kaleoDefinitionGraph.getKaleoActions(
+			kaleoClassName, kaleoClassPK, executionType.getValue());
 
 		for (KaleoAction kaleoAction : kaleoActions) {
 			long startTime = System.currentTimeMillis();
@@ -63,9 +70,6 @@ public class ActionExecutorUtil {
 				actionExecutor.execute(
 					kaleoAction, executionContext, classLoaders);
 
-				KaleoInstanceToken kaleoInstanceToken =
-					executionContext.getKaleoInstanceToken();
-
 				KaleoInstanceLocalServiceUtil.updateKaleoInstance(
 					kaleoInstanceToken.getKaleoInstanceId(),
 					executionContext.getWorkflowContext(),
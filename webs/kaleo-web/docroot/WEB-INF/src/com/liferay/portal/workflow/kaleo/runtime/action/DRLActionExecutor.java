@@ -16,11 +16,9 @@ package com.liferay.portal.workflow.kaleo.runtime.action;
 
 import com.liferay.portal.kernel.bi.rules.Fact;
 import com.liferay.portal.kernel.bi.rules.Query;
-import com.liferay.portal.kernel.bi.rules.RulesEngineUtil;
-import com.liferay.portal.kernel.bi.rules.RulesResourceRetriever;
-import com.liferay.portal.kernel.resource.StringResourceRetriever;
 import com.liferay.portal.workflow.kaleo.model.KaleoAction;
 import com.liferay.portal.workflow.kaleo.runtime.ExecutionContext;
+import com.liferay.portal.workflow.kaleo.runtime.util.RulesCacheUtil;
 import com.liferay.portal.workflow.kaleo.runtime.util.RulesContextBuilder;
 import com.liferay.portal.workflow.kaleo.util.WorkflowContextUtil;
 
@@ -56,13 +54,10 @@ public class DRLActionExecutor implements ActionExecutor {
 		List<Fact<?>> facts = RulesContextBuilder.buildRulesContext(
 			executionContext);
 
-		RulesResourceRetriever rulesResourceRetriever =
-			new RulesResourceRetriever(
-				new StringResourceRetriever(kaleoAction.getScript()));
-
-		Map<String, ?> results = RulesEngineUtil.execute(
-			rulesResourceRetriever, facts, Query.createStandardQuery(),
-			classLoaders);
+		Map<String, ?> results = RulesCacheUtil.execute(
+			KaleoAction.class.getName(), kaleoAction.getKaleoActionId(),
+			kaleoAction.getKaleoDefinitionId(), kaleoAction.getScript(), facts,
+			Query.createStandardQuery(), classLoaders);
 
 		Map<String, Serializable> resultsWorkflowContext =
 			(Map<String, Serializable>)results.get(
@@ -16,13 +16,11 @@ package com.liferay.portal.workflow.kaleo.runtime.assignment;
 
 import com.liferay.portal.kernel.bi.rules.Fact;
 import com.liferay.portal.kernel.bi.rules.Query;
-import com.liferay.portal.kernel.bi.rules.RulesEngineUtil;
-import com.liferay.portal.kernel.bi.rules.RulesResourceRetriever;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
-import com.liferay.portal.kernel.resource.StringResourceRetriever;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignment;
 import com.liferay.portal.workflow.kaleo.runtime.ExecutionContext;
+import com.liferay.portal.workflow.kaleo.runtime.util.RulesCacheUtil;
 import com.liferay.portal.workflow.kaleo.runtime.util.RulesContextBuilder;
 import com.liferay.portal.workflow.kaleo.util.WorkflowContextUtil;
 
@@ -47,16 +45,14 @@ public class DRLScriptingTaskAssignmentSelector
 		List<Fact<?>> facts = RulesContextBuilder.buildRulesContext(
 			executionContext);
 
-		String assigneeScript = kaleoTaskAssignment.getAssigneeScript();
-
-		RulesResourceRetriever rulesResourceRetriever =
-			new RulesResourceRetriever(
-				new StringResourceRetriever(assigneeScript));
-
 		Query query = Query.createStandardQuery();
 
-		Map<String, ?> results = RulesEngineUtil.execute(
-			rulesResourceRetriever, facts, query, classLoaders);
+		Map<String, ?> results = RulesCacheUtil.execute(
+			KaleoTaskAssignment.class.getName(),
+			kaleoTaskAssignment.getKaleoTaskAssignmentId(),
+			kaleoTaskAssignment.getKaleoDefinitionId(),
+			kaleoTaskAssignment.getAssigneeScript(), facts, query,
+			classLoaders);
 
 		Map<String, Serializable> resultsWorkflowContext =
 			(Map<String, Serializable>)results.get(
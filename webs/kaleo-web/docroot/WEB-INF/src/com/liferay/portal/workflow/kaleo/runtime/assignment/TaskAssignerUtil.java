@@ -16,6 +16,8 @@ package com.liferay.portal.workflow.kaleo.runtime.assignment;
 
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.search.Indexer;
+import com.liferay.portal.kernel.search.IndexerRegistryUtil;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignment;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
@@ -65,6 +67,11 @@ public class TaskAssignerUtil {
 			kaleoTaskInstanceToken, reassignedKaleoTaskAssignments,
 			executionContext.getWorkflowContext(),
 			executionContext.getServiceContext());
+
+		Indexer indexer = IndexerRegistryUtil.nullSafeGetIndexer(
+			KaleoTaskInstanceToken.class);
+
+		indexer.reindex(kaleoTaskInstanceToken);
 	}
 
 	public void setTaskAssignmentSelector(
@@ -16,13 +16,11 @@ package com.liferay.portal.workflow.kaleo.runtime.condition;
 
 import com.liferay.portal.kernel.bi.rules.Fact;
 import com.liferay.portal.kernel.bi.rules.Query;
-import com.liferay.portal.kernel.bi.rules.RulesEngineUtil;
-import com.liferay.portal.kernel.bi.rules.RulesResourceRetriever;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
-import com.liferay.portal.kernel.resource.StringResourceRetriever;
 import com.liferay.portal.workflow.kaleo.model.KaleoCondition;
 import com.liferay.portal.workflow.kaleo.runtime.ExecutionContext;
+import com.liferay.portal.workflow.kaleo.runtime.util.RulesCacheUtil;
 import com.liferay.portal.workflow.kaleo.runtime.util.RulesContextBuilder;
 import com.liferay.portal.workflow.kaleo.util.WorkflowContextUtil;
 
@@ -45,14 +43,13 @@ public class DRLConditionEvaluator implements ConditionEvaluator {
 		List<Fact<?>> facts = RulesContextBuilder.buildRulesContext(
 			executionContext);
 
-		RulesResourceRetriever rulesResourceRetriever =
-			new RulesResourceRetriever(
-				new StringResourceRetriever(kaleoCondition.getScript()));
-
 		Query query = Query.createStandardQuery();
 
-		Map<String, ?> results = RulesEngineUtil.execute(
-			rulesResourceRetriever, facts, query, classloaders);
+		Map<String, ?> results = RulesCacheUtil.execute(
+			KaleoCondition.class.getName(),
+			kaleoCondition.getKaleoConditionId(),
+			kaleoCondition.getKaleoDefinitionId(), kaleoCondition.getScript(),
+			facts, query, classloaders);
 
 		String returnValue = (String)results.get(_RETURN_VALUE);
 
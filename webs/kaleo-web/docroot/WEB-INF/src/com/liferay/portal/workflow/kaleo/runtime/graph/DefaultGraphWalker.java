@@ -26,6 +26,8 @@ import com.liferay.portal.workflow.kaleo.runtime.node.NodeExecutor;
 import com.liferay.portal.workflow.kaleo.runtime.node.NodeExecutorFactory;
 import com.liferay.portal.workflow.kaleo.runtime.util.ExecutionUtil;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -43,6 +45,56 @@ public class DefaultGraphWalker extends BaseKaleoBean implements GraphWalker {
 			ExecutionContext executionContext)
 		throws PortalException, SystemException {
 
+		if (!_inProcess) {
+			doFollow(
+				sourceKaleoNode, targetKaleoNode, remainingPathElements,
+				executionContext);
+
+			return;
+		}
+
+		LinkedList<PathElement> pathElements = new LinkedList<PathElement>();
+
+		doFollow(
+			sourceKaleoNode, targetKaleoNode, pathElements, executionContext);
+
+		int count = 1;
+
+		while (!pathElements.isEmpty()) {
+			PathElement pathElement = pathElements.removeFirst();
+
+			if (count >= _maxInProcessPathElements) {
+				remainingPathElements.add(pathElement);
+
+				continue;
+			}
+
+			count++;
+
+			List<PathElement> nextPathElements = new ArrayList<PathElement>();
+
+			doFollow(
+				pathElement.getStartNode(), pathElement.getTargetNode(),
+				nextPathElements, pathElement.getExecutionContext());
+
+			pathElements.addAll(0, nextPathElements);
+		}
+	}
+
+	public void setInProcess(boolean inProcess) {
+		_inProcess = inProcess;
+	}
+
+	public void setMaxInProcessPathElements(int maxInProcessPathElements) {
+		_maxInProcessPathElements = maxInProcessPathElements;
+	}
+
+	protected void doFollow(
+			KaleoNode sourceKaleoNode, KaleoNode targetKaleoNode,
+			List<PathElement> remainingPathElements,
+			ExecutionContext executionContext)
+		throws PortalException, SystemException {
+
 		if (sourceKaleoNode != null) {
 			NodeExecutor nodeExecutor = NodeExecutorFactory.getNodeExecutor(
 				sourceKaleoNode.getType());
@@ -71,4 +123,7 @@ public class DefaultGraphWalker extends BaseKaleoBean implements GraphWalker {
 		ExecutionUtil.checkKaleoInstanceComplete(executionContext);
 	}
 
+	private boolean _inProcess;
+	private int _maxInProcessPathElements = 100;
+
 }
\ No newline at end of file
@@ -0,0 +1,559 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.graph;
+
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.model.BaseModel;
+import com.liferay.portal.workflow.kaleo.NoSuchConditionException;
+import com.liferay.portal.workflow.kaleo.NoSuchNodeException;
+import com.liferay.portal.workflow.kaleo.NoSuchTaskException;
+import com.liferay.portal.workflow.kaleo.NoSuchTimerException;
+import com.liferay.portal.workflow.kaleo.NoSuchTransitionException;
+import com.liferay.portal.workflow.kaleo.model.KaleoAction;
+import com.liferay.portal.workflow.kaleo.model.KaleoCondition;
+import com.liferay.portal.workflow.kaleo.model.KaleoNode;
+import com.liferay.portal.workflow.kaleo.model.KaleoNotification;
+import com.liferay.portal.workflow.kaleo.model.KaleoNotificationRecipient;
+import com.liferay.portal.workflow.kaleo.model.KaleoTask;
+import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignment;
+import com.liferay.portal.workflow.kaleo.model.KaleoTimer;
+import com.liferay.portal.workflow.kaleo.model.KaleoTransition;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoActionUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoConditionUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoNodeUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoNotificationRecipientUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoNotificationUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTaskAssignmentUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTaskUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTimerUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTransitionUtil;
+
+import java.io.Serializable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The static metadata of one workflow definition version, indexed for the
+ * lookups made while a workflow instance runs. Each kind of entity is loaded
+ * with a single finder call the first time it is needed.
+ *
+ * <p>
+ * A graph is either private to one caller, or fully loaded by {@link
+ * KaleoDefinitionGraphUtil} and then shared by every workflow instance of the
+ * version. It is not modified once it is shared, and it returns copies of its
+ * models, so callers may modify them without affecting other instances.
+ * </p>
+ */
+public class KaleoDefinitionGraph implements Serializable {
+
+	public KaleoDefinitionGraph(long kaleoDefinitionId, long startKaleoNodeId) {
+		_kaleoDefinitionId = kaleoDefinitionId;
+		_startKaleoNodeId = startKaleoNodeId;
+	}
+
+	public KaleoTransition getDefaultKaleoTransition(long kaleoNodeId)
+		throws NoSuchTransitionException, SystemException {
+
+		_loadKaleoTransitions();
+
+		KaleoTransition kaleoTransition = _defaultKaleoTransitions.get(
+			kaleoNodeId);
+
+		if (kaleoTransition == null) {
+			throw new NoSuchTransitionException(
+				"No default KaleoTransition exists for KaleoNode " +
+					kaleoNodeId);
+		}
+
+		return _copy(kaleoTransition);
+	}
+
+	public List<KaleoAction> getKaleoActions(
+			String kaleoClassName, long kaleoClassPK, String executionType)
+		throws SystemException {
+
+		_loadKaleoActions();
+
+		return _getValues(
+			_kaleoActions,
+			_getKey(kaleoClassName, kaleoClassPK, executionType));
+	}
+
+	public long getKaleoDefinitionId() {
+		return _kaleoDefinitionId;
+	}
+
+	public KaleoNode getKaleoNode(long kaleoNodeId)
+		throws NoSuchNodeException, SystemException {
+
+		_loadKaleoNodes();
+
+		KaleoNode kaleoNode = _kaleoNodes.get(kaleoNodeId);
+
+		if (kaleoNode == null) {
+			throw new NoSuchNodeException(
+				"No KaleoNode exists with the primary key " + kaleoNodeId);
+		}
+
+		return _copy(kaleoNode);
+	}
+
+	public KaleoCondition getKaleoNodeKaleoCondition(long kaleoNodeId)
+		throws NoSuchConditionException, SystemException {
+
+		_loadKaleoConditions();
+
+		KaleoCondition kaleoCondition = _kaleoConditions.get(kaleoNodeId);
+
+		if (kaleoCondition == null) {
+			throw new NoSuchConditionException(
+				"No KaleoCondition exists for KaleoNode " + kaleoNodeId);
+		}
+
+		return _copy(kaleoCondition);
+	}
+
+	public KaleoTask getKaleoNodeKaleoTask(long kaleoNodeId)
+		throws NoSuchTaskException, SystemException {
+
+		_loadKaleoTasks();
+
+		KaleoTask kaleoTask = _nodeKaleoTasks.get(kaleoNodeId);
+
+		if (kaleoTask == null) {
+			throw new NoSuchTaskException(
+				"No KaleoTask exists for KaleoNode " + kaleoNodeId);
+		}
+
+		return _copy(kaleoTask);
+	}
+
+	public List<KaleoNotificationRecipient> getKaleoNotificationRecipients(
+			long kaleoNotificationId)
+		throws SystemException {
+
+		_loadKaleoNotificationRecipients();
+
+		return _getValues(_kaleoNotificationRecipients, kaleoNotificationId);
+	}
+
+	public List<KaleoNotification> getKaleoNotifications(
+			String kaleoClassName, long kaleoClassPK, String executionType)
+		throws SystemException {
+
+		_loadKaleoNotifications();
+
+		return _getValues(
+			_kaleoNotifications,
+			_getKey(kaleoClassName, kaleoClassPK, executionType));
+	}
+
+	public KaleoNode getKaleoStartNode()
+		throws NoSuchNodeException, SystemException {
+
+		return getKaleoNode(_startKaleoNodeId);
+	}
+
+	public KaleoTask getKaleoTask(long kaleoTaskId)
+		throws NoSuchTaskException, SystemException {
+
+		_loadKaleoTasks();
+
+		KaleoTask kaleoTask = _kaleoTasks.get(kaleoTaskId);
+
+		if (kaleoTask == null) {
+			throw new NoSuchTaskException(
+				"No KaleoTask exists with the primary key " + kaleoTaskId);
+		}
+
+		return _copy(kaleoTask);
+	}
+
+	public List<KaleoTaskAssignment> getKaleoTaskAssignments(
+			String kaleoClassName, long kaleoClassPK)
+		throws SystemException {
+
+		_loadKaleoTaskAssignments();
+
+		return _getValues(
+			_kaleoTaskAssignments, _getKey(kaleoClassName, kaleoClassPK));
+	}
+
+	public KaleoTimer getKaleoTimer(long kaleoTimerId)
+		throws NoSuchTimerException, SystemException {
+
+		_loadKaleoTimers();
+
+		KaleoTimer kaleoTimer = _kaleoTimers.get(kaleoTimerId);
+
+		if (kaleoTimer == null) {
+			throw new NoSuchTimerException(
+				"No KaleoTimer exists with the primary key " + kaleoTimerId);
+		}
+
+		return _copy(kaleoTimer);
+	}
+
+	public List<KaleoTimer> getKaleoTimers(
+			String kaleoClassName, long kaleoClassPK)
+		throws SystemException {
+
+		_loadKaleoTimers();
+
+		return _getValues(
+			_classKaleoTimers, _getKey(kaleoClassName, kaleoClassPK));
+	}
+
+	public KaleoTransition getKaleoTransition(long kaleoNodeId, String name)
+		throws NoSuchTransitionException, SystemException {
+
+		_loadKaleoTransitions();
+
+		KaleoTransition kaleoTransition = _namedKaleoTransitions.get(
+			_getKey(kaleoNodeId, name));
+
+		if (kaleoTransition == null) {
+			throw new NoSuchTransitionException(
+				"No KaleoTransition exists with the name " + name +
+					" for KaleoNode " + kaleoNodeId);
+		}
+
+		return _copy(kaleoTransition);
+	}
+
+	public List<KaleoTransition> getKaleoTransitions(long kaleoNodeId)
+		throws SystemException {
+
+		_loadKaleoTransitions();
+
+		return _getValues(_kaleoTransitions, kaleoNodeId);
+	}
+
+	public void load() throws SystemException {
+		_loadKaleoActions();
+		_loadKaleoConditions();
+		_loadKaleoNodes();
+		_loadKaleoNotificationRecipients();
+		_loadKaleoNotifications();
+		_loadKaleoTaskAssignments();
+		_loadKaleoTasks();
+		_loadKaleoTimers();
+		_loadKaleoTransitions();
+	}
+
+	private static <K, V> void _addValue(
+		Map<K, List<V>> map, K key, V value) {
+
+		List<V> values = map.get(key);
+
+		if (values == null) {
+			values = new ArrayList<V>();
+
+			map.put(key, values);
+		}
+
+		values.add(value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V extends BaseModel<V>> V _copy(V value) {
+		return (V)value.clone();
+	}
+
+	private static String _getKey(Object... parts) {
+		StringBundler sb = new StringBundler(parts.length * 2 - 1);
+
+		for (int i = 0; i < parts.length; i++) {
+			if (i > 0) {
+				sb.append(StringPool.POUND);
+			}
+
+			sb.append(String.valueOf(parts[i]));
+		}
+
+		return sb.toString();
+	}
+
+	private static <K, V extends BaseModel<V>> List<V> _getValues(
+		Map<K, List<V>> map, K key) {
+
+		List<V> values = map.get(key);
+
+		if (values == null) {
+			return Collections.emptyList();
+		}
+
+		List<V> copies = new ArrayList<V>(values.size());
+
+		for (V value : values) {
+			copies.add(_copy(value));
+		}
+
+		return copies;
+	}
+
+	private void _loadKaleoActions() throws SystemException {
+		if (_kaleoActions != null) {
+			return;
+		}
+
+		Map<String, List<KaleoAction>> kaleoActions =
+			new HashMap<String, List<KaleoAction>>();
+
+		for (KaleoAction kaleoAction :
+				KaleoActionUtil.findByKaleoDefinitionId(_kaleoDefinitionId)) {
+
+			_addValue(
+				kaleoActions,
+				_getKey(
+					kaleoAction.getKaleoClassName(),
+					kaleoAction.getKaleoClassPK(),
+					kaleoAction.getExecutionType()),
+				kaleoAction);
+		}
+
+		_kaleoActions = kaleoActions;
+	}
+
+	private void _loadKaleoConditions() throws SystemException {
+		if (_kaleoConditions != null) {
+			return;
+		}
+
+		Map<Long, KaleoCondition> kaleoConditions =
+			new HashMap<Long, KaleoCondition>();
+
+		for (KaleoCondition kaleoCondition :
+				KaleoConditionUtil.findByKaleoDefinitionId(
+					_kaleoDefinitionId)) {
+
+			kaleoConditions.put(
+				kaleoCondition.getKaleoNodeId(), kaleoCondition);
+		}
+
+		_kaleoConditions = kaleoConditions;
+	}
+
+	private void _loadKaleoNodes() throws SystemException {
+		if (_kaleoNodes != null) {
+			return;
+		}
+
+		Map<Long, KaleoNode> kaleoNodes = new HashMap<Long, KaleoNode>();
+
+		for (KaleoNode kaleoNode :
+				KaleoNodeUtil.findByKaleoDefinitionId(_kaleoDefinitionId)) {
+
+			kaleoNodes.put(kaleoNode.getKaleoNodeId(), kaleoNode);
+		}
+
+		_kaleoNodes = kaleoNodes;
+	}
+
+	private void _loadKaleoNotificationRecipients() throws SystemException {
+		if (_kaleoNotificationRecipients != null) {
+			return;
+		}
+
+		Map<Long, List<KaleoNotificationRecipient>>
+			kaleoNotificationRecipients =
+				new HashMap<Long, List<KaleoNotificationRecipient>>();
+
+		for (KaleoNotificationRecipient kaleoNotificationRecipient :
+				KaleoNotificationRecipientUtil.findByKaleoDefinitionId(
+					_kaleoDefinitionId)) {
+
+			_addValue(
+				kaleoNotificationRecipients,
+				kaleoNotificationRecipient.getKaleoNotificationId(),
+				kaleoNotificationRecipient);
+		}
+
+		_kaleoNotificationRecipients = kaleoNotificationRecipients;
+	}
+
+	private void _loadKaleoNotifications() throws SystemException {
+		if (_kaleoNotifications != null) {
+			return;
+		}
+
+		Map<String, List<KaleoNotification>> kaleoNotifications =
+			new HashMap<String, List<KaleoNotification>>();
+
+		for (KaleoNotification kaleoNotification :
+				KaleoNotificationUtil.findByKaleoDefinitionId(
+					_kaleoDefinitionId)) {
+
+			_addValue(
+				kaleoNotifications,
+				_getKey(
+					kaleoNotification.getKaleoClassName(),
+					kaleoNotification.getKaleoClassPK(),
+					kaleoNotification.getExecutionType()),
+				kaleoNotification);
+		}
+
+		_kaleoNotifications = kaleoNotifications;
+	}
+
+	private void _loadKaleoTaskAssignments() throws SystemException {
+		if (_kaleoTaskAssignments != null) {
+			return;
+		}
+
+		Map<String, List<KaleoTaskAssignment>> kaleoTaskAssignments =
+			new HashMap<String, List<KaleoTaskAssignment>>();
+
+		for (KaleoTaskAssignment kaleoTaskAssignment :
+				KaleoTaskAssignmentUtil.findByKaleoDefinitionId(
+					_kaleoDefinitionId)) {
+
+			_addValue(
+				kaleoTaskAssignments,
+				_getKey(
+					kaleoTaskAssignment.getKaleoClassName(),
+					kaleoTaskAssignment.getKaleoClassPK()),
+				kaleoTaskAssignment);
+		}
+
+		_kaleoTaskAssignments = kaleoTaskAssignments;
+	}
+
+	private void _loadKaleoTasks() throws SystemException {
+		if (_kaleoTasks != null) {
+			return;
+		}
+
+		Map<Long, KaleoTask> kaleoTasks = new HashMap<Long, KaleoTask>();
+		Map<Long, KaleoTask> nodeKaleoTasks = new HashMap<Long, KaleoTask>();
+
+		for (KaleoTask kaleoTask :
+				KaleoTaskUtil.findByKaleoDefinitionId(_kaleoDefinitionId)) {
+
+			kaleoTasks.put(kaleoTask.getKaleoTaskId(), kaleoTask);
+			nodeKaleoTasks.put(kaleoTask.getKaleoNodeId(), kaleoTask);
+		}
+
+		_nodeKaleoTasks = nodeKaleoTasks;
+
+		_kaleoTasks = kaleoTasks;
+	}
+
+	private void _loadKaleoTimers() throws SystemException {
+		if (_kaleoTimers != null) {
+			return;
+		}
+
+		_loadKaleoNodes();
+		_loadKaleoTransitions();
+
+		List<KaleoTimer> kaleoTimers = new ArrayList<KaleoTimer>();
+
+		for (long kaleoNodeId : _kaleoNodes.keySet()) {
+			kaleoTimers.addAll(
+				KaleoTimerUtil.findByKCN_KCPK(
+					KaleoNode.class.getName(), kaleoNodeId));
+		}
+
+		for (List<KaleoTransition> kaleoTransitions :
+				_kaleoTransitions.values()) {
+
+			for (KaleoTransition kaleoTransition : kaleoTransitions) {
+				kaleoTimers.addAll(
+					KaleoTimerUtil.findByKCN_KCPK(
+						KaleoTransition.class.getName(),
+						kaleoTransition.getKaleoTransitionId()));
+			}
+		}
+
+		Map<String, List<KaleoTimer>> classKaleoTimers =
+			new HashMap<String, List<KaleoTimer>>();
+		Map<Long, KaleoTimer> kaleoTimersMap = new HashMap<Long, KaleoTimer>();
+
+		for (KaleoTimer kaleoTimer : kaleoTimers) {
+			_addValue(
+				classKaleoTimers,
+				_getKey(
+					kaleoTimer.getKaleoClassName(),
+					kaleoTimer.getKaleoClassPK()),
+				kaleoTimer);
+
+			kaleoTimersMap.put(kaleoTimer.getKaleoTimerId(), kaleoTimer);
+		}
+
+		_classKaleoTimers = classKaleoTimers;
+
+		_kaleoTimers = kaleoTimersMap;
+	}
+
+	private void _loadKaleoTransitions() throws SystemException {
+		if (_kaleoTransitions != null) {
+			return;
+		}
+
+		Map<Long, KaleoTransition> defaultKaleoTransitions =
+			new HashMap<Long, KaleoTransition>();
+		Map<Long, List<KaleoTransition>> kaleoTransitions =
+			new HashMap<Long, List<KaleoTransition>>();
+		Map<String, KaleoTransition> namedKaleoTransitions =
+			new HashMap<String, KaleoTransition>();
+
+		for (KaleoTransition kaleoTransition :
+				KaleoTransitionUtil.findByKaleoDefinitionId(
+					_kaleoDefinitionId)) {
+
+			long kaleoNodeId = kaleoTransition.getKaleoNodeId();
+
+			_addValue(kaleoTransitions, kaleoNodeId, kaleoTransition);
+
+			if (kaleoTransition.isDefaultTransition()) {
+				defaultKaleoTransitions.put(kaleoNodeId, kaleoTransition);
+			}
+
+			namedKaleoTransitions.put(
+				_getKey(kaleoNodeId, kaleoTransition.getName()),
+				kaleoTransition);
+		}
+
+		_defaultKaleoTransitions = defaultKaleoTransitions;
+		_namedKaleoTransitions = namedKaleoTransitions;
+
+		_kaleoTransitions = kaleoTransitions;
+	}
+
+	private Map<String, List<KaleoTimer>> _classKaleoTimers;
+	private Map<Long, KaleoTransition> _defaultKaleoTransitions;
+	private Map<String, List<KaleoAction>> _kaleoActions;
+	private Map<Long, KaleoCondition> _kaleoConditions;
+	private long _kaleoDefinitionId;
+	private Map<Long, KaleoNode> _kaleoNodes;
+	private Map<Long, List<KaleoNotificationRecipient>>
+		_kaleoNotificationRecipients;
+	private Map<String, List<KaleoNotification>> _kaleoNotifications;
+	private Map<String, List<KaleoTaskAssignment>> _kaleoTaskAssignments;
+	private Map<Long, KaleoTask> _kaleoTasks;
+	private Map<Long, KaleoTimer> _kaleoTimers;
+	private Map<Long, List<KaleoTransition>> _kaleoTransitions;
+	private Map<String, KaleoTransition> _namedKaleoTransitions;
+	private Map<Long, KaleoTask> _nodeKaleoTasks;
+	private long _startKaleoNodeId;
+
+}
\ No newline at end of file
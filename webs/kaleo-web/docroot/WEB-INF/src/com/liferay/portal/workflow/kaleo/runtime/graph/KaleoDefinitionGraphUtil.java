@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.graph;
+
+import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.workflow.kaleo.model.KaleoDefinition;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoDefinitionUtil;
+
+public class KaleoDefinitionGraphUtil {
+
+	public static void clearCache() {
+		_portalCache.removeAll();
+	}
+
+	public static KaleoDefinitionGraph getKaleoDefinitionGraph(
+			long kaleoDefinitionId)
+		throws PortalException, SystemException {
+
+		KaleoDefinitionGraph kaleoDefinitionGraph = _portalCache.get(
+			kaleoDefinitionId);
+
+		if (kaleoDefinitionGraph != null) {
+			return kaleoDefinitionGraph;
+		}
+
+		KaleoDefinition kaleoDefinition =
+			KaleoDefinitionUtil.findByPrimaryKey(kaleoDefinitionId);
+
+		kaleoDefinitionGraph = new KaleoDefinitionGraph(
+			kaleoDefinitionId, kaleoDefinition.getStartKaleoNodeId());
+
+		// A definition that is not activated yet is still being deployed, so
+		// its graph is not cached and only loads what the caller asks for
+
+		if (kaleoDefinition.getStartKaleoNodeId() > 0) {
+			kaleoDefinitionGraph.load();
+
+			_portalCache.put(kaleoDefinitionId, kaleoDefinitionGraph);
+		}
+
+		return kaleoDefinitionGraph;
+	}
+
+	public static void remove(long kaleoDefinitionId) {
+		_portalCache.remove(kaleoDefinitionId);
+	}
+
+	private static final String _CACHE_NAME =
+		KaleoDefinitionGraph.class.getName();
+
+	private static PortalCache<Long, KaleoDefinitionGraph> _portalCache =
+		MultiVMPoolUtil.getCache(_CACHE_NAME);
+
+}
\ No newline at end of file
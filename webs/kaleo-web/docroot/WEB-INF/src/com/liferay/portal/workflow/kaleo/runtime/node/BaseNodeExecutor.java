@@ -25,10 +25,14 @@ import com.liferay.portal.workflow.kaleo.model.KaleoTimer;
 import com.liferay.portal.workflow.kaleo.model.KaleoTimerInstanceToken;
 import com.liferay.portal.workflow.kaleo.runtime.ExecutionContext;
 import com.liferay.portal.workflow.kaleo.runtime.action.ActionExecutorUtil;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 import com.liferay.portal.workflow.kaleo.runtime.graph.PathElement;
 import com.liferay.portal.workflow.kaleo.runtime.notification.NotificationUtil;
+import com.liferay.portal.workflow.kaleo.runtime.timer.TimerSchedulerUtil;
 import com.liferay.portal.workflow.kaleo.runtime.util.ExecutionUtil;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -57,7 +61,11 @@ public abstract class BaseNodeExecutor
 			KaleoNode.class.getName(), currentKaleoNode.getKaleoNodeId(),
 			ExecutionType.ON_ENTRY, executionContext);
 
-		List<KaleoTimer> kaleoTimers = kaleoTimerLocalService.getKaleoTimers(
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				currentKaleoNode.getKaleoDefinitionId());
+
+		List<KaleoTimer> kaleoTimers = kaleoDefinitionGraph.getKaleoTimers(
 			KaleoNode.class.getName(), currentKaleoNode.getKaleoNodeId());
 
 		kaleoTimerInstanceTokenLocalService.addKaleoTimerInstanceTokens(
@@ -109,6 +117,19 @@ public abstract class BaseNodeExecutor
 				kaleoTimerInstanceToken.getKaleoTimerInstanceTokenId(),
 				serviceContext);
 		}
+		else {
+			Date dueDate = TimerSchedulerUtil.getRecurrenceDueDate(
+				kaleoTimer, new Date());
+
+			kaleoTimerInstanceToken.setDueDate(dueDate);
+
+			kaleoTimerInstanceTokenLocalService.updateKaleoTimerInstanceToken(
+				kaleoTimerInstanceToken);
+
+			TimerSchedulerUtil.schedule(
+				kaleoTimerInstanceToken.getKaleoTimerInstanceTokenId(),
+				dueDate);
+		}
 	}
 
 	@Override
@@ -24,6 +24,8 @@ import com.liferay.portal.workflow.kaleo.model.KaleoTimer;
 import com.liferay.portal.workflow.kaleo.model.KaleoTransition;
 import com.liferay.portal.workflow.kaleo.runtime.ExecutionContext;
 import com.liferay.portal.workflow.kaleo.runtime.condition.ConditionEvaluator;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 import com.liferay.portal.workflow.kaleo.runtime.graph.PathElement;
 import com.liferay.portal.workflow.kaleo.runtime.util.ClassLoaderUtil;
 
@@ -54,8 +56,12 @@ public class ConditionNodeExecutor extends BaseNodeExecutor {
 		KaleoInstanceToken kaleoInstanceToken =
 			executionContext.getKaleoInstanceToken();
 
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				currentKaleoNode.getKaleoDefinitionId());
+
 		KaleoCondition kaleoCondition =
-			kaleoConditionLocalService.getKaleoNodeKaleoCondition(
+			kaleoDefinitionGraph.getKaleoNodeKaleoCondition(
 				currentKaleoNode.getKaleoNodeId());
 
 		String[] scriptRequiredContexts = StringUtil.split(
@@ -41,6 +41,8 @@ import com.liferay.portal.workflow.kaleo.runtime.action.ActionExecutorUtil;
 import com.liferay.portal.workflow.kaleo.runtime.assignment.TaskAssignerUtil;
 import com.liferay.portal.workflow.kaleo.runtime.assignment.TaskAssignmentSelector;
 import com.liferay.portal.workflow.kaleo.runtime.calendar.DueDateCalculator;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 import com.liferay.portal.workflow.kaleo.runtime.graph.PathElement;
 import com.liferay.portal.workflow.kaleo.runtime.notification.NotificationUtil;
 import com.liferay.portal.workflow.kaleo.runtime.util.ClassLoaderUtil;
@@ -71,9 +73,13 @@ public class TaskNodeExecutor extends BaseNodeExecutor {
 	}
 
 	protected Date calculateDueDate(KaleoTask kaleoTask)
-		throws SystemException {
+		throws PortalException, SystemException {
+
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				kaleoTask.getKaleoDefinitionId());
 
-		List<KaleoTimer> kaleoTimers = kaleoTimerLocalService.getKaleoTimers(
+		List<KaleoTimer> kaleoTimers = kaleoDefinitionGraph.getKaleoTimers(
 			KaleoNode.class.getName(), kaleoTask.getKaleoNodeId());
 
 		if (kaleoTimers.isEmpty()) {
@@ -154,7 +160,11 @@ public class TaskNodeExecutor extends BaseNodeExecutor {
 		KaleoInstanceToken kaleoInstanceToken =
 			executionContext.getKaleoInstanceToken();
 
-		KaleoTask kaleoTask = kaleoTaskLocalService.getKaleoNodeKaleoTask(
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				currentKaleoNode.getKaleoDefinitionId());
+
+		KaleoTask kaleoTask = kaleoDefinitionGraph.getKaleoNodeKaleoTask(
 			currentKaleoNode.getKaleoNodeId());
 
 		Date dueDate = calculateDueDate(kaleoTask);
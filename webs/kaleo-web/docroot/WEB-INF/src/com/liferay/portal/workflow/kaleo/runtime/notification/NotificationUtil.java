@@ -18,11 +18,12 @@ import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.workflow.kaleo.definition.ExecutionType;
+import com.liferay.portal.workflow.kaleo.model.KaleoInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoNotification;
 import com.liferay.portal.workflow.kaleo.model.KaleoNotificationRecipient;
 import com.liferay.portal.workflow.kaleo.runtime.ExecutionContext;
-import com.liferay.portal.workflow.kaleo.service.KaleoNotificationLocalServiceUtil;
-import com.liferay.portal.workflow.kaleo.service.KaleoNotificationRecipientLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraph;
+import com.liferay.portal.workflow.kaleo.runtime.graph.KaleoDefinitionGraphUtil;
 
 import java.util.List;
 
@@ -36,16 +37,25 @@ public class NotificationUtil {
 			ExecutionType executionType, ExecutionContext executionContext)
 		throws PortalException, SystemException {
 
+		KaleoInstanceToken kaleoInstanceToken =
+			executionContext.getKaleoInstanceToken();
+
+		KaleoDefinitionGraph kaleoDefinitionGraph =
+			KaleoDefinitionGraphUtil.getKaleoDefinitionGraph(
+				kaleoInstanceToken.getKaleoDefinitionId());
+
 		List<KaleoNotification> kaleoNotifications =
-			KaleoNotificationLocalServiceUtil.getKaleoNotifications(
+			kaleoDefinitionGraph.getKaleoNotifications(
 				kaleoClassName, kaleoClassPK, executionType.getValue());
 
 		for (KaleoNotification kaleoNotification : kaleoNotifications) {
-			_sendKaleoNotification(kaleoNotification, executionContext);
+			_sendKaleoNotification(
+				kaleoDefinitionGraph, kaleoNotification, executionContext);
 		}
 	}
 
 	private static void _sendKaleoNotification(
+			KaleoDefinitionGraph kaleoDefinitionGraph,
 			KaleoNotification kaleoNotification,
 			ExecutionContext executionContext)
 		throws PortalException, SystemException {
@@ -68,9 +78,8 @@ public class NotificationUtil {
 			kaleoNotification.getNotificationTypes());
 
 		List<KaleoNotificationRecipient> kaleoNotificationRecipient =
-			KaleoNotificationRecipientLocalServiceUtil.
-				getKaleoNotificationRecipients(
-					kaleoNotification.getKaleoNotificationId());
+			kaleoDefinitionGraph.getKaleoNotificationRecipients(
+				kaleoNotification.getKaleoNotificationId());
 
 		for (String notificationType : notificationTypes) {
 			NotificationSender notificationSender =
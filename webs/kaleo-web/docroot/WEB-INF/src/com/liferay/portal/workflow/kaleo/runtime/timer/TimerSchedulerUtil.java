@@ -0,0 +1,378 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.timer;
+
+import com.liferay.portal.kernel.dao.jdbc.DataAccess;
+import com.liferay.portal.kernel.dao.orm.DynamicQuery;
+import com.liferay.portal.kernel.dao.orm.OrderFactoryUtil;
+import com.liferay.portal.kernel.dao.orm.ProjectionFactoryUtil;
+import com.liferay.portal.kernel.dao.orm.ProjectionList;
+import com.liferay.portal.kernel.dao.orm.Property;
+import com.liferay.portal.kernel.dao.orm.PropertyFactoryUtil;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.messaging.Message;
+import com.liferay.portal.kernel.messaging.MessageBusUtil;
+import com.liferay.portal.kernel.transaction.TransactionCommitCallbackRegistryUtil;
+import com.liferay.portal.workflow.kaleo.definition.DelayDuration;
+import com.liferay.portal.workflow.kaleo.definition.DurationScale;
+import com.liferay.portal.workflow.kaleo.model.KaleoTimer;
+import com.liferay.portal.workflow.kaleo.runtime.calendar.DefaultDueDateCalculator;
+import com.liferay.portal.workflow.kaleo.runtime.calendar.DueDateCalculator;
+import com.liferay.portal.workflow.kaleo.service.KaleoTimerInstanceTokenLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTimerInstanceTokenUtil;
+import com.liferay.portal.workflow.kaleo.util.SchedulerUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class TimerSchedulerUtil {
+
+	public static Date getDueDate(KaleoTimer kaleoTimer, Date startDate) {
+		DelayDuration delayDuration = new DelayDuration(
+			kaleoTimer.getDuration(),
+			DurationScale.parse(kaleoTimer.getScale()));
+
+		return _dueDateCalculator.getDueDate(startDate, delayDuration);
+	}
+
+	public static Date getRecurrenceDueDate(
+		KaleoTimer kaleoTimer, Date startDate) {
+
+		DelayDuration delayDuration = new DelayDuration(
+			kaleoTimer.getRecurrenceDuration(),
+			DurationScale.parse(kaleoTimer.getRecurrenceScale()));
+
+		return _dueDateCalculator.getDueDate(startDate, delayDuration);
+	}
+
+	public static void schedule(
+		final long kaleoTimerInstanceTokenId, final Date dueDate) {
+
+		TransactionCommitCallbackRegistryUtil.registerCallback(
+			new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+					TimerWheel timerWheel = _timerWheel;
+
+					if (timerWheel != null) {
+						timerWheel.add(
+							kaleoTimerInstanceTokenId, dueDate.getTime());
+					}
+
+					return null;
+				}
+
+			}
+		);
+	}
+
+	public static void unschedule(long kaleoTimerInstanceTokenId) {
+		TimerWheel timerWheel = _timerWheel;
+
+		if (timerWheel != null) {
+			timerWheel.remove(kaleoTimerInstanceTokenId);
+		}
+	}
+
+	public void afterPropertiesSet() {
+		_timerWheel = new TimerWheel(
+			_tickTime, _wheelSize, _wheelLevels, System.currentTimeMillis());
+
+		_schedulerThread = new Thread(
+			new Runnable() {
+
+				@Override
+				public void run() {
+					doRun();
+				}
+
+			},
+			"Kaleo Timer Scheduler");
+
+		_schedulerThread.setDaemon(true);
+
+		_schedulerThread.start();
+	}
+
+	public void destroy() {
+		if (_schedulerThread == null) {
+			return;
+		}
+
+		_schedulerThread.interrupt();
+
+		try {
+			_schedulerThread.join();
+		}
+		catch (InterruptedException ie) {
+		}
+
+		_schedulerThread = null;
+		_timerWheel = null;
+	}
+
+	public void setBatchSize(int batchSize) {
+		_batchSize = batchSize;
+	}
+
+	public void setClaimTime(long claimTime) {
+		_claimTime = claimTime;
+	}
+
+	public void setPollInterval(long pollInterval) {
+		_pollInterval = pollInterval;
+	}
+
+	public void setTickTime(long tickTime) {
+		_tickTime = tickTime;
+	}
+
+	public void setWheelLevels(int wheelLevels) {
+		_wheelLevels = wheelLevels;
+	}
+
+	public void setWheelSize(int wheelSize) {
+		_wheelSize = wheelSize;
+	}
+
+	protected static List<Long> claimKaleoTimerInstanceTokens(
+			List<Long> kaleoTimerInstanceTokenIds, long time)
+		throws Exception {
+
+		List<Long> claimedKaleoTimerInstanceTokenIds = new ArrayList<Long>(
+			kaleoTimerInstanceTokenIds.size());
+
+		Connection con = null;
+		PreparedStatement ps = null;
+
+		boolean autoCommit = true;
+
+		try {
+			con = DataAccess.getConnection();
+
+			autoCommit = con.getAutoCommit();
+
+			con.setAutoCommit(false);
+
+			ps = con.prepareStatement(_CLAIM_SQL);
+
+			for (long kaleoTimerInstanceTokenId : kaleoTimerInstanceTokenIds) {
+				ps.setTimestamp(1, new Timestamp(time + _claimTime));
+				ps.setLong(2, kaleoTimerInstanceTokenId);
+				ps.setBoolean(3, false);
+				ps.setTimestamp(4, new Timestamp(time));
+
+				if (ps.executeUpdate() > 0) {
+					claimedKaleoTimerInstanceTokenIds.add(
+						kaleoTimerInstanceTokenId);
+				}
+			}
+
+			con.commit();
+		}
+		catch (Exception e) {
+			if (con != null) {
+				con.rollback();
+			}
+
+			throw e;
+		}
+		finally {
+			restoreAutoCommit(con, autoCommit);
+
+			DataAccess.cleanUp(con, ps);
+		}
+
+		if (!claimedKaleoTimerInstanceTokenIds.isEmpty()) {
+			KaleoTimerInstanceTokenUtil.clearCache();
+		}
+
+		return claimedKaleoTimerInstanceTokenIds;
+	}
+
+	protected static void doRun() {
+		long nextPollTime = 0;
+		long pollRetryDelay = _tickTime;
+
+		while (true) {
+			long time = System.currentTimeMillis();
+
+			if (time >= nextPollTime) {
+				try {
+					pollKaleoTimerInstanceTokens(time);
+
+					nextPollTime = time + _pollInterval;
+					pollRetryDelay = _tickTime;
+				}
+				catch (Exception e) {
+					_log.error(
+						"Unable to poll Kaleo timers, retrying in " +
+							pollRetryDelay + " ms",
+						e);
+
+					nextPollTime = time + pollRetryDelay;
+					pollRetryDelay = Math.min(
+						pollRetryDelay * 2, _pollInterval);
+				}
+			}
+
+			try {
+				fireKaleoTimerInstanceTokens(_timerWheel.advance(time), time);
+			}
+			catch (Exception e) {
+				_log.error("Unable to fire Kaleo timers", e);
+			}
+
+			try {
+				Thread.sleep(_tickTime);
+			}
+			catch (InterruptedException ie) {
+				return;
+			}
+		}
+	}
+
+	protected static void fireKaleoTimerInstanceTokens(
+			List<Long> kaleoTimerInstanceTokenIds, long time)
+		throws Exception {
+
+		for (int i = 0; i < kaleoTimerInstanceTokenIds.size();
+				i += _batchSize) {
+
+			int end = Math.min(
+				i + _batchSize, kaleoTimerInstanceTokenIds.size());
+
+			List<Long> batchKaleoTimerInstanceTokenIds =
+				kaleoTimerInstanceTokenIds.subList(i, end);
+
+			List<Long> claimedKaleoTimerInstanceTokenIds =
+				claimKaleoTimerInstanceTokens(
+					batchKaleoTimerInstanceTokenIds, time);
+
+			for (long kaleoTimerInstanceTokenId :
+					claimedKaleoTimerInstanceTokenIds) {
+
+				Message message = new Message();
+
+				message.put(
+					"kaleoTimerInstanceTokenId", kaleoTimerInstanceTokenId);
+
+				MessageBusUtil.sendMessage(
+					SchedulerUtil.WORKFLOW_TIMER_DESTINATION_NAME, message);
+			}
+
+			if (_log.isDebugEnabled()) {
+				_log.debug(
+					"Fired " + claimedKaleoTimerInstanceTokenIds.size() +
+						" of " + batchKaleoTimerInstanceTokenIds.size() +
+							" due Kaleo timers");
+			}
+		}
+	}
+
+	protected static void pollKaleoTimerInstanceTokens(long time)
+		throws SystemException {
+
+		long dueTime = Math.min(
+			time + (_pollInterval * 2), _timerWheel.getHorizonTime());
+
+		DynamicQuery dynamicQuery =
+			KaleoTimerInstanceTokenLocalServiceUtil.dynamicQuery();
+
+		Property completedProperty = PropertyFactoryUtil.forName("completed");
+
+		dynamicQuery.add(completedProperty.eq(false));
+
+		Property dueDateProperty = PropertyFactoryUtil.forName("dueDate");
+
+		dynamicQuery.add(dueDateProperty.le(new Date(dueTime)));
+
+		dynamicQuery.addOrder(OrderFactoryUtil.asc("dueDate"));
+
+		ProjectionList projectionList = ProjectionFactoryUtil.projectionList();
+
+		projectionList.add(
+			ProjectionFactoryUtil.property("kaleoTimerInstanceTokenId"));
+		projectionList.add(ProjectionFactoryUtil.property("dueDate"));
+
+		dynamicQuery.setProjection(projectionList);
+
+		int start = 0;
+
+		while (true) {
+			List<Object[]> results =
+				KaleoTimerInstanceTokenLocalServiceUtil.dynamicQuery(
+					dynamicQuery, start, start + _batchSize);
+
+			for (Object[] result : results) {
+				long kaleoTimerInstanceTokenId = (Long)result[0];
+				Date dueDate = (Date)result[1];
+
+				_timerWheel.add(kaleoTimerInstanceTokenId, dueDate.getTime());
+			}
+
+			if (results.size() < _batchSize) {
+				break;
+			}
+
+			start += _batchSize;
+		}
+	}
+
+	protected static void restoreAutoCommit(
+		Connection con, boolean autoCommit) {
+
+		if (con == null) {
+			return;
+		}
+
+		try {
+			con.setAutoCommit(autoCommit);
+		}
+		catch (SQLException sqle) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to restore auto commit", sqle);
+			}
+		}
+	}
+
+	private static final String _CLAIM_SQL =
+		"update KaleoTimerInstanceToken set dueDate = ? where " +
+			"kaleoTimerInstanceTokenId = ? and completed = ? and dueDate <= ?";
+
+	private static Log _log = LogFactoryUtil.getLog(TimerSchedulerUtil.class);
+
+	private static int _batchSize = 100;
+	private static long _claimTime = 300000;
+	private static DueDateCalculator _dueDateCalculator =
+		new DefaultDueDateCalculator();
+	private static long _pollInterval = 60000;
+	private static Thread _schedulerThread;
+	private static long _tickTime = 1000;
+	private static volatile TimerWheel _timerWheel;
+	private static int _wheelLevels = 3;
+	private static int _wheelSize = 60;
+
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.timer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TimerWheel {
+
+	public TimerWheel(
+		long tickTime, int wheelSize, int wheelLevels, long currentTime) {
+
+		_tickTime = tickTime;
+		_wheelSize = wheelSize;
+		_wheelLevels = wheelLevels;
+
+		_currentTime = currentTime - (currentTime % tickTime);
+
+		_levelTickTimes = new long[wheelLevels];
+
+		long levelTickTime = tickTime;
+
+		for (int i = 0; i < wheelLevels; i++) {
+			_levelTickTimes[i] = levelTickTime;
+
+			levelTickTime *= wheelSize;
+		}
+
+		_horizonTime = levelTickTime;
+
+		_slots = new ArrayList<Set<Long>>(wheelLevels * wheelSize);
+
+		for (int i = 0; i < (wheelLevels * wheelSize); i++) {
+			_slots.add(new HashSet<Long>());
+		}
+	}
+
+	public synchronized boolean add(long id, long dueTime) {
+		remove(id);
+
+		if (!place(id, dueTime)) {
+			return false;
+		}
+
+		_dueTimes.put(id, dueTime);
+
+		return true;
+	}
+
+	public synchronized List<Long> advance(long time) {
+		if ((time - _currentTime) >= (_tickTime * _wheelSize)) {
+			rebuild(time);
+		}
+		else {
+			while ((_currentTime + _tickTime) <= time) {
+				_currentTime += _tickTime;
+
+				tick();
+			}
+		}
+
+		List<Long> dueIds = new ArrayList<Long>(_dueIds);
+
+		_dueIds.clear();
+
+		for (long dueId : dueIds) {
+			_dueTimes.remove(dueId);
+		}
+
+		return dueIds;
+	}
+
+	public synchronized boolean contains(long id) {
+		return _dueTimes.containsKey(id);
+	}
+
+	public synchronized long getHorizonTime() {
+		return _currentTime + _horizonTime;
+	}
+
+	public synchronized void remove(long id) {
+		Long dueTime = _dueTimes.remove(id);
+
+		if (dueTime == null) {
+			return;
+		}
+
+		Integer slotIndex = _slotIndexes.remove(id);
+
+		if (slotIndex != null) {
+			Set<Long> slot = _slots.get(slotIndex);
+
+			slot.remove(id);
+		}
+		else {
+			_dueIds.remove(Long.valueOf(id));
+		}
+	}
+
+	public synchronized int size() {
+		return _dueTimes.size();
+	}
+
+	protected void cascade(int level) {
+		long levelTickTime = _levelTickTimes[level];
+
+		int slotIndex =
+			(level * _wheelSize) +
+				(int)((_currentTime / levelTickTime) % _wheelSize);
+
+		Set<Long> slot = _slots.get(slotIndex);
+
+		if (slot.isEmpty()) {
+			return;
+		}
+
+		List<Long> ids = new ArrayList<Long>(slot);
+
+		slot.clear();
+
+		for (long id : ids) {
+			_slotIndexes.remove(id);
+
+			place(id, _dueTimes.get(id));
+		}
+	}
+
+	protected boolean place(long id, long dueTime) {
+		if (dueTime < _currentTime) {
+			_dueIds.add(id);
+
+			return true;
+		}
+
+		for (int level = 0; level < _wheelLevels; level++) {
+			long levelTickTime = _levelTickTimes[level];
+
+			long levelCurrentTime =
+				_currentTime - (_currentTime % levelTickTime);
+
+			if (dueTime >= (levelCurrentTime + (levelTickTime * _wheelSize))) {
+				continue;
+			}
+
+			int slotIndex =
+				(level * _wheelSize) +
+					(int)((dueTime / levelTickTime) % _wheelSize);
+
+			Set<Long> slot = _slots.get(slotIndex);
+
+			slot.add(id);
+
+			_slotIndexes.put(id, slotIndex);
+
+			return true;
+		}
+
+		return false;
+	}
+
+	protected void rebuild(long time) {
+		_currentTime = time - (time % _tickTime);
+
+		for (Set<Long> slot : _slots) {
+			slot.clear();
+		}
+
+		// Ids without a slot are already due and must not be placed twice
+
+		List<Long> ids = new ArrayList<Long>(_slotIndexes.keySet());
+
+		_slotIndexes.clear();
+
+		for (long id : ids) {
+			if (!place(id, _dueTimes.get(id))) {
+				_dueTimes.remove(id);
+			}
+		}
+	}
+
+	protected void tick() {
+		long previousTime = _currentTime - _tickTime;
+
+		int slotIndex = (int)((previousTime / _tickTime) % _wheelSize);
+
+		Set<Long> slot = _slots.get(slotIndex);
+
+		for (long id : slot) {
+			_slotIndexes.remove(id);
+		}
+
+		_dueIds.addAll(slot);
+
+		slot.clear();
+
+		for (int level = _wheelLevels - 1; level > 0; level--) {
+			if ((_currentTime % _levelTickTimes[level]) == 0) {
+				cascade(level);
+			}
+		}
+	}
+
+	private long _currentTime;
+	private final List<Long> _dueIds = new ArrayList<Long>();
+	private final Map<Long, Long> _dueTimes = new HashMap<Long, Long>();
+	private final long _horizonTime;
+	private final long[] _levelTickTimes;
+	private final Map<Long, Integer> _slotIndexes =
+		new HashMap<Long, Integer>();
+	private final List<Set<Long>> _slots;
+	private final long _tickTime;
+	private final int _wheelLevels;
+	private final int _wheelSize;
+
+}
\ No newline at end of file
@@ -20,14 +20,12 @@ import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.messaging.BaseMessageListener;
 import com.liferay.portal.kernel.messaging.Message;
-import com.liferay.portal.kernel.scheduler.SchedulerEngineHelperUtil;
-import com.liferay.portal.kernel.scheduler.StorageType;
 import com.liferay.portal.kernel.workflow.WorkflowConstants;
 import com.liferay.portal.service.ServiceContext;
 import com.liferay.portal.workflow.kaleo.model.KaleoTimerInstanceToken;
 import com.liferay.portal.workflow.kaleo.runtime.WorkflowEngine;
+import com.liferay.portal.workflow.kaleo.runtime.timer.TimerSchedulerUtil;
 import com.liferay.portal.workflow.kaleo.service.KaleoTimerInstanceTokenLocalServiceUtil;
-import com.liferay.portal.workflow.kaleo.util.SchedulerUtil;
 import com.liferay.portal.workflow.kaleo.util.WorkflowContextUtil;
 
 import java.io.Serializable;
@@ -65,15 +63,12 @@ public class TimerMessageListener extends BaseMessageListener {
 		catch (Exception e) {
 			if (_log.isWarnEnabled()) {
 				_log.warn(
-					"Unable to execute scheduled job. Unregistering job " +
+					"Unable to execute scheduled timer. Unscheduling timer " +
 						message,
 					e);
 			}
 
-			String groupName = SchedulerUtil.getGroupName(
-				kaleoTimerInstanceTokenId);
-
-			SchedulerEngineHelperUtil.delete(groupName, StorageType.PERSISTED);
+			unscheduleKaleoTimerInstanceToken(kaleoTimerInstanceTokenId);
 		}
 	}
 
@@ -91,6 +86,26 @@ public class TimerMessageListener extends BaseMessageListener {
 		return kaleoTimerInstanceToken;
 	}
 
+	protected void unscheduleKaleoTimerInstanceToken(
+			long kaleoTimerInstanceTokenId)
+		throws SystemException {
+
+		TimerSchedulerUtil.unschedule(kaleoTimerInstanceTokenId);
+
+		KaleoTimerInstanceToken kaleoTimerInstanceToken =
+			KaleoTimerInstanceTokenLocalServiceUtil.
+				fetchKaleoTimerInstanceToken(kaleoTimerInstanceTokenId);
+
+		if (kaleoTimerInstanceToken == null) {
+			return;
+		}
+
+		kaleoTimerInstanceToken.setDueDate(null);
+
+		KaleoTimerInstanceTokenLocalServiceUtil.updateKaleoTimerInstanceToken(
+			kaleoTimerInstanceToken);
+	}
+
 	private static Log _log = LogFactoryUtil.getLog(TimerMessageListener.class);
 
 	private WorkflowEngine _workflowEngine;
@@ -0,0 +1,359 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.util;
+
+import com.liferay.portal.kernel.dao.jdbc.DataAccess;
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.transaction.TransactionCommitCallbackRegistryUtil;
+import com.liferay.portal.kernel.util.SetUtil;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.workflow.kaleo.definition.LogType;
+import com.liferay.portal.workflow.kaleo.model.KaleoDefinition;
+import com.liferay.portal.workflow.kaleo.model.KaleoLog;
+import com.liferay.portal.workflow.kaleo.service.KaleoDefinitionLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.service.KaleoLogLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoLogUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class KaleoLogWriterUtil {
+
+	public static void addKaleoLog(final KaleoLog kaleoLog) {
+		TransactionCommitCallbackRegistryUtil.registerCallback(
+			new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+					synchronized (_lock) {
+						if ((_writerThread != null) &&
+							_kaleoLogs.offer(kaleoLog)) {
+
+							return null;
+						}
+					}
+
+					// The queue is full or the writer has been stopped
+
+					writeKaleoLogs(Collections.singletonList(kaleoLog));
+
+					return null;
+				}
+
+			}
+		);
+	}
+
+	public static boolean isAsynchronous() {
+		return _asynchronous;
+	}
+
+	public static boolean isLogged(long kaleoDefinitionId, LogType logType)
+		throws PortalException, SystemException {
+
+		if (_kaleoDefinitionLogTypes.isEmpty()) {
+			return true;
+		}
+
+		KaleoDefinition kaleoDefinition =
+			KaleoDefinitionLocalServiceUtil.getKaleoDefinition(
+				kaleoDefinitionId);
+
+		Set<String> logTypes = _kaleoDefinitionLogTypes.get(
+			kaleoDefinition.getName());
+
+		if ((logTypes == null) || logTypes.contains(logType.name())) {
+			return true;
+		}
+
+		return false;
+	}
+
+	public void afterPropertiesSet() {
+		if (!_asynchronous) {
+			return;
+		}
+
+		_kaleoLogs = new LinkedBlockingQueue<KaleoLog>(_queueCapacity);
+
+		Thread writerThread = new Thread(
+			new Runnable() {
+
+				@Override
+				public void run() {
+					doRun();
+				}
+
+			},
+			"Kaleo Log Writer");
+
+		writerThread.setDaemon(true);
+
+		writerThread.start();
+
+		synchronized (_lock) {
+			_writerThread = writerThread;
+		}
+	}
+
+	public void destroy() {
+		Thread writerThread = null;
+
+		synchronized (_lock) {
+			writerThread = _writerThread;
+
+			_writerThread = null;
+		}
+
+		if (writerThread == null) {
+			return;
+		}
+
+		writerThread.interrupt();
+
+		try {
+			writerThread.join();
+		}
+		catch (InterruptedException ie) {
+		}
+
+		List<KaleoLog> kaleoLogs = new ArrayList<KaleoLog>();
+
+		_kaleoLogs.drainTo(kaleoLogs);
+
+		writeKaleoLogs(kaleoLogs);
+	}
+
+	public void setAsynchronous(boolean asynchronous) {
+		_asynchronous = asynchronous;
+	}
+
+	public void setBatchSize(int batchSize) {
+		_batchSize = batchSize;
+	}
+
+	public void setKaleoDefinitionLogTypes(
+		Map<String, String> kaleoDefinitionLogTypes) {
+
+		Map<String, Set<String>> logTypesMap =
+			new HashMap<String, Set<String>>();
+
+		for (Map.Entry<String, String> entry :
+				kaleoDefinitionLogTypes.entrySet()) {
+
+			logTypesMap.put(
+				entry.getKey(),
+				SetUtil.fromArray(StringUtil.split(entry.getValue())));
+		}
+
+		_kaleoDefinitionLogTypes = logTypesMap;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		_queueCapacity = queueCapacity;
+	}
+
+	protected static void doRun() {
+		List<KaleoLog> kaleoLogs = new ArrayList<KaleoLog>(_batchSize);
+
+		while (true) {
+			try {
+				kaleoLogs.add(_kaleoLogs.take());
+			}
+			catch (InterruptedException ie) {
+				return;
+			}
+
+			_kaleoLogs.drainTo(kaleoLogs, _batchSize - 1);
+
+			writeKaleoLogs(kaleoLogs);
+
+			kaleoLogs.clear();
+		}
+	}
+
+	protected static void restoreAutoCommit(
+		Connection con, boolean autoCommit) {
+
+		if (con == null) {
+			return;
+		}
+
+		try {
+			con.setAutoCommit(autoCommit);
+		}
+		catch (SQLException sqle) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to restore auto commit", sqle);
+			}
+		}
+	}
+
+	protected static void rollback(Connection con) {
+		if (con == null) {
+			return;
+		}
+
+		try {
+			con.rollback();
+		}
+		catch (SQLException sqle) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to roll back batch insert", sqle);
+			}
+		}
+	}
+
+	protected static void setTimestamp(
+			PreparedStatement ps, int parameterIndex, Date date)
+		throws Exception {
+
+		if (date == null) {
+			ps.setTimestamp(parameterIndex, null);
+		}
+		else {
+			ps.setTimestamp(parameterIndex, new Timestamp(date.getTime()));
+		}
+	}
+
+	protected static void writeKaleoLogs(List<KaleoLog> kaleoLogs) {
+		if (kaleoLogs.isEmpty()) {
+			return;
+		}
+
+		Connection con = null;
+		PreparedStatement ps = null;
+
+		boolean autoCommit = true;
+
+		try {
+			con = DataAccess.getConnection();
+
+			autoCommit = con.getAutoCommit();
+
+			con.setAutoCommit(false);
+
+			ps = con.prepareStatement(_INSERT_SQL);
+
+			for (KaleoLog kaleoLog : kaleoLogs) {
+				ps.setLong(1, kaleoLog.getKaleoLogId());
+				ps.setLong(2, kaleoLog.getGroupId());
+				ps.setLong(3, kaleoLog.getCompanyId());
+				ps.setLong(4, kaleoLog.getUserId());
+				ps.setString(5, kaleoLog.getUserName());
+				setTimestamp(ps, 6, kaleoLog.getCreateDate());
+				setTimestamp(ps, 7, kaleoLog.getModifiedDate());
+				ps.setString(8, kaleoLog.getKaleoClassName());
+				ps.setLong(9, kaleoLog.getKaleoClassPK());
+				ps.setLong(10, kaleoLog.getKaleoDefinitionId());
+				ps.setLong(11, kaleoLog.getKaleoInstanceId());
+				ps.setLong(12, kaleoLog.getKaleoInstanceTokenId());
+				ps.setLong(13, kaleoLog.getKaleoTaskInstanceTokenId());
+				ps.setString(14, kaleoLog.getKaleoNodeName());
+				ps.setBoolean(15, kaleoLog.getTerminalKaleoNode());
+				ps.setLong(16, kaleoLog.getKaleoActionId());
+				ps.setString(17, kaleoLog.getKaleoActionName());
+				ps.setString(18, kaleoLog.getKaleoActionDescription());
+				ps.setLong(19, kaleoLog.getPreviousKaleoNodeId());
+				ps.setString(20, kaleoLog.getPreviousKaleoNodeName());
+				ps.setString(21, kaleoLog.getPreviousAssigneeClassName());
+				ps.setLong(22, kaleoLog.getPreviousAssigneeClassPK());
+				ps.setString(23, kaleoLog.getCurrentAssigneeClassName());
+				ps.setLong(24, kaleoLog.getCurrentAssigneeClassPK());
+				ps.setString(25, kaleoLog.getType());
+				ps.setString(26, kaleoLog.getComment());
+				setTimestamp(ps, 27, kaleoLog.getStartDate());
+				setTimestamp(ps, 28, kaleoLog.getEndDate());
+				ps.setLong(29, kaleoLog.getDuration());
+				ps.setString(30, kaleoLog.getWorkflowContext());
+
+				ps.addBatch();
+			}
+
+			ps.executeBatch();
+
+			con.commit();
+		}
+		catch (Exception e) {
+			rollback(con);
+
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to batch insert " + kaleoLogs.size() +
+						" Kaleo logs, adding them one by one",
+					e);
+			}
+
+			for (KaleoLog kaleoLog : kaleoLogs) {
+				try {
+					KaleoLogLocalServiceUtil.addKaleoLog(kaleoLog);
+				}
+				catch (Exception e2) {
+					_log.error(
+						"Unable to add Kaleo log " + kaleoLog.getKaleoLogId(),
+						e2);
+				}
+			}
+		}
+		finally {
+			restoreAutoCommit(con, autoCommit);
+
+			DataAccess.cleanUp(con, ps);
+		}
+
+		KaleoLogUtil.clearCache();
+	}
+
+	private static final String _INSERT_SQL =
+		"insert into KaleoLog (kaleoLogId, groupId, companyId, userId, " +
+			"userName, createDate, modifiedDate, kaleoClassName, " +
+			"kaleoClassPK, kaleoDefinitionId, kaleoInstanceId, " +
+			"kaleoInstanceTokenId, kaleoTaskInstanceTokenId, kaleoNodeName, " +
+			"terminalKaleoNode, kaleoActionId, kaleoActionName, " +
+			"kaleoActionDescription, previousKaleoNodeId, " +
+			"previousKaleoNodeName, previousAssigneeClassName, " +
+			"previousAssigneeClassPK, currentAssigneeClassName, " +
+			"currentAssigneeClassPK, type_, comment_, startDate, endDate, " +
+			"duration, workflowContext) values (?, ?, ?, ?, ?, ?, ?, ?, ?, " +
+			"?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static Log _log = LogFactoryUtil.getLog(KaleoLogWriterUtil.class);
+
+	private static boolean _asynchronous;
+	private static int _batchSize = 100;
+	private static Map<String, Set<String>> _kaleoDefinitionLogTypes =
+		Collections.emptyMap();
+	private static BlockingQueue<KaleoLog> _kaleoLogs;
+	private static final Object _lock = new Object();
+	private static int _queueCapacity = 10000;
+	private static Thread _writerThread;
+
+}
\ No newline at end of file
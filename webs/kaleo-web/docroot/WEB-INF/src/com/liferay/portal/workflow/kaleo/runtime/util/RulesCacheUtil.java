@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.util;
+
+import com.liferay.portal.kernel.bi.rules.Fact;
+import com.liferay.portal.kernel.bi.rules.Query;
+import com.liferay.portal.kernel.bi.rules.RulesEngineException;
+import com.liferay.portal.kernel.bi.rules.RulesEngineUtil;
+import com.liferay.portal.kernel.bi.rules.RulesResourceRetriever;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.resource.StringResourceRetriever;
+import com.liferay.portal.kernel.util.StringBundler;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RulesCacheUtil {
+
+	public static void compile(
+			String className, long classPK, long kaleoDefinitionId,
+			String rules, ClassLoader... classLoaders)
+		throws RulesEngineException {
+
+		String domainName = getDomainName(className, classPK);
+
+		if (isCompiled(domainName)) {
+			return;
+		}
+
+		long startTime = System.currentTimeMillis();
+
+		RulesResourceRetriever rulesResourceRetriever =
+			new RulesResourceRetriever(new StringResourceRetriever(rules));
+
+		RulesEngineUtil.update(
+			domainName, rulesResourceRetriever, classLoaders);
+
+		long compileTime = System.currentTimeMillis() - startTime;
+
+		_compileTime.addAndGet(compileTime);
+
+		_kaleoDefinitionIds.put(domainName, kaleoDefinitionId);
+
+		if (_log.isDebugEnabled()) {
+			_log.debug("Compiled " + domainName + " in " + compileTime + " ms");
+		}
+	}
+
+	public static Map<String, ?> execute(
+			String className, long classPK, long kaleoDefinitionId,
+			String rules, List<Fact<?>> facts, Query query,
+			ClassLoader... classLoaders)
+		throws RulesEngineException {
+
+		String domainName = getDomainName(className, classPK);
+
+		if (isCompiled(domainName)) {
+			_hitCount.incrementAndGet();
+		}
+		else {
+			_missCount.incrementAndGet();
+
+			compile(
+				className, classPK, kaleoDefinitionId, rules, classLoaders);
+		}
+
+		return RulesEngineUtil.execute(domainName, facts, query, classLoaders);
+	}
+
+	public static long getCompileTime() {
+		return _compileTime.get();
+	}
+
+	public static long getHitCount() {
+		return _hitCount.get();
+	}
+
+	public static long getMissCount() {
+		return _missCount.get();
+	}
+
+	public static void remove(long kaleoDefinitionId)
+		throws RulesEngineException {
+
+		Iterator<Map.Entry<String, Long>> iterator =
+			_kaleoDefinitionIds.entrySet().iterator();
+
+		while (iterator.hasNext()) {
+			Map.Entry<String, Long> entry = iterator.next();
+
+			if (entry.getValue() != kaleoDefinitionId) {
+				continue;
+			}
+
+			iterator.remove();
+
+			RulesEngineUtil.remove(entry.getKey());
+		}
+	}
+
+	protected static String getDomainName(String className, long classPK) {
+		StringBundler sb = new StringBundler(4);
+
+		sb.append("kaleo_");
+		sb.append(className);
+		sb.append("_");
+		sb.append(classPK);
+
+		return sb.toString();
+	}
+
+	protected static boolean isCompiled(String domainName)
+		throws RulesEngineException {
+
+		if (!_kaleoDefinitionIds.containsKey(domainName)) {
+			return false;
+		}
+
+		// The rules engine drops its domains when it is redeployed
+
+		if (RulesEngineUtil.containsRuleDomain(domainName)) {
+			return true;
+		}
+
+		_kaleoDefinitionIds.remove(domainName);
+
+		return false;
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(RulesCacheUtil.class);
+
+	private static AtomicLong _compileTime = new AtomicLong();
+	private static AtomicLong _hitCount = new AtomicLong();
+	private static Map<String, Long> _kaleoDefinitionIds =
+		new ConcurrentHashMap<String, Long>();
+	private static AtomicLong _missCount = new AtomicLong();
+
+}
\ No newline at end of file
@@ -35,6 +35,7 @@ import com.liferay.portal.workflow.kaleo.model.KaleoLog;
 import com.liferay.portal.workflow.kaleo.model.KaleoNode;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignmentInstance;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
+import com.liferay.portal.workflow.kaleo.runtime.util.KaleoLogWriterUtil;
 import com.liferay.portal.workflow.kaleo.service.base.KaleoLogLocalServiceBaseImpl;
 import com.liferay.portal.workflow.kaleo.util.KaleoLogUtil;
 import com.liferay.portal.workflow.kaleo.util.WorkflowContextUtil;
@@ -69,7 +70,7 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 		kaleoLog.setEndDate(new Date(endTime));
 		kaleoLog.setDuration(endTime - startTime);
 
-		kaleoLogPersistence.update(kaleoLog);
+		writeKaleoLog(kaleoLog);
 
 		return kaleoLog;
 	}
@@ -96,7 +97,7 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 
 		kaleoLog.setStartDate(kaleoLog.getCreateDate());
 
-		kaleoLogPersistence.update(kaleoLog);
+		writeKaleoLog(kaleoLog);
 
 		return kaleoLog;
 	}
@@ -128,9 +129,25 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 			kaleoLog.setDuration(endDate.getTime() - startDate.getTime());
 		}
 		catch (NoSuchLogException nsle) {
+			if (KaleoLogWriterUtil.isAsynchronous()) {
+				KaleoInstanceToken currentKaleoInstanceToken =
+					kaleoInstanceTokenPersistence.findByPrimaryKey(
+						kaleoInstanceToken.getKaleoInstanceTokenId());
+
+				if (currentKaleoInstanceToken.getCurrentKaleoNodeId() ==
+						departingKaleoNode.getKaleoNodeId()) {
+
+					Date startDate =
+						currentKaleoInstanceToken.getModifiedDate();
+					Date endDate = kaleoLog.getEndDate();
+
+					kaleoLog.setDuration(
+						endDate.getTime() - startDate.getTime());
+				}
+			}
 		}
 
-		kaleoLogPersistence.update(kaleoLog);
+		writeKaleoLog(kaleoLog);
 
 		return kaleoLog;
 	}
@@ -189,7 +206,7 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 		kaleoLog.setWorkflowContext(
 			WorkflowContextUtil.convert(workflowContext));
 
-		kaleoLogPersistence.update(kaleoLog);
+		writeKaleoLog(kaleoLog);
 
 		return kaleoLog;
 	}
@@ -234,7 +251,7 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 		kaleoLog.setWorkflowContext(
 			WorkflowContextUtil.convert(workflowContext));
 
-		kaleoLogPersistence.update(kaleoLog);
+		writeKaleoLog(kaleoLog);
 
 		return kaleoLog;
 	}
@@ -269,7 +286,7 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 		kaleoLog.setWorkflowContext(
 			WorkflowContextUtil.convert(workflowContext));
 
-		kaleoLogPersistence.update(kaleoLog);
+		writeKaleoLog(kaleoLog);
 
 		return kaleoLog;
 	}
@@ -296,9 +313,15 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 			kaleoLog.setDuration(endDate.getTime() - startDate.getTime());
 		}
 		catch (NoSuchLogException nsle) {
+			if (KaleoLogWriterUtil.isAsynchronous()) {
+				Date startDate = kaleoInstanceToken.getCreateDate();
+				Date endDate = kaleoLog.getEndDate();
+
+				kaleoLog.setDuration(endDate.getTime() - startDate.getTime());
+			}
 		}
 
-		kaleoLogPersistence.update(kaleoLog);
+		writeKaleoLog(kaleoLog);
 
 		return kaleoLog;
 	}
@@ -319,7 +342,7 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 
 		kaleoLog.setWorkflowContext(kaleoInstance.getWorkflowContext());
 
-		kaleoLogPersistence.update(kaleoLog);
+		writeKaleoLog(kaleoLog);
 
 		return kaleoLog;
 	}
@@ -513,4 +536,23 @@ public class KaleoLogLocalServiceImpl extends KaleoLogLocalServiceBaseImpl {
 		throw new NoSuchLogException();
 	}
 
+	protected void writeKaleoLog(KaleoLog kaleoLog)
+		throws PortalException, SystemException {
+
+		LogType logType = LogType.valueOf(kaleoLog.getType());
+
+		if (!KaleoLogWriterUtil.isLogged(
+				kaleoLog.getKaleoDefinitionId(), logType)) {
+
+			return;
+		}
+
+		if (KaleoLogWriterUtil.isAsynchronous()) {
+			KaleoLogWriterUtil.addKaleoLog(kaleoLog);
+		}
+		else {
+			kaleoLogPersistence.update(kaleoLog);
+		}
+	}
+
 }
\ No newline at end of file
@@ -16,10 +16,17 @@ package com.liferay.portal.workflow.kaleo.service.impl;
 
 import com.liferay.portal.kernel.dao.orm.DynamicQuery;
 import com.liferay.portal.kernel.dao.orm.DynamicQueryFactoryUtil;
+import com.liferay.portal.kernel.dao.orm.ProjectionFactoryUtil;
 import com.liferay.portal.kernel.dao.orm.Property;
 import com.liferay.portal.kernel.dao.orm.PropertyFactoryUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.Field;
+import com.liferay.portal.kernel.search.Hits;
+import com.liferay.portal.kernel.search.Indexer;
+import com.liferay.portal.kernel.search.IndexerRegistryUtil;
+import com.liferay.portal.kernel.search.SearchException;
 import com.liferay.portal.kernel.staging.StagingUtil;
 import com.liferay.portal.kernel.util.CalendarFactoryUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
@@ -30,15 +37,18 @@ import com.liferay.portal.kernel.workflow.WorkflowConstants;
 import com.liferay.portal.model.Role;
 import com.liferay.portal.model.User;
 import com.liferay.portal.service.ServiceContext;
+import com.liferay.portal.workflow.kaleo.model.KaleoInstance;
 import com.liferay.portal.workflow.kaleo.model.KaleoInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignment;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
 import com.liferay.portal.workflow.kaleo.service.base.KaleoTaskInstanceTokenLocalServiceBaseImpl;
 import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTaskInstanceTokenQuery;
+import com.liferay.portal.workflow.kaleo.util.KaleoTaskInstanceTokenIndexer;
 import com.liferay.portal.workflow.kaleo.util.WorkflowContextUtil;
 
 import java.io.Serializable;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
@@ -118,6 +128,8 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 			kaleoTaskInstanceToken, kaleoTaskAssignments, workflowContext,
 			serviceContext);
 
+		reindex(kaleoTaskInstanceToken);
+
 		return kaleoTaskInstanceToken;
 	}
 
@@ -143,6 +155,8 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 				kaleoTaskInstanceToken, assigneeClassName, assigneeClassPK,
 				serviceContext);
 
+		reindex(kaleoTaskInstanceToken);
+
 		return kaleoTaskInstanceToken;
 	}
 
@@ -173,6 +187,10 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		kaleoTimerInstanceTokenLocalService.completeKaleoTimerInstanceTokens(
 			kaleoTaskInstanceToken.getKaleoInstanceTokenId(), serviceContext);
 
+		// Search
+
+		reindex(kaleoTaskInstanceToken);
+
 		return kaleoTaskInstanceToken;
 	}
 
@@ -182,12 +200,19 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 
 		// Kaleo task instance tokens
 
+		List<KaleoTaskInstanceToken> kaleoTaskInstanceTokens =
+			kaleoTaskInstanceTokenPersistence.findByCompanyId(companyId);
+
 		kaleoTaskInstanceTokenPersistence.removeByCompanyId(companyId);
 
 		// Kaleo task assignment instances
 
 		kaleoTaskAssignmentInstanceLocalService.
 			deleteCompanyKaleoTaskAssignmentInstances(companyId);
+
+		// Search
+
+		deleteIndexDocuments(kaleoTaskInstanceTokens);
 	}
 
 	@Override
@@ -197,6 +222,10 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 
 		// Kaleo task instance tokens
 
+		List<KaleoTaskInstanceToken> kaleoTaskInstanceTokens =
+			kaleoTaskInstanceTokenPersistence.findByKaleoDefinitionId(
+				kaleoDefinitionId);
+
 		kaleoTaskInstanceTokenPersistence.removeByKaleoDefinitionId(
 			kaleoDefinitionId);
 
@@ -205,6 +234,10 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		kaleoTaskAssignmentInstanceLocalService.
 			deleteKaleoDefinitionKaleoTaskAssignmentInstances(
 				kaleoDefinitionId);
+
+		// Search
+
+		deleteIndexDocuments(kaleoTaskInstanceTokens);
 	}
 
 	@Override
@@ -213,6 +246,10 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 
 		// Kaleo task instance tokens
 
+		List<KaleoTaskInstanceToken> kaleoTaskInstanceTokens =
+			kaleoTaskInstanceTokenPersistence.findByKaleoInstanceId(
+				kaleoInstanceId);
+
 		kaleoTaskInstanceTokenPersistence.removeByKaleoInstanceId(
 			kaleoInstanceId);
 
@@ -220,6 +257,10 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 
 		kaleoTaskAssignmentInstanceLocalService.
 			deleteKaleoInstanceKaleoTaskAssignmentInstances(kaleoInstanceId);
+
+		// Search
+
+		deleteIndexDocuments(kaleoTaskInstanceTokens);
 	}
 
 	@Override
@@ -265,7 +306,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		kaleoTaskInstanceTokenQuery.setRoleIds(roleIds);
 		kaleoTaskInstanceTokenQuery.setStart(start);
 
-		return kaleoTaskInstanceTokenFinder.findKaleoTaskInstanceTokens(
+		return findKaleoTaskInstanceTokens(
 			kaleoTaskInstanceTokenQuery);
 	}
 
@@ -296,7 +337,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		kaleoTaskInstanceTokenQuery.setOrderByComparator(orderByComparator);
 		kaleoTaskInstanceTokenQuery.setStart(start);
 
-		return kaleoTaskInstanceTokenFinder.findKaleoTaskInstanceTokens(
+		return findKaleoTaskInstanceTokens(
 			kaleoTaskInstanceTokenQuery);
 	}
 
@@ -326,7 +367,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		kaleoTaskInstanceTokenQuery.setOrderByComparator(orderByComparator);
 		kaleoTaskInstanceTokenQuery.setStart(start);
 
-		return kaleoTaskInstanceTokenFinder.findKaleoTaskInstanceTokens(
+		return findKaleoTaskInstanceTokens(
 			kaleoTaskInstanceTokenQuery);
 	}
 
@@ -355,7 +396,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 
 		kaleoTaskInstanceTokenQuery.setRoleIds(roleIds);
 
-		return kaleoTaskInstanceTokenFinder.countKaleoTaskInstanceTokens(
+		return countKaleoTaskInstanceTokens(
 			kaleoTaskInstanceTokenQuery);
 	}
 
@@ -382,7 +423,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 			serviceContext.getUserId());
 		kaleoTaskInstanceTokenQuery.setCompleted(completed);
 
-		return kaleoTaskInstanceTokenFinder.countKaleoTaskInstanceTokens(
+		return countKaleoTaskInstanceTokens(
 			kaleoTaskInstanceTokenQuery);
 	}
 
@@ -399,7 +440,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		kaleoTaskInstanceTokenQuery.setAssigneeClassPK(assigneeClassPK);
 		kaleoTaskInstanceTokenQuery.setCompleted(completed);
 
-		return kaleoTaskInstanceTokenFinder.countKaleoTaskInstanceTokens(
+		return countKaleoTaskInstanceTokens(
 			kaleoTaskInstanceTokenQuery);
 	}
 
@@ -418,10 +459,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 
 		dynamicQuery.add(companyIdProperty.eq(serviceContext.getCompanyId()));
 
-		Property workflowContextProperty = PropertyFactoryUtil.forName(
-			"workflowContext");
-
-		dynamicQuery.add(workflowContextProperty.like("\"userId\":" + userId));
+		addSubmittingUserCriterion(dynamicQuery, userId);
 
 		addCompletedCriterion(dynamicQuery, completed);
 
@@ -440,10 +478,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 
 		dynamicQuery.add(companyIdProperty.eq(serviceContext.getCompanyId()));
 
-		Property workflowContextProperty = PropertyFactoryUtil.forName(
-			"workflowContext");
-
-		dynamicQuery.add(workflowContextProperty.like("\"userId\":" + userId));
+		addSubmittingUserCriterion(dynamicQuery, userId);
 
 		addCompletedCriterion(dynamicQuery, completed);
 
@@ -512,7 +547,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		kaleoTaskInstanceTokenQuery.setTaskName(taskName);
 		kaleoTaskInstanceTokenQuery.setAndOperator(andOperator);
 
-		return kaleoTaskInstanceTokenFinder.findKaleoTaskInstanceTokens(
+		return findKaleoTaskInstanceTokens(
 			kaleoTaskInstanceTokenQuery);
 	}
 
@@ -572,7 +607,7 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		kaleoTaskInstanceTokenQuery.setTaskName(taskName);
 		kaleoTaskInstanceTokenQuery.setAndOperator(andOperator);
 
-		return kaleoTaskInstanceTokenFinder.countKaleoTaskInstanceTokens(
+		return countKaleoTaskInstanceTokens(
 			kaleoTaskInstanceTokenQuery);
 	}
 
@@ -599,6 +634,8 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 
 		kaleoTaskInstanceTokenPersistence.update(kaleoTaskInstance);
 
+		reindex(kaleoTaskInstance);
+
 		return kaleoTaskInstance;
 	}
 
@@ -614,6 +651,26 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		dynamicQuery.add(property.eq(completed));
 	}
 
+	protected void addSubmittingUserCriterion(
+		DynamicQuery dynamicQuery, long userId) {
+
+		DynamicQuery kaleoInstanceDynamicQuery =
+			DynamicQueryFactoryUtil.forClass(
+				KaleoInstance.class, getClassLoader());
+
+		kaleoInstanceDynamicQuery.setProjection(
+			ProjectionFactoryUtil.property("kaleoInstanceId"));
+
+		Property userIdProperty = PropertyFactoryUtil.forName("userId");
+
+		kaleoInstanceDynamicQuery.add(userIdProperty.eq(userId));
+
+		Property kaleoInstanceIdProperty = PropertyFactoryUtil.forName(
+			"kaleoInstanceId");
+
+		dynamicQuery.add(kaleoInstanceIdProperty.in(kaleoInstanceDynamicQuery));
+	}
+
 	protected DynamicQuery buildDynamicQuery(
 		Boolean completed, ServiceContext serviceContext) {
 
@@ -650,6 +707,93 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		return dynamicQuery;
 	}
 
+	protected int countKaleoTaskInstanceTokens(
+			KaleoTaskInstanceTokenQuery kaleoTaskInstanceTokenQuery)
+		throws SystemException {
+
+		KaleoTaskInstanceTokenIndexer kaleoTaskInstanceTokenIndexer =
+			getKaleoTaskInstanceTokenIndexer();
+
+		if (kaleoTaskInstanceTokenIndexer == null) {
+			return kaleoTaskInstanceTokenFinder.countKaleoTaskInstanceTokens(
+				kaleoTaskInstanceTokenQuery);
+		}
+
+		kaleoTaskInstanceTokenQuery.setEnd(1);
+		kaleoTaskInstanceTokenQuery.setOrderByComparator(null);
+		kaleoTaskInstanceTokenQuery.setStart(0);
+
+		try {
+			Hits hits = kaleoTaskInstanceTokenIndexer.search(
+				kaleoTaskInstanceTokenQuery);
+
+			return hits.getLength();
+		}
+		catch (PortalException pe) {
+			throw new SystemException(pe);
+		}
+	}
+
+	protected void deleteIndexDocuments(
+			List<KaleoTaskInstanceToken> kaleoTaskInstanceTokens)
+		throws SystemException {
+
+		Indexer indexer = IndexerRegistryUtil.nullSafeGetIndexer(
+			KaleoTaskInstanceToken.class);
+
+		try {
+			for (KaleoTaskInstanceToken kaleoTaskInstanceToken :
+					kaleoTaskInstanceTokens) {
+
+				indexer.delete(kaleoTaskInstanceToken);
+			}
+		}
+		catch (SearchException se) {
+			throw new SystemException(se);
+		}
+	}
+
+	protected List<KaleoTaskInstanceToken> findKaleoTaskInstanceTokens(
+			KaleoTaskInstanceTokenQuery kaleoTaskInstanceTokenQuery)
+		throws SystemException {
+
+		KaleoTaskInstanceTokenIndexer kaleoTaskInstanceTokenIndexer =
+			getKaleoTaskInstanceTokenIndexer();
+
+		if (kaleoTaskInstanceTokenIndexer == null) {
+			return kaleoTaskInstanceTokenFinder.findKaleoTaskInstanceTokens(
+				kaleoTaskInstanceTokenQuery);
+		}
+
+		Hits hits = null;
+
+		try {
+			hits = kaleoTaskInstanceTokenIndexer.search(
+				kaleoTaskInstanceTokenQuery);
+		}
+		catch (PortalException pe) {
+			throw new SystemException(pe);
+		}
+
+		List<KaleoTaskInstanceToken> kaleoTaskInstanceTokens =
+			new ArrayList<KaleoTaskInstanceToken>(hits.getDocs().length);
+
+		for (Document document : hits.getDocs()) {
+			long kaleoTaskInstanceTokenId = GetterUtil.getLong(
+				document.get(Field.ENTRY_CLASS_PK));
+
+			KaleoTaskInstanceToken kaleoTaskInstanceToken =
+				kaleoTaskInstanceTokenPersistence.fetchByPrimaryKey(
+					kaleoTaskInstanceTokenId);
+
+			if (kaleoTaskInstanceToken != null) {
+				kaleoTaskInstanceTokens.add(kaleoTaskInstanceToken);
+			}
+		}
+
+		return kaleoTaskInstanceTokens;
+	}
+
 	protected String[] getAssetTypes(String assetType) {
 		if (Validator.isNull(assetType)) {
 			return null;
@@ -658,4 +802,31 @@ public class KaleoTaskInstanceTokenLocalServiceImpl
 		return new String[] {assetType};
 	}
 
+	protected KaleoTaskInstanceTokenIndexer getKaleoTaskInstanceTokenIndexer() {
+		Indexer indexer = IndexerRegistryUtil.getIndexer(
+			KaleoTaskInstanceToken.class);
+
+		if (!(indexer instanceof KaleoTaskInstanceTokenIndexer)) {
+			return null;
+		}
+
+		KaleoTaskInstanceTokenIndexer kaleoTaskInstanceTokenIndexer =
+			(KaleoTaskInstanceTokenIndexer)indexer;
+
+		if (!kaleoTaskInstanceTokenIndexer.isSearchEnabled()) {
+			return null;
+		}
+
+		return kaleoTaskInstanceTokenIndexer;
+	}
+
+	protected void reindex(KaleoTaskInstanceToken kaleoTaskInstanceToken)
+		throws SearchException {
+
+		Indexer indexer = IndexerRegistryUtil.nullSafeGetIndexer(
+			KaleoTaskInstanceToken.class);
+
+		indexer.reindex(kaleoTaskInstanceToken);
+	}
+
 }
\ No newline at end of file
@@ -16,34 +16,20 @@ package com.liferay.portal.workflow.kaleo.service.impl;
 
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
-import com.liferay.portal.kernel.log.Log;
-import com.liferay.portal.kernel.log.LogFactoryUtil;
-import com.liferay.portal.kernel.messaging.Message;
-import com.liferay.portal.kernel.scheduler.CronText;
-import com.liferay.portal.kernel.scheduler.CronTrigger;
-import com.liferay.portal.kernel.scheduler.SchedulerEngineHelperUtil;
-import com.liferay.portal.kernel.scheduler.StorageType;
-import com.liferay.portal.kernel.scheduler.Trigger;
 import com.liferay.portal.kernel.staging.StagingUtil;
-import com.liferay.portal.kernel.util.CalendarFactoryUtil;
 import com.liferay.portal.model.User;
 import com.liferay.portal.service.ServiceContext;
-import com.liferay.portal.workflow.kaleo.definition.DelayDuration;
-import com.liferay.portal.workflow.kaleo.definition.DurationScale;
 import com.liferay.portal.workflow.kaleo.model.KaleoInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
 import com.liferay.portal.workflow.kaleo.model.KaleoTimer;
 import com.liferay.portal.workflow.kaleo.model.KaleoTimerInstanceToken;
-import com.liferay.portal.workflow.kaleo.runtime.calendar.DefaultDueDateCalculator;
-import com.liferay.portal.workflow.kaleo.runtime.calendar.DueDateCalculator;
+import com.liferay.portal.workflow.kaleo.runtime.timer.TimerSchedulerUtil;
 import com.liferay.portal.workflow.kaleo.service.base.KaleoTimerInstanceTokenLocalServiceBaseImpl;
-import com.liferay.portal.workflow.kaleo.util.SchedulerUtil;
 import com.liferay.portal.workflow.kaleo.util.WorkflowContextUtil;
 
 import java.io.Serializable;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -103,12 +89,14 @@ public class KaleoTimerInstanceTokenLocalServiceImpl
 		kaleoTimerInstanceToken.setKaleoTimerName(kaleoTimerName);
 		kaleoTimerInstanceToken.setBlocking(kaleoTimer.isBlocking());
 		kaleoTimerInstanceToken.setCompleted(false);
+		kaleoTimerInstanceToken.setDueDate(
+			TimerSchedulerUtil.getDueDate(kaleoTimer, now));
 		kaleoTimerInstanceToken.setWorkflowContext(
 			WorkflowContextUtil.convert(workflowContext));
 
 		kaleoTimerInstanceTokenPersistence.update(kaleoTimerInstanceToken);
 
-		scheduleTimer(kaleoTimerInstanceToken, kaleoTimer);
+		scheduleTimer(kaleoTimerInstanceToken);
 
 		return kaleoTimerInstanceToken;
 	}
@@ -225,15 +213,7 @@ public class KaleoTimerInstanceTokenLocalServiceImpl
 				continue;
 			}
 
-			try {
-				deleteScheduledTimer(kaleoTimerInstanceToken);
-			}
-			catch (PortalException pe) {
-				if (_log.isWarnEnabled()) {
-					_log.warn(
-						"Unable to unschedule " + kaleoTimerInstanceToken, pe);
-				}
-			}
+			deleteScheduledTimer(kaleoTimerInstanceToken);
 
 			kaleoTimerInstanceTokenPersistence.remove(kaleoTimerInstanceToken);
 		}
@@ -269,75 +249,18 @@ public class KaleoTimerInstanceTokenLocalServiceImpl
 	}
 
 	protected void deleteScheduledTimer(
-			KaleoTimerInstanceToken kaleoTimerInstanceToken)
-		throws PortalException {
-
-		String groupName = getSchedulerGroupName(kaleoTimerInstanceToken);
-
-		SchedulerEngineHelperUtil.delete(groupName, StorageType.PERSISTED);
-	}
-
-	protected String getSchedulerGroupName(
 		KaleoTimerInstanceToken kaleoTimerInstanceToken) {
 
-		return SchedulerUtil.getGroupName(
+		TimerSchedulerUtil.unschedule(
 			kaleoTimerInstanceToken.getKaleoTimerInstanceTokenId());
 	}
 
 	protected void scheduleTimer(
-			KaleoTimerInstanceToken kaleoTimerInstanceToken,
-			KaleoTimer kaleoTimer)
-		throws PortalException {
-
-		deleteScheduledTimer(kaleoTimerInstanceToken);
-
-		String groupName = getSchedulerGroupName(kaleoTimerInstanceToken);
-
-		DelayDuration delayDuration = new DelayDuration(
-			kaleoTimer.getDuration(),
-			DurationScale.parse(kaleoTimer.getScale()));
-
-		DueDateCalculator dueDateCalculator = new DefaultDueDateCalculator();
-
-		Date dueDate = dueDateCalculator.getDueDate(new Date(), delayDuration);
-
-		Calendar dueDateCalendar = CalendarFactoryUtil.getCalendar();
-
-		dueDateCalendar.setTime(dueDate);
-
-		CronText cronText = null;
-
-		if (!kaleoTimer.isRecurring()) {
-			cronText = new CronText(dueDateCalendar);
-		}
-		else {
-			DelayDuration recurrenceDelayDuration = new DelayDuration(
-				kaleoTimer.getRecurrenceDuration(),
-				DurationScale.parse(kaleoTimer.getRecurrenceScale()));
-
-			DurationScale durationScale =
-				recurrenceDelayDuration.getDurationScale();
-
-			cronText = new CronText(
-				dueDateCalendar, durationScale.getIntegerValue(),
-				(int)recurrenceDelayDuration.getDuration());
-		}
-
-		Trigger trigger = new CronTrigger(
-			groupName, groupName, cronText.toString());
-
-		Message message = new Message();
-
-		message.put(
-			"kaleoTimerInstanceTokenId",
-			kaleoTimerInstanceToken.getKaleoTimerInstanceTokenId());
+		KaleoTimerInstanceToken kaleoTimerInstanceToken) {
 
-		SchedulerEngineHelperUtil.schedule(
-			trigger, StorageType.PERSISTED, null,
-			SchedulerUtil.WORKFLOW_TIMER_DESTINATION_NAME, message, 0);
+		TimerSchedulerUtil.schedule(
+			kaleoTimerInstanceToken.getKaleoTimerInstanceTokenId(),
+			kaleoTimerInstanceToken.getDueDate());
 	}
 
-	private static Log _log = LogFactoryUtil.getLog(
-		KaleoTimerInstanceTokenLocalServiceImpl.class);
-
 }
\ No newline at end of file
@@ -26,18 +26,11 @@ import com.liferay.portal.kernel.util.OrderByComparator;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.Validator;
-import com.liferay.portal.model.Group;
 import com.liferay.portal.model.Role;
 import com.liferay.portal.model.User;
-import com.liferay.portal.model.UserGroup;
 import com.liferay.portal.model.UserGroupGroupRole;
 import com.liferay.portal.model.UserGroupRole;
-import com.liferay.portal.service.GroupLocalServiceUtil;
-import com.liferay.portal.service.RoleLocalServiceUtil;
-import com.liferay.portal.service.UserGroupGroupRoleLocalServiceUtil;
-import com.liferay.portal.service.UserGroupLocalServiceUtil;
 import com.liferay.portal.service.UserGroupRoleLocalServiceUtil;
-import com.liferay.portal.service.UserLocalServiceUtil;
 import com.liferay.portal.service.persistence.impl.BasePersistenceImpl;
 import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
 import com.liferay.portal.workflow.kaleo.util.RoleUtil;
@@ -508,37 +501,9 @@ public class KaleoTaskInstanceTokenFinderImpl
 			KaleoTaskInstanceTokenQuery kaleoTaskInstanceTokenQuery)
 		throws Exception {
 
-		List<Long> roleIds = RoleUtil.getRoleIds(
+		return RoleUtil.getSearchByUserRoleIds(
+			kaleoTaskInstanceTokenQuery.getUserId(),
 			kaleoTaskInstanceTokenQuery.getServiceContext());
-
-		User user = UserLocalServiceUtil.getUserById(
-			kaleoTaskInstanceTokenQuery.getUserId());
-
-		List<Group> groups = new ArrayList<Group>();
-
-		groups.addAll(user.getGroups());
-		groups.addAll(
-			GroupLocalServiceUtil.getOrganizationsGroups(
-				user.getOrganizations()));
-		groups.addAll(
-			GroupLocalServiceUtil.getOrganizationsRelatedGroups(
-				user.getOrganizations()));
-		groups.addAll(
-			GroupLocalServiceUtil.getUserGroupsGroups(user.getUserGroups()));
-		groups.addAll(
-			GroupLocalServiceUtil.getUserGroupsRelatedGroups(
-				user.getUserGroups()));
-
-		for (Group group : groups) {
-			List<Role> roles = RoleLocalServiceUtil.getGroupRoles(
-				group.getGroupId());
-
-			for (Role role : roles) {
-				roleIds.add(role.getRoleId());
-			}
-		}
-
-		return roleIds;
 	}
 
 	protected String getSearchByUserRoles(
@@ -651,19 +616,7 @@ public class KaleoTaskInstanceTokenFinderImpl
 	protected List<UserGroupGroupRole> getUserGroupGroupRoles(long userId)
 		throws Exception {
 
-		List<UserGroupGroupRole> userGroupGroupRoles =
-			new ArrayList<UserGroupGroupRole>();
-
-		List<UserGroup> userGroups =
-			UserGroupLocalServiceUtil.getUserUserGroups(userId);
-
-		for (UserGroup userGroup : userGroups) {
-			userGroupGroupRoles.addAll(
-				UserGroupGroupRoleLocalServiceUtil.getUserGroupGroupRoles(
-					userGroup.getUserGroupId()));
-		}
-
-		return userGroupGroupRoles;
+		return RoleUtil.getUserGroupGroupRoles(userId);
 	}
 
 	protected void setAssetPrimaryKey(
@@ -0,0 +1,701 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.util;
+
+import com.liferay.portal.kernel.dao.orm.ActionableDynamicQuery;
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.search.BaseIndexer;
+import com.liferay.portal.kernel.search.BooleanClauseOccur;
+import com.liferay.portal.kernel.search.BooleanQuery;
+import com.liferay.portal.kernel.search.BooleanQueryFactoryUtil;
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.Field;
+import com.liferay.portal.kernel.search.Hits;
+import com.liferay.portal.kernel.search.IndexerRegistryUtil;
+import com.liferay.portal.kernel.search.ParseException;
+import com.liferay.portal.kernel.search.SearchContext;
+import com.liferay.portal.kernel.search.SearchEngineUtil;
+import com.liferay.portal.kernel.search.Sort;
+import com.liferay.portal.kernel.search.Summary;
+import com.liferay.portal.kernel.util.ArrayUtil;
+import com.liferay.portal.kernel.util.CharPool;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.OrderByComparator;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.model.Role;
+import com.liferay.portal.model.User;
+import com.liferay.portal.model.UserGroupGroupRole;
+import com.liferay.portal.model.UserGroupRole;
+import com.liferay.portal.service.UserGroupRoleLocalServiceUtil;
+import com.liferay.portal.util.PortletKeys;
+import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignmentInstance;
+import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
+import com.liferay.portal.workflow.kaleo.service.KaleoTaskAssignmentInstanceLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.service.KaleoTaskInstanceTokenLocalServiceUtil;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTaskInstanceTokenActionableDynamicQuery;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTaskInstanceTokenQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.portlet.PortletRequest;
+import javax.portlet.PortletResponse;
+import javax.portlet.PortletURL;
+
+public class KaleoTaskInstanceTokenIndexer extends BaseIndexer {
+
+	public static final String[] CLASS_NAMES =
+		{KaleoTaskInstanceToken.class.getName()};
+
+	public static final String PORTLET_ID = PortletKeys.MY_WORKFLOW_TASKS;
+
+	public KaleoTaskInstanceTokenIndexer() {
+		setDefaultSelectedFieldNames(
+			Field.COMPANY_ID, Field.ENTRY_CLASS_NAME, Field.ENTRY_CLASS_PK,
+			Field.UID);
+	}
+
+	public void afterPropertiesSet() {
+		IndexerRegistryUtil.register(this);
+	}
+
+	public void destroy() {
+		IndexerRegistryUtil.unregister(this);
+	}
+
+	@Override
+	public String[] getClassNames() {
+		return CLASS_NAMES;
+	}
+
+	@Override
+	public String getPortletId() {
+		return PORTLET_ID;
+	}
+
+	public boolean isSearchEnabled() {
+		return _searchEnabled;
+	}
+
+	public Hits search(KaleoTaskInstanceTokenQuery kaleoTaskInstanceTokenQuery)
+		throws PortalException, SystemException {
+
+		SearchContext searchContext = new SearchContext();
+
+		searchContext.setCompanyId(kaleoTaskInstanceTokenQuery.getCompanyId());
+		searchContext.setEnd(kaleoTaskInstanceTokenQuery.getEnd());
+		searchContext.setSorts(
+			getSorts(kaleoTaskInstanceTokenQuery.getOrderByComparator()));
+		searchContext.setStart(kaleoTaskInstanceTokenQuery.getStart());
+
+		BooleanQuery query = createQuery(searchContext);
+
+		Boolean completed = kaleoTaskInstanceTokenQuery.isCompleted();
+
+		if (completed != null) {
+			query.addRequiredTerm("completed", completed);
+		}
+
+		Long kaleoInstanceId = kaleoTaskInstanceTokenQuery.getKaleoInstanceId();
+
+		if (kaleoInstanceId != null) {
+			query.addRequiredTerm("kaleoInstanceId", kaleoInstanceId);
+		}
+
+		addAssigneeTerms(query, searchContext, kaleoTaskInstanceTokenQuery);
+		addSearchTerms(query, searchContext, kaleoTaskInstanceTokenQuery);
+
+		return SearchEngineUtil.search(searchContext, query);
+	}
+
+	public void setSearchEnabled(boolean searchEnabled) {
+		_searchEnabled = searchEnabled;
+	}
+
+	public void verifyKaleoTaskInstanceTokens(long companyId)
+		throws PortalException, SystemException {
+
+		int indexCount = getIndexCount(companyId);
+
+		if (!_searchEnabled) {
+
+			// Drop what an earlier run indexed so that enabling search again
+			// triggers a full reindex instead of serving stale documents
+
+			if (indexCount > 0) {
+				SearchEngineUtil.deletePortletDocuments(
+					getSearchEngineId(), companyId, PORTLET_ID);
+			}
+
+			return;
+		}
+
+		ActionableDynamicQuery actionableDynamicQuery =
+			new KaleoTaskInstanceTokenActionableDynamicQuery() {
+
+			@Override
+			protected void performAction(Object object) {
+			}
+
+		};
+
+		actionableDynamicQuery.setCompanyId(companyId);
+
+		long count = actionableDynamicQuery.performCount();
+
+		if (count == indexCount) {
+			return;
+		}
+
+		if (_log.isInfoEnabled()) {
+			_log.info(
+				"Reindexing " + count + " Kaleo task instance tokens for " +
+					"company " + companyId);
+		}
+
+		reindexKaleoTaskInstanceTokens(companyId);
+	}
+
+	protected void addAssigneeTerms(
+			BooleanQuery query, SearchContext searchContext,
+			KaleoTaskInstanceTokenQuery kaleoTaskInstanceTokenQuery)
+		throws PortalException, SystemException {
+
+		Boolean searchByUserRoles =
+			kaleoTaskInstanceTokenQuery.isSearchByUserRoles();
+
+		String assigneeClassName =
+			kaleoTaskInstanceTokenQuery.getAssigneeClassName();
+		Long assigneeClassPK = kaleoTaskInstanceTokenQuery.getAssigneeClassPK();
+
+		if (Validator.isNotNull(assigneeClassName)) {
+			if (assigneeClassPK != null) {
+				query.addRequiredTerm(
+					"assignees",
+					getAssignee(assigneeClassName, assigneeClassPK));
+			}
+			else {
+				query.addRequiredTerm("assigneeClassNames", assigneeClassName);
+			}
+		}
+		else if (assigneeClassPK != null) {
+			query.addRequiredTerm("assigneeClassPKs", assigneeClassPK);
+		}
+
+		if (searchByUserRoles == null) {
+			List<Long> roleIds = kaleoTaskInstanceTokenQuery.getRoleIds();
+
+			if ((roleIds == null) || roleIds.isEmpty()) {
+				return;
+			}
+
+			List<String> assignees = new ArrayList<String>(roleIds.size());
+
+			for (long roleId : roleIds) {
+				assignees.add(getAssignee(Role.class.getName(), roleId));
+			}
+
+			BooleanQuery rolesQuery = BooleanQueryFactoryUtil.create(
+				searchContext);
+
+			addTerms(rolesQuery, searchContext, "assignees", assignees);
+
+			query.add(rolesQuery, BooleanClauseOccur.MUST);
+
+			return;
+		}
+
+		long userId = kaleoTaskInstanceTokenQuery.getUserId();
+
+		if (!searchByUserRoles) {
+			query.addRequiredTerm(
+				"assignees", getAssignee(User.class.getName(), userId));
+
+			return;
+		}
+
+		List<Long> roleIds = RoleUtil.getSearchByUserRoleIds(
+			userId, kaleoTaskInstanceTokenQuery.getServiceContext());
+
+		List<UserGroupRole> userGroupRoles =
+			UserGroupRoleLocalServiceUtil.getUserGroupRoles(userId);
+
+		List<UserGroupGroupRole> userGroupGroupRoles =
+			RoleUtil.getUserGroupGroupRoles(userId);
+
+		List<String> assignees = new ArrayList<String>(roleIds.size());
+
+		for (long roleId : roleIds) {
+			assignees.add(getAssignee(Role.class.getName(), roleId));
+		}
+
+		List<String> assigneeGroupRoles = new ArrayList<String>(
+			userGroupRoles.size() + userGroupGroupRoles.size());
+
+		for (UserGroupRole userGroupRole : userGroupRoles) {
+			assigneeGroupRoles.add(
+				getGroupRole(
+					userGroupRole.getGroupId(), userGroupRole.getRoleId()));
+		}
+
+		for (UserGroupGroupRole userGroupGroupRole : userGroupGroupRoles) {
+			assigneeGroupRoles.add(
+				getGroupRole(
+					userGroupGroupRole.getGroupId(),
+					userGroupGroupRole.getRoleId()));
+		}
+
+		BooleanQuery rolesQuery = BooleanQueryFactoryUtil.create(searchContext);
+
+		addTerms(rolesQuery, searchContext, "assignees", assignees);
+		addTerms(
+			rolesQuery, searchContext, "assigneeGroupRoles",
+			assigneeGroupRoles);
+
+		if (!rolesQuery.hasClauses()) {
+			rolesQuery.addTerm(
+				"assignees", getAssignee(Role.class.getName(), 0));
+		}
+
+		query.add(rolesQuery, BooleanClauseOccur.MUST);
+	}
+
+	protected void addSearchTerms(
+			BooleanQuery query, SearchContext searchContext,
+			KaleoTaskInstanceTokenQuery kaleoTaskInstanceTokenQuery)
+		throws PortalException {
+
+		BooleanClauseOccur booleanClauseOccur = BooleanClauseOccur.SHOULD;
+
+		if (kaleoTaskInstanceTokenQuery.isAndOperator()) {
+			booleanClauseOccur = BooleanClauseOccur.MUST;
+		}
+
+		BooleanQuery searchQuery = BooleanQueryFactoryUtil.create(
+			searchContext);
+
+		Long[] assetPrimaryKeys =
+			kaleoTaskInstanceTokenQuery.getAssetPrimaryKeys();
+		String[] assetTypes = kaleoTaskInstanceTokenQuery.getAssetTypes();
+
+		if (ArrayUtil.isNotEmpty(assetPrimaryKeys) ||
+			ArrayUtil.isNotEmpty(assetTypes)) {
+
+			BooleanQuery assetQuery = BooleanQueryFactoryUtil.create(
+				searchContext);
+
+			if (ArrayUtil.isNotEmpty(assetPrimaryKeys)) {
+				BooleanQuery assetPrimaryKeysQuery =
+					BooleanQueryFactoryUtil.create(searchContext);
+
+				for (Long assetPrimaryKey : assetPrimaryKeys) {
+					assetPrimaryKeysQuery.addTerm(
+						"assetClassPK", assetPrimaryKey);
+				}
+
+				assetQuery.add(assetPrimaryKeysQuery, BooleanClauseOccur.MUST);
+			}
+
+			if (ArrayUtil.isNotEmpty(assetTypes)) {
+				BooleanQuery assetTypesQuery = BooleanQueryFactoryUtil.create(
+					searchContext);
+
+				for (String assetType : assetTypes) {
+					if (Validator.isNull(assetType)) {
+						continue;
+					}
+
+					assetTypesQuery.addTerm(
+						"assetClassName", StringUtil.toLowerCase(assetType),
+						true);
+				}
+
+				if (assetTypesQuery.hasClauses()) {
+					assetQuery.add(assetTypesQuery, BooleanClauseOccur.MUST);
+				}
+			}
+
+			if (assetQuery.hasClauses()) {
+				searchQuery.add(assetQuery, booleanClauseOccur);
+			}
+		}
+
+		Date dueDateGT = kaleoTaskInstanceTokenQuery.getDueDateGT();
+
+		if (dueDateGT != null) {
+			BooleanQuery dueDateGTQuery = BooleanQueryFactoryUtil.create(
+				searchContext);
+
+			dueDateGTQuery.addRangeTerm(
+				"dueTime", dueDateGT.getTime(), Long.MAX_VALUE);
+
+			searchQuery.add(dueDateGTQuery, booleanClauseOccur);
+		}
+
+		Date dueDateLT = kaleoTaskInstanceTokenQuery.getDueDateLT();
+
+		if (dueDateLT != null) {
+			BooleanQuery dueDateLTQuery = BooleanQueryFactoryUtil.create(
+				searchContext);
+
+			dueDateLTQuery.addRangeTerm("dueTime", 0, dueDateLT.getTime());
+
+			searchQuery.add(dueDateLTQuery, booleanClauseOccur);
+		}
+
+		String taskName = kaleoTaskInstanceTokenQuery.getTaskName();
+
+		if (Validator.isNotNull(taskName)) {
+			BooleanQuery taskNameQuery = BooleanQueryFactoryUtil.create(
+				searchContext);
+
+			for (String keyword : StringUtil.split(taskName, CharPool.SPACE)) {
+				if (Validator.isNull(keyword)) {
+					continue;
+				}
+
+				taskNameQuery.addTerm(
+					"kaleoTaskName", StringUtil.toLowerCase(keyword), true);
+			}
+
+			if (taskNameQuery.hasClauses()) {
+				searchQuery.add(taskNameQuery, booleanClauseOccur);
+			}
+		}
+
+		if (searchQuery.hasClauses()) {
+			query.add(searchQuery, BooleanClauseOccur.MUST);
+		}
+	}
+
+	protected void addTerms(
+			BooleanQuery query, SearchContext searchContext, String field,
+			List<String> values)
+		throws ParseException {
+
+		if (values.size() <= _MAX_TERMS) {
+			for (String value : values) {
+				query.addTerm(field, value);
+			}
+
+			return;
+		}
+
+		// Nest the terms so that no single query exceeds the search engine's
+		// maximum clause count
+
+		for (int i = 0; i < values.size(); i += _MAX_TERMS) {
+			BooleanQuery termsQuery = BooleanQueryFactoryUtil.create(
+				searchContext);
+
+			for (String value :
+					values.subList(
+						i, Math.min(i + _MAX_TERMS, values.size()))) {
+
+				termsQuery.addTerm(field, value);
+			}
+
+			query.add(termsQuery, BooleanClauseOccur.SHOULD);
+		}
+	}
+
+	protected void addTime(Document document, String name, Date date) {
+		if (date != null) {
+			document.addNumber(name, date.getTime());
+		}
+	}
+
+	protected BooleanQuery createQuery(SearchContext searchContext)
+		throws ParseException {
+
+		BooleanQuery query = BooleanQueryFactoryUtil.create(searchContext);
+
+		query.addRequiredTerm(
+			Field.ENTRY_CLASS_NAME, KaleoTaskInstanceToken.class.getName());
+
+		return query;
+	}
+
+	@Override
+	protected void doDelete(Object obj) throws Exception {
+		if (!_searchEnabled) {
+			return;
+		}
+
+		KaleoTaskInstanceToken kaleoTaskInstanceToken =
+			(KaleoTaskInstanceToken)obj;
+
+		deleteDocument(
+			kaleoTaskInstanceToken.getCompanyId(),
+			kaleoTaskInstanceToken.getKaleoTaskInstanceTokenId());
+	}
+
+	@Override
+	protected Document doGetDocument(Object obj) throws Exception {
+		KaleoTaskInstanceToken kaleoTaskInstanceToken =
+			(KaleoTaskInstanceToken)obj;
+
+		Document document = getBaseModelDocument(
+			PORTLET_ID, kaleoTaskInstanceToken);
+
+		document.addKeyword(
+			"assetClassName",
+			StringUtil.toLowerCase(
+				GetterUtil.getString(kaleoTaskInstanceToken.getClassName())));
+		document.addKeyword(
+			"assetClassPK", kaleoTaskInstanceToken.getClassPK());
+		document.addKeyword(
+			"completed", kaleoTaskInstanceToken.isCompleted());
+		document.addKeyword(
+			"kaleoInstanceId", kaleoTaskInstanceToken.getKaleoInstanceId());
+		document.addKeyword(
+			"kaleoTaskName",
+			StringUtil.toLowerCase(kaleoTaskInstanceToken.getKaleoTaskName()));
+
+		document.addNumber(
+			"kaleoTaskId", kaleoTaskInstanceToken.getKaleoTaskId());
+		document.addNumber(
+			"kaleoTaskInstanceTokenId",
+			kaleoTaskInstanceToken.getKaleoTaskInstanceTokenId());
+
+		addTime(
+			document, "completionTime",
+			kaleoTaskInstanceToken.getCompletionDate());
+		addTime(document, "createTime", kaleoTaskInstanceToken.getCreateDate());
+		addTime(document, "dueTime", kaleoTaskInstanceToken.getDueDate());
+		addTime(
+			document, "modifiedTime", kaleoTaskInstanceToken.getModifiedDate());
+
+		List<KaleoTaskAssignmentInstance> kaleoTaskAssignmentInstances =
+			KaleoTaskAssignmentInstanceLocalServiceUtil.
+				getKaleoTaskAssignmentInstances(
+					kaleoTaskInstanceToken.getKaleoTaskInstanceTokenId());
+
+		List<String> assigneeClassNames = new ArrayList<String>();
+		List<String> assigneeClassPKs = new ArrayList<String>();
+		List<String> assigneeGroupRoles = new ArrayList<String>();
+		List<String> assignees = new ArrayList<String>();
+
+		for (KaleoTaskAssignmentInstance kaleoTaskAssignmentInstance :
+				kaleoTaskAssignmentInstances) {
+
+			String assigneeClassName =
+				kaleoTaskAssignmentInstance.getAssigneeClassName();
+			long assigneeClassPK =
+				kaleoTaskAssignmentInstance.getAssigneeClassPK();
+
+			assigneeClassNames.add(assigneeClassName);
+			assigneeClassPKs.add(String.valueOf(assigneeClassPK));
+			assignees.add(getAssignee(assigneeClassName, assigneeClassPK));
+
+			if (assigneeClassName.equals(Role.class.getName())) {
+				assigneeGroupRoles.add(
+					getGroupRole(
+						kaleoTaskAssignmentInstance.getGroupId(),
+						assigneeClassPK));
+			}
+		}
+
+		document.addKeyword(
+			"assigneeClassNames",
+			assigneeClassNames.toArray(new String[assigneeClassNames.size()]));
+		document.addKeyword(
+			"assigneeClassPKs",
+			assigneeClassPKs.toArray(new String[assigneeClassPKs.size()]));
+		document.addKeyword(
+			"assigneeGroupRoles",
+			assigneeGroupRoles.toArray(new String[assigneeGroupRoles.size()]));
+		document.addKeyword(
+			"assignees", assignees.toArray(new String[assignees.size()]));
+
+		return document;
+	}
+
+	@Override
+	protected Summary doGetSummary(
+		Document document, Locale locale, String snippet, PortletURL portletURL,
+		PortletRequest portletRequest, PortletResponse portletResponse) {
+
+		return null;
+	}
+
+	@Override
+	protected void doReindex(Object obj) throws Exception {
+		if (!_searchEnabled) {
+			return;
+		}
+
+		KaleoTaskInstanceToken kaleoTaskInstanceToken =
+			(KaleoTaskInstanceToken)obj;
+
+		Document document = getDocument(kaleoTaskInstanceToken);
+
+		SearchEngineUtil.updateDocument(
+			getSearchEngineId(), kaleoTaskInstanceToken.getCompanyId(),
+			document);
+	}
+
+	@Override
+	protected void doReindex(String className, long classPK) throws Exception {
+		KaleoTaskInstanceToken kaleoTaskInstanceToken =
+			KaleoTaskInstanceTokenLocalServiceUtil.getKaleoTaskInstanceToken(
+				classPK);
+
+		doReindex(kaleoTaskInstanceToken);
+	}
+
+	@Override
+	protected void doReindex(String[] ids) throws Exception {
+		if (!_searchEnabled) {
+			return;
+		}
+
+		long companyId = GetterUtil.getLong(ids[0]);
+
+		reindexKaleoTaskInstanceTokens(companyId);
+	}
+
+	protected String getAssignee(
+		String assigneeClassName, long assigneeClassPK) {
+
+		return assigneeClassName.concat(StringPool.POUND).concat(
+			String.valueOf(assigneeClassPK));
+	}
+
+	protected String getGroupRole(long groupId, long roleId) {
+		return String.valueOf(groupId).concat(StringPool.POUND).concat(
+			String.valueOf(roleId));
+	}
+
+	protected int getIndexCount(long companyId)
+		throws PortalException, SystemException {
+
+		SearchContext searchContext = new SearchContext();
+
+		searchContext.setCompanyId(companyId);
+		searchContext.setEnd(1);
+		searchContext.setStart(0);
+
+		Hits hits = SearchEngineUtil.search(
+			searchContext, createQuery(searchContext));
+
+		return hits.getLength();
+	}
+
+	@Override
+	protected String getPortletId(SearchContext searchContext) {
+		return PORTLET_ID;
+	}
+
+	protected Sort[] getSorts(OrderByComparator orderByComparator) {
+		if (orderByComparator == null) {
+			return new Sort[0];
+		}
+
+		List<Sort> sorts = new ArrayList<Sort>();
+
+		for (String orderByField : orderByComparator.getOrderByFields()) {
+			String fieldName = _sortFieldNames.get(orderByField);
+
+			if (fieldName == null) {
+				continue;
+			}
+
+			int type = Sort.LONG_TYPE;
+
+			if (fieldName.equals("kaleoTaskName")) {
+				type = Sort.STRING_TYPE;
+			}
+
+			sorts.add(
+				new Sort(fieldName, type, !orderByComparator.isAscending()));
+		}
+
+		return sorts.toArray(new Sort[sorts.size()]);
+	}
+
+	protected void reindexKaleoTaskInstanceTokens(final long companyId)
+		throws PortalException, SystemException {
+
+		final Collection<Document> documents = new ArrayList<Document>(
+			_REINDEX_BATCH_SIZE);
+
+		ActionableDynamicQuery actionableDynamicQuery =
+			new KaleoTaskInstanceTokenActionableDynamicQuery() {
+
+			@Override
+			protected void performAction(Object object) throws PortalException {
+				KaleoTaskInstanceToken kaleoTaskInstanceToken =
+					(KaleoTaskInstanceToken)object;
+
+				Document document = getDocument(kaleoTaskInstanceToken);
+
+				documents.add(document);
+
+				if (documents.size() >= _REINDEX_BATCH_SIZE) {
+					SearchEngineUtil.updateDocuments(
+						getSearchEngineId(), companyId, documents);
+
+					documents.clear();
+				}
+			}
+
+		};
+
+		actionableDynamicQuery.setCompanyId(companyId);
+
+		actionableDynamicQuery.performActions();
+
+		if (!documents.isEmpty()) {
+			SearchEngineUtil.updateDocuments(
+				getSearchEngineId(), companyId, documents);
+		}
+	}
+
+	private static final int _MAX_TERMS = 500;
+
+	private static final int _REINDEX_BATCH_SIZE = 1000;
+
+	private static Log _log = LogFactoryUtil.getLog(
+		KaleoTaskInstanceTokenIndexer.class);
+
+	private static Map<String, String> _sortFieldNames =
+		new HashMap<String, String>();
+
+	static {
+		_sortFieldNames.put("completionDate", "completionTime");
+		_sortFieldNames.put("createDate", "createTime");
+		_sortFieldNames.put("dueDate", "dueTime");
+		_sortFieldNames.put("kaleoTaskId", "kaleoTaskId");
+		_sortFieldNames.put(
+			"kaleoTaskInstanceTokenId", "kaleoTaskInstanceTokenId");
+		_sortFieldNames.put("modifiedDate", "modifiedTime");
+		_sortFieldNames.put("name", "kaleoTaskName");
+		_sortFieldNames.put("userId", Field.USER_ID);
+	}
+
+	private boolean _searchEnabled;
+
+}
\ No newline at end of file
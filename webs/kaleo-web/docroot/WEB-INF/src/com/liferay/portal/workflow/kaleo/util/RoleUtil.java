@@ -19,10 +19,18 @@ import com.liferay.portal.NoSuchRoleException;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.util.LocaleUtil;
+import com.liferay.portal.model.Group;
 import com.liferay.portal.model.Role;
 import com.liferay.portal.model.RoleConstants;
+import com.liferay.portal.model.User;
+import com.liferay.portal.model.UserGroup;
+import com.liferay.portal.model.UserGroupGroupRole;
+import com.liferay.portal.service.GroupLocalServiceUtil;
 import com.liferay.portal.service.RoleLocalServiceUtil;
 import com.liferay.portal.service.ServiceContext;
+import com.liferay.portal.service.UserGroupGroupRoleLocalServiceUtil;
+import com.liferay.portal.service.UserGroupLocalServiceUtil;
+import com.liferay.portal.service.UserLocalServiceUtil;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -99,6 +107,59 @@ public class RoleUtil {
 		}
 	}
 
+	public static List<Long> getSearchByUserRoleIds(
+			long userId, ServiceContext serviceContext)
+		throws PortalException, SystemException {
+
+		List<Long> roleIds = getRoleIds(serviceContext);
+
+		User user = UserLocalServiceUtil.getUserById(userId);
+
+		List<Group> groups = new ArrayList<Group>();
+
+		groups.addAll(user.getGroups());
+		groups.addAll(
+			GroupLocalServiceUtil.getOrganizationsGroups(
+				user.getOrganizations()));
+		groups.addAll(
+			GroupLocalServiceUtil.getOrganizationsRelatedGroups(
+				user.getOrganizations()));
+		groups.addAll(
+			GroupLocalServiceUtil.getUserGroupsGroups(user.getUserGroups()));
+		groups.addAll(
+			GroupLocalServiceUtil.getUserGroupsRelatedGroups(
+				user.getUserGroups()));
+
+		for (Group group : groups) {
+			List<Role> roles = RoleLocalServiceUtil.getGroupRoles(
+				group.getGroupId());
+
+			for (Role role : roles) {
+				roleIds.add(role.getRoleId());
+			}
+		}
+
+		return roleIds;
+	}
+
+	public static List<UserGroupGroupRole> getUserGroupGroupRoles(long userId)
+		throws SystemException {
+
+		List<UserGroupGroupRole> userGroupGroupRoles =
+			new ArrayList<UserGroupGroupRole>();
+
+		List<UserGroup> userGroups =
+			UserGroupLocalServiceUtil.getUserUserGroups(userId);
+
+		for (UserGroup userGroup : userGroups) {
+			userGroupGroupRoles.addAll(
+				UserGroupGroupRoleLocalServiceUtil.getUserGroupGroupRoles(
+					userGroup.getUserGroupId()));
+		}
+
+		return userGroupGroupRoles;
+	}
+
 	private static final String _LEGACY_TYPE_COMMUNITY_LABEL = "community";
 
 }
\ No newline at end of file
@@ -0,0 +1,466 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.util;
+
+import com.liferay.portal.kernel.json.JSONFactoryUtil;
+import com.liferay.portal.kernel.util.CharPool;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Validator;
+
+import java.io.Serializable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds a workflow context whose values are decoded only when they are read.
+ * The encoded form is plain text that lists each entry as a length prefixed
+ * key, a type and a length prefixed value, so it can be kept in the existing
+ * text columns and indexed without decoding any value.
+ *
+ * <p>
+ * Copies share the encoded values of the original and only keep their own
+ * changes. Reads may run concurrently, but writes must be synchronized by the
+ * caller just like with {@link HashMap}.
+ * </p>
+ */
+public class WorkflowContextMap
+	extends AbstractMap<String, Serializable> implements Serializable {
+
+	public static final String PREFIX = "kwc:";
+
+	public WorkflowContextMap() {
+	}
+
+	public WorkflowContextMap(Map<String, Serializable> workflowContext) {
+		if (!(workflowContext instanceof WorkflowContextMap)) {
+			_values.putAll(workflowContext);
+
+			return;
+		}
+
+		WorkflowContextMap workflowContextMap =
+			(WorkflowContextMap)workflowContext;
+
+		_encodedValues = workflowContextMap._encodedValues;
+
+		_hiddenKeys.addAll(workflowContextMap._hiddenKeys);
+
+		// Decoded values may have been changed in place, so they are carried
+		// over like the values that were put
+
+		_values.putAll(workflowContextMap._decodedValues);
+		_values.putAll(workflowContextMap._values);
+
+		_hiddenKeys.addAll(workflowContextMap._decodedValues.keySet());
+	}
+
+	public WorkflowContextMap(String workflowContext) {
+		if (!workflowContext.startsWith(PREFIX)) {
+			throw new IllegalArgumentException(
+				"Workflow context does not start with " + PREFIX);
+		}
+
+		Map<String, String> encodedValues = new HashMap<String, String>();
+
+		int index = PREFIX.length();
+
+		while (index < workflowContext.length()) {
+			int keyIndex = workflowContext.indexOf(CharPool.COLON, index);
+
+			int keyLength = Integer.parseInt(
+				workflowContext.substring(index, keyIndex));
+
+			index = keyIndex + 1 + keyLength;
+
+			String key = workflowContext.substring(keyIndex + 1, index);
+
+			int valueIndex = workflowContext.indexOf(CharPool.COLON, index);
+
+			int valueLength = Integer.parseInt(
+				workflowContext.substring(index, valueIndex));
+
+			index = valueIndex + 1 + valueLength;
+
+			encodedValues.put(
+				key, workflowContext.substring(valueIndex + 1, index));
+		}
+
+		_encodedValues = encodedValues;
+	}
+
+	@Override
+	public void clear() {
+		_decodedValues.clear();
+		_encodedValues = Collections.emptyMap();
+		_hiddenKeys.clear();
+		_values.clear();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (_values.containsKey(key) ||
+			(_encodedValues.containsKey(key) && !_hiddenKeys.contains(key))) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	public String encode() {
+		StringBundler sb = new StringBundler(size() * 6 + 1);
+
+		sb.append(PREFIX);
+
+		for (Map.Entry<String, String> entry : _encodedValues.entrySet()) {
+			String key = entry.getKey();
+
+			if (_hiddenKeys.contains(key)) {
+				continue;
+			}
+
+			Serializable value = _decodedValues.get(key);
+
+			String encodedValue = entry.getValue();
+
+			// Values decoded from JSON may have been changed in place
+
+			if ((value != null) && (encodedValue.charAt(0) == _TYPE_JSON)) {
+				encodedValue = encodeValue(value);
+			}
+
+			appendEntry(sb, key, encodedValue);
+		}
+
+		for (Map.Entry<String, Serializable> entry : _values.entrySet()) {
+			appendEntry(sb, entry.getKey(), encodeValue(entry.getValue()));
+		}
+
+		return sb.toString();
+	}
+
+	@Override
+	public Set<Map.Entry<String, Serializable>> entrySet() {
+		return new EntrySet();
+	}
+
+	@Override
+	public Serializable get(Object key) {
+		if (_values.containsKey(key)) {
+			return _values.get(key);
+		}
+
+		if (_hiddenKeys.contains(key)) {
+			return null;
+		}
+
+		String encodedValue = _encodedValues.get(key);
+
+		if (encodedValue == null) {
+			return null;
+		}
+
+		Serializable value = _decodedValues.get(key);
+
+		if (value != null) {
+			return value;
+		}
+
+		value = decodeValue(encodedValue);
+
+		if (value == null) {
+			return null;
+		}
+
+		Serializable decodedValue = _decodedValues.putIfAbsent(
+			(String)key, value);
+
+		if (decodedValue != null) {
+			return decodedValue;
+		}
+
+		return value;
+	}
+
+	@Override
+	public Serializable put(String key, Serializable value) {
+		if (_values.containsKey(key)) {
+			return _values.put(key, value);
+		}
+
+		Serializable oldValue = get(key);
+
+		hideEncodedValue(key);
+
+		_values.put(key, value);
+
+		return oldValue;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends Serializable> map) {
+		for (String key : map.keySet()) {
+			hideEncodedValue(key);
+		}
+
+		_values.putAll(map);
+	}
+
+	@Override
+	public Serializable remove(Object key) {
+		if (_values.containsKey(key)) {
+			return _values.remove(key);
+		}
+
+		Serializable value = get(key);
+
+		hideEncodedValue((String)key);
+
+		return value;
+	}
+
+	@Override
+	public int size() {
+		return _values.size() + _encodedValues.size() - _hiddenKeys.size();
+	}
+
+	protected void appendEntry(
+		StringBundler sb, String key, String encodedValue) {
+
+		sb.append(key.length());
+		sb.append(StringPool.COLON);
+		sb.append(key);
+		sb.append(encodedValue.length());
+		sb.append(StringPool.COLON);
+		sb.append(encodedValue);
+	}
+
+	protected Serializable decodeValue(String encodedValue) {
+		char type = encodedValue.charAt(0);
+
+		String value = encodedValue.substring(1);
+
+		if (type == _TYPE_BOOLEAN) {
+			return Boolean.valueOf(value);
+		}
+		else if (type == _TYPE_DATE) {
+			return new Date(Long.parseLong(value));
+		}
+		else if (type == _TYPE_DOUBLE) {
+			return Double.valueOf(value);
+		}
+		else if (type == _TYPE_INTEGER) {
+			return Integer.valueOf(value);
+		}
+		else if (type == _TYPE_JSON) {
+			return (Serializable)JSONFactoryUtil.deserialize(value);
+		}
+		else if (type == _TYPE_LONG) {
+			return Long.valueOf(value);
+		}
+		else if (type == _TYPE_NULL) {
+			return null;
+		}
+		else if (type == _TYPE_STRING) {
+			return value;
+		}
+
+		throw new IllegalArgumentException(
+			"Unknown workflow context value type " + type);
+	}
+
+	protected String encodeValue(Serializable value) {
+		if (value == null) {
+			return String.valueOf(_TYPE_NULL);
+		}
+		else if (value instanceof Boolean) {
+			return _TYPE_BOOLEAN + value.toString();
+		}
+		else if (value.getClass() == Date.class) {
+			Date date = (Date)value;
+
+			return _TYPE_DATE + String.valueOf(date.getTime());
+		}
+		else if (value instanceof Double) {
+			return _TYPE_DOUBLE + value.toString();
+		}
+		else if (value instanceof Integer) {
+			return _TYPE_INTEGER + value.toString();
+		}
+		else if (value instanceof Long) {
+			return _TYPE_LONG + value.toString();
+		}
+		else if (value instanceof String) {
+			return _TYPE_STRING + (String)value;
+		}
+
+		return _TYPE_JSON + JSONFactoryUtil.serialize(value);
+	}
+
+	protected void hideEncodedValue(String key) {
+		if (_encodedValues.containsKey(key)) {
+			_decodedValues.remove(key);
+			_hiddenKeys.add(key);
+		}
+	}
+
+	private static final char _TYPE_BOOLEAN = 'Z';
+
+	private static final char _TYPE_DATE = 'T';
+
+	private static final char _TYPE_DOUBLE = 'D';
+
+	private static final char _TYPE_INTEGER = 'I';
+
+	private static final char _TYPE_JSON = 'O';
+
+	private static final char _TYPE_LONG = 'J';
+
+	private static final char _TYPE_NULL = 'N';
+
+	private static final char _TYPE_STRING = 'S';
+
+	private ConcurrentHashMap<String, Serializable> _decodedValues =
+		new ConcurrentHashMap<String, Serializable>();
+	private Map<String, String> _encodedValues = Collections.emptyMap();
+	private Set<String> _hiddenKeys = new HashSet<String>();
+	private Map<String, Serializable> _values =
+		new HashMap<String, Serializable>();
+
+	private class EntrySet
+		extends AbstractSet<Map.Entry<String, Serializable>> {
+
+		@Override
+		public Iterator<Map.Entry<String, Serializable>> iterator() {
+			final List<String> keys = new ArrayList<String>(size());
+
+			keys.addAll(_values.keySet());
+
+			for (String key : _encodedValues.keySet()) {
+				if (!_hiddenKeys.contains(key)) {
+					keys.add(key);
+				}
+			}
+
+			return new Iterator<Map.Entry<String, Serializable>>() {
+
+				@Override
+				public boolean hasNext() {
+					return _index < keys.size();
+				}
+
+				@Override
+				public Map.Entry<String, Serializable> next() {
+					_key = keys.get(_index++);
+
+					return new WorkflowContextEntry(_key);
+				}
+
+				@Override
+				public void remove() {
+					if (_key == null) {
+						throw new IllegalStateException();
+					}
+
+					if (_values.containsKey(_key)) {
+						_values.remove(_key);
+					}
+					else {
+						hideEncodedValue(_key);
+					}
+
+					_key = null;
+				}
+
+				private int _index;
+				private String _key;
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return WorkflowContextMap.this.size();
+		}
+
+	}
+
+	private class WorkflowContextEntry
+		implements Map.Entry<String, Serializable> {
+
+		public WorkflowContextEntry(String key) {
+			_key = key;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Map.Entry)) {
+				return false;
+			}
+
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>)object;
+
+			if (_key.equals(entry.getKey()) &&
+				Validator.equals(getValue(), entry.getValue())) {
+
+				return true;
+			}
+
+			return false;
+		}
+
+		@Override
+		public String getKey() {
+			return _key;
+		}
+
+		@Override
+		public Serializable getValue() {
+			return get(_key);
+		}
+
+		@Override
+		public int hashCode() {
+			Object value = getValue();
+
+			if (value == null) {
+				return _key.hashCode();
+			}
+
+			return _key.hashCode() ^ value.hashCode();
+		}
+
+		@Override
+		public Serializable setValue(Serializable value) {
+			return put(_key, value);
+		}
+
+		private final String _key;
+
+	}
+
+}
\ No newline at end of file
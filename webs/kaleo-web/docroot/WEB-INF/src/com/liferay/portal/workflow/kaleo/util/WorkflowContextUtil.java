@@ -21,7 +21,6 @@ import com.liferay.portal.workflow.kaleo.runtime.ExecutionContext;
 
 import java.io.Serializable;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -36,15 +35,39 @@ public class WorkflowContextUtil {
 			return StringPool.BLANK;
 		}
 
-		return JSONFactoryUtil.serialize(workflowContext);
+		WorkflowContextMap workflowContextMap = null;
+
+		if (workflowContext instanceof WorkflowContextMap) {
+			workflowContextMap = (WorkflowContextMap)workflowContext;
+		}
+		else {
+			workflowContextMap = new WorkflowContextMap(workflowContext);
+		}
+
+		return workflowContextMap.encode();
 	}
 
-	public static Map<String, Serializable> convert(String json) {
-		if (Validator.isNull(json)) {
-			return new HashMap<String, Serializable>();
+	public static Map<String, Serializable> convert(String workflowContext) {
+		if (Validator.isNull(workflowContext)) {
+			return new WorkflowContextMap();
+		}
+
+		if (!isEncoded(workflowContext)) {
+			return (Map<String, Serializable>)JSONFactoryUtil.deserialize(
+				workflowContext);
+		}
+
+		return new WorkflowContextMap(workflowContext);
+	}
+
+	public static boolean isEncoded(String workflowContext) {
+		if ((workflowContext != null) &&
+			workflowContext.startsWith(WorkflowContextMap.PREFIX)) {
+
+			return true;
 		}
 
-		return (Map<String, Serializable>)JSONFactoryUtil.deserialize(json);
+		return false;
 	}
 
 	public static void mergeWorkflowContexts(
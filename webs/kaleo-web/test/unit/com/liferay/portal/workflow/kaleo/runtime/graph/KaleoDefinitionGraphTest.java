@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.graph;
+
+import com.liferay.portal.workflow.kaleo.NoSuchTransitionException;
+import com.liferay.portal.workflow.kaleo.model.KaleoTransition;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoTransitionUtil;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mockito;
+
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@PrepareForTest(KaleoTransitionUtil.class)
+@RunWith(PowerMockRunner.class)
+public class KaleoDefinitionGraphTest extends PowerMockito {
+
+	@Before
+	public void setUp() throws Exception {
+		when(
+			_kaleoTransition.clone()
+		).thenReturn(
+			_copyKaleoTransition
+		);
+
+		when(
+			_kaleoTransition.getKaleoNodeId()
+		).thenReturn(
+			2L
+		);
+
+		when(
+			_kaleoTransition.getName()
+		).thenReturn(
+			"approve"
+		);
+
+		when(
+			_kaleoTransition.isDefaultTransition()
+		).thenReturn(
+			true
+		);
+
+		mockStatic(KaleoTransitionUtil.class);
+
+		when(
+			KaleoTransitionUtil.findByKaleoDefinitionId(1L)
+		).thenReturn(
+			Arrays.asList(_kaleoTransition)
+		);
+	}
+
+	@Test
+	public void testGetDefaultKaleoTransition() throws Exception {
+		Assert.assertSame(
+			_copyKaleoTransition,
+			_kaleoDefinitionGraph.getDefaultKaleoTransition(2L));
+	}
+
+	@Test(expected = NoSuchTransitionException.class)
+	public void testGetDefaultKaleoTransitionWithoutTransitions()
+		throws Exception {
+
+		_kaleoDefinitionGraph.getDefaultKaleoTransition(3L);
+	}
+
+	@Test
+	public void testGetKaleoTransition() throws Exception {
+		Assert.assertSame(
+			_copyKaleoTransition,
+			_kaleoDefinitionGraph.getKaleoTransition(2L, "approve"));
+	}
+
+	@Test
+	public void testGetKaleoTransitions() throws Exception {
+		List<KaleoTransition> kaleoTransitions =
+			_kaleoDefinitionGraph.getKaleoTransitions(2L);
+
+		Assert.assertEquals(1, kaleoTransitions.size());
+		Assert.assertSame(_copyKaleoTransition, kaleoTransitions.get(0));
+
+		kaleoTransitions.clear();
+
+		kaleoTransitions = _kaleoDefinitionGraph.getKaleoTransitions(2L);
+
+		Assert.assertEquals(1, kaleoTransitions.size());
+
+		Assert.assertTrue(
+			_kaleoDefinitionGraph.getKaleoTransitions(3L).isEmpty());
+	}
+
+	@Test
+	public void testLoad() throws Exception {
+		_kaleoDefinitionGraph.getKaleoTransitions(2L);
+		_kaleoDefinitionGraph.getDefaultKaleoTransition(2L);
+
+		verifyStatic(Mockito.times(1));
+
+		KaleoTransitionUtil.findByKaleoDefinitionId(1L);
+	}
+
+	private final KaleoTransition _copyKaleoTransition = Mockito.mock(
+		KaleoTransition.class);
+	private final KaleoDefinitionGraph _kaleoDefinitionGraph =
+		new KaleoDefinitionGraph(1L, 2L);
+	private final KaleoTransition _kaleoTransition = Mockito.mock(
+		KaleoTransition.class);
+
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.timer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimerWheelTest {
+
+	@Test
+	public void testAddBeyondHorizon() throws Exception {
+		TimerWheel timerWheel = new TimerWheel(_TICK_TIME, 60, 2, 0);
+
+		Assert.assertFalse(timerWheel.add(1, timerWheel.getHorizonTime()));
+		Assert.assertFalse(timerWheel.contains(1));
+		Assert.assertEquals(0, timerWheel.size());
+	}
+
+	@Test
+	public void testAddPastDue() throws Exception {
+		TimerWheel timerWheel = new TimerWheel(_TICK_TIME, 60, 3, 10000);
+
+		Assert.assertTrue(timerWheel.add(1, 5000));
+
+		Assert.assertEquals(Arrays.asList(1L), timerWheel.advance(10000));
+		Assert.assertEquals(0, timerWheel.size());
+	}
+
+	@Test
+	public void testAdvance() throws Exception {
+		TimerWheel timerWheel = new TimerWheel(_TICK_TIME, 60, 3, 0);
+
+		timerWheel.add(1, 5000);
+		timerWheel.add(2, 150000);
+
+		Assert.assertEquals(
+			Collections.emptyList(), timerWheel.advance(5000 - _TICK_TIME));
+
+		List<Long> dueIds = new ArrayList<Long>();
+
+		for (long time = 0; time <= 152000; time += _TICK_TIME) {
+			for (long dueId : timerWheel.advance(time)) {
+				if (dueId == 1) {
+					Assert.assertTrue(time >= 5000);
+					Assert.assertTrue(time <= (5000 + _TICK_TIME));
+				}
+				else {
+					Assert.assertTrue(time >= 150000);
+					Assert.assertTrue(time <= (150000 + _TICK_TIME));
+				}
+
+				dueIds.add(dueId);
+			}
+		}
+
+		Assert.assertEquals(Arrays.asList(1L, 2L), dueIds);
+		Assert.assertEquals(0, timerWheel.size());
+	}
+
+	@Test
+	public void testAdvanceRandomly() throws Exception {
+		Random random = new Random(0);
+
+		TimerWheel timerWheel = new TimerWheel(_TICK_TIME, 60, 3, 0);
+
+		Map<Long, Long> dueTimes = new HashMap<Long, Long>();
+
+		for (long id = 0; id < 1000; id++) {
+			long dueTime = random.nextInt(3600000);
+
+			Assert.assertTrue(timerWheel.add(id, dueTime));
+
+			dueTimes.put(id, dueTime);
+		}
+
+		long time = 0;
+
+		while (!dueTimes.isEmpty()) {
+			time += random.nextInt(120000);
+
+			for (long dueId : timerWheel.advance(time)) {
+				Long dueTime = dueTimes.remove(dueId);
+
+				Assert.assertNotNull(dueTime);
+				Assert.assertTrue(dueTime <= time);
+			}
+
+			for (long dueTime : dueTimes.values()) {
+				Assert.assertTrue(dueTime > (time - _TICK_TIME));
+			}
+		}
+
+		Assert.assertEquals(0, timerWheel.size());
+	}
+
+	@Test
+	public void testRebuildSkipsDueIds() throws Exception {
+		TimerWheel timerWheel = new TimerWheel(_TICK_TIME, 60, 3, 10000);
+
+		timerWheel.add(1, 5000);
+		timerWheel.add(2, 20000);
+		timerWheel.add(3, 500000);
+
+		Assert.assertEquals(Arrays.asList(1L, 2L), timerWheel.advance(100000));
+		Assert.assertTrue(timerWheel.contains(3));
+		Assert.assertEquals(1, timerWheel.size());
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+		TimerWheel timerWheel = new TimerWheel(_TICK_TIME, 60, 3, 10000);
+
+		timerWheel.add(1, 5000);
+		timerWheel.add(2, 20000);
+
+		timerWheel.remove(1);
+		timerWheel.remove(2);
+
+		Assert.assertEquals(
+			Collections.emptyList(), timerWheel.advance(100000));
+		Assert.assertEquals(0, timerWheel.size());
+	}
+
+	@Test
+	public void testReschedule() throws Exception {
+		TimerWheel timerWheel = new TimerWheel(_TICK_TIME, 60, 3, 0);
+
+		timerWheel.add(1, 5000);
+		timerWheel.add(1, 30000);
+
+		Assert.assertEquals(Collections.emptyList(), timerWheel.advance(10000));
+		Assert.assertEquals(Arrays.asList(1L), timerWheel.advance(40000));
+	}
+
+	private static final long _TICK_TIME = 1000;
+
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.runtime.util;
+
+import com.liferay.portal.kernel.dao.jdbc.DataAccess;
+import com.liferay.portal.kernel.transaction.TransactionCommitCallbackRegistryUtil;
+import com.liferay.portal.workflow.kaleo.model.KaleoLog;
+import com.liferay.portal.workflow.kaleo.service.persistence.KaleoLogUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import java.util.concurrent.Callable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@PrepareForTest(
+	{
+		DataAccess.class, KaleoLogUtil.class,
+		TransactionCommitCallbackRegistryUtil.class
+	}
+)
+@RunWith(PowerMockRunner.class)
+public class KaleoLogWriterUtilTest extends PowerMockito {
+
+	@Before
+	public void setUp() throws Exception {
+		mockStatic(TransactionCommitCallbackRegistryUtil.class);
+
+		doAnswer(
+			new Answer<Void>() {
+
+				@Override
+				public Void answer(InvocationOnMock invocationOnMock)
+					throws Exception {
+
+					Object[] arguments = invocationOnMock.getArguments();
+
+					Callable<?> callable = (Callable<?>)arguments[0];
+
+					callable.call();
+
+					return null;
+				}
+
+			}
+		).when(
+			TransactionCommitCallbackRegistryUtil.class
+		);
+
+		TransactionCommitCallbackRegistryUtil.registerCallback(
+			Mockito.any(Callable.class));
+
+		mockStatic(DataAccess.class);
+
+		when(
+			DataAccess.getConnection()
+		).thenReturn(
+			_connection
+		);
+
+		when(
+			_connection.prepareStatement(Mockito.anyString())
+		).thenReturn(
+			_preparedStatement
+		);
+
+		mockStatic(KaleoLogUtil.class);
+
+		_kaleoLogWriterUtil.setAsynchronous(true);
+
+		_kaleoLogWriterUtil.afterPropertiesSet();
+	}
+
+	@After
+	public void tearDown() {
+		_kaleoLogWriterUtil.destroy();
+
+		_kaleoLogWriterUtil.setAsynchronous(false);
+	}
+
+	@Test
+	public void testAddKaleoLog() throws Exception {
+		KaleoLogWriterUtil.addKaleoLog(_kaleoLog);
+
+		_kaleoLogWriterUtil.destroy();
+
+		Mockito.verify(_preparedStatement).addBatch();
+		Mockito.verify(_connection).commit();
+	}
+
+	@Test
+	public void testAddKaleoLogAfterDestroy() throws Exception {
+		_kaleoLogWriterUtil.destroy();
+
+		KaleoLogWriterUtil.addKaleoLog(_kaleoLog);
+
+		Mockito.verify(_preparedStatement).addBatch();
+		Mockito.verify(_preparedStatement).executeBatch();
+		Mockito.verify(_connection).commit();
+	}
+
+	private final Connection _connection = Mockito.mock(Connection.class);
+	private final KaleoLog _kaleoLog = Mockito.mock(KaleoLog.class);
+	private final KaleoLogWriterUtil _kaleoLogWriterUtil =
+		new KaleoLogWriterUtil();
+	private final PreparedStatement _preparedStatement = Mockito.mock(
+		PreparedStatement.class);
+
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.util;
+
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.Sort;
+import com.liferay.portal.kernel.util.OrderByComparator;
+import com.liferay.portal.workflow.kaleo.model.KaleoTaskAssignmentInstance;
+import com.liferay.portal.workflow.kaleo.model.KaleoTaskInstanceToken;
+import com.liferay.portal.workflow.kaleo.service.KaleoTaskAssignmentInstanceLocalServiceUtil;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mockito;
+
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@PrepareForTest(
+	{
+		KaleoTaskAssignmentInstanceLocalServiceUtil.class,
+		KaleoTaskInstanceTokenIndexer.class
+	}
+)
+@RunWith(PowerMockRunner.class)
+public class KaleoTaskInstanceTokenIndexerTest extends PowerMockito {
+
+	@Test
+	public void testDoGetDocument() throws Exception {
+		KaleoTaskInstanceToken kaleoTaskInstanceToken = Mockito.mock(
+			KaleoTaskInstanceToken.class);
+
+		when(
+			kaleoTaskInstanceToken.getKaleoTaskId()
+		).thenReturn(
+			2L
+		);
+
+		when(
+			kaleoTaskInstanceToken.getKaleoTaskInstanceTokenId()
+		).thenReturn(
+			3L
+		);
+
+		mockStatic(KaleoTaskAssignmentInstanceLocalServiceUtil.class);
+
+		when(
+			KaleoTaskAssignmentInstanceLocalServiceUtil.
+				getKaleoTaskAssignmentInstances(3L)
+		).thenReturn(
+			Collections.<KaleoTaskAssignmentInstance>emptyList()
+		);
+
+		Document document = Mockito.mock(Document.class);
+
+		KaleoTaskInstanceTokenIndexer kaleoTaskInstanceTokenIndexer = spy(
+			new KaleoTaskInstanceTokenIndexer());
+
+		doReturn(
+			document
+		).when(
+			kaleoTaskInstanceTokenIndexer, "getBaseModelDocument",
+			KaleoTaskInstanceTokenIndexer.PORTLET_ID, kaleoTaskInstanceToken
+		);
+
+		Assert.assertSame(
+			document,
+			kaleoTaskInstanceTokenIndexer.doGetDocument(
+				kaleoTaskInstanceToken));
+
+		Mockito.verify(document).addNumber("kaleoTaskId", 2L);
+		Mockito.verify(document).addNumber("kaleoTaskInstanceTokenId", 3L);
+	}
+
+	@Test
+	public void testGetSorts() {
+		OrderByComparator orderByComparator = Mockito.mock(
+			OrderByComparator.class);
+
+		when(
+			orderByComparator.getOrderByFields()
+		).thenReturn(
+			new String[] {"kaleoTaskInstanceTokenId", "name", "unknown"}
+		);
+
+		when(
+			orderByComparator.isAscending()
+		).thenReturn(
+			false
+		);
+
+		KaleoTaskInstanceTokenIndexer kaleoTaskInstanceTokenIndexer =
+			new KaleoTaskInstanceTokenIndexer();
+
+		Sort[] sorts = kaleoTaskInstanceTokenIndexer.getSorts(
+			orderByComparator);
+
+		Assert.assertEquals(2, sorts.length);
+
+		Assert.assertEquals(
+			"kaleoTaskInstanceTokenId", sorts[0].getFieldName());
+		Assert.assertEquals(Sort.LONG_TYPE, sorts[0].getType());
+		Assert.assertTrue(sorts[0].isReverse());
+
+		Assert.assertEquals("kaleoTaskName", sorts[1].getFieldName());
+		Assert.assertEquals(Sort.STRING_TYPE, sorts[1].getType());
+		Assert.assertTrue(sorts[1].isReverse());
+
+		Assert.assertEquals(
+			0, kaleoTaskInstanceTokenIndexer.getSorts(null).length);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.workflow.kaleo.util;
+
+import java.io.Serializable;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkflowContextMapTest {
+
+	@Before
+	public void setUp() {
+		WorkflowContextMap workflowContextMap = new WorkflowContextMap();
+
+		workflowContextMap.put("boolean", Boolean.TRUE);
+		workflowContextMap.put("date", new Date(1234567890123L));
+		workflowContextMap.put("double", 1.5D);
+		workflowContextMap.put("integer", 42);
+		workflowContextMap.put("long", 1234567890123L);
+		workflowContextMap.put("null", null);
+		workflowContextMap.put("string", "a:b 12:c");
+
+		_workflowContext = workflowContextMap.encode();
+	}
+
+	@Test
+	public void testCopy() {
+		WorkflowContextMap workflowContextMap = new WorkflowContextMap(
+			_workflowContext);
+
+		WorkflowContextMap copyWorkflowContextMap = new WorkflowContextMap(
+			workflowContextMap);
+
+		copyWorkflowContextMap.put("long", 1L);
+		copyWorkflowContextMap.remove("string");
+
+		Assert.assertEquals(1234567890123L, workflowContextMap.get("long"));
+		Assert.assertEquals("a:b 12:c", workflowContextMap.get("string"));
+		Assert.assertEquals(7, workflowContextMap.size());
+
+		Assert.assertEquals(1L, copyWorkflowContextMap.get("long"));
+		Assert.assertFalse(copyWorkflowContextMap.containsKey("string"));
+		Assert.assertEquals(6, copyWorkflowContextMap.size());
+	}
+
+	@Test
+	public void testEncodeAndDecode() {
+		WorkflowContextMap workflowContextMap = new WorkflowContextMap(
+			_workflowContext);
+
+		Assert.assertEquals(7, workflowContextMap.size());
+		Assert.assertEquals(Boolean.TRUE, workflowContextMap.get("boolean"));
+		Assert.assertEquals(
+			new Date(1234567890123L), workflowContextMap.get("date"));
+		Assert.assertEquals(1.5D, workflowContextMap.get("double"));
+		Assert.assertEquals(42, workflowContextMap.get("integer"));
+		Assert.assertEquals(1234567890123L, workflowContextMap.get("long"));
+		Assert.assertNull(workflowContextMap.get("null"));
+		Assert.assertTrue(workflowContextMap.containsKey("null"));
+		Assert.assertEquals("a:b 12:c", workflowContextMap.get("string"));
+
+		Map<String, Serializable> map = new HashMap<String, Serializable>(
+			workflowContextMap);
+
+		Assert.assertEquals(
+			map, new WorkflowContextMap(workflowContextMap.encode()));
+	}
+
+	@Test
+	public void testEntrySetDecodesOnlyReadValues() {
+		CountingWorkflowContextMap countingWorkflowContextMap =
+			new CountingWorkflowContextMap(_workflowContext);
+
+		Iterator<Map.Entry<String, Serializable>> iterator =
+			countingWorkflowContextMap.entrySet().iterator();
+
+		int count = 0;
+
+		while (iterator.hasNext()) {
+			Map.Entry<String, Serializable> entry = iterator.next();
+
+			if (entry.getKey().equals("string")) {
+				Assert.assertEquals("a:b 12:c", entry.getValue());
+
+				iterator.remove();
+			}
+
+			count++;
+		}
+
+		Assert.assertEquals(7, count);
+		Assert.assertEquals(1, countingWorkflowContextMap.getDecodeCount());
+		Assert.assertEquals(6, countingWorkflowContextMap.size());
+		Assert.assertFalse(countingWorkflowContextMap.containsKey("string"));
+	}
+
+	@Test
+	public void testPut() {
+		CountingWorkflowContextMap countingWorkflowContextMap =
+			new CountingWorkflowContextMap(_workflowContext);
+
+		Assert.assertEquals(
+			1234567890123L, countingWorkflowContextMap.put("long", 1L));
+		Assert.assertEquals(1L, countingWorkflowContextMap.put("long", 2L));
+		Assert.assertNull(countingWorkflowContextMap.put("new", "value"));
+
+		Assert.assertEquals(8, countingWorkflowContextMap.size());
+
+		WorkflowContextMap workflowContextMap = new WorkflowContextMap(
+			countingWorkflowContextMap.encode());
+
+		Assert.assertEquals(2L, workflowContextMap.get("long"));
+		Assert.assertEquals("value", workflowContextMap.get("new"));
+		Assert.assertEquals(8, workflowContextMap.size());
+	}
+
+	@Test
+	public void testPutAllDoesNotDecodeValues() {
+		CountingWorkflowContextMap countingWorkflowContextMap =
+			new CountingWorkflowContextMap(_workflowContext);
+
+		Map<String, Serializable> map = new HashMap<String, Serializable>();
+
+		map.put("integer", 7);
+		map.put("new", "value");
+
+		countingWorkflowContextMap.putAll(map);
+
+		Assert.assertEquals(0, countingWorkflowContextMap.getDecodeCount());
+		Assert.assertEquals(8, countingWorkflowContextMap.size());
+		Assert.assertEquals(7, countingWorkflowContextMap.get("integer"));
+	}
+
+	@Test
+	public void testRemove() {
+		CountingWorkflowContextMap countingWorkflowContextMap =
+			new CountingWorkflowContextMap(_workflowContext);
+
+		Assert.assertEquals(42, countingWorkflowContextMap.remove("integer"));
+		Assert.assertNull(countingWorkflowContextMap.remove("integer"));
+
+		Assert.assertEquals(1, countingWorkflowContextMap.getDecodeCount());
+		Assert.assertEquals(6, countingWorkflowContextMap.size());
+
+		countingWorkflowContextMap.clear();
+
+		Assert.assertTrue(countingWorkflowContextMap.isEmpty());
+		Assert.assertEquals("kwc:", countingWorkflowContextMap.encode());
+	}
+
+	private String _workflowContext;
+
+	private static class CountingWorkflowContextMap
+		extends WorkflowContextMap {
+
+		public CountingWorkflowContextMap(String workflowContext) {
+			super(workflowContext);
+		}
+
+		public int getDecodeCount() {
+			return _decodeCount;
+		}
+
+		@Override
+		protected Serializable decodeValue(String encodedValue) {
+			_decodeCount++;
+
+			return super.decodeValue(encodedValue);
+		}
+
+		private int _decodeCount;
+
+	}
+
+}
\ No newline at end of file
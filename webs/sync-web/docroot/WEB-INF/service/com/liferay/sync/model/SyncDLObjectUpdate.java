@@ -27,20 +27,39 @@ public class SyncDLObjectUpdate {
 	public SyncDLObjectUpdate(
 		List<SyncDLObject> syncDLObjects, long lastAccessTime) {
 
+		this(syncDLObjects, lastAccessTime, 0, false);
+	}
+
+	public SyncDLObjectUpdate(
+		List<SyncDLObject> syncDLObjects, long lastAccessTime,
+		long lastSyncDLObjectId, boolean hasMore) {
+
 		_syncDLObjects = syncDLObjects;
 		_lastAccessTime = lastAccessTime;
+		_lastSyncDLObjectId = lastSyncDLObjectId;
+		_hasMore = hasMore;
 	}
 
 	public long getLastAccessTime() {
 		return _lastAccessTime;
 	}
 
+	public long getLastSyncDLObjectId() {
+		return _lastSyncDLObjectId;
+	}
+
 	@JSON
 	public List<SyncDLObject> getSyncDLObjects() {
 		return _syncDLObjects;
 	}
 
+	public boolean isHasMore() {
+		return _hasMore;
+	}
+
+	private boolean _hasMore;
 	private long _lastAccessTime;
+	private long _lastSyncDLObjectId;
 	private List<SyncDLObject> _syncDLObjects;
 
 }
\ No newline at end of file
@@ -129,6 +129,10 @@ public class SyncDLObjectLocalServiceClp implements SyncDLObjectLocalService {
 		_methodName20 = "getLatestModifiedTime";
 
 		_methodParameterTypes20 = new String[] {  };
+
+		_methodName21 = "fetchSyncDLObject";
+
+		_methodParameterTypes21 = new String[] { "java.lang.String", "long" };
 	}
 
 	@Override
@@ -791,6 +795,40 @@ public class SyncDLObjectLocalServiceClp implements SyncDLObjectLocalService {
 		return ((Long)returnObj).longValue();
 	}
 
+	@Override
+	public com.liferay.sync.model.SyncDLObject fetchSyncDLObject(
+		java.lang.String type, long typePK)
+		throws com.liferay.portal.kernel.exception.SystemException {
+		Object returnObj = null;
+
+		try {
+			returnObj = _invokableLocalService.invokeMethod(_methodName21,
+					_methodParameterTypes21,
+					new Object[] {
+						ClpSerializer.translateInput(type),
+						
+					typePK
+					});
+		}
+		catch (Throwable t) {
+			t = ClpSerializer.translateThrowable(t);
+
+			if (t instanceof com.liferay.portal.kernel.exception.SystemException) {
+				throw (com.liferay.portal.kernel.exception.SystemException)t;
+			}
+
+			if (t instanceof RuntimeException) {
+				throw (RuntimeException)t;
+			}
+			else {
+				throw new RuntimeException(t.getClass().getName() +
+					" is not a valid exception");
+			}
+		}
+
+		return (com.liferay.sync.model.SyncDLObject)ClpSerializer.translateOutput(returnObj);
+	}
+
 	private InvokableLocalService _invokableLocalService;
 	private String _methodName0;
 	private String[] _methodParameterTypes0;
@@ -832,4 +870,6 @@ public class SyncDLObjectLocalServiceClp implements SyncDLObjectLocalService {
 	private String[] _methodParameterTypes19;
 	private String _methodName20;
 	private String[] _methodParameterTypes20;
+	private String _methodName21;
+	private String[] _methodParameterTypes21;
 }
\ No newline at end of file
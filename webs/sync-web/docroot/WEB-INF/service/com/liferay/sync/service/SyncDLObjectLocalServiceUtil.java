@@ -298,6 +298,12 @@ public class SyncDLObjectLocalServiceUtil {
 		return getService().getLatestModifiedTime();
 	}
 
+	public static com.liferay.sync.model.SyncDLObject fetchSyncDLObject(
+		java.lang.String type, long typePK)
+		throws com.liferay.portal.kernel.exception.SystemException {
+		return getService().fetchSyncDLObject(type, typePK);
+	}
+
 	public static void clearService() {
 		_service = null;
 	}
@@ -278,6 +278,24 @@ public class SyncDLObjectServiceUtil {
 				   .updateFolder(folderId, name, description, serviceContext);
 	}
 
+	public static com.liferay.sync.model.SyncDLObjectUpdate getSyncDLObjectUpdate(
+		long companyId, long repositoryId, long lastAccessTime,
+		long lastSyncDLObjectId, int max)
+		throws com.liferay.portal.kernel.exception.PortalException,
+			com.liferay.portal.kernel.exception.SystemException {
+		return getService()
+				   .getSyncDLObjectUpdate(companyId, repositoryId,
+			lastAccessTime, lastSyncDLObjectId, max);
+	}
+
+	public static java.util.Map<java.lang.String, java.lang.Object> updateFileEntries(
+		java.io.File zipFile,
+		com.liferay.portal.service.ServiceContext serviceContext)
+		throws com.liferay.portal.kernel.exception.PortalException,
+			com.liferay.portal.kernel.exception.SystemException {
+		return getService().updateFileEntries(zipFile, serviceContext);
+	}
+
 	public static void clearService() {
 		_service = null;
 	}
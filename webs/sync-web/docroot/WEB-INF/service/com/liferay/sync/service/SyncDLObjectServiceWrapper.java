@@ -292,6 +292,25 @@ public class SyncDLObjectServiceWrapper implements SyncDLObjectService,
 			serviceContext);
 	}
 
+	@Override
+	public com.liferay.sync.model.SyncDLObjectUpdate getSyncDLObjectUpdate(
+		long companyId, long repositoryId, long lastAccessTime,
+		long lastSyncDLObjectId, int max)
+		throws com.liferay.portal.kernel.exception.PortalException,
+			com.liferay.portal.kernel.exception.SystemException {
+		return _syncDLObjectService.getSyncDLObjectUpdate(companyId,
+			repositoryId, lastAccessTime, lastSyncDLObjectId, max);
+	}
+
+	@Override
+	public java.util.Map<java.lang.String, java.lang.Object> updateFileEntries(
+		java.io.File zipFile,
+		com.liferay.portal.service.ServiceContext serviceContext)
+		throws com.liferay.portal.kernel.exception.PortalException,
+			com.liferay.portal.kernel.exception.SystemException {
+		return _syncDLObjectService.updateFileEntries(zipFile, serviceContext);
+	}
+
 	/**
 	 * @deprecated As of 6.1.0, replaced by {@link #getWrappedService}
 	 */
@@ -21,4 +21,9 @@ public interface SyncDLObjectFinder {
 	public java.util.List<com.liferay.sync.model.SyncDLObject> filterFindByC_M_R(
 		long companyId, long modifiedTime, long repositoryId)
 		throws com.liferay.portal.kernel.exception.SystemException;
+
+	public java.util.List<com.liferay.sync.model.SyncDLObject> filterFindByC_M_R(
+		long companyId, long modifiedTime, long syncDLObjectId,
+		long repositoryId, int start, int end)
+		throws com.liferay.portal.kernel.exception.SystemException;
 }
\ No newline at end of file
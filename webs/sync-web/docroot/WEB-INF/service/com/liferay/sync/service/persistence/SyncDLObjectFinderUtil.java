@@ -28,6 +28,15 @@ public class SyncDLObjectFinderUtil {
 				   .filterFindByC_M_R(companyId, modifiedTime, repositoryId);
 	}
 
+	public static java.util.List<com.liferay.sync.model.SyncDLObject> filterFindByC_M_R(
+		long companyId, long modifiedTime, long syncDLObjectId,
+		long repositoryId, int start, int end)
+		throws com.liferay.portal.kernel.exception.SystemException {
+		return getFinder()
+				   .filterFindByC_M_R(companyId, modifiedTime, syncDLObjectId,
+			repositoryId, start, end);
+	}
+
 	public static SyncDLObjectFinder getFinder() {
 		if (_finder == null) {
 			_finder = (SyncDLObjectFinder)PortletBeanLocatorUtil.locate(com.liferay.sync.service.ClpSerializer.getServletContextName(),
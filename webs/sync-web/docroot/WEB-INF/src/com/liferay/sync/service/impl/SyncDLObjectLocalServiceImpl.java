@@ -102,6 +102,13 @@ public class SyncDLObjectLocalServiceImpl
 		return syncDLObjectPersistence.update(syncDLObject);
 	}
 
+	@Override
+	public SyncDLObject fetchSyncDLObject(String type, long typePK)
+		throws SystemException {
+
+		return syncDLObjectPersistence.fetchByT_T(type, typePK);
+	}
+
 	@Override
 	public long getLatestModifiedTime() throws SystemException {
 		DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(
@@ -18,14 +18,23 @@ import com.liferay.portal.kernel.dao.orm.QueryUtil;
 import com.liferay.portal.kernel.deploy.DeployManagerUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONFactoryUtil;
+import com.liferay.portal.kernel.json.JSONObject;
 import com.liferay.portal.kernel.plugin.PluginPackage;
 import com.liferay.portal.kernel.repository.model.FileEntry;
 import com.liferay.portal.kernel.repository.model.Folder;
+import com.liferay.portal.kernel.transaction.Propagation;
+import com.liferay.portal.kernel.transaction.Transactional;
+import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.FileUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.ReleaseInfo;
 import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.kernel.workflow.WorkflowConstants;
+import com.liferay.portal.kernel.zip.ZipReader;
+import com.liferay.portal.kernel.zip.ZipReaderFactoryUtil;
 import com.liferay.portal.model.Group;
 import com.liferay.portal.service.ServiceContext;
 import com.liferay.portlet.documentlibrary.DuplicateFileException;
@@ -41,9 +50,12 @@ import com.liferay.sync.util.PortletPropsValues;
 import com.liferay.sync.util.SyncUtil;
 
 import java.io.File;
+import java.io.InputStream;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Michael Young
@@ -319,6 +331,54 @@ public class SyncDLObjectServiceImpl extends SyncDLObjectServiceBaseImpl {
 		return new SyncDLObjectUpdate(syncDLObjects, lastAccessTime);
 	}
 
+	@Override
+	public SyncDLObjectUpdate getSyncDLObjectUpdate(
+			long companyId, long repositoryId, long lastAccessTime,
+			long lastSyncDLObjectId, int max)
+		throws PortalException, SystemException {
+
+		repositoryService.checkRepository(repositoryId);
+
+		if ((max <= 0) ||
+			(max > PortletPropsValues.SYNC_DL_OBJECT_UPDATE_MAX_SIZE)) {
+
+			max = PortletPropsValues.SYNC_DL_OBJECT_UPDATE_MAX_SIZE;
+		}
+
+		// Without a cursor, only objects modified after the last access time
+		// are returned
+
+		if (lastSyncDLObjectId <= 0) {
+			lastSyncDLObjectId = Long.MAX_VALUE;
+		}
+
+		List<SyncDLObject> syncDLObjects = syncDLObjectFinder.filterFindByC_M_R(
+			companyId, lastAccessTime, lastSyncDLObjectId, repositoryId, 0,
+			max + 1);
+
+		boolean hasMore = false;
+
+		if (syncDLObjects.size() > max) {
+			syncDLObjects = new ArrayList<SyncDLObject>(
+				syncDLObjects.subList(0, max));
+
+			hasMore = true;
+		}
+
+		lastSyncDLObjectId = 0;
+
+		if (!syncDLObjects.isEmpty()) {
+			SyncDLObject syncDLObject = syncDLObjects.get(
+				syncDLObjects.size() - 1);
+
+			lastAccessTime = syncDLObject.getModifiedTime();
+			lastSyncDLObjectId = syncDLObject.getSyncDLObjectId();
+		}
+
+		return new SyncDLObjectUpdate(
+			syncDLObjects, lastAccessTime, lastSyncDLObjectId, hasMore);
+	}
+
 	@Override
 	public List<Group> getUserSitesGroups()
 		throws PortalException, SystemException {
@@ -430,6 +490,81 @@ public class SyncDLObjectServiceImpl extends SyncDLObjectServiceBaseImpl {
 		return SyncUtil.toSyncDLObject(folder, SyncConstants.EVENT_RESTORE);
 	}
 
+	/**
+	 * Performs the operations listed in the manifest of the ZIP file in order.
+	 * Each operation runs in its own transaction, so a failed operation does
+	 * not roll back the ones before it. The result of each operation, either
+	 * its sync object or its exception, is returned under the operation's key.
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public Map<String, Object> updateFileEntries(
+			File zipFile, ServiceContext serviceContext)
+		throws PortalException, SystemException {
+
+		Map<String, Object> responseMap = new LinkedHashMap<String, Object>();
+
+		ZipReader zipReader = null;
+
+		try {
+			zipReader = ZipReaderFactoryUtil.getZipReader(zipFile);
+
+			JSONArray manifestJSONArray = JSONFactoryUtil.createJSONArray(
+				zipReader.getEntryAsString(_MANIFEST_FILE_NAME));
+
+			for (int i = 0; i < manifestJSONArray.length(); i++) {
+				JSONObject jsonObject = manifestJSONArray.getJSONObject(i);
+
+				String key = jsonObject.getString("key");
+
+				File file = null;
+
+				try {
+					String zipFileId = jsonObject.getString("zipFileId");
+
+					if (Validator.isNotNull(zipFileId)) {
+						file = getFile(zipReader, zipFileId);
+					}
+
+					SyncDLObject syncDLObject = updateFileEntry(
+						jsonObject.getString("urlPath"),
+						jsonObject.getJSONObject("parameters"), file,
+						serviceContext);
+
+					responseMap.put(key, syncDLObject);
+				}
+				catch (Exception e) {
+					Map<String, String> exceptionMap =
+						new LinkedHashMap<String, String>();
+
+					exceptionMap.put("exception", e.getClass().getName());
+					exceptionMap.put("message", e.getMessage());
+
+					responseMap.put(key, exceptionMap);
+				}
+				finally {
+					FileUtil.delete(file);
+				}
+			}
+
+			return responseMap;
+		}
+		catch (PortalException pe) {
+			throw pe;
+		}
+		catch (SystemException se) {
+			throw se;
+		}
+		catch (Exception e) {
+			throw new PortalException(e);
+		}
+		finally {
+			if (zipReader != null) {
+				zipReader.close();
+			}
+		}
+	}
+
 	@Override
 	public SyncDLObject updateFileEntry(
 			long fileEntryId, String sourceFileName, String mimeType,
@@ -497,6 +632,137 @@ public class SyncDLObjectServiceImpl extends SyncDLObjectServiceBaseImpl {
 		}
 	}
 
+	protected File getFile(ZipReader zipReader, String zipFileId)
+		throws Exception {
+
+		InputStream inputStream = zipReader.getEntryAsInputStream(zipFileId);
+
+		if (inputStream == null) {
+			throw new IllegalArgumentException(
+				"Missing ZIP file entry " + zipFileId);
+		}
+
+		File file = FileUtil.createTempFile();
+
+		FileUtil.write(file, inputStream);
+
+		return file;
+	}
+
+	protected ServiceContext getServiceContext(
+		JSONObject parametersJSONObject, ServiceContext serviceContext) {
+
+		serviceContext = (ServiceContext)serviceContext.clone();
+
+		// Only the permission flags sent by the engine may be overridden
+
+		String addGroupPermissionsKey =
+			_SERVICE_CONTEXT_PREFIX + "addGroupPermissions";
+
+		if (parametersJSONObject.has(addGroupPermissionsKey)) {
+			serviceContext.setAddGroupPermissions(
+				parametersJSONObject.getBoolean(addGroupPermissionsKey));
+		}
+
+		String addGuestPermissionsKey =
+			_SERVICE_CONTEXT_PREFIX + "addGuestPermissions";
+
+		if (parametersJSONObject.has(addGuestPermissionsKey)) {
+			serviceContext.setAddGuestPermissions(
+				parametersJSONObject.getBoolean(addGuestPermissionsKey));
+		}
+
+		return serviceContext;
+	}
+
+	protected String getString(JSONObject jsonObject, String key) {
+		if (!jsonObject.has(key)) {
+			return null;
+		}
+
+		return jsonObject.getString(key);
+	}
+
+	/**
+	 * Dispatches a single batched operation to the matching method of the
+	 * service proxy so that it is wrapped in its own transaction.
+	 */
+	protected SyncDLObject updateFileEntry(
+			String urlPath, JSONObject parametersJSONObject, File file,
+			ServiceContext serviceContext)
+		throws PortalException, SystemException {
+
+		String methodName = urlPath.substring(
+			urlPath.lastIndexOf(CharPool.SLASH) + 1);
+
+		serviceContext = getServiceContext(
+			parametersJSONObject, serviceContext);
+
+		if (methodName.equals("add-file-entry")) {
+			return syncDLObjectService.addFileEntry(
+				parametersJSONObject.getLong("repositoryId"),
+				parametersJSONObject.getLong("folderId"),
+				getString(parametersJSONObject, "sourceFileName"),
+				getString(parametersJSONObject, "mimeType"),
+				getString(parametersJSONObject, "title"),
+				getString(parametersJSONObject, "description"),
+				getString(parametersJSONObject, "changeLog"), file,
+				getString(parametersJSONObject, "checksum"), serviceContext);
+		}
+		else if (methodName.equals("move-file-entry")) {
+			return syncDLObjectService.moveFileEntry(
+				parametersJSONObject.getLong("fileEntryId"),
+				parametersJSONObject.getLong("newFolderId"), serviceContext);
+		}
+		else if (methodName.equals("move-file-entry-to-trash")) {
+			return syncDLObjectService.moveFileEntryToTrash(
+				parametersJSONObject.getLong("fileEntryId"));
+		}
+		else if (methodName.equals("move-folder")) {
+			return syncDLObjectService.moveFolder(
+				parametersJSONObject.getLong("folderId"),
+				parametersJSONObject.getLong("parentFolderId"),
+				serviceContext);
+		}
+		else if (methodName.equals("move-folder-to-trash")) {
+			return syncDLObjectService.moveFolderToTrash(
+				parametersJSONObject.getLong("folderId"));
+		}
+		else if (methodName.equals("patch-file-entry")) {
+			return syncDLObjectService.patchFileEntry(
+				parametersJSONObject.getLong("fileEntryId"),
+				getString(parametersJSONObject, "sourceVersion"),
+				getString(parametersJSONObject, "sourceFileName"),
+				getString(parametersJSONObject, "mimeType"),
+				getString(parametersJSONObject, "title"),
+				getString(parametersJSONObject, "description"),
+				getString(parametersJSONObject, "changeLog"),
+				parametersJSONObject.getBoolean("majorVersion"), file,
+				getString(parametersJSONObject, "checksum"), serviceContext);
+		}
+		else if (methodName.equals("update-file-entry")) {
+			return syncDLObjectService.updateFileEntry(
+				parametersJSONObject.getLong("fileEntryId"),
+				getString(parametersJSONObject, "sourceFileName"),
+				getString(parametersJSONObject, "mimeType"),
+				getString(parametersJSONObject, "title"),
+				getString(parametersJSONObject, "description"),
+				getString(parametersJSONObject, "changeLog"),
+				parametersJSONObject.getBoolean("majorVersion"), file,
+				getString(parametersJSONObject, "checksum"), serviceContext);
+		}
+		else if (methodName.equals("update-folder")) {
+			return syncDLObjectService.updateFolder(
+				parametersJSONObject.getLong("folderId"),
+				getString(parametersJSONObject, "name"),
+				getString(parametersJSONObject, "description"),
+				serviceContext);
+		}
+
+		throw new IllegalArgumentException(
+			"Unsupported batch operation " + urlPath);
+	}
+
 	protected void validateChecksum(File file, String checksum)
 		throws PortalException {
 
@@ -514,4 +780,8 @@ public class SyncDLObjectServiceImpl extends SyncDLObjectServiceBaseImpl {
 		}
 	}
 
+	private static final String _MANIFEST_FILE_NAME = "/manifest.json";
+
+	private static final String _SERVICE_CONTEXT_PREFIX = "serviceContext.";
+
 }
\ No newline at end of file
@@ -15,10 +15,12 @@
 package com.liferay.sync.service.persistence.impl;
 
 import com.liferay.portal.kernel.dao.orm.QueryPos;
+import com.liferay.portal.kernel.dao.orm.QueryUtil;
 import com.liferay.portal.kernel.dao.orm.SQLQuery;
 import com.liferay.portal.kernel.dao.orm.Session;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.security.auth.PrincipalThreadLocal;
 import com.liferay.portal.security.permission.InlineSQLHelperUtil;
 import com.liferay.portal.service.persistence.impl.BasePersistenceImpl;
@@ -111,4 +113,96 @@ public class SyncDLObjectFinderImpl
 		}
 	}
 
+	@Override
+	public List<SyncDLObject> filterFindByC_M_R(
+			long companyId, long modifiedTime, long syncDLObjectId,
+			long repositoryId, int start, int end)
+		throws SystemException {
+
+		Session session = null;
+
+		try {
+			session = openSession();
+
+			StringBundler sb = new StringBundler(8);
+
+			sb.append("SELECT {SyncDLObject.*} FROM (");
+
+			String sql = CustomSQLUtil.get(FIND_BY_DELETE_EVENT);
+
+			sb.append(replaceModifiedTime(sql));
+			sb.append(" UNION ALL ");
+
+			sql = CustomSQLUtil.get(FIND_BY_FILE_OR_PWC_TYPE);
+
+			sql = InlineSQLHelperUtil.replacePermissionCheck(
+				sql, DLFileEntry.class.getName(), "SyncDLObject.typePK", null,
+				"SyncDLObject.repositoryId", new long[] {repositoryId},
+				null);
+
+			sb.append(replaceModifiedTime(sql));
+			sb.append(" UNION ALL ");
+
+			sql = CustomSQLUtil.get(FIND_BY_FOLDER_TYPE);
+
+			sql = InlineSQLHelperUtil.replacePermissionCheck(
+				sql, DLFolder.class.getName(), "SyncDLObject.typePK", null,
+				"SyncDLObject.repositoryId", new long[] {repositoryId},
+				null);
+
+			sb.append(replaceModifiedTime(sql));
+			sb.append(") SyncDLObject ORDER BY ");
+			sb.append(
+				"SyncDLObject.modifiedTime ASC, SyncDLObject.syncDLObjectId ASC");
+
+			sql = sb.toString();
+
+			SQLQuery q = session.createSynchronizedSQLQuery(sql);
+
+			q.addEntity("SyncDLObject", SyncDLObjectImpl.class);
+
+			QueryPos qPos = QueryPos.getInstance(q);
+
+			qPos.add(companyId);
+			qPos.add(modifiedTime);
+			qPos.add(modifiedTime);
+			qPos.add(syncDLObjectId);
+			qPos.add(repositoryId);
+			qPos.add(companyId);
+			qPos.add(modifiedTime);
+			qPos.add(modifiedTime);
+			qPos.add(syncDLObjectId);
+			qPos.add(repositoryId);
+			qPos.add(PrincipalThreadLocal.getUserId());
+			qPos.add(companyId);
+			qPos.add(modifiedTime);
+			qPos.add(modifiedTime);
+			qPos.add(syncDLObjectId);
+			qPos.add(repositoryId);
+
+			return (List<SyncDLObject>)QueryUtil.list(
+				q, getDialect(), start, end);
+		}
+		catch (Exception e) {
+			throw new SystemException(e);
+		}
+		finally {
+			closeSession(session);
+		}
+	}
+
+	protected String replaceModifiedTime(String sql) {
+
+		// Select plain columns so the union can be wrapped in a derived table
+		// and paged by the (modifiedTime, syncDLObjectId) keyset
+
+		sql = StringUtil.replace(sql, "{SyncDLObject.*}", "SyncDLObject.*");
+
+		return StringUtil.replace(
+			sql, "(SyncDLObject.modifiedTime > ?)",
+			"((SyncDLObject.modifiedTime > ?) OR " +
+				"((SyncDLObject.modifiedTime = ?) AND " +
+					"(SyncDLObject.syncDLObjectId > ?)))");
+	}
+
 }
\ No newline at end of file
@@ -18,12 +18,15 @@ import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.repository.model.FileEntry;
 import com.liferay.portal.kernel.repository.model.FileVersion;
+import com.liferay.portal.kernel.servlet.HttpHeaders;
 import com.liferay.portal.kernel.servlet.PortalSessionThreadLocal;
 import com.liferay.portal.kernel.servlet.ServletResponseUtil;
 import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.HttpUtil;
 import com.liferay.portal.kernel.util.ParamUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.model.User;
@@ -42,11 +45,14 @@ import com.liferay.sync.service.SyncDLFileVersionDiffLocalServiceUtil;
 import com.liferay.sync.util.PortletPropsValues;
 import com.liferay.sync.util.SyncUtil;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import java.util.Date;
+
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -102,16 +108,98 @@ public class DownloadServlet extends HttpServlet {
 	}
 
 	protected File getDeltaFile(
-			long userId, long fileEntryId, String sourceVersion,
-			String targetVersion)
+			long userId, DLFileVersion sourceFileVersion,
+			DLFileVersion targetFileVersion)
 		throws PortalException, SystemException {
 
-		File sourceFile = DLFileEntryLocalServiceUtil.getFile(
-			userId, fileEntryId, sourceVersion, false);
 		File targetFile = DLFileEntryLocalServiceUtil.getFile(
-			userId, fileEntryId, targetVersion, false);
+			userId, targetFileVersion.getFileEntryId(),
+			targetFileVersion.getVersion(), false);
 
-		return SyncUtil.getFileDelta(sourceFile, targetFile);
+		return SyncUtil.getFileDelta(userId, sourceFileVersion, targetFile);
+	}
+
+	/**
+	 * Returns a strong entity tag for the file versions. Private working
+	 * copies are updated in place, so the modified date is part of the tag.
+	 */
+	protected String getETag(DLFileVersion... dlFileVersions) {
+		StringBundler sb = new StringBundler(dlFileVersions.length * 6 + 1);
+
+		sb.append(StringPool.QUOTE);
+
+		for (int i = 0; i < dlFileVersions.length; i++) {
+			DLFileVersion dlFileVersion = dlFileVersions[i];
+
+			if (i > 0) {
+				sb.append(StringPool.COLON);
+			}
+
+			Date modifiedDate = dlFileVersion.getModifiedDate();
+
+			sb.append(dlFileVersion.getFileVersionId());
+			sb.append(StringPool.DASH);
+			sb.append(modifiedDate.getTime());
+			sb.append(StringPool.DASH);
+			sb.append(dlFileVersion.getSize());
+		}
+
+		sb.append(StringPool.QUOTE);
+
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the first byte position requested by a single range "bytes=N-",
+	 * "bytes=N-M" ending at the last byte, or "bytes=-N". Returns -1 if the
+	 * whole content should be sent, either because no such range was requested
+	 * or because the If-Range validator no longer matches.
+	 */
+	protected long getRangeStart(
+		HttpServletRequest request, String eTag, long contentLength) {
+
+		String range = request.getHeader(HttpHeaders.RANGE);
+
+		if (Validator.isNull(range) || !range.startsWith(_RANGE_UNIT_BYTES) ||
+			(range.indexOf(CharPool.COMMA) != -1)) {
+
+			return -1;
+		}
+
+		String ifRange = request.getHeader(_IF_RANGE);
+
+		if (Validator.isNotNull(ifRange) && !ifRange.equals(eTag)) {
+			return -1;
+		}
+
+		range = range.substring(_RANGE_UNIT_BYTES.length());
+
+		int index = range.indexOf(CharPool.DASH);
+
+		if (index == -1) {
+			return -1;
+		}
+
+		String start = range.substring(0, index).trim();
+		String end = range.substring(index + 1).trim();
+
+		if (Validator.isNull(start)) {
+			long suffixLength = GetterUtil.getLong(end);
+
+			if (suffixLength <= 0) {
+				return -1;
+			}
+
+			return Math.max(contentLength - suffixLength, 0);
+		}
+
+		if (Validator.isNotNull(end) &&
+			(GetterUtil.getLong(end, -1) < (contentLength - 1))) {
+
+			return -1;
+		}
+
+		return GetterUtil.getLong(start, -1);
 	}
 
 	protected void sendFile(
@@ -134,9 +222,11 @@ public class DownloadServlet extends HttpServlet {
 
 		FileVersion fileVersion = fileEntry.getFileVersion(version);
 
+		String eTag = getETag((DLFileVersion)fileVersion.getModel());
+
 		InputStream inputStream = fileVersion.getContentStream(false);
 
-		ServletResponseUtil.write(response, inputStream, fileVersion.getSize());
+		write(request, response, eTag, inputStream, fileVersion.getSize());
 	}
 
 	protected void sendPatch(
@@ -166,13 +256,15 @@ public class DownloadServlet extends HttpServlet {
 			DLFileVersionLocalServiceUtil.getFileVersion(
 				fileEntry.getFileEntryId(), targetVersion);
 
+		String eTag = getETag(sourceFileVersion, targetFileVersion);
+
 		if (!PortletPropsValues.SYNC_FILE_DIFF_CACHE_ENABLED) {
 			File deltaFile = getDeltaFile(
-				user.getUserId(), fileEntry.getFileEntryId(), sourceVersion,
-				targetVersion);
+				user.getUserId(), sourceFileVersion, targetFileVersion);
 
-			ServletResponseUtil.write(
-				response, new FileInputStream(deltaFile), deltaFile.length());
+			write(
+				request, response, eTag, new FileInputStream(deltaFile),
+				deltaFile.length());
 
 			return;
 		}
@@ -189,8 +281,7 @@ public class DownloadServlet extends HttpServlet {
 		}
 		else {
 			File deltaFile = getDeltaFile(
-				user.getUserId(), fileEntry.getFileEntryId(), sourceVersion,
-				targetVersion);
+				user.getUserId(), sourceFileVersion, targetFileVersion);
 
 			syncDLFileVersionDiff =
 				SyncDLFileVersionDiffLocalServiceUtil.addSyncDLFileVersionDiff(
@@ -202,9 +293,76 @@ public class DownloadServlet extends HttpServlet {
 		FileEntry dataFileEntry = PortletFileRepositoryUtil.getPortletFileEntry(
 			syncDLFileVersionDiff.getDataFileEntryId());
 
-		ServletResponseUtil.write(
-			response, dataFileEntry.getContentStream(),
+		write(
+			request, response, eTag, dataFileEntry.getContentStream(),
 			dataFileEntry.getSize());
 	}
 
+	protected void write(
+			HttpServletRequest request, HttpServletResponse response,
+			String eTag, InputStream inputStream, long contentLength)
+		throws IOException {
+
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, _RANGE_UNIT);
+		response.setHeader(HttpHeaders.ETAG, eTag);
+
+		long start = getRangeStart(request, eTag, contentLength);
+
+		if (start < 0) {
+			ServletResponseUtil.write(response, inputStream, contentLength);
+
+			return;
+		}
+
+		if (start >= contentLength) {
+			inputStream.close();
+
+			response.setHeader(
+				HttpHeaders.CONTENT_RANGE,
+				_RANGE_UNIT + " */" + contentLength);
+
+			response.sendError(
+				HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+
+			return;
+		}
+
+		long position = 0;
+
+		while (position < start) {
+			long skipped = inputStream.skip(start - position);
+
+			if (skipped <= 0) {
+				if (inputStream.read() == -1) {
+					throw new EOFException();
+				}
+
+				skipped = 1;
+			}
+
+			position += skipped;
+		}
+
+		StringBundler sb = new StringBundler(7);
+
+		sb.append(_RANGE_UNIT);
+		sb.append(StringPool.SPACE);
+		sb.append(start);
+		sb.append(StringPool.DASH);
+		sb.append(contentLength - 1);
+		sb.append(StringPool.SLASH);
+		sb.append(contentLength);
+
+		response.setHeader(HttpHeaders.CONTENT_RANGE, sb.toString());
+		response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+		ServletResponseUtil.write(response, inputStream, contentLength - start);
+	}
+
+	private static final String _IF_RANGE = "If-Range";
+
+	private static final String _RANGE_UNIT = "bytes";
+
+	private static final String _RANGE_UNIT_BYTES = _RANGE_UNIT + "=";
+
 }
\ No newline at end of file
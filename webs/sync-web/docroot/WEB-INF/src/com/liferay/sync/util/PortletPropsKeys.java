@@ -22,6 +22,12 @@ public class PortletPropsKeys {
 	public static final String SYNC_AUTH_VERIFIER_PIPELINE =
 		"sync.auth.verifier.pipeline";
 
+	public static final String SYNC_DL_OBJECT_UPDATE_MAX_SIZE =
+		"sync.dl.object.update.max.size";
+
+	public static final String SYNC_FILE_CHECKSUMS_CACHE_MAX_SIZE =
+		"sync.file.checksums.cache.max.size";
+
 	public static final String SYNC_FILE_DIFF_CACHE_DELETE_INTERVAL =
 		"sync.file.diff.cache.delete.interval";
 
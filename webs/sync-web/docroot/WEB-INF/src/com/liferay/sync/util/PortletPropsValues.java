@@ -25,6 +25,15 @@ public class PortletPropsValues {
 	public static final String SYNC_AUTH_VERIFIER_PIPELINE = PortletProps.get(
 		PortletPropsKeys.SYNC_AUTH_VERIFIER_PIPELINE);
 
+	public static final int SYNC_DL_OBJECT_UPDATE_MAX_SIZE =
+		GetterUtil.getInteger(
+			PortletProps.get(PortletPropsKeys.SYNC_DL_OBJECT_UPDATE_MAX_SIZE));
+
+	public static final long SYNC_FILE_CHECKSUMS_CACHE_MAX_SIZE =
+		GetterUtil.getLong(
+			PortletProps.get(
+				PortletPropsKeys.SYNC_FILE_CHECKSUMS_CACHE_MAX_SIZE));
+
 	public static final int SYNC_FILE_DIFF_CACHE_DELETE_INTERVAL =
 		GetterUtil.getInteger(
 			PortletProps.get(
@@ -17,8 +17,11 @@ package com.liferay.sync.util;
 import com.liferay.io.delta.ByteChannelReader;
 import com.liferay.io.delta.ByteChannelWriter;
 import com.liferay.io.delta.DeltaUtil;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.cache.SingleVMPoolUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayInputStream;
 import com.liferay.portal.kernel.repository.model.FileEntry;
 import com.liferay.portal.kernel.repository.model.Folder;
 import com.liferay.portal.kernel.util.Digester;
@@ -26,19 +29,23 @@ import com.liferay.portal.kernel.util.DigesterUtil;
 import com.liferay.portal.kernel.util.FileUtil;
 import com.liferay.portal.kernel.util.StreamUtil;
 import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.model.Lock;
 import com.liferay.portlet.documentlibrary.model.DLFileEntry;
 import com.liferay.portlet.documentlibrary.model.DLFileEntryConstants;
 import com.liferay.portlet.documentlibrary.model.DLFileVersion;
 import com.liferay.portlet.documentlibrary.model.DLFolder;
+import com.liferay.portlet.documentlibrary.service.DLFileEntryLocalServiceUtil;
 import com.liferay.portlet.documentlibrary.service.DLFileVersionLocalServiceUtil;
 import com.liferay.sync.model.SyncConstants;
 import com.liferay.sync.model.SyncDLObject;
 import com.liferay.sync.model.impl.SyncDLObjectImpl;
+import com.liferay.sync.service.SyncDLObjectLocalServiceUtil;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -60,6 +67,36 @@ public class SyncUtil {
 		return getChecksum(dlFileVersion.getContentStream(false));
 	}
 
+	/**
+	 * Returns the checksum of the file version, reusing the checksum stored
+	 * with the file's sync object when it was computed for the same content.
+	 * A stored checksum is only trusted if it has the same version and size
+	 * and was recorded after the file version was last modified.
+	 */
+	public static String getChecksum(DLFileVersion dlFileVersion, String type)
+		throws PortalException, SystemException {
+
+		SyncDLObject syncDLObject =
+			SyncDLObjectLocalServiceUtil.fetchSyncDLObject(
+				type, dlFileVersion.getFileEntryId());
+
+		if ((syncDLObject != null) &&
+			Validator.isNotNull(syncDLObject.getChecksum()) &&
+			(syncDLObject.getSize() == dlFileVersion.getSize()) &&
+			syncDLObject.getVersion().equals(dlFileVersion.getVersion())) {
+
+			Date modifiedDate = dlFileVersion.getModifiedDate();
+
+			if ((modifiedDate != null) &&
+				(syncDLObject.getModifiedTime() >= modifiedDate.getTime())) {
+
+				return syncDLObject.getChecksum();
+			}
+		}
+
+		return getChecksum(dlFileVersion);
+	}
+
 	public static String getChecksum(File file) throws PortalException {
 		FileInputStream fileInputStream = null;
 
@@ -80,21 +117,17 @@ public class SyncUtil {
 		return DigesterUtil.digestBase64(Digester.SHA_1, inputStream);
 	}
 
-	public static File getFileDelta(File sourceFile, File targetFile)
-		throws PortalException {
-
-		File deltaFile = null;
-
-		FileInputStream sourceFileInputStream = null;
-		FileChannel sourceFileChannel = null;
+	public static File getChecksumsFile(File file) throws PortalException {
+		FileInputStream fileInputStream = null;
+		FileChannel fileChannel = null;
 		File checksumsFile = FileUtil.createTempFile();
 		OutputStream checksumsOutputStream = null;
 		WritableByteChannel checksumsWritableByteChannel = null;
 
 		try {
-			sourceFileInputStream = new FileInputStream(sourceFile);
+			fileInputStream = new FileInputStream(file);
 
-			sourceFileChannel = sourceFileInputStream.getChannel();
+			fileChannel = fileInputStream.getChannel();
 
 			checksumsOutputStream = new FileOutputStream(checksumsFile);
 
@@ -104,33 +137,63 @@ public class SyncUtil {
 			ByteChannelWriter checksumsByteChannelWriter =
 				new ByteChannelWriter(checksumsWritableByteChannel);
 
-			DeltaUtil.checksums(sourceFileChannel, checksumsByteChannelWriter);
+			DeltaUtil.checksums(fileChannel, checksumsByteChannelWriter);
 
 			checksumsByteChannelWriter.finish();
 		}
 		catch (Exception e) {
+			FileUtil.delete(checksumsFile);
+
 			throw new PortalException(e);
 		}
 		finally {
-			StreamUtil.cleanUp(sourceFileInputStream);
-			StreamUtil.cleanUp(sourceFileChannel);
+			StreamUtil.cleanUp(fileInputStream);
+			StreamUtil.cleanUp(fileChannel);
 			StreamUtil.cleanUp(checksumsOutputStream);
 			StreamUtil.cleanUp(checksumsWritableByteChannel);
 		}
 
-		FileInputStream targetFileInputStream = null;
-		ReadableByteChannel targetReadableByteChannel = null;
+		return checksumsFile;
+	}
+
+	public static File getFileDelta(File sourceFile, File targetFile)
+		throws PortalException {
+
+		File checksumsFile = getChecksumsFile(sourceFile);
+
 		InputStream checksumsInputStream = null;
+
+		try {
+			checksumsInputStream = new FileInputStream(checksumsFile);
+
+			return getFileDelta(checksumsInputStream, targetFile);
+		}
+		catch (IOException ioe) {
+			throw new PortalException(ioe);
+		}
+		finally {
+			StreamUtil.cleanUp(checksumsInputStream);
+
+			FileUtil.delete(checksumsFile);
+		}
+	}
+
+	public static File getFileDelta(
+			InputStream checksumsInputStream, File targetFile)
+		throws PortalException {
+
+		File deltaFile = null;
+
+		FileInputStream targetFileInputStream = null;
+		FileChannel targetFileChannel = null;
 		ReadableByteChannel checksumsReadableByteChannel = null;
-		OutputStream deltaOutputStream = null;
-		WritableByteChannel deltaOutputStreamWritableByteChannel = null;
+		FileOutputStream deltaFileOutputStream = null;
+		FileChannel deltaFileChannel = null;
 
 		try {
 			targetFileInputStream = new FileInputStream(targetFile);
 
-			targetReadableByteChannel = targetFileInputStream.getChannel();
-
-			checksumsInputStream = new FileInputStream(checksumsFile);
+			targetFileChannel = targetFileInputStream.getChannel();
 
 			checksumsReadableByteChannel = Channels.newChannel(
 				checksumsInputStream);
@@ -140,16 +203,15 @@ public class SyncUtil {
 
 			deltaFile = FileUtil.createTempFile();
 
-			deltaOutputStream = new FileOutputStream(deltaFile);
+			deltaFileOutputStream = new FileOutputStream(deltaFile);
 
-			deltaOutputStreamWritableByteChannel = Channels.newChannel(
-				deltaOutputStream);
+			deltaFileChannel = deltaFileOutputStream.getChannel();
 
 			ByteChannelWriter deltaByteChannelWriter = new ByteChannelWriter(
-				deltaOutputStreamWritableByteChannel);
+				deltaFileChannel);
 
 			DeltaUtil.delta(
-				targetReadableByteChannel, checksumsByteChannelReader,
+				targetFileChannel, checksumsByteChannelReader,
 				deltaByteChannelWriter);
 
 			deltaByteChannelWriter.finish();
@@ -159,18 +221,75 @@ public class SyncUtil {
 		}
 		finally {
 			StreamUtil.cleanUp(targetFileInputStream);
-			StreamUtil.cleanUp(targetReadableByteChannel);
-			StreamUtil.cleanUp(checksumsInputStream);
+			StreamUtil.cleanUp(targetFileChannel);
 			StreamUtil.cleanUp(checksumsReadableByteChannel);
-			StreamUtil.cleanUp(deltaOutputStream);
-			StreamUtil.cleanUp(deltaOutputStreamWritableByteChannel);
-
-			FileUtil.delete(checksumsFile);
+			StreamUtil.cleanUp(deltaFileOutputStream);
+			StreamUtil.cleanUp(deltaFileChannel);
 		}
 
 		return deltaFile;
 	}
 
+	/**
+	 * Returns a delta from the source file version to the target file. The
+	 * block checksums of the source file version are computed once and kept
+	 * in their own portal cache, keyed by the file version. Checksums larger
+	 * than the configured maximum size are not cached.
+	 */
+	public static File getFileDelta(
+			long userId, DLFileVersion sourceDLFileVersion, File targetFile)
+		throws PortalException, SystemException {
+
+		if (!PortletPropsValues.SYNC_FILE_DIFF_CACHE_ENABLED ||
+			isWorkingCopy(sourceDLFileVersion)) {
+
+			File sourceFile = DLFileEntryLocalServiceUtil.getFile(
+				userId, sourceDLFileVersion.getFileEntryId(),
+				sourceDLFileVersion.getVersion(), false);
+
+			return getFileDelta(sourceFile, targetFile);
+		}
+
+		byte[] checksums = _checksumsPortalCache.get(
+			sourceDLFileVersion.getFileVersionId());
+
+		if (checksums == null) {
+			File sourceFile = DLFileEntryLocalServiceUtil.getFile(
+				userId, sourceDLFileVersion.getFileEntryId(),
+				sourceDLFileVersion.getVersion(), false);
+
+			File checksumsFile = getChecksumsFile(sourceFile);
+
+			InputStream checksumsInputStream = null;
+
+			try {
+				if (checksumsFile.length() >
+						PortletPropsValues.SYNC_FILE_CHECKSUMS_CACHE_MAX_SIZE) {
+
+					checksumsInputStream = new FileInputStream(checksumsFile);
+
+					return getFileDelta(checksumsInputStream, targetFile);
+				}
+
+				checksums = FileUtil.getBytes(checksumsFile);
+			}
+			catch (IOException ioe) {
+				throw new PortalException(ioe);
+			}
+			finally {
+				StreamUtil.cleanUp(checksumsInputStream);
+
+				FileUtil.delete(checksumsFile);
+			}
+
+			_checksumsPortalCache.put(
+				sourceDLFileVersion.getFileVersionId(), checksums);
+		}
+
+		return getFileDelta(
+			new UnsyncByteArrayInputStream(checksums), targetFile);
+	}
+
 	public static boolean isSupportedFolder(DLFolder dlFolder) {
 		if (dlFolder.isHidden() || dlFolder.isMountPoint()) {
 			return false;
@@ -189,6 +308,11 @@ public class SyncUtil {
 		return isSupportedFolder(dlFolder);
 	}
 
+	public static boolean isWorkingCopy(DLFileVersion dlFileVersion) {
+		return dlFileVersion.getVersion().equals(
+			DLFileEntryConstants.PRIVATE_WORKING_COPY_VERSION);
+	}
+
 	public static void patchFile(
 			File originalFile, File deltaFile, File patchedFile)
 		throws PortalException {
@@ -196,8 +320,9 @@ public class SyncUtil {
 		FileInputStream originalFileInputStream = null;
 		FileChannel originalFileChannel = null;
 		FileOutputStream patchedFileOutputStream = null;
-		WritableByteChannel patchedWritableByteChannel = null;
-		ReadableByteChannel deltaReadableByteChannel = null;
+		FileChannel patchedFileChannel = null;
+		FileInputStream deltaFileInputStream = null;
+		FileChannel deltaFileChannel = null;
 
 		try {
 			originalFileInputStream = new FileInputStream(originalFile);
@@ -206,19 +331,14 @@ public class SyncUtil {
 
 			patchedFileOutputStream = new FileOutputStream(patchedFile);
 
-			patchedWritableByteChannel = Channels.newChannel(
-				patchedFileOutputStream);
-
-			FileInputStream deltaInputStream = new FileInputStream(deltaFile);
+			patchedFileChannel = patchedFileOutputStream.getChannel();
 
-			deltaReadableByteChannel = Channels.newChannel(deltaInputStream);
+			deltaFileInputStream = new FileInputStream(deltaFile);
 
-			ByteChannelReader deltaByteChannelReader = new ByteChannelReader(
-				deltaReadableByteChannel);
+			deltaFileChannel = deltaFileInputStream.getChannel();
 
 			DeltaUtil.patch(
-				originalFileChannel, patchedWritableByteChannel,
-				deltaByteChannelReader);
+				originalFileChannel, patchedFileChannel, deltaFileChannel);
 		}
 		catch (Exception e) {
 			throw new PortalException(e);
@@ -227,8 +347,9 @@ public class SyncUtil {
 			StreamUtil.cleanUp(originalFileInputStream);
 			StreamUtil.cleanUp(originalFileChannel);
 			StreamUtil.cleanUp(patchedFileOutputStream);
-			StreamUtil.cleanUp(patchedWritableByteChannel);
-			StreamUtil.cleanUp(deltaReadableByteChannel);
+			StreamUtil.cleanUp(patchedFileChannel);
+			StreamUtil.cleanUp(deltaFileInputStream);
+			StreamUtil.cleanUp(deltaFileChannel);
 		}
 	}
 
@@ -284,7 +405,7 @@ public class SyncUtil {
 		syncDLObject.setExtraSettings(dlFileVersion.getExtraSettings());
 		syncDLObject.setVersion(dlFileVersion.getVersion());
 		syncDLObject.setSize(dlFileVersion.getSize());
-		syncDLObject.setChecksum(getChecksum(dlFileVersion));
+		syncDLObject.setChecksum(getChecksum(dlFileVersion, type));
 		syncDLObject.setEvent(event);
 		syncDLObject.setLockExpirationDate(lockExpirationDate);
 		syncDLObject.setLockUserId(lockUserId);
@@ -349,4 +470,10 @@ public class SyncUtil {
 		throw new PortalException("Folder must be an instance of DLFolder");
 	}
 
+	private static final String _CHECKSUMS_CACHE_NAME =
+		SyncUtil.class.getName() + "_CHECKSUMS";
+
+	private static PortalCache<Long, byte[]> _checksumsPortalCache =
+		SingleVMPoolUtil.getCache(_CHECKSUMS_CACHE_NAME);
+
 }
\ No newline at end of file